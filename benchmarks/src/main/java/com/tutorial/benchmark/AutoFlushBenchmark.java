@@ -0,0 +1,93 @@
+package com.tutorial.benchmark;
+
+import com.tutorial.redis.support.AutoFlushBatching;
+import io.lettuce.core.resource.ClientResources;
+import io.lettuce.core.resource.DefaultClientResources;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(64)
+@Fork(1)
+public class AutoFlushBenchmark {
+
+    /**
+     * ops/s GET/SET dari 64 thread lewat satu shared connection StringRedisTemplate
+     *  autoFlush=off: lettuce biasa (satu flush per command), 0us/50us: AutoFlushBatching (max batch 64) dengan interval tersebut
+     *  jumlah write (command) per flush di cetak setelah benchmark, ubah jumlah thread dengan -t, misal -Djmh.args="AutoFlushBenchmark -t 8"
+     *  mvn -f benchmarks/pom.xml compile exec:exec -Djmh.args=AutoFlushBenchmark
+     */
+
+    private static final String KEY = "benchmark:auto-flush";
+
+    @Param({"off", "0us", "50us"})
+    private String autoFlush;
+
+    private ClientResources clientResources;
+
+    private AutoFlushBatching autoFlushBatching;
+
+    private LettuceConnectionFactory connectionFactory;
+
+    private StringRedisTemplate redisTemplate;
+
+    @Setup
+    public void setup() {
+
+        DefaultClientResources.Builder builder = DefaultClientResources.builder();
+        if (!"off".equals(autoFlush)) {
+            long intervalMicros = Long.parseLong(autoFlush.replace("us", ""));
+            autoFlushBatching = new AutoFlushBatching(64, Duration.ofNanos(TimeUnit.MICROSECONDS.toNanos(intervalMicros)));
+            builder.nettyCustomizer(autoFlushBatching);
+        }
+        clientResources = builder.build();
+
+        LettuceClientConfiguration clientConfiguration = LettuceClientConfiguration.builder().clientResources(clientResources).build();
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration(BenchmarkRedis.host(), BenchmarkRedis.port()), clientConfiguration);
+        connectionFactory.afterPropertiesSet();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        redisTemplate.opsForValue().set(KEY, "budhi");
+    }
+
+    @TearDown
+    public void tearDown() {
+
+        if (autoFlushBatching != null) {
+            System.out.printf("%nwrites %d, flushes %d, writes/flush %.2f%n", autoFlushBatching.getWrites(),
+                    autoFlushBatching.getFlushes(), (double) autoFlushBatching.getWrites() / Math.max(1, autoFlushBatching.getFlushes()));
+        }
+        redisTemplate.delete(KEY);
+        connectionFactory.destroy();
+        clientResources.shutdown();
+    }
+
+    @Benchmark
+    public String get() {
+        return redisTemplate.opsForValue().get(KEY);
+    }
+
+    @Benchmark
+    public void set() {
+        redisTemplate.opsForValue().set(KEY, "budhi");
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(AutoFlushBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+}
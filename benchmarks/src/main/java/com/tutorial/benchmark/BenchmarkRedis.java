@@ -0,0 +1,52 @@
+package com.tutorial.benchmark;
+
+import com.tutorial.BelajarSpringDataRedisApplication;
+import com.tutorial.embedded.EmbeddedRedisServer;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+
+final class BenchmarkRedis {
+
+    /**
+     * koneksi redis untuk benchmark, host dan port dari -Dredis.host / -Dredis.port (default localhost:6379)
+     *  JMH meneruskan argument JVM ke fork, jadi property yang sama juga di pakai di dalam fork
+     *  -Dredis.embedded=true: embedded redis di jalankan di dalam fork (satu thread, hasil tidak sebanding dengan redis asli,
+     *  hanya untuk menjalankan benchmark tanpa redis terpasang)
+     */
+
+    private BenchmarkRedis() {
+    }
+
+    static String host() {
+        return embedded() ? EmbeddedRedisServer.shared().getHost() : System.getProperty("redis.host", "localhost");
+    }
+
+    static int port() {
+        return embedded() ? EmbeddedRedisServer.shared().getPort() : Integer.getInteger("redis.port", 6379);
+    }
+
+    private static boolean embedded() {
+        return Boolean.getBoolean("redis.embedded");
+    }
+
+    static LettuceConnectionFactory connectionFactory() {
+        LettuceConnectionFactory connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration(host(), port()));
+        connectionFactory.afterPropertiesSet();
+        return connectionFactory;
+    }
+
+    /**
+     * jalankan aplikasi (tanpa web server) untuk benchmark repository, cache dan stream
+     */
+    static ConfigurableApplicationContext startApplication(String... properties) {
+        return new SpringApplicationBuilder(BelajarSpringDataRedisApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.data.redis.host=" + host(), "spring.data.redis.port=" + port())
+                .properties(properties)
+                .run();
+    }
+
+}
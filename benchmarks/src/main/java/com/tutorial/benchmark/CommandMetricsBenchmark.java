@@ -0,0 +1,105 @@
+package com.tutorial.benchmark;
+
+import com.tutorial.redis.support.CommandMetrics;
+import io.lettuce.core.metrics.MicrometerCommandLatencyRecorder;
+import io.lettuce.core.metrics.MicrometerOptions;
+import io.lettuce.core.resource.ClientResources;
+import io.lettuce.core.resource.DefaultClientResources;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CommandMetricsBenchmark {
+
+    /**
+     * overhead metrics command redis: ops/s GET/SET tanpa metrics vs dengan metrics yang sama seperti aplikasi
+     *  (MicrometerCommandLatencyRecorder dengan histogram + percentiles p50/p99/p999 dan CommandMetrics) ke PrometheusMeterRegistry
+     *  get/set satu thread (latency), getConcurrent 16 thread di shared connection (contention di recorder)
+     *  mvn -f benchmarks/pom.xml compile exec:exec -Djmh.args=CommandMetricsBenchmark
+     */
+
+    private static final String KEY = "benchmark:metrics";
+
+    @Param({"false", "true"})
+    private boolean metrics;
+
+    private PrometheusMeterRegistry meterRegistry;
+
+    private ClientResources clientResources;
+
+    private LettuceConnectionFactory connectionFactory;
+
+    private StringRedisTemplate redisTemplate;
+
+    @Setup
+    public void setup() {
+
+        DefaultClientResources.Builder builder = DefaultClientResources.builder();
+        if (metrics) {
+            meterRegistry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+            MicrometerOptions options = MicrometerOptions.builder()
+                    .histogram(true)
+                    .targetPercentiles(new double[]{0.5, 0.99, 0.999})
+                    .build();
+            builder.commandLatencyRecorder(new MicrometerCommandLatencyRecorder(meterRegistry, options))
+                    .nettyCustomizer(new CommandMetrics(meterRegistry));
+        }
+        clientResources = builder.build();
+
+        LettuceClientConfiguration clientConfiguration = LettuceClientConfiguration.builder().clientResources(clientResources).build();
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration(BenchmarkRedis.host(), BenchmarkRedis.port()), clientConfiguration);
+        connectionFactory.afterPropertiesSet();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        redisTemplate.opsForValue().set(KEY, "budhi");
+    }
+
+    @TearDown
+    public void tearDown() {
+
+        if (meterRegistry != null) {
+            System.out.printf("%nprometheus scrape %d bytes%n", meterRegistry.scrape().length());
+            meterRegistry.close();
+        }
+        redisTemplate.delete(KEY);
+        connectionFactory.destroy();
+        clientResources.shutdown();
+    }
+
+    @Benchmark
+    public String get() {
+        return redisTemplate.opsForValue().get(KEY);
+    }
+
+    @Benchmark
+    public void set() {
+        redisTemplate.opsForValue().set(KEY, "budhi");
+    }
+
+    @Benchmark
+    @Threads(16)
+    public String getConcurrent() {
+        return redisTemplate.opsForValue().get(KEY);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CommandMetricsBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+}
@@ -0,0 +1,78 @@
+package com.tutorial.benchmark;
+
+import com.tutorial.redis.support.ListenerThreads;
+import com.tutorial.redis.support.PartitionedExecutor;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ListenerThreadsBenchmark {
+
+    /**
+     * ms/op listener blocking (sleep blockingMillis, seperti I/O ke service lain) di PartitionedExecutor unordered,
+     *  satu op = messages task di kirim lalu di tunggu sampai semua selesai
+     *  thread = platform/ virtual (ListenerThreads.threadFactory, sama dengan app.threads.virtual), workers = jumlah thread
+     *  bandingkan thread dengan workers yang sama (jenis thread) dan workers besar (pool besar yang murah dengan virtual thread)
+     *  tidak butuh redis: mvn -f benchmarks/pom.xml compile exec:exec -Djmh.args=ListenerThreadsBenchmark
+     */
+
+    @Param({"platform", "virtual"})
+    private String thread;
+
+    @Param({"8", "400"})
+    private int workers;
+
+    @Param({"400"})
+    private int messages;
+
+    @Param({"10"})
+    private long blockingMillis;
+
+    private PartitionedExecutor executor;
+
+    @Setup
+    public void setup() {
+        executor = PartitionedExecutor.create(false, workers, messages,
+                ListenerThreads.threadFactory("benchmark-worker-", "virtual".equals(thread)));
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Benchmark
+    public void blockingListener() throws InterruptedException {
+
+        CountDownLatch done = new CountDownLatch(messages);
+        for (int i = 0; i < messages; i++) {
+            executor.execute(null, () -> {
+                try {
+                    Thread.sleep(blockingMillis);
+                } catch (InterruptedException exception) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ListenerThreadsBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+}
@@ -0,0 +1,136 @@
+package com.tutorial.benchmark;
+
+import com.tutorial.data.Order;
+import com.tutorial.redis.codec.BinaryCodecHashMapper;
+import com.tutorial.redis.codec.OrderCodec;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.connection.stream.ObjectRecord;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.hash.HashMapper;
+import org.springframework.data.redis.hash.ObjectHashMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderEncodingBenchmark {
+
+    /**
+     * perbandingan encode/decode ns/op record Order di stream: map (ObjectHashMapper) vs packed (BinaryCodecHashMapper)
+     *  method main juga mencetak ukuran field per entry dan, jika -Dredis.host di set, memory redis per entry (MEMORY USAGE)
+     *  jalankan method main dengan -Dredis.host=localhost (memory per entry), atau hanya encode/decode:
+     *  mvn -f benchmarks/pom.xml compile exec:exec -Djmh.args=OrderEncodingBenchmark
+     */
+
+    private static final int ENTRIES = 10_000;
+
+    @Param({"map", "packed"})
+    private String encoding;
+
+    private HashMapper<Object, Object, Object> hashMapper;
+
+    private Order order;
+
+    private Map<Object, Object> hash;
+
+    @Setup
+    public void setup() {
+        hashMapper = create(encoding);
+        order = sample(0);
+        hash = hashMapper.toHash(order);
+    }
+
+    @Benchmark
+    public Map<Object, Object> encode() {
+        return hashMapper.toHash(order);
+    }
+
+    @Benchmark
+    public Object decode() {
+        return hashMapper.fromHash(hash);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static HashMapper<Object, Object, Object> create(String name) {
+        return switch (name) {
+            case "map" -> (HashMapper) ObjectHashMapper.getSharedInstance();
+            case "packed" -> new BinaryCodecHashMapper<>(new OrderCodec());
+            default -> throw new IllegalArgumentException("Unknown encoding " + name);
+        };
+    }
+
+    static Order sample(int index) {
+        return new Order("6f1c1c1e-3b7a-4d8e-9a51-%012d".formatted(index), 1000L + index);
+    }
+
+    static int fieldBytes(Map<Object, Object> hash) {
+        int size = 0;
+        for (Map.Entry<Object, Object> entry : hash.entrySet()) {
+            size += length(entry.getKey()) + length(entry.getValue());
+        }
+        return size;
+    }
+
+    private static int length(Object value) {
+        return value instanceof byte[] bytes ? bytes.length : value.toString().getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    static long memoryPerEntry(StringRedisTemplate redisTemplate, String encoding) {
+
+        String stream = "benchmark:orders:" + encoding;
+        redisTemplate.delete(stream);
+
+        HashMapper<Object, Object, Object> hashMapper = create(encoding);
+        for (int i = 0; i < ENTRIES; i++) {
+            if ("map".equals(encoding)) {
+                redisTemplate.opsForStream().add(ObjectRecord.create(stream, sample(i)));
+            } else {
+                redisTemplate.opsForStream(hashMapper).add(ObjectRecord.create(stream, sample(i)));
+            }
+        }
+
+        Long memory = redisTemplate.execute((RedisCallback<Long>) connection -> (Long) connection.execute("MEMORY",
+                "USAGE".getBytes(StandardCharsets.UTF_8), stream.getBytes(StandardCharsets.UTF_8),
+                "SAMPLES".getBytes(StandardCharsets.UTF_8), "0".getBytes(StandardCharsets.UTF_8)));
+        redisTemplate.delete(stream);
+        return memory == null ? -1 : memory / ENTRIES;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+
+        for (String name : new String[]{"map", "packed"}) {
+            Map<Object, Object> hash = new LinkedHashMap<>(create(name).toHash(sample(0)));
+            System.out.printf("fields %-6s: %d fields, %d bytes%n", name, hash.size(), fieldBytes(hash));
+        }
+
+        String host = System.getProperty("redis.host");
+        if (host != null) {
+            LettuceConnectionFactory connectionFactory = BenchmarkRedis.connectionFactory();
+            try {
+                StringRedisTemplate redisTemplate = new StringRedisTemplate(connectionFactory);
+                for (String name : new String[]{"map", "packed"}) {
+                    System.out.printf("memory %-6s: %d bytes/entry%n", name, memoryPerEntry(redisTemplate, name));
+                }
+            } finally {
+                connectionFactory.destroy();
+            }
+        }
+
+        new Runner(new OptionsBuilder()
+                .include(OrderEncodingBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+}
@@ -0,0 +1,78 @@
+package com.tutorial.benchmark;
+
+import com.tutorial.data.Product;
+import com.tutorial.service.ProductRedisService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductCacheBenchmark {
+
+    /**
+     * ops/s ProductRedisService.getProduct() (@Cacheable products) ketika hit dan miss
+     *  cacheManager: redis (RedisCacheManager), near (L1 + redis) atau stampede (StampedeProtectedCacheManager)
+     *  miss memakai id baru setiap panggilan, jadi termasuk loader dan SET ke redis
+     *  mvn -f benchmarks/pom.xml compile exec:exec -Djmh.args=ProductCacheBenchmark
+     */
+
+    private static final String HIT_ID = "BENCH-HIT";
+
+    private static final String MISS_PREFIX = "BENCH-MISS-";
+
+    @Param({"redis", "near", "stampede"})
+    private String cacheManager;
+
+    private ConfigurableApplicationContext context;
+
+    private ProductRedisService productRedisService;
+
+    private long missCounter;
+
+    @Setup
+    public void setup() {
+        context = BenchmarkRedis.startApplication(
+                "app.cache.near.enabled=" + "near".equals(cacheManager),
+                "app.cache.stampede.enabled=" + "stampede".equals(cacheManager));
+        productRedisService = context.getBean(ProductRedisService.class);
+        productRedisService.getProduct(HIT_ID);
+    }
+
+    @TearDown
+    public void tearDown() {
+        StringRedisTemplate redisTemplate = context.getBean(StringRedisTemplate.class);
+        Set<String> keys = redisTemplate.keys("cache:products::BENCH-*");
+        if (keys != null && !keys.isEmpty()) {
+            redisTemplate.delete(keys);
+        }
+        context.close();
+    }
+
+    @Benchmark
+    public Product hit() {
+        return productRedisService.getProduct(HIT_ID);
+    }
+
+    @Benchmark
+    public Product miss() {
+        return productRedisService.getProduct(MISS_PREFIX + missCounter++);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ProductCacheBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+}
@@ -0,0 +1,86 @@
+package com.tutorial.benchmark;
+
+import com.tutorial.data.Product;
+import com.tutorial.redis.codec.BinaryCodecRedisSerializer;
+import com.tutorial.redis.codec.ProductCodec;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductSerializerBenchmark {
+
+    /**
+     * perbandingan ukuran payload dan encode/decode ns/op untuk value cache products
+     *  jalankan dari IDE (method main) atau:
+     *  mvn -f benchmarks/pom.xml compile exec:exec -Djmh.args=ProductSerializerBenchmark
+     */
+
+    @Param({"jdk", "jackson", "binary"})
+    private String serializer;
+
+    private RedisSerializer<Object> redisSerializer;
+
+    private Product product;
+
+    private byte[] payload;
+
+    @Setup
+    public void setup() {
+        redisSerializer = create(serializer);
+        product = sample();
+        payload = redisSerializer.serialize(product);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return redisSerializer.serialize(product);
+    }
+
+    @Benchmark
+    public Object decode() {
+        return redisSerializer.deserialize(payload);
+    }
+
+    @SuppressWarnings("unchecked")
+    static RedisSerializer<Object> create(String name) {
+        return switch (name) {
+            case "jdk" -> new JdkSerializationRedisSerializer();
+            case "jackson" -> (RedisSerializer<Object>) (RedisSerializer<?>) new Jackson2JsonRedisSerializer<>(Product.class);
+            case "binary" -> new BinaryCodecRedisSerializer<>(new ProductCodec(), (ClassLoader) null);
+            default -> throw new IllegalArgumentException("Unknown serializer " + name);
+        };
+    }
+
+    static Product sample() {
+        return Product.builder()
+                .id("P-001")
+                .name("indomie goreng")
+                .price(3000L)
+                .ttl(-1L)
+                .build();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+
+        for (String name : new String[]{"jdk", "jackson", "binary"}) {
+            System.out.printf("payload %-8s: %d bytes%n", name, create(name).serialize(sample()).length);
+        }
+
+        new Runner(new OptionsBuilder()
+                .include(ProductSerializerBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+}
@@ -0,0 +1,118 @@
+package com.tutorial.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RedisTemplateBenchmark {
+
+    /**
+     * ops/s StringRedisTemplate untuk value, hash dan sorted set, serta executePipelined vs perintah satu per satu
+     *  pipelineSet/sequentialSet mengirim batch SET, ops/s di sini adalah batch/s (kalikan dengan batch untuk perintah/s)
+     *  mvn -f benchmarks/pom.xml compile exec:exec -Djmh.args=RedisTemplateBenchmark
+     */
+
+    private static final String PREFIX = "benchmark:template:";
+
+    @Param({"100"})
+    private int batch;
+
+    private LettuceConnectionFactory connectionFactory;
+
+    private StringRedisTemplate redisTemplate;
+
+    private Map<String, String> hash;
+
+    @Setup
+    public void setup() {
+        connectionFactory = BenchmarkRedis.connectionFactory();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        hash = Map.of("id", "1", "name", "indomie goreng", "price", "3000");
+
+        redisTemplate.opsForValue().set(PREFIX + "value", "budhi");
+        redisTemplate.opsForHash().putAll(PREFIX + "hash", hash);
+        for (int i = 0; i < 1000; i++) {
+            redisTemplate.opsForZSet().add(PREFIX + "zset", "member-" + i, i);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        Set<String> keys = redisTemplate.keys(PREFIX + "*");
+        if (keys != null && !keys.isEmpty()) {
+            redisTemplate.delete(keys);
+        }
+        connectionFactory.destroy();
+    }
+
+    @Benchmark
+    public void valueSet() {
+        redisTemplate.opsForValue().set(PREFIX + "value", "budhi");
+    }
+
+    @Benchmark
+    public String valueGet() {
+        return redisTemplate.opsForValue().get(PREFIX + "value");
+    }
+
+    @Benchmark
+    public void hashPutAll() {
+        redisTemplate.opsForHash().putAll(PREFIX + "hash", hash);
+    }
+
+    @Benchmark
+    public Map<Object, Object> hashEntries() {
+        return redisTemplate.opsForHash().entries(PREFIX + "hash");
+    }
+
+    @Benchmark
+    public Boolean zsetAdd() {
+        return redisTemplate.opsForZSet().add(PREFIX + "zset", "member-1", 1);
+    }
+
+    @Benchmark
+    public Set<String> zsetRangeByScore() {
+        return redisTemplate.opsForZSet().rangeByScore(PREFIX + "zset", 100, 200, 0, 10);
+    }
+
+    @Benchmark
+    public void sequentialSet() {
+        for (int i = 0; i < batch; i++) {
+            redisTemplate.opsForValue().set(PREFIX + "batch:" + i, "value"); // satu round trip per perintah
+        }
+    }
+
+    @Benchmark
+    public List<Object> pipelineSet() {
+        return redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+            for (int i = 0; i < batch; i++) {
+                stringConnection.set(PREFIX + "batch:" + i, "value"); // satu round trip untuk semua perintah
+            }
+            return null;
+        });
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RedisTemplateBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+}
@@ -0,0 +1,82 @@
+package com.tutorial.benchmark;
+
+import com.tutorial.data.Product;
+import com.tutorial.repository.ProductRedisRepository;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RepositoryBenchmark {
+
+    /**
+     * ops/s ProductRedisRepository.save() dan findById() (hash products:<id> + set products)
+     *  mvn -f benchmarks/pom.xml compile exec:exec -Djmh.args=RepositoryBenchmark
+     */
+
+    private static final int PRODUCTS = 1000;
+
+    private ConfigurableApplicationContext context;
+
+    private ProductRedisRepository repository;
+
+    private List<Product> products;
+
+    private List<String> ids;
+
+    private int next;
+
+    @Setup
+    public void setup() {
+        context = BenchmarkRedis.startApplication();
+        repository = context.getBean(ProductRedisRepository.class);
+
+        products = new ArrayList<>(PRODUCTS);
+        ids = new ArrayList<>(PRODUCTS);
+        for (int i = 0; i < PRODUCTS; i++) {
+            products.add(Product.builder().id("BENCH-" + i).name("indomie goreng " + i).price(3000L + i).ttl(-1L).build());
+            ids.add("BENCH-" + i);
+        }
+        repository.saveAllPipelined(products);
+    }
+
+    @TearDown
+    public void tearDown() {
+        repository.deleteAllByIdPipelined(ids);
+        context.close();
+    }
+
+    @Benchmark
+    public Product save() {
+        return repository.save(products.get(nextIndex()));
+    }
+
+    @Benchmark
+    public Optional<Product> findById() {
+        return repository.findById(ids.get(nextIndex()));
+    }
+
+    private int nextIndex() {
+        next = (next + 1) % PRODUCTS;
+        return next;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RepositoryBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+}
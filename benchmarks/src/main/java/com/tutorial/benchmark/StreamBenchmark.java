@@ -0,0 +1,105 @@
+package com.tutorial.benchmark;
+
+import com.tutorial.data.Order;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.ObjectRecord;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StreamBenchmark {
+
+    /**
+     * ops/s stream orders: publish satu XADD, dan publishAndConsume (batch XADD pipeline, XREADGROUP COUNT batch, XACK)
+     *  memakai stream benchmark:orders agar tidak di baca consumer aplikasi
+     *  mvn -f benchmarks/pom.xml compile exec:exec -Djmh.args=StreamBenchmark
+     */
+
+    private static final String STREAM = "benchmark:orders";
+
+    private static final String GROUP = "benchmark-group";
+
+    @Param({"100"})
+    private int batch;
+
+    private LettuceConnectionFactory connectionFactory;
+
+    private StringRedisTemplate redisTemplate;
+
+    private Order order;
+
+    @Setup
+    public void setup() {
+        connectionFactory = BenchmarkRedis.connectionFactory();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        redisTemplate.delete(STREAM);
+        order = new Order("6f1c1c1e-3b7a-4d8e-9a51-000000000001", 1000L);
+        redisTemplate.opsForStream().add(ObjectRecord.create(STREAM, order));
+        redisTemplate.opsForStream().createGroup(STREAM, ReadOffset.latest(), GROUP);
+    }
+
+    @TearDown(Level.Iteration)
+    public void trim() {
+        redisTemplate.opsForStream().trim(STREAM, 1000, true);
+    }
+
+    @TearDown
+    public void tearDown() {
+        redisTemplate.delete(STREAM);
+        connectionFactory.destroy();
+    }
+
+    @Benchmark
+    public RecordId publish() {
+        return redisTemplate.opsForStream().add(ObjectRecord.create(STREAM, order));
+    }
+
+    @Benchmark
+    public int publishAndConsume() {
+
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings({"unchecked", "rawtypes"})
+            public Object execute(RedisOperations operations) throws DataAccessException {
+                for (int i = 0; i < batch; i++) {
+                    operations.opsForStream().add(ObjectRecord.create(STREAM, order)); // format sama dengan OrderBatchPublisher
+                }
+                return null;
+            }
+        });
+
+        List<ObjectRecord<String, Order>> records = redisTemplate.opsForStream().read(Order.class, Consumer.from(GROUP, "benchmark"),
+                StreamReadOptions.empty().count(batch), StreamOffset.create(STREAM, ReadOffset.lastConsumed()));
+        if (records == null || records.isEmpty()) {
+            return 0;
+        }
+        redisTemplate.opsForStream().acknowledge(STREAM, GROUP, records.stream().map(ObjectRecord::getId).toArray(RecordId[]::new));
+        return records.size();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(StreamBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+}
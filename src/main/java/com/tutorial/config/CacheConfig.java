@@ -0,0 +1,219 @@
+package com.tutorial.config;
+
+import com.tutorial.data.Product;
+import com.tutorial.redis.cache.InstrumentedRedisCacheWriter;
+import com.tutorial.redis.cache.NearCacheManager;
+import com.tutorial.redis.cache.RedisBulkCache;
+import com.tutorial.redis.cache.RedisCacheStatistics;
+import com.tutorial.redis.cache.RedisCacheStatisticsEndpoint;
+import com.tutorial.redis.cache.StampedeProtectedCacheManager;
+import com.tutorial.redis.cache.StampedeProtectedCacheMeterBinderProvider;
+import com.tutorial.redis.codec.BinaryCodecRedisSerializer;
+import com.tutorial.redis.codec.ProductCodec;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.metrics.cache.CacheMetricsRegistrar;
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfig {
+
+    /**
+     * RedisCacheManager
+     *  sebelumnya di buat otomatis oleh spring boot dari spring.cache.redis.*
+     *  karena kita membuat CacheManager sendiri, auto configuration spring boot tidak akan jalan,
+     *  jadi RedisCacheManager di buat manual di sini dengan property yang sama
+     */
+    @Bean
+    public RedisCacheManager redisCacheManager(RedisConnectionFactory connectionFactory, CacheProperties cacheProperties,
+                                               ObjectProvider<RedisCacheStatistics> redisCacheStatistics,
+                                               ObjectProvider<CacheMetricsRegistrar> cacheMetricsRegistrar,
+                                               @Value("${app.cache.products.serializer:binary}") String productsSerializer,
+                                               @Value("${app.cache.stale-while-revalidate.enabled:false}") boolean staleWhileRevalidate,
+                                               @Value("${app.cache.stale-while-revalidate.cache-names:products}") List<String> staleWhileRevalidateCaches,
+                                               @Value("${app.cache.stale-while-revalidate.hard-ttl:10m}") Duration hardTtl) {
+
+        CacheProperties.Redis redisProperties = cacheProperties.getRedis();
+        RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
+                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(new JdkSerializationRedisSerializer(getClass().getClassLoader())));
+        if (redisProperties.getTimeToLive() != null) {
+            config = config.entryTtl(redisProperties.getTimeToLive()); // spring.cache.redis.time-to-live
+        }
+        if (redisProperties.getKeyPrefix() != null) {
+            config = config.prefixCacheNameWith(redisProperties.getKeyPrefix()); // spring.cache.redis.key-prefix
+        }
+        if (!redisProperties.isCacheNullValues()) {
+            config = config.disableCachingNullValues();
+        }
+        if (!redisProperties.isUseKeyPrefix()) {
+            config = config.disableKeyPrefix();
+        }
+
+        // spring.cache.redis.enable-statistics=true: latency per operasi dan top keys (InstrumentedRedisCacheWriter), lihat /actuator/cachestats
+        RedisCacheStatistics statistics = redisCacheStatistics.getIfAvailable();
+        RedisCacheWriter cacheWriter = RedisCacheWriter.nonLockingRedisCacheWriter(connectionFactory);
+        if (statistics != null) {
+            cacheWriter = new InstrumentedRedisCacheWriter(cacheWriter, statistics);
+        }
+
+        RedisCacheManager.RedisCacheManagerBuilder builder = RedisCacheManager.builder(cacheWriter)
+                .cacheDefaults(config);
+        if (!cacheProperties.getCacheNames().isEmpty()) {
+            // spring.cache.cache-names, di set lebih dulu karena initialCacheNames menimpa konfigurasi per cache dengan cacheDefaults
+            builder.initialCacheNames(new LinkedHashSet<>(cacheProperties.getCacheNames()));
+        }
+        Map<String, RedisCacheConfiguration> cacheConfigurations = new LinkedHashMap<>();
+        if ("binary".equals(productsSerializer)) {
+            // cache products di simpan dengan ProductCodec, data lama (JDK) tetap bisa di baca
+            cacheConfigurations.put("products", config.serializeValuesWith(RedisSerializationContext.SerializationPair
+                    .fromSerializer(new BinaryCodecRedisSerializer<>(new ProductCodec(), getClass().getClassLoader()))));
+        }
+        if (staleWhileRevalidate) {
+            // hanya cache stale-while-revalidate: entry tetap ada di redis sampai hard TTL, soft TTL di cek di StampedeProtectedCache
+            // cache lain tetap memakai spring.cache.redis.time-to-live
+            for (String name : staleWhileRevalidateCaches) {
+                cacheConfigurations.put(name, cacheConfigurations.getOrDefault(name, config).entryTtl(hardTtl));
+            }
+        }
+        builder.withInitialCacheConfigurations(cacheConfigurations);
+        if (redisProperties.isEnableStatistics()) {
+            builder.enableStatistics(); // spring.cache.redis.enable-statistics
+        }
+        RedisCacheManager cacheManager = builder.build();
+
+        if (statistics != null) {
+            // metrics cache.gets/puts/removals/lock.duration di bind spring boot hanya untuk cache yang ada saat startup,
+            // cache yang di buat setelahnya di bind di sini ketika pertama kali di akses (tag cache.manager sama dengan spring boot)
+            statistics.setNewCacheListener(name -> {
+                Cache cache = cacheManager.getCache(name);
+                CacheMetricsRegistrar registrar = cacheMetricsRegistrar.getIfAvailable();
+                if (cache != null && registrar != null) {
+                    registrar.bindCacheToRegistry(cache, Tag.of("cache.manager", "redis"));
+                }
+            });
+        }
+        return cacheManager;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "spring.cache.redis.enable-statistics", havingValue = "true")
+    public RedisCacheStatistics redisCacheStatistics(MeterRegistry meterRegistry,
+                                                     @Value("${app.cache.statistics.top-keys:1000}") int topKeysCapacity){
+        return new RedisCacheStatistics(meterRegistry, topKeysCapacity);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "spring.cache.redis.enable-statistics", havingValue = "true")
+    public RedisCacheStatisticsEndpoint redisCacheStatisticsEndpoint(CacheManager cacheManager, RedisCacheManager redisCacheManager,
+                                                                     RedisCacheStatistics redisCacheStatistics){
+        return new RedisCacheStatisticsEndpoint(cacheManager, redisCacheManager, redisCacheStatistics);
+    }
+
+    /**
+     * bulk get cache products (MGET + pipeline SET), di pakai ProductRedisService.getProducts()
+     */
+    @Bean
+    public RedisBulkCache<String, Product> productsBulkCache(RedisCacheManager redisCacheManager, RedisConnectionFactory connectionFactory){
+        return new RedisBulkCache<>((RedisCache) redisCacheManager.getCache("products"), connectionFactory);
+    }
+
+    /**
+     * CacheManager utama (@Primary) yang di pakai @Cacheable, di susun dari redisCacheManager:
+     *  app.cache.near.enabled=true: NearCacheManager (L1 in-process di depan redis),
+     *    invalidation antar node lewat pubsub di messageListenerContainer (RedisConfig)
+     *  StampedeProtectedCacheManager selalu di paling luar, @Cacheable(sync = true) di layani get(key, loader) dengan coalescing per JVM,
+     *    bukan RedisCache.getSynchronized (synchronized per cache dan GET dua kali ketika miss)
+     *  app.cache.stampede.enabled=true: lease redis dan early refresh (XFetch), jika tidak aktif lease-time 0 dan beta 0 (hanya coalescing)
+     *  app.cache.stale-while-revalidate.enabled=true: soft TTL untuk cache di app.cache.stale-while-revalidate.cache-names,
+     *    setelah soft TTL nilai stale di kembalikan dan refresh di background, hanya menunggu loader setelah hard TTL
+     */
+    @Bean
+    @Primary
+    public CacheManager cacheManager(RedisCacheManager redisCacheManager,
+                                     StringRedisTemplate redisTemplate,
+                                     RedisMessageListenerContainer messageListenerContainer,
+                                     @Qualifier("cacheRefreshExecutor") ObjectProvider<Executor> cacheRefreshExecutor,
+                                     @Value("${app.cache.near.enabled:false}") boolean nearEnabled,
+                                     @Value("${app.cache.near.maximum-size:10000}") long maximumSize,
+                                     @Value("${app.cache.near.time-to-live:10s}") Duration timeToLive,
+                                     @Value("${app.cache.stampede.enabled:false}") boolean stampedeEnabled,
+                                     @Value("${app.cache.stampede.lease-time:5s}") Duration leaseTime,
+                                     @Value("${app.cache.stampede.beta:1.0}") double beta,
+                                     @Value("${app.cache.stampede.default-delta:100ms}") Duration defaultDelta,
+                                     @Value("${app.cache.stale-while-revalidate.enabled:false}") boolean staleWhileRevalidate,
+                                     @Value("${app.cache.stale-while-revalidate.cache-names:products}") List<String> staleWhileRevalidateCaches,
+                                     @Value("${app.cache.stale-while-revalidate.soft-ttl:60s}") Duration softTtl){
+
+        CacheManager cacheManager = redisCacheManager;
+        if (nearEnabled) {
+            NearCacheManager nearCacheManager = new NearCacheManager(redisCacheManager, redisTemplate, maximumSize, timeToLive);
+            messageListenerContainer.addMessageListener(nearCacheManager, new ChannelTopic(NearCacheManager.INVALIDATION_CHANNEL));
+            cacheManager = nearCacheManager;
+        }
+
+        // tanpa stampede/ stale-while-revalidate tidak ada refresh di background, executor tidak pernah di pakai
+        StampedeProtectedCacheManager stampedeCacheManager = new StampedeProtectedCacheManager(cacheManager, redisCacheManager,
+                redisTemplate, cacheRefreshExecutor.getIfAvailable(() -> Runnable::run));
+        stampedeCacheManager.setLeaseTime(stampedeEnabled ? leaseTime : Duration.ZERO);
+        stampedeCacheManager.setBeta(stampedeEnabled ? beta : 0);
+        stampedeCacheManager.setDefaultDelta(defaultDelta);
+        if (staleWhileRevalidate) {
+            stampedeCacheManager.setSoftTtl(softTtl);
+            stampedeCacheManager.setSoftTtlCacheNames(staleWhileRevalidateCaches);
+        }
+        return stampedeCacheManager;
+    }
+
+    /**
+     * executor refresh cache di background, thread dan queue terbatas, jika penuh refresh di lewati (bukan menunggu)
+     */
+    @Bean(destroyMethod = "shutdown")
+    @ConditionalOnExpression("${app.cache.stampede.enabled:false} or ${app.cache.stale-while-revalidate.enabled:false}")
+    public ThreadPoolExecutor cacheRefreshExecutor(@Value("${app.cache.refresh.threads:4}") int threads,
+                                                   @Value("${app.cache.refresh.queue-capacity:100}") int queueCapacity){
+        return new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS, new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("cache-refresh-"), new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * metrics StampedeProtectedCache, termasuk metrics NearCache di dalamnya (app.cache.near.enabled=true)
+     */
+    @Bean
+    public StampedeProtectedCacheMeterBinderProvider stampedeProtectedCacheMeterBinderProvider(){
+        return new StampedeProtectedCacheMeterBinderProvider();
+    }
+
+}
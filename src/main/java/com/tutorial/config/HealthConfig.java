@@ -0,0 +1,96 @@
+package com.tutorial.config;
+
+import com.tutorial.data.Order;
+import com.tutorial.redis.support.BatchStreamMessageListenerContainer;
+import com.tutorial.redis.support.CachedRedisHealthIndicator;
+import com.tutorial.redis.support.PartitionedExecutor;
+import com.tutorial.redis.support.ShardedMessageListenerContainer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.health.ConditionalOnEnabledHealthIndicator;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.stream.ObjectRecord;
+import org.springframework.data.redis.connection.stream.StreamInfo;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.stream.StreamMessageListenerContainer;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+@Configuration
+public class HealthConfig {
+
+    /**
+     * Health redis (management.health.redis.enabled=true)
+     *  nama bean redisHealthContributor menggantikan RedisHealthIndicator/ RedisReactiveHealthIndicator spring boot,
+     *  tetap muncul sebagai component "redis" di /actuator/health
+     *  probe di jalankan setiap app.health.redis.interval dengan timeout app.health.redis.timeout (lebih kecil dari spring.data.redis.timeout)
+     *  detail orders: container stream jalan atau tidak, pending dan lag my-group (XINFO GROUPS, lag butuh redis >= 7), task di orderExecutor
+     *  detail customers: container pubsub jalan dan listening, message yang antri dan di buang di customerExecutor (app.customers.dispatch=partitioned)
+     */
+    @Bean(name = "redisHealthContributor", destroyMethod = "stop", initMethod = "start")
+    @ConditionalOnEnabledHealthIndicator("redis")
+    public CachedRedisHealthIndicator redisHealthContributor(ReactiveStringRedisTemplate reactiveRedisTemplate,
+                                                             ObjectProvider<StreamMessageListenerContainer<String, ObjectRecord<String, Order>>> orderContainer,
+                                                             ObjectProvider<BatchStreamMessageListenerContainer<Order>> orderBatchContainer,
+                                                             @Qualifier("orderExecutor") ObjectProvider<PartitionedExecutor> orderExecutor,
+                                                             @Qualifier("messageListenerContainer") ObjectProvider<RedisMessageListenerContainer> messageListenerContainer,
+                                                             ObjectProvider<ShardedMessageListenerContainer> customerShardedContainer,
+                                                             @Qualifier("customerExecutor") ObjectProvider<PartitionedExecutor> customerExecutor,
+                                                             @Value("${app.health.redis.interval:10s}") Duration interval,
+                                                             @Value("${app.health.redis.timeout:2s}") Duration timeout){
+
+        CachedRedisHealthIndicator indicator = new CachedRedisHealthIndicator(reactiveRedisTemplate, interval, timeout);
+
+        indicator.addComponent("orders", () -> {
+            StreamMessageListenerContainer<String, ObjectRecord<String, Order>> container = orderContainer.getIfAvailable();
+            BatchStreamMessageListenerContainer<Order> batchContainer = orderBatchContainer.getIfAvailable();
+            boolean running = (container != null && container.isRunning()) || (batchContainer != null && batchContainer.isRunning());
+            PartitionedExecutor executor = orderExecutor.getIfAvailable();
+
+            return reactiveRedisTemplate.opsForStream().groups("orders")
+                    .filter(group -> "my-group".equals(group.groupName()))
+                    .next()
+                    .map(group -> (running ? Health.up() : Health.down())
+                            .withDetail("running", running)
+                            .withDetail("consumers", group.consumerCount())
+                            .withDetail("pending", group.pendingCount())
+                            .withDetail("lag", lag(group))
+                            .withDetail("lastDeliveredId", group.lastDeliveredId())
+                            .withDetail("queued", executor != null ? executor.getQueuedTasks() : 0)
+                            .build())
+                    .defaultIfEmpty(Health.down().withDetail("running", running).withDetail("error", "consumer group my-group not found").build());
+        });
+
+        indicator.addComponent("customers", () -> {
+            RedisMessageListenerContainer container = messageListenerContainer.getIfAvailable();
+            ShardedMessageListenerContainer shardedContainer = customerShardedContainer.getIfAvailable();
+            boolean running = shardedContainer != null
+                    ? shardedContainer.isRunning()
+                    : container != null && container.isRunning() && container.isListening();
+            PartitionedExecutor executor = customerExecutor.getIfAvailable();
+
+            return Mono.just((running ? Health.up() : Health.down())
+                    .withDetail("running", running)
+                    .withDetail("sharded", shardedContainer != null)
+                    .withDetail("queued", executor != null ? executor.getQueuedTasks() : 0) // pubsub tidak punya lag di server, lag = antrian lokal
+                    .withDetail("dropped", (executor != null ? executor.getDroppedTasks() : 0)
+                            + (shardedContainer != null ? shardedContainer.getDroppedMessages() : 0))
+                    .build());
+        });
+        return indicator;
+    }
+
+    /**
+     * field lag XINFO GROUPS (redis >= 7), -1 jika tidak tersedia
+     */
+    private static Object lag(StreamInfo.XInfoGroup group) {
+        Object lag = group.getRaw().get("lag");
+        return lag != null ? lag : -1L;
+    }
+
+}
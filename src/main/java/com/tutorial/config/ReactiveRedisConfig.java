@@ -0,0 +1,93 @@
+package com.tutorial.config;
+
+import com.tutorial.data.Order;
+import com.tutorial.redis.stream.ReactiveOrderConsumer;
+import com.tutorial.redis.stream.ReactiveOrderListener;
+import com.tutorial.redis.stream.ReactiveOrderPublisher;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.ObjectRecord;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.hash.HashMapper;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.stream.StreamReceiver;
+
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnProperty(name = "app.orders.reactive.enabled", havingValue = "true")
+public class ReactiveRedisConfig {
+
+    /**
+     * Reactive Pipeline orders
+     *  aktif jika app.orders.reactive.enabled=true, berjalan paralel dengan orderContainer di group my-group (consumer <hostname>-reactive)
+     *  ReactiveStringRedisTemplate dan ReactiveRedisConnectionFactory di buat otomatis oleh spring boot (lettuce)
+     */
+
+    @Bean
+    public ReactiveOrderPublisher reactiveOrderPublisher(ReactiveStringRedisTemplate reactiveRedisTemplate,
+                                                         ReactiveRedisConnectionFactory connectionFactory,
+                                                         ObjectProvider<HashMapper<Object, Object, Object>> orderHashMapper,
+                                                         @Value("${app.orders.reactive.concurrency:1000}") int concurrency){
+
+        HashMapper<Object, Object, Object> hashMapper = orderHashMapper.getIfAvailable();
+        if (hashMapper == null) {
+            return new ReactiveOrderPublisher(reactiveRedisTemplate, null, concurrency);
+        }
+        // payload OrderCodec di tulis sebagai byte[] apa adanya (hash value RedisSerializer.byteArray())
+        RedisSerializationContext<String, String> context = RedisSerializationContext.<String, String>newSerializationContext(RedisSerializer.string())
+                .hashValue(RedisSerializer.byteArray())
+                .build();
+        return new ReactiveOrderPublisher(new ReactiveStringRedisTemplate(connectionFactory, context), hashMapper, concurrency);
+    }
+
+    @Bean
+    public ReactiveOrderListener reactiveOrderListener(){
+        return new ReactiveOrderListener();
+    }
+
+    /**
+     * StreamReceiver
+     *  batchSize(int) // prefetch, jumlah maksimal record per XREADGROUP ketika ada demand
+     *  pollTimeout(Duration) // lama BLOCK XREADGROUP
+     */
+    @Bean
+    public StreamReceiver<String, ObjectRecord<String, Order>> orderReceiver(ReactiveRedisConnectionFactory connectionFactory,
+                                                                              ObjectProvider<HashMapper<Object, Object, Object>> orderHashMapper,
+                                                                              @Value("${app.orders.reactive.prefetch:256}") int prefetch,
+                                                                              @Value("${app.orders.poll-timeout:2s}") Duration pollTimeout){
+
+        StreamReceiver.StreamReceiverOptionsBuilder<String, MapRecord<String, String, String>> builder = StreamReceiver.StreamReceiverOptions
+                .builder()
+                .pollTimeout(pollTimeout)
+                .batchSize(prefetch);
+
+        HashMapper<Object, Object, Object> hashMapper = orderHashMapper.getIfAvailable();
+        StreamReceiver.StreamReceiverOptions<String, ObjectRecord<String, Order>> options = hashMapper != null
+                ? builder.hashValueSerializer(RedisSerializationContext.SerializationPair.byteArray()).objectMapper(hashMapper).targetType(Order.class).build()
+                : builder.targetType(Order.class).build();
+
+        return StreamReceiver.create(connectionFactory, options);
+    }
+
+    /**
+     * concurrency: jumlah maksimal ReactiveOrderListener yang sedang berjalan (in-flight) tanpa satu thread per listener
+     */
+    @Bean(destroyMethod = "stop", initMethod = "start")
+    public ReactiveOrderConsumer reactiveOrderConsumer(StreamReceiver<String, ObjectRecord<String, Order>> orderReceiver,
+                                                       ReactiveStringRedisTemplate reactiveRedisTemplate,
+                                                       ReactiveOrderListener reactiveOrderListener,
+                                                       @Value("${app.orders.reactive.concurrency:1000}") int concurrency){
+
+        Consumer consumer = Consumer.from("my-group", RedisConfig.consumerNamePrefix() + "-reactive");
+        return new ReactiveOrderConsumer(orderReceiver, reactiveRedisTemplate, reactiveOrderListener, consumer, concurrency);
+    }
+
+}
@@ -1,24 +1,52 @@
 package com.tutorial.config;
 
 import com.tutorial.data.Order;
+import com.tutorial.redis.codec.BinaryCodecHashMapper;
+import com.tutorial.redis.codec.OrderCodec;
 import com.tutorial.redis.message.CustomerListener;
+import com.tutorial.redis.stream.OrderDispatcher;
 import com.tutorial.redis.stream.OrderListener;
+import com.tutorial.redis.support.BatchStreamListener;
+import com.tutorial.redis.support.BatchStreamMessageListenerContainer;
+import com.tutorial.redis.support.BatchingMessagePublisher;
+import com.tutorial.redis.support.FramedMessageListenerAdapter;
+import com.tutorial.redis.support.ListenerThreads;
+import com.tutorial.redis.support.PartitionedExecutor;
+import com.tutorial.redis.support.PendingMessageReclaimer;
+import com.tutorial.redis.support.ShardedChannel;
+import com.tutorial.redis.support.ShardedMessageListenerContainer;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.core.task.SyncTaskExecutor;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
 import org.springframework.data.redis.connection.stream.ObjectRecord;
 import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
 import org.springframework.data.redis.connection.stream.StreamOffset;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.hash.HashMapper;
 import org.springframework.data.redis.listener.ChannelTopic;
 import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.stream.StreamMessageListenerContainer;
 import org.springframework.data.redis.stream.Subscription;
+import org.springframework.lang.Nullable;
 
+import java.net.InetAddress;
+import java.net.UnknownHostException;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 
 @Slf4j
 @Configuration
@@ -27,6 +55,9 @@ public class RedisConfig {
     @Autowired
     StringRedisTemplate redisTemplate; // extends RedisTemplate<String, String> // object implement Resis Template
 
+    @Value("${app.threads.virtual:false}")
+    boolean virtualThreads; // true: polling loop dan listener container stream/ pubsub jalan di virtual thread
+
     // config stream
     /**
      * create: 4
@@ -34,29 +65,171 @@ public class RedisConfig {
      * kita tentukan mau pakai streamListner yang mana, order-group yang mana dan seterusnya
      * caranya kita perlu registrasikan Stream Listener ke Listener Container
      * hasilnya adalah Subscription
+     *
+     * Consumer Pool
+     *  di daftarkan app.orders.consumers consumer di my-group, nama consumer unik per instance dan per index: <hostname>-<index>
+     *  setiap subscription punya thread polling sendiri, proses OrderListener di jalankan di orderExecutor
+     */
+    @Bean
+    @ConditionalOnProperty(name = "app.orders.batch.enabled", havingValue = "false", matchIfMissing = true)
+    public List<Subscription> ordersSubscriptions(StreamMessageListenerContainer<String, ObjectRecord<String, Order>> orderContainer,
+                                                  OrderDispatcher orderDispatcher,
+                                                  @Value("${app.orders.consumers:1}") int consumers,
+                                                  @Value("${app.orders.auto-acknowledge:false}") boolean autoAcknowledge){
+
+        createOrdersGroup();
+
+        String consumerPrefix = consumerNamePrefix();
+        List<Subscription> subscriptions = new ArrayList<>(consumers);
+        for (int i = 0; i < consumers; i++) {
+
+            StreamOffset<String> offset = StreamOffset.create("orders", ReadOffset.lastConsumed()); // set streamoffset dengan key redistemplate
+            Consumer consumer = Consumer.from("my-group", consumerPrefix + "-" + i); // consumer nya dari redistemplate
+            var readRequest = StreamMessageListenerContainer.StreamReadRequest
+                    .builder(offset)
+                    .consumer(consumer)
+                    .autoAcknowledge(autoAcknowledge) // false: acknowledge manual oleh OrderDispatcher setelah OrderListener selesai (at-least-once)
+                    .cancelOnError(throwable -> false) // kalau terjadi error tidak akan di cancle, di lanjutkan terus menerus
+                    .errorHandler(throwable -> log.warn(throwable.getMessage())) // jika terjadi error maka akan tampilkan pesan
+                    .build(); // bikin option
+
+            subscriptions.add(orderContainer.register(readRequest, orderDispatcher)); // Subscription register(StreamReadRequest<K> streamRequest, StreamListener<K, V> listener) // Daftarkan langganan baru untuk Redis Stream.
+        }
+        return subscriptions;
+
+    }
+
+    /**
+     * OrderDispatcher meneruskan record ke OrderListener di orderExecutor
+     *  partition key = order id, order dengan id yang sama di proses berurutan (app.orders.ordered=true)
      */
     @Bean
-    public Subscription ordersSubscription(StreamMessageListenerContainer<String, ObjectRecord<String, Order>> orderContainer,
-                                           OrderListener orderListener){
+    public OrderDispatcher orderDispatcher(OrderListener orderListener, @Qualifier("orderExecutor") PartitionedExecutor orderExecutor,
+                                           @Value("${app.orders.auto-acknowledge:false}") boolean autoAcknowledge){
+        return new OrderDispatcher(orderListener, orderExecutor, redisTemplate, "my-group", !autoAcknowledge);
+    }
+
+    /**
+     * Reclaimer pending list orders (XPENDING + XCLAIM)
+     *  record yang tidak di acknowledge (node mati / OrderListener error) di ambil ulang setelah idle app.orders.reclaim.min-idle
+     *  setelah app.orders.reclaim.max-deliveries kali gagal record di pindahkan ke app.orders.dead-letter-stream
+     *  jalan di scheduler sendiri (orders-reclaimer-), handler bisa blocking di orderExecutor/ onMessages
+     */
+    @Bean(destroyMethod = "stop", initMethod = "start")
+    @ConditionalOnProperty(name = "app.orders.reclaim.enabled", havingValue = "true", matchIfMissing = true)
+    public PendingMessageReclaimer<Order> ordersReclaimer(OrderListener orderListener,
+                                                          OrderDispatcher orderDispatcher,
+                                                          ObjectProvider<HashMapper<Object, Object, Object>> orderHashMapper,
+                                                          @Value("${app.orders.batch.enabled:false}") boolean batch,
+                                                          @Value("${app.orders.reclaim.interval:30s}") Duration interval,
+                                                          @Value("${app.orders.reclaim.min-idle:60s}") Duration minIdle,
+                                                          @Value("${app.orders.reclaim.batch-size:100}") int batchSize,
+                                                          @Value("${app.orders.reclaim.max-deliveries:5}") long maxDeliveries,
+                                                          @Value("${app.orders.dead-letter-stream:orders:dead-letter}") String deadLetterStream){
+
+        createOrdersGroup();
+
+        // mode batch: proses sekaligus lalu satu XACK, mode biasa: lewat OrderDispatcher (acknowledge per record)
+        BatchStreamListener<String, ObjectRecord<String, Order>> handler = batch
+                ? records -> {
+                    orderListener.onMessages(records);
+                    redisTemplate.opsForStream().acknowledge("orders", "my-group", records.stream().map(ObjectRecord::getId).toArray(RecordId[]::new));
+                }
+                : records -> records.forEach(orderDispatcher::onMessage);
 
+        PendingMessageReclaimer<Order> reclaimer = new PendingMessageReclaimer<>(orderStreamTemplate(orderHashMapper.getIfAvailable()),
+                "orders", "my-group", consumerNamePrefix() + "-0", Order.class, handler);
+        reclaimer.setInterval(interval);
+        reclaimer.setMinIdle(minIdle);
+        reclaimer.setBatchSize(batchSize);
+        reclaimer.setMaxDeliveries(maxDeliveries);
+        reclaimer.setDeadLetterStream(deadLetterStream);
+        reclaimer.setHashMapper(orderHashMapper.getIfAvailable());
+        return reclaimer;
+    }
+
+    /**
+     * executor untuk proses OrderListener
+     *  ordered=true: app.orders.workers partisi dengan 1 thread, order dengan id sama selalu di partisi yang sama
+     *  ordered=false: 1 partisi dengan app.orders.workers thread
+     *  queue terbatas (app.orders.queue-capacity), jika penuh thread polling akan menunggu
+     */
+    @Bean(destroyMethod = "shutdown")
+    public PartitionedExecutor orderExecutor(@Value("${app.orders.workers:4}") int workers,
+                                             @Value("${app.orders.queue-capacity:1000}") int queueCapacity,
+                                             @Value("${app.orders.ordered:true}") boolean ordered){
+        return PartitionedExecutor.create(ordered, workers, queueCapacity, ListenerThreads.threadFactory("orders-worker-", virtualThreads));
+    }
+
+    /**
+     * Batch Listener
+     *  aktif jika app.orders.batch.enabled=true, menggantikan orderContainer + ordersSubscriptions
+     *  setiap consumer membaca sampai app.orders.batch-size record per XREADGROUP, OrderListener.onMessages() menerima semua record
+     *  lalu di acknowledge dengan satu XACK (multi id)
+     */
+    @Bean(destroyMethod = "stop", initMethod = "start")
+    @ConditionalOnProperty(name = "app.orders.batch.enabled", havingValue = "true")
+    public BatchStreamMessageListenerContainer<Order> orderBatchContainer(OrderListener orderListener,
+                                                                          ObjectProvider<HashMapper<Object, Object, Object>> orderHashMapper,
+                                                                          @Value("${app.orders.consumers:1}") int consumers,
+                                                                          @Value("${app.orders.batch-size:100}") int batchSize,
+                                                                          @Value("${app.orders.poll-timeout:2s}") Duration pollTimeout){
+
+        createOrdersGroup();
+
+        BatchStreamMessageListenerContainer<Order> container = new BatchStreamMessageListenerContainer<>(orderStreamTemplate(orderHashMapper.getIfAvailable()),
+                Order.class, ListenerThreads.taskExecutor("orders-batch-", virtualThreads), batchSize, pollTimeout);
+        container.setHashMapper(orderHashMapper.getIfAvailable());
+
+        String consumerPrefix = consumerNamePrefix();
+        for (int i = 0; i < consumers; i++) {
+            container.register("orders", Consumer.from("my-group", consumerPrefix + "-" + i), true, orderListener,
+                    throwable -> log.warn(throwable.getMessage()));
+        }
+        return container;
+    }
+
+    /**
+     * Order Codec
+     *  aktif jika app.orders.codec=binary, setiap Order di simpan sebagai satu field biner (OrderCodec) bukan field per property
+     *  di pakai OrderBatchPublisher (tulis) dan orderContainer/ orderBatchContainer/ ordersReclaimer (baca)
+     *  entry lama dengan format ObjectHashMapper tetap bisa di baca
+     */
+    @Bean
+    @ConditionalOnProperty(name = "app.orders.codec", havingValue = "binary")
+    public HashMapper<Object, Object, Object> orderHashMapper(){
+        return new BinaryCodecHashMapper<>(new OrderCodec());
+    }
+
+    /**
+     * template untuk membaca stream orders, dengan orderHashMapper hash value di baca sebagai byte[] (RedisSerializer.byteArray())
+     *  jadi payload OrderCodec tidak melewati decode UTF-8 StringRedisSerializer
+     */
+    private StringRedisTemplate orderStreamTemplate(@Nullable HashMapper<Object, Object, Object> hashMapper) {
+
+        if (hashMapper == null) {
+            return redisTemplate;
+        }
+        StringRedisTemplate template = new StringRedisTemplate(redisTemplate.getRequiredConnectionFactory());
+        template.setHashValueSerializer(RedisSerializer.byteArray());
+        template.afterPropertiesSet();
+        return template;
+    }
+
+    private void createOrdersGroup() {
         try {
             redisTemplate.opsForStream().createGroup("orders", "my-group"); // membuat key dan group redistemplate
         } catch (Throwable throwable) {
             // consumer group sudah ada
         }
+    }
 
-        StreamOffset<String> offset = StreamOffset.create("orders", ReadOffset.lastConsumed()); // set streamoffset dengan key redistemplate
-        Consumer consumer = Consumer.from("my-group", "consumer-1"); // consumer nya dari redistemplate
-        var readRequest = StreamMessageListenerContainer.StreamReadRequest
-                .builder(offset)
-                .consumer(consumer)
-                .autoAcknowledge(true) // kalau sudah baca mau di angap sudah selesai baca seacara otomatis. ketika app di jalankan lagi akan baca yang terakhir
-                .cancelOnError(throwable -> false) // kalau terjadi error tidak akan di cancle, di lanjutkan terus menerus
-                .errorHandler(throwable -> log.warn(throwable.getMessage())) // jika terjadi error maka akan tampilkan pesan
-                .build(); // bikin option
-
-        return orderContainer.register(readRequest, orderListener); // Subscription register(StreamReadRequest<K> streamRequest, StreamListener<K, V> listener) // Daftarkan langganan baru untuk Redis Stream.
-
+    static String consumerNamePrefix() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException exception) {
+            return "consumer-" + ProcessHandle.current().pid();
+        }
     }
 
 
@@ -67,15 +240,28 @@ public class RedisConfig {
      *  untuk menjalankan Stream Listener (OrderListener yang implements StreamListener<K, V extends Record<K, ?>>)
      */
     @Bean(destroyMethod = "stop", initMethod = "start") // destroyMethod ketika app berhenti listener stop, initMethod ketika app running listener start
-    public StreamMessageListenerContainer<String, ObjectRecord<String, Order>> orderContainer(RedisConnectionFactory connectionFactory){
+    @DependsOn("orderExecutor") // container di stop lebih dulu sebelum orderExecutor di shutdown
+    @ConditionalOnProperty(name = "app.orders.batch.enabled", havingValue = "false", matchIfMissing = true)
+    public StreamMessageListenerContainer<String, ObjectRecord<String, Order>> orderContainer(RedisConnectionFactory connectionFactory,
+                                                                                              ObjectProvider<HashMapper<Object, Object, Object>> orderHashMapper,
+                                                                                              @Value("${app.orders.batch-size:100}") int batchSize,
+                                                                                              @Value("${app.orders.poll-timeout:2s}") Duration pollTimeout){
 
         // pollTimeout(Duration) // akan menarik data secara reguler dari StreamListener. note: jika tidak ada data berhenti terus coba lagi, sekali coba sesuai waktu yang di tentukan
+        // batchSize(int) // jumlah maksimal record per XREADGROUP (COUNT)
+        // executor(Executor) // thread polling loop per subscription (platform / virtual thread)
+        // objectMapper(HashMapper) // mapping field record ke object, default ObjectHashMapper
         // targetType(Class.class) // type yang telah di set StreamListener
-        StreamMessageListenerContainer.StreamMessageListenerContainerOptions<String, ObjectRecord<String, Order>> options = StreamMessageListenerContainer.StreamMessageListenerContainerOptions
+        StreamMessageListenerContainer.StreamMessageListenerContainerOptionsBuilder<String, MapRecord<String, String, String>> builder = StreamMessageListenerContainer.StreamMessageListenerContainerOptions
                 .builder()
-                .pollTimeout(Duration.ofSeconds(5))
-                .targetType(Order.class)
-                .build();
+                .pollTimeout(pollTimeout)
+                .batchSize(batchSize)
+                .executor(ListenerThreads.taskExecutor("orders-poll-", virtualThreads));
+
+        HashMapper<Object, Object, Object> hashMapper = orderHashMapper.getIfAvailable();
+        StreamMessageListenerContainer.StreamMessageListenerContainerOptions<String, ObjectRecord<String, Order>> options = hashMapper != null
+                ? builder.hashValueSerializer(RedisSerializer.byteArray()).objectMapper(hashMapper).targetType(Order.class).build() // payload OrderCodec di baca sebagai byte[]
+                : builder.targetType(Order.class).build();
 
         return StreamMessageListenerContainer.create(connectionFactory, options); // membuat pabrik koneksi redis dengan config dari StreamMessageListenerContainerOptions
 
@@ -86,14 +272,81 @@ public class RedisConfig {
 
     /**
      * RedisMessageListenerContainer wadah/ tempat untuk menjalankan pubsub listener
+     *  CustomerListener di bungkus FramedMessageListenerAdapter agar frame dari customerBatchPublisher di bongkar per message
+     *  app.customers.dispatch=partitioned: container tidak membuat task per message (SyncTaskExecutor),
+     *  frame di bongkar di thread subscription lalu setiap message di serahkan ke customerExecutor
+     *  dengan partition key = customer id (urutan per customer terjaga), tanpa blocking thread subscription
      */
     @Bean(destroyMethod = "stop", initMethod = "start") // destroyMethod ketika app berhenti listener stop, initMethod ketika app running listener start
-    public RedisMessageListenerContainer messageListenerContainer(RedisConnectionFactory connectionFactory, CustomerListener customerListener){
+    public RedisMessageListenerContainer messageListenerContainer(RedisConnectionFactory connectionFactory, CustomerListener customerListener,
+                                                                  ShardedChannel customerChannel,
+                                                                  @Qualifier("customerExecutor") ObjectProvider<PartitionedExecutor> customerExecutor){
+
+        PartitionedExecutor executor = customerExecutor.getIfAvailable();
 
         RedisMessageListenerContainer container = new RedisMessageListenerContainer();
         container.setConnectionFactory(connectionFactory);
-        container.addMessageListener(customerListener, new ChannelTopic("customers"));
+        container.setTaskExecutor(executor != null
+                ? new SyncTaskExecutor() // dispatch di thread subscription, pekerjaan di pindahkan ke customerExecutor oleh adapter
+                : ListenerThreads.taskExecutor("customers-listener-", virtualThreads)); // dispatch message ke listener
+        container.setSubscriptionExecutor(ListenerThreads.taskExecutor("customers-subscription-", virtualThreads));
+        if (!customerChannel.isSharded()) { // mode shard: CustomerListener di jalankan customerShardedContainer
+            container.addMessageListener(new FramedMessageListenerAdapter(customerListener, executor, CustomerListener::customerKey),
+                    new ChannelTopic("customers"));
+        }
         return container;
     }
 
+    /**
+     * channel customers, app.customers.shards > 0: customers:0 .. customers:<shards-1>, shard di pilih dari hash customer key
+     */
+    @Bean
+    public ShardedChannel customerChannel(@Value("${app.customers.shards:0}") int shards){
+        return new ShardedChannel("customers", shards);
+    }
+
+    /**
+     * Sharded Listener customers (app.customers.shards > 0)
+     *  semua shard di subscribe lewat app.customers.connections koneksi, lalu di gabung ke CustomerListener
+     *  urutan per customer terjaga: satu customer = satu shard = satu koneksi = satu thread customers-shard-,
+     *  dispatch per customer di customerExecutor (jika ada)
+     */
+    @Bean(destroyMethod = "stop", initMethod = "start")
+    @ConditionalOnExpression("${app.customers.shards:0} > 0")
+    public ShardedMessageListenerContainer customerShardedContainer(RedisConnectionFactory connectionFactory, CustomerListener customerListener,
+                                                                    ShardedChannel customerChannel,
+                                                                    @Qualifier("customerExecutor") ObjectProvider<PartitionedExecutor> customerExecutor,
+                                                                    @Value("${app.customers.connections:2}") int connections,
+                                                                    @Value("${app.customers.queue-capacity:1000}") int queueCapacity){
+        return new ShardedMessageListenerContainer(connectionFactory, customerChannel, connections,
+                new FramedMessageListenerAdapter(customerListener, customerExecutor.getIfAvailable(), CustomerListener::customerKey),
+                ListenerThreads.taskExecutor("customers-shard-subscription-", virtualThreads),
+                ListenerThreads.threadFactory("customers-shard-", virtualThreads), queueCapacity);
+    }
+
+    /**
+     * executor listener pubsub (app.customers.dispatch=partitioned)
+     *  app.customers.workers partisi x 1 thread, queue terbatas
+     *  thread subscription (event loop lettuce) tidak boleh blocking, jika queue penuh message di buang dan di hitung (detail dropped di health)
+     */
+    @Bean(destroyMethod = "shutdown")
+    @ConditionalOnProperty(name = "app.customers.dispatch", havingValue = "partitioned")
+    public PartitionedExecutor customerExecutor(@Value("${app.customers.workers:4}") int workers,
+                                                @Value("${app.customers.queue-capacity:1000}") int queueCapacity){
+        return PartitionedExecutor.create(true, workers, queueCapacity, ListenerThreads.threadFactory("customers-worker-", virtualThreads), true);
+    }
+
+    /**
+     * Batching Publisher customers (app.customers.batch.enabled=true)
+     *  banyak message di gabung jadi satu PUBLISH (frame) per channel, di kirim per app.customers.publisher.batch-size atau linger
+     */
+    @Bean(destroyMethod = "stop", initMethod = "start")
+    @ConditionalOnProperty(name = "app.customers.batch.enabled", havingValue = "true")
+    public BatchingMessagePublisher customerBatchPublisher(@Value("${app.customers.publisher.batch-size:100}") int batchSize,
+                                                           @Value("${app.customers.publisher.linger:5ms}") Duration linger,
+                                                           @Value("${app.customers.publisher.queue-capacity:10000}") int queueCapacity,
+                                                           @Value("${app.customers.publisher.enqueue-timeout:100ms}") Duration enqueueTimeout){
+        return new BatchingMessagePublisher(redisTemplate, batchSize, linger, queueCapacity, enqueueTimeout);
+    }
+
 }
@@ -0,0 +1,127 @@
+package com.tutorial.config;
+
+import com.tutorial.redis.cache.ClientSideCache;
+import com.tutorial.redis.support.AutoFlushBatching;
+import com.tutorial.redis.support.CommandMetrics;
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.metrics.MicrometerOptions;
+import io.lettuce.core.protocol.ProtocolVersion;
+import io.lettuce.core.resource.ClientResources;
+import io.lettuce.core.resource.NettyCustomizer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.Channel;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.data.redis.ClientResourcesBuilderCustomizer;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+@Configuration
+public class RedisConnectionConfig {
+
+    /**
+     * Auto Flush Batching (app.redis.auto-flush.enabled=true)
+     *  ClientResources lettuce tetap di buat spring boot (LettuceConnectionConfiguration), di sini hanya di tambah NettyCustomizer (nettyCustomizers)
+     *  semua koneksi dari RedisConnectionFactory (shared connection StringRedisTemplate, repository, cache manager,
+     *  listener container) memakai handler AutoFlushBatching, tidak ada perubahan di pemanggil
+     */
+    @Bean
+    @ConditionalOnProperty(name = "app.redis.auto-flush.enabled", havingValue = "true")
+    public AutoFlushBatching autoFlushBatching(@Value("${app.redis.auto-flush.max-batch:64}") int maxBatch,
+                                               @Value("${app.redis.auto-flush.interval:0ms}") Duration interval){
+        return new AutoFlushBatching(maxBatch, interval);
+    }
+
+    /**
+     * Command Metrics (app.redis.metrics.enabled=true)
+     *  latency per command di catat lettuce (MicrometerCommandLatencyRecorder dari auto configuration spring boot) dengan options di bawah,
+     *  CommandMetrics menambah redis.pipeline.size dan redis.commands.errors
+     *  semua koneksi RedisConnectionFactory: StringRedisTemplate, repository, cache manager dan kedua listener container
+     */
+    @Bean
+    @ConditionalOnProperty(name = "app.redis.metrics.enabled", havingValue = "true", matchIfMissing = true)
+    public CommandMetrics commandMetrics(MeterRegistry meterRegistry){
+        return new CommandMetrics(meterRegistry);
+    }
+
+    /**
+     * lettuce.command.completion dan lettuce.command.firstresponse per command type
+     *  histogram: bucket prometheus (histogram_quantile), percentiles: p50/p99/p999 di hitung di client
+     */
+    @Bean
+    public MicrometerOptions micrometerOptions(@Value("${app.redis.metrics.enabled:true}") boolean enabled,
+                                               @Value("${app.redis.metrics.histogram:true}") boolean histogram){
+        MicrometerOptions.Builder builder = MicrometerOptions.builder()
+                .histogram(histogram)
+                .targetPercentiles(new double[]{0.5, 0.99, 0.999});
+        return enabled ? builder.enable().build() : builder.disable().build();
+    }
+
+    /**
+     * ClientResources hanya punya satu NettyCustomizer, semua NettyCustomizer (AutoFlushBatching, CommandMetrics) di gabung di sini
+     */
+    @Bean
+    public ClientResourcesBuilderCustomizer nettyCustomizers(ObjectProvider<NettyCustomizer> nettyCustomizers){
+
+        List<NettyCustomizer> customizers = nettyCustomizers.orderedStream().toList();
+        return builder -> {
+            if (customizers.isEmpty()) {
+                return;
+            }
+            builder.nettyCustomizer(new NettyCustomizer() {
+                @Override
+                public void afterBootstrapInitialized(Bootstrap bootstrap) {
+                    customizers.forEach(customizer -> customizer.afterBootstrapInitialized(bootstrap));
+                }
+
+                @Override
+                public void afterChannelInitialized(Channel channel) {
+                    customizers.forEach(customizer -> customizer.afterChannelInitialized(channel));
+                }
+            });
+        };
+    }
+
+    /**
+     * Client Side Cache (app.redis.client-cache.enabled=true)
+     *  RedisClient sendiri (RESP3, koneksi RedisConnectionFactory bisa RESP2) dengan host/ port dari spring.data.redis.*,
+     *  event loop netty di pakai bersama ClientResources spring boot
+     *  app.redis.client-cache.prefixes kosong = mode tracking default, di isi = mode BCAST dengan prefix tersebut
+     */
+    @Bean(destroyMethod = "stop", initMethod = "start")
+    @ConditionalOnProperty(name = "app.redis.client-cache.enabled", havingValue = "true")
+    public ClientSideCache clientSideCache(RedisProperties redisProperties, ClientResources clientResources, StringRedisTemplate redisTemplate,
+                                           @Value("${app.redis.client-cache.maximum-size:10000}") long maximumSize,
+                                           @Value("${app.redis.client-cache.prefixes:}") List<String> prefixes){
+
+        RedisURI.Builder uri = RedisURI.builder()
+                .withHost(redisProperties.getHost())
+                .withPort(redisProperties.getPort())
+                .withDatabase(redisProperties.getDatabase())
+                .withSsl(redisProperties.getSsl().isEnabled());
+        if (redisProperties.getTimeout() != null) {
+            uri.withTimeout(redisProperties.getTimeout());
+        }
+        if (redisProperties.getPassword() != null) {
+            if (redisProperties.getUsername() != null) {
+                uri.withAuthentication(redisProperties.getUsername(), redisProperties.getPassword());
+            } else {
+                uri.withPassword(redisProperties.getPassword().toCharArray());
+            }
+        }
+
+        RedisClient client = RedisClient.create(clientResources, uri.build());
+        client.setOptions(ClientOptions.builder().protocolVersion(ProtocolVersion.RESP3).build()); // push invalidate hanya ada di RESP3
+        return new ClientSideCache(client, redisTemplate, maximumSize, prefixes);
+    }
+
+}
@@ -0,0 +1,268 @@
+package com.tutorial.redis.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.lettuce.core.RedisChannelHandler;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisConnectionStateAdapter;
+import io.lettuce.core.RedisException;
+import io.lettuce.core.TrackingArgs;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.push.PushMessage;
+import io.lettuce.core.codec.StringCodec;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.lang.Nullable;
+
+import java.net.SocketAddress;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+@Slf4j
+public class ClientSideCache implements MeterBinder {
+
+    /**
+     * Client Side Caching (RESP3 CLIENT TRACKING)
+     *  get()/ entries() membaca lewat satu koneksi RESP3 khusus yang mengaktifkan CLIENT TRACKING, hasilnya di simpan di memory (Caffeine, ukuran terbatas)
+     *  redis mengirim push "invalidate" ke koneksi ini begitu key berubah (dari client mana pun), key tersebut langsung di hapus dari memory
+     *  prefixes kosong: mode default, redis mengingat key yang di baca koneksi ini
+     *  prefixes di isi (misal products:, cache:): mode BCAST, semua perubahan key dengan prefix tersebut di kirim,
+     *  key di luar prefix tidak pernah di invalidate jadi tidak di simpan (selalu baca ke redis)
+     *  invalidate yang datang ketika GET/HGETALL sedang berjalan membatalkan penyimpanan hasilnya (loading token), jadi tidak ada nilai basi
+     *  koneksi putus: invalidate bisa hilang, memory di kosongkan dan cache di bypass sampai tracking aktif lagi
+     *  server tanpa RESP3/ CLIENT TRACKING (redis < 6, embedded redis): semua baca di teruskan ke StringRedisTemplate
+     */
+
+    private static final Object NULL = new Object(); // key tidak ada, tetap di simpan (key yang tidak ada juga di track)
+
+    private final RedisClient client;
+
+    private final StringRedisTemplate redisTemplate;
+
+    private final List<String> prefixes;
+
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> localCache;
+
+    private final ConcurrentMap<String, Object> loading = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder invalidations = new LongAdder();
+
+    private StatefulRedisConnection<String, String> connection;
+
+    private volatile boolean tracking;
+
+    public ClientSideCache(RedisClient client, StringRedisTemplate redisTemplate, long maximumSize, List<String> prefixes) {
+        this.client = client;
+        this.redisTemplate = redisTemplate;
+        this.prefixes = List.copyOf(prefixes);
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .build();
+    }
+
+    public synchronized void start() {
+
+        if (connection != null) {
+            return;
+        }
+        try {
+            client.addListener(new RedisConnectionStateAdapter() {
+                @Override
+                public void onRedisConnected(RedisChannelHandler<?, ?> channel, SocketAddress socketAddress) {
+                    if (channel == connection) {
+                        enableTracking(); // reconnect, CLIENT TRACKING tidak di kirim ulang oleh lettuce
+                    }
+                }
+
+                @Override
+                public void onRedisDisconnected(RedisChannelHandler<?, ?> channel) {
+                    if (channel == connection) {
+                        tracking = false;
+                        clear();
+                    }
+                }
+            });
+            connection = client.connect(StringCodec.UTF8);
+            connection.addListener(this::onPush);
+            connection.sync().clientTracking(trackingArgs());
+            tracking = true;
+        } catch (RedisException exception) {
+            log.warn("Client side caching is not available, reads go to redis: {}", exception.getMessage());
+        }
+    }
+
+    public synchronized void stop() {
+
+        tracking = false;
+        if (connection != null) {
+            connection.close();
+            connection = null;
+        }
+        client.shutdown();
+        clear();
+    }
+
+    private TrackingArgs trackingArgs() {
+        return prefixes.isEmpty()
+                ? TrackingArgs.Builder.enabled()
+                : TrackingArgs.Builder.enabled().bcast().prefixes(prefixes.toArray(String[]::new));
+    }
+
+    private void enableTracking() {
+
+        StatefulRedisConnection<String, String> current = connection;
+        if (current == null) {
+            return;
+        }
+        current.async().clientTracking(trackingArgs()).whenComplete((result, throwable) -> {
+            if (throwable != null) {
+                log.warn("Failed to enable CLIENT TRACKING after reconnect: {}", throwable.getMessage());
+                return;
+            }
+            clear();
+            tracking = true;
+        });
+    }
+
+    /**
+     * push RESP3: ["invalidate", [key ...]] atau ["invalidate", nil] ketika FLUSHDB/ FLUSHALL
+     */
+    @SuppressWarnings("unchecked")
+    private void onPush(PushMessage message) {
+
+        if (!"invalidate".equals(message.getType())) {
+            return;
+        }
+        List<Object> content = message.getContent(StringCodec.UTF8::decodeKey);
+        Object keys = content.size() > 1 ? content.get(1) : null;
+        if (keys == null) {
+            clear();
+            return;
+        }
+        for (Object key : (List<Object>) keys) {
+            evict((String) key);
+        }
+    }
+
+    /**
+     * GET key
+     */
+    @Nullable
+    public String get(String key) {
+
+        if (!cacheable(key)) {
+            return redisTemplate.opsForValue().get(key);
+        }
+        Object cached = localCache.getIfPresent(key);
+        if (cached == NULL || cached instanceof String) {
+            hits.increment();
+            return cached == NULL ? null : (String) cached;
+        }
+
+        misses.increment();
+        Object token = new Object();
+        loading.put(key, token);
+        String value = connection.sync().get(key);
+        if (loading.remove(key, token)) { // tidak ada invalidate selama GET
+            localCache.put(key, value == null ? NULL : value);
+        }
+        return value;
+    }
+
+    /**
+     * HGETALL key, map kosong jika key tidak ada
+     */
+    public Map<String, String> entries(String key) {
+
+        if (!cacheable(key)) {
+            return redisTemplate.<String, String>opsForHash().entries(key);
+        }
+        Object cached = localCache.getIfPresent(key);
+        if (cached instanceof Map<?, ?>) {
+            hits.increment();
+            @SuppressWarnings("unchecked")
+            Map<String, String> entries = (Map<String, String>) cached;
+            return entries;
+        }
+
+        misses.increment();
+        Object token = new Object();
+        loading.put(key, token);
+        Map<String, String> entries = Map.copyOf(connection.sync().hgetall(key));
+        if (loading.remove(key, token)) {
+            localCache.put(key, entries);
+        }
+        return entries;
+    }
+
+    private boolean cacheable(String key) {
+
+        if (!tracking) {
+            return false;
+        }
+        if (prefixes.isEmpty()) {
+            return true;
+        }
+        for (String prefix : prefixes) {
+            if (key.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public void evict(String key) {
+        loading.remove(key);
+        localCache.invalidate(key);
+        invalidations.increment();
+    }
+
+    public void clear() {
+        loading.clear();
+        localCache.invalidateAll();
+        invalidations.increment();
+    }
+
+    public boolean isTracking() {
+        return tracking;
+    }
+
+    public long size() {
+        return localCache.estimatedSize();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getInvalidations() {
+        return invalidations.sum();
+    }
+
+    /**
+     * redis.client.cache.gets (result=hit/miss), redis.client.cache.invalidations, redis.client.cache.size
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+
+        FunctionCounter.builder("redis.client.cache.gets", hits, LongAdder::sum).tag("result", "hit").register(registry);
+        FunctionCounter.builder("redis.client.cache.gets", misses, LongAdder::sum).tag("result", "miss").register(registry);
+        FunctionCounter.builder("redis.client.cache.invalidations", invalidations, LongAdder::sum).register(registry);
+        Gauge.builder("redis.client.cache.size", this, ClientSideCache::size).register(registry);
+    }
+
+}
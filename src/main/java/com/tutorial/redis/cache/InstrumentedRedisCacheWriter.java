@@ -0,0 +1,93 @@
+package com.tutorial.redis.cache;
+
+import org.springframework.data.redis.cache.CacheStatistics;
+import org.springframework.data.redis.cache.CacheStatisticsCollector;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+
+public class InstrumentedRedisCacheWriter implements RedisCacheWriter {
+
+    /**
+     * RedisCacheWriter yang mencatat latency per operasi dan akses per key ke RedisCacheStatistics
+     *  hit/miss/put/delete/lock wait tetap di hitung CacheStatisticsCollector writer asli (spring.cache.redis.enable-statistics)
+     */
+
+    private final RedisCacheWriter delegate;
+
+    private final RedisCacheStatistics statistics;
+
+    public InstrumentedRedisCacheWriter(RedisCacheWriter delegate, RedisCacheStatistics statistics) {
+        this.delegate = delegate;
+        this.statistics = statistics;
+    }
+
+    @Override
+    public void put(String name, byte[] key, byte[] value, @Nullable Duration ttl) {
+        long start = System.nanoTime();
+        try {
+            delegate.put(name, key, value, ttl);
+        } finally {
+            statistics.record(name, "put", key, System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    @Nullable
+    public byte[] get(String name, byte[] key) {
+        long start = System.nanoTime();
+        try {
+            return delegate.get(name, key);
+        } finally {
+            statistics.record(name, "get", key, System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    @Nullable
+    public byte[] putIfAbsent(String name, byte[] key, byte[] value, @Nullable Duration ttl) {
+        long start = System.nanoTime();
+        try {
+            return delegate.putIfAbsent(name, key, value, ttl);
+        } finally {
+            statistics.record(name, "putIfAbsent", key, System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public void remove(String name, byte[] key) {
+        long start = System.nanoTime();
+        try {
+            delegate.remove(name, key);
+        } finally {
+            statistics.record(name, "remove", null, System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public void clean(String name, byte[] pattern) {
+        long start = System.nanoTime();
+        try {
+            delegate.clean(name, pattern);
+        } finally {
+            statistics.record(name, "clean", null, System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public void clearStatistics(String name) {
+        delegate.clearStatistics(name);
+    }
+
+    @Override
+    public RedisCacheWriter withStatisticsCollector(CacheStatisticsCollector cacheStatisticsCollector) {
+        return new InstrumentedRedisCacheWriter(delegate.withStatisticsCollector(cacheStatisticsCollector), statistics);
+    }
+
+    @Override
+    public CacheStatistics getCacheStatistics(String cacheName) {
+        return delegate.getCacheStatistics(cacheName);
+    }
+
+}
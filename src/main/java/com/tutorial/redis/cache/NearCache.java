@@ -0,0 +1,164 @@
+package com.tutorial.redis.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.lang.Nullable;
+
+import java.util.concurrent.Callable;
+
+public class NearCache implements Cache {
+
+    /**
+     * Near Cache (two tier)
+     *  L1 adalah cache di memory JVM (Caffeine, eviction W-TinyLFU, ukuran dibatasi)
+     *  L2 adalah cache di redis (RedisCache dari RedisCacheManager)
+     *  get() akan cek L1 dulu, jika tidak ada baru ke redis, hasil dari redis di simpan di L1
+     *  put()/evict()/clear() akan di teruskan ke redis lalu di broadcast ke node lain lewat pubsub agar L1 nya di hapus
+     */
+
+    private final Cache delegate;
+
+    private final com.github.benmanes.caffeine.cache.Cache<String, ValueWrapper> localCache;
+
+    private final NearCacheManager cacheManager;
+
+    NearCache(Cache delegate, com.github.benmanes.caffeine.cache.Cache<String, ValueWrapper> localCache, NearCacheManager cacheManager) {
+        this.delegate = delegate;
+        this.localCache = localCache;
+        this.cacheManager = cacheManager;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    public Cache getDelegate() {
+        return delegate;
+    }
+
+    public com.github.benmanes.caffeine.cache.Cache<String, ValueWrapper> getLocalCache() {
+        return localCache;
+    }
+
+    @Override
+    @Nullable
+    public ValueWrapper get(Object key) {
+
+        String localKey = toLocalKey(key);
+        ValueWrapper wrapper = localCache.getIfPresent(localKey); // L1
+        if (wrapper != null) {
+            return wrapper;
+        }
+
+        wrapper = delegate.get(key); // L2 (redis)
+        if (wrapper != null) {
+            localCache.put(localKey, wrapper);
+        }
+        return wrapper;
+    }
+
+    @Override
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, @Nullable Class<T> type) {
+
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+
+        String localKey = toLocalKey(key);
+        ValueWrapper wrapper = localCache.getIfPresent(localKey);
+        if (wrapper != null) {
+            return (T) wrapper.get();
+        }
+
+        T value = delegate.get(key, valueLoader); // ambil dari redis, kalau tidak ada jalankan loader lalu simpan ke redis
+        localCache.put(localKey, new SimpleValueWrapper(value));
+        return value;
+    }
+
+    @Override
+    public void put(Object key, @Nullable Object value) {
+
+        delegate.put(key, value);
+        localCache.put(toLocalKey(key), new SimpleValueWrapper(value));
+        cacheManager.publishInvalidation(getName(), toLocalKey(key));
+    }
+
+    @Override
+    @Nullable
+    public ValueWrapper putIfAbsent(Object key, @Nullable Object value) {
+
+        ValueWrapper existing = delegate.putIfAbsent(key, value);
+        localCache.invalidate(toLocalKey(key));
+        if (existing == null) {
+            cacheManager.publishInvalidation(getName(), toLocalKey(key));
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+
+        delegate.evict(key);
+        localCache.invalidate(toLocalKey(key));
+        cacheManager.publishInvalidation(getName(), toLocalKey(key));
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+
+        boolean evicted = delegate.evictIfPresent(key);
+        localCache.invalidate(toLocalKey(key));
+        cacheManager.publishInvalidation(getName(), toLocalKey(key));
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+
+        delegate.clear();
+        localCache.invalidateAll();
+        cacheManager.publishInvalidation(getName(), null);
+    }
+
+    @Override
+    public boolean invalidate() {
+
+        boolean invalidated = delegate.invalidate();
+        localCache.invalidateAll();
+        cacheManager.publishInvalidation(getName(), null);
+        return invalidated;
+    }
+
+    /**
+     * di panggil dari pesan invalidation node lain, hanya menghapus L1 (redis sudah di ubah oleh node pengirim)
+     */
+    void evictLocal(@Nullable String localKey) {
+        if (localKey == null) {
+            localCache.invalidateAll();
+        } else {
+            localCache.invalidate(localKey);
+        }
+    }
+
+    private static String toLocalKey(Object key) {
+        return key.toString(); // key di L1 berupa string agar sama dengan key yang di kirim lewat pubsub
+    }
+
+}
@@ -0,0 +1,120 @@
+package com.tutorial.redis.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.lang.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+@Slf4j
+public class NearCacheManager implements CacheManager, MessageListener {
+
+    /**
+     * CacheManager yang membungkus RedisCacheManager, setiap cache di bungkus dengan NearCache (L1 Caffeine + L2 Redis)
+     * perubahan di satu node di kirim ke channel INVALIDATION_CHANNEL dengan format: nodeId \0 cacheName [\0 key]
+     * jika key tidak ada berarti seluruh cache di clear
+     */
+
+    public static final String INVALIDATION_CHANNEL = "cache:invalidation";
+
+    private static final String SEPARATOR = "\u0000";
+
+    private final CacheManager delegate;
+
+    private final StringRedisTemplate redisTemplate;
+
+    private final long maximumSize;
+
+    private final Duration timeToLive;
+
+    private final String nodeId = UUID.randomUUID().toString(); // untuk mengabaikan pesan invalidation dari node sendiri
+
+    private final ConcurrentMap<String, NearCache> caches = new ConcurrentHashMap<>();
+
+    public NearCacheManager(CacheManager delegate, StringRedisTemplate redisTemplate, long maximumSize, Duration timeToLive) {
+        this.delegate = delegate;
+        this.redisTemplate = redisTemplate;
+        this.maximumSize = maximumSize;
+        this.timeToLive = timeToLive;
+    }
+
+    @Override
+    @Nullable
+    public Cache getCache(String name) {
+
+        NearCache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+
+        Cache target = delegate.getCache(name);
+        if (target == null) {
+            return null;
+        }
+        return caches.computeIfAbsent(name, key -> new NearCache(target, createLocalCache(target), this));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+
+    /**
+     * TTL L1 tidak boleh lebih lama dari TTL di redis (spring.cache.redis.time-to-live)
+     */
+    private com.github.benmanes.caffeine.cache.Cache<String, Cache.ValueWrapper> createLocalCache(Cache target) {
+
+        Duration ttl = timeToLive;
+        if (target instanceof RedisCache redisCache) {
+            Duration redisTtl = redisCache.getCacheConfiguration().getTtl();
+            if (!redisTtl.isZero() && !redisTtl.isNegative() && redisTtl.compareTo(ttl) < 0) {
+                ttl = redisTtl;
+            }
+        }
+
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize) // W-TinyLFU eviction ketika ukuran penuh
+                .expireAfterWrite(ttl)
+                .recordStats() // hit/miss/eviction untuk actuator metrics
+                .build();
+    }
+
+    void publishInvalidation(String cacheName, @Nullable String key) {
+
+        String payload = key == null
+                ? nodeId + SEPARATOR + cacheName
+                : nodeId + SEPARATOR + cacheName + SEPARATOR + key;
+        try {
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL, payload);
+        } catch (RuntimeException exception) {
+            // data di redis sudah berubah, L1 di node lain akan expire sesuai TTL nya
+            log.warn("Failed to publish cache invalidation for {}: {}", cacheName, exception.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split(SEPARATOR, 3);
+        if (parts.length < 2 || nodeId.equals(parts[0])) {
+            return;
+        }
+
+        NearCache cache = caches.get(parts[1]);
+        if (cache != null) {
+            cache.evictLocal(parts.length == 3 ? parts[2] : null);
+        }
+    }
+
+}
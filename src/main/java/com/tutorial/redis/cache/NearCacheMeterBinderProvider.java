@@ -0,0 +1,22 @@
+package com.tutorial.redis.cache;
+
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+
+public class NearCacheMeterBinderProvider implements CacheMeterBinderProvider<NearCache> {
+
+    /**
+     * metrics L1 (cache.gets hit/miss, cache.evictions, cache.size) dengan tag cache.manager=near
+     * metrics L2 sudah di daftarkan oleh spring boot untuk RedisCache dari bean redisCacheManager (cache.manager=redisCacheManager)
+     * key tag harus sama dengan meter RedisCache yang bernama sama, prometheus menolak meter dengan set key tag berbeda
+     */
+
+    @Override
+    public MeterBinder getMeterBinder(NearCache cache, Iterable<Tag> tags) {
+        return new CaffeineCacheMetrics<>(cache.getLocalCache(), cache.getName(), Tags.concat(tags, "cache.manager", "near"));
+    }
+
+}
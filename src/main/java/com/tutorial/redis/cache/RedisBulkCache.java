@@ -0,0 +1,129 @@
+package com.tutorial.redis.cache;
+
+import org.springframework.cache.support.NullValue;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.util.ByteUtils;
+import org.springframework.util.Assert;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+public class RedisBulkCache<K, V> {
+
+    /**
+     * Bulk Get untuk satu RedisCache
+     *  Cache.get() hanya untuk satu key, jadi N key = N GET (N round trip)
+     *  getAll() membaca semua key dengan satu MGET, key yang miss di load sekaligus oleh loader (satu kali panggil),
+     *  lalu di tulis kembali dengan satu pipeline SET PX (TTL sama dengan RedisCache), total 2 round trip
+     *  format key dan value sama dengan RedisCache (prefix, serializer, NullValue), jadi bisa di campur dengan @Cacheable
+     *  note: statistics RedisCache dan L1 near cache tidak ikut di update
+     */
+
+    private final RedisCache cache;
+
+    private final RedisConnectionFactory connectionFactory;
+
+    public RedisBulkCache(RedisCache cache, RedisConnectionFactory connectionFactory) {
+        this.cache = cache;
+        this.connectionFactory = connectionFactory;
+    }
+
+    public String getName() {
+        return cache.getName();
+    }
+
+    /**
+     * @param loader di panggil satu kali dengan semua key yang miss, key yang tidak ada di hasil loader di simpan
+     *               sebagai null (jika cache-null-values) dan tidak ada di hasil getAll()
+     * @return value per key sesuai urutan keys, key yang null di lewati
+     */
+    @SuppressWarnings("unchecked")
+    public Map<K, V> getAll(Collection<? extends K> keys, Function<Collection<K>, Map<K, V>> loader) {
+
+        List<K> distinctKeys = new ArrayList<>(new LinkedHashSet<>(keys));
+        Map<K, V> result = new LinkedHashMap<>();
+        if (distinctKeys.isEmpty()) {
+            return result;
+        }
+
+        RedisCacheConfiguration configuration = cache.getCacheConfiguration();
+        byte[][] cacheKeys = new byte[distinctKeys.size()][];
+        for (int i = 0; i < distinctKeys.size(); i++) {
+            cacheKeys[i] = createCacheKey(configuration, distinctKeys.get(i));
+        }
+
+        List<byte[]> values;
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            values = connection.stringCommands().mGet(cacheKeys); // satu MGET untuk semua key
+        }
+
+        List<K> misses = new ArrayList<>();
+        Map<Integer, Object> hits = new LinkedHashMap<>();
+        for (int i = 0; i < distinctKeys.size(); i++) {
+            byte[] value = values != null ? values.get(i) : null;
+            if (value == null) {
+                misses.add(distinctKeys.get(i));
+            } else {
+                hits.put(i, configuration.getValueSerializationPair().read(ByteBuffer.wrap(value)));
+            }
+        }
+
+        Map<K, V> loaded = misses.isEmpty() ? Map.of() : loader.apply(misses);
+        if (!misses.isEmpty()) {
+            writeBack(configuration, misses, loaded);
+        }
+
+        // urutan hasil sesuai keys
+        for (int i = 0; i < distinctKeys.size(); i++) {
+            K key = distinctKeys.get(i);
+            Object value = hits.containsKey(i) ? hits.get(i) : loaded.get(key);
+            if (value != null && !(value instanceof NullValue)) {
+                result.put(key, (V) value);
+            }
+        }
+        return result;
+    }
+
+    private void writeBack(RedisCacheConfiguration configuration, List<K> misses, Map<K, V> loaded) {
+
+        Duration ttl = configuration.getTtl();
+        Expiration expiration = ttl.isZero() || ttl.isNegative() ? Expiration.persistent() : Expiration.from(ttl);
+
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.openPipeline();
+            for (K key : misses) {
+                Object value = loaded.get(key);
+                if (value == null) {
+                    if (!configuration.getAllowCacheNullValues()) {
+                        continue;
+                    }
+                    value = NullValue.INSTANCE;
+                }
+                byte[] binValue = ByteUtils.getBytes(configuration.getValueSerializationPair().write(value));
+                connection.stringCommands().set(createCacheKey(configuration, key), binValue, expiration, RedisStringCommands.SetOption.upsert());
+            }
+            connection.closePipeline(); // satu round trip untuk semua SET
+        }
+    }
+
+    private byte[] createCacheKey(RedisCacheConfiguration configuration, K key) {
+
+        Assert.notNull(key, "Cache key must not be null");
+        String convertedKey = key instanceof String value ? value : configuration.getConversionService().convert(key, String.class);
+        String cacheKey = configuration.usePrefix() ? configuration.getKeyPrefixFor(cache.getName()) + convertedKey : convertedKey;
+        return ByteUtils.getBytes(configuration.getKeySerializationPair().write(cacheKey));
+    }
+
+}
@@ -0,0 +1,151 @@
+package com.tutorial.redis.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.lang.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+public class RedisCacheStatistics {
+
+    /**
+     * statistik tambahan RedisCache yang tidak ada di CacheStatistics spring data redis:
+     *  cache.redis.latency (tag cache, operation get/put/putIfAbsent/remove/clean): timer dengan p50/p99/p999 dan histogram
+     *  top keys per cache: jumlah akses (get/put) per key, perkiraan (jumlah key di batasi topKeysCapacity,
+     *  ketika penuh setengah key dengan akses paling sedikit di buang)
+     *  di isi InstrumentedRedisCacheWriter, di baca RedisCacheStatisticsEndpoint (/actuator/cachestats)
+     */
+
+    private final MeterRegistry registry;
+
+    private final int topKeysCapacity;
+
+    private final Set<String> caches = ConcurrentHashMap.newKeySet();
+
+    private final ConcurrentMap<String, Timer> timers = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, KeyAccessCounter> keyAccesses = new ConcurrentHashMap<>();
+
+    private volatile Consumer<String> newCacheListener = name -> {
+    };
+
+    public RedisCacheStatistics(MeterRegistry registry, int topKeysCapacity) {
+        this.registry = registry;
+        this.topKeysCapacity = topKeysCapacity;
+    }
+
+    /**
+     * di panggil sekali untuk setiap nama cache yang baru pertama kali di akses (misal untuk bind metrics cache yang di buat setelah startup)
+     */
+    public void setNewCacheListener(Consumer<String> newCacheListener) {
+        this.newCacheListener = newCacheListener;
+    }
+
+    void record(String cache, String operation, @Nullable byte[] key, long nanos) {
+
+        timer(cache, operation).record(nanos, TimeUnit.NANOSECONDS);
+        if (key != null && topKeysCapacity > 0) {
+            keyAccesses(cache).increment(key);
+        }
+    }
+
+    @Nullable
+    public Timer getLatency(String cache, String operation) {
+        return timers.get(cache + ':' + operation);
+    }
+
+    public List<KeyCount> getTopKeys(String cache, int limit) {
+        KeyAccessCounter counter = keyAccesses.get(cache);
+        return counter == null ? List.of() : counter.top(limit);
+    }
+
+    private Timer timer(String cache, String operation) {
+
+        Timer timer = timers.get(cache + ':' + operation);
+        if (timer != null) {
+            return timer;
+        }
+        if (caches.add(cache)) {
+            newCacheListener.accept(cache);
+        }
+        return timers.computeIfAbsent(cache + ':' + operation, key -> Timer.builder("cache.redis.latency")
+                .description("Redis cache operation latency")
+                .tag("cache", cache)
+                .tag("operation", operation)
+                .publishPercentiles(0.5, 0.99, 0.999)
+                .publishPercentileHistogram()
+                .register(registry));
+    }
+
+    private KeyAccessCounter keyAccesses(String cache) {
+
+        KeyAccessCounter counter = keyAccesses.get(cache);
+        return counter != null ? counter : keyAccesses.computeIfAbsent(cache, name -> new KeyAccessCounter(topKeysCapacity));
+    }
+
+    public record KeyCount(String key, long count) {
+    }
+
+    private static final class KeyAccessCounter {
+
+        private final int capacity;
+
+        private final ConcurrentMap<String, LongAdder> counts = new ConcurrentHashMap<>();
+
+        KeyAccessCounter(int capacity) {
+            this.capacity = capacity;
+        }
+
+        void increment(byte[] key) {
+
+            String name = new String(key, StandardCharsets.UTF_8);
+            LongAdder count = counts.get(name);
+            if (count == null) {
+                if (counts.size() >= capacity) {
+                    shrink();
+                }
+                count = counts.computeIfAbsent(name, k -> new LongAdder());
+            }
+            count.increment();
+        }
+
+        /**
+         * buang setengah key dengan akses paling sedikit, key yang sering di akses tetap ada
+         */
+        private synchronized void shrink() {
+
+            if (counts.size() < capacity) {
+                return;
+            }
+            List<Map.Entry<String, Long>> snapshot = snapshot();
+            for (int i = capacity / 2; i < snapshot.size(); i++) {
+                counts.remove(snapshot.get(i).getKey());
+            }
+        }
+
+        List<KeyCount> top(int limit) {
+            return snapshot().stream()
+                    .limit(limit)
+                    .map(entry -> new KeyCount(entry.getKey(), entry.getValue()))
+                    .toList();
+        }
+
+        private List<Map.Entry<String, Long>> snapshot() {
+            List<Map.Entry<String, Long>> snapshot = new ArrayList<>(counts.size());
+            counts.forEach((key, count) -> snapshot.add(Map.entry(key, count.sum())));
+            snapshot.sort(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()));
+            return snapshot;
+        }
+    }
+
+}
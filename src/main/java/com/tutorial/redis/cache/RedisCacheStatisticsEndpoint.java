@@ -0,0 +1,110 @@
+package com.tutorial.redis.cache;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.CacheStatistics;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.lang.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@Endpoint(id = "cachestats")
+public class RedisCacheStatisticsEndpoint {
+
+    /**
+     * endpoint: http://localhost:8080/actuator/cachestats (semua cache) dan /actuator/cachestats/{cache}
+     *  hit ratio dan hit/miss logis per pemanggil dari StampedeProtectedCache (CacheManager utama), satu @Cacheable(sync = true) = satu get
+     *  redisHits/ redisMisses/ put/ delete dan lock wait dari CacheStatistics RedisCache (per GET ke redis, near cache hit tidak ikut),
+     *  latency get/put (ms) dan top keys dari RedisCacheStatistics
+     *  untuk menentukan TTL dan ukuran cache: hit ratio rendah dengan top keys yang merata = TTL terlalu pendek/ key terlalu banyak
+     */
+
+    private static final int TOP_KEYS = 10;
+
+    private final CacheManager cacheManager;
+
+    private final RedisCacheManager redisCacheManager;
+
+    private final RedisCacheStatistics statistics;
+
+    public RedisCacheStatisticsEndpoint(CacheManager cacheManager, RedisCacheManager redisCacheManager, RedisCacheStatistics statistics) {
+        this.cacheManager = cacheManager;
+        this.redisCacheManager = redisCacheManager;
+        this.statistics = statistics;
+    }
+
+    @ReadOperation
+    public Map<String, CacheReport> caches() {
+
+        Map<String, CacheReport> reports = new LinkedHashMap<>();
+        for (String name : redisCacheManager.getCacheNames()) {
+            CacheReport report = cache(name);
+            if (report != null) {
+                reports.put(name, report);
+            }
+        }
+        return reports;
+    }
+
+    @ReadOperation
+    @Nullable
+    public CacheReport cache(@Selector String name) {
+
+        Cache cache = redisCacheManager.getCache(name);
+        if (!(cache instanceof RedisCache redisCache)) {
+            return null; // 404
+        }
+        CacheStatistics cacheStatistics = redisCache.getStatistics();
+        long hits = cacheStatistics.getHits();
+        long misses = cacheStatistics.getMisses();
+        if (cacheManager.getCache(name) instanceof StampedeProtectedCache stampedeCache) {
+            hits = stampedeCache.getHits();
+            misses = stampedeCache.getMisses();
+        }
+        return new CacheReport(
+                hits + misses == 0 ? 0.0 : (double) hits / (hits + misses),
+                hits,
+                misses,
+                cacheStatistics.getHits(),
+                cacheStatistics.getMisses(),
+                cacheStatistics.getPuts(),
+                cacheStatistics.getDeletes(),
+                cacheStatistics.getLockWaitDuration(TimeUnit.MILLISECONDS),
+                latency(name, "get"),
+                latency(name, "put"),
+                statistics.getTopKeys(name, TOP_KEYS));
+    }
+
+    @Nullable
+    private Latency latency(String cache, String operation) {
+
+        Timer timer = statistics.getLatency(cache, operation);
+        if (timer == null) {
+            return null;
+        }
+        HistogramSnapshot snapshot = timer.takeSnapshot();
+        Map<String, Double> percentiles = new LinkedHashMap<>();
+        for (ValueAtPercentile percentile : snapshot.percentileValues()) {
+            percentiles.put("p" + percentile.percentile(), percentile.value(TimeUnit.MILLISECONDS));
+        }
+        return new Latency(snapshot.count(), snapshot.mean(TimeUnit.MILLISECONDS), snapshot.max(TimeUnit.MILLISECONDS), percentiles);
+    }
+
+    public record CacheReport(double hitRatio, long hits, long misses, long redisHits, long redisMisses, long puts, long deletes, long lockWaitMillis,
+                              @Nullable Latency get, @Nullable Latency put, List<RedisCacheStatistics.KeyCount> topKeys) {
+    }
+
+    public record Latency(long count, double meanMillis, double maxMillis, Map<String, Double> percentilesMillis) {
+    }
+
+}
@@ -0,0 +1,411 @@
+package com.tutorial.redis.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.DoubleSupplier;
+
+@Slf4j
+public class StampedeProtectedCache implements Cache {
+
+    /**
+     * Stampede Protection (di pakai oleh @Cacheable(sync = true) lewat get(key, loader))
+     *  coalescing: satu key hanya di load satu kali bersamaan per JVM, thread lain menunggu hasil load yang sama
+     *  lease: sebelum load, SET lock:<cache>::<key> NX PX leaseTime, node yang tidak dapat lease menunggu nilai muncul di cache
+     *         (maksimal leaseTime, setelah itu load sendiri)
+     *  early refresh (XFetch): ketika hit, jika now - delta * beta * ln(random) >= expiry, key di refresh di background
+     *         sebelum expire. delta = lama loader terakhir, makin lama loader dan makin dekat expiry makin besar peluang refresh
+     *  stale-while-revalidate (softTtl > 0): TTL redis adalah hard TTL, setelah softTtl sejak di tulis nilai lama tetap di kembalikan
+     *         dan refresh di jalankan di background, caller hanya menunggu loader ketika hard TTL lewat (key sudah hilang dari redis)
+     *  expiry di catat di memory ketika node ini load/put, untuk key yang di tulis node lain expiry di ambil sekali dengan PTTL
+     *  hit/miss di hitung per pemanggil (logis), bukan per GET ke delegate
+     */
+
+    private static final RedisScript<Long> RELEASE_LEASE = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end", Long.class);
+
+    private static final long LEASE_POLL_MILLIS = 50;
+
+    private final Cache delegate;
+
+    private final StringRedisTemplate redisTemplate;
+
+    private final Executor refreshExecutor;
+
+    private final Duration ttl;
+
+    @Nullable
+    private final String redisKeyPrefix;
+
+    private final Duration leaseTime;
+
+    private final double beta;
+
+    private final Duration defaultDelta;
+
+    private final Duration softTtl;
+
+    private final DoubleSupplier random;
+
+    private final ConcurrentMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    private final com.github.benmanes.caffeine.cache.Cache<String, Expiry> expiries;
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    private final AtomicLong loads = new AtomicLong();
+
+    private final AtomicLong coalescedWaits = new AtomicLong();
+
+    private final AtomicLong leaseWaits = new AtomicLong();
+
+    private final AtomicLong earlyRefreshes = new AtomicLong();
+
+    private final AtomicLong staleHits = new AtomicLong();
+
+    StampedeProtectedCache(Cache delegate, StringRedisTemplate redisTemplate, Executor refreshExecutor, Duration ttl,
+                           @Nullable String redisKeyPrefix, Duration leaseTime, double beta, Duration defaultDelta, Duration softTtl,
+                           DoubleSupplier random) {
+        this.delegate = delegate;
+        this.redisTemplate = redisTemplate;
+        this.refreshExecutor = refreshExecutor;
+        this.ttl = ttl;
+        this.redisKeyPrefix = redisKeyPrefix;
+        this.leaseTime = leaseTime;
+        this.beta = beta;
+        this.defaultDelta = defaultDelta;
+        this.softTtl = softTtl;
+        this.random = random;
+        this.expiries = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(ttl.isZero() || ttl.isNegative() ? Duration.ofMinutes(10) : ttl)
+                .build();
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    public Cache getDelegate() {
+        return delegate;
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getLoads() {
+        return loads.get();
+    }
+
+    public long getCoalescedWaits() {
+        return coalescedWaits.get();
+    }
+
+    public long getLeaseWaits() {
+        return leaseWaits.get();
+    }
+
+    public long getEarlyRefreshes() {
+        return earlyRefreshes.get();
+    }
+
+    public long getStaleHits() {
+        return staleHits.get();
+    }
+
+    @Override
+    @Nullable
+    public ValueWrapper get(Object key) {
+        return record(delegate.get(key));
+    }
+
+    @Override
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, @Nullable Class<T> type) {
+
+        ValueWrapper wrapper = record(delegate.get(key));
+        if (wrapper == null) {
+            return null;
+        }
+        Object value = wrapper.get();
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+
+        ValueWrapper wrapper = record(delegate.get(key));
+        if (wrapper != null) {
+            refreshIfNeeded(key, valueLoader);
+            return (T) wrapper.get();
+        }
+
+        String localKey = key.toString();
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(localKey, future);
+        if (existing != null) {
+            coalescedWaits.incrementAndGet(); // sudah ada thread lain yang load key ini
+            return (T) await(key, valueLoader, existing);
+        }
+
+        try {
+            Object value = loadWithLease(key, valueLoader, true);
+            future.complete(value);
+            return (T) value;
+        } catch (RuntimeException exception) {
+            future.completeExceptionally(exception);
+            throw exception;
+        } finally {
+            inFlight.remove(localKey, future);
+        }
+    }
+
+    @Override
+    public void put(Object key, @Nullable Object value) {
+        delegate.put(key, value);
+        recordExpiry(key.toString(), null);
+    }
+
+    @Override
+    @Nullable
+    public ValueWrapper putIfAbsent(Object key, @Nullable Object value) {
+        return delegate.putIfAbsent(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+        expiries.invalidate(key.toString());
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        expiries.invalidate(key.toString());
+        return delegate.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+        expiries.invalidateAll();
+    }
+
+    @Override
+    public boolean invalidate() {
+        expiries.invalidateAll();
+        return delegate.invalidate();
+    }
+
+    @Nullable
+    private ValueWrapper record(@Nullable ValueWrapper wrapper) {
+        (wrapper != null ? hits : misses).incrementAndGet();
+        return wrapper;
+    }
+
+    /**
+     * blocking=true: jika lease di pegang node lain, tunggu nilai dari node tersebut
+     * blocking=false (early refresh): jika lease di pegang node lain, tidak perlu refresh
+     */
+    @Nullable
+    private Object loadWithLease(Object key, Callable<?> valueLoader, boolean blocking) {
+
+        if (leaseTime.isZero() || leaseTime.isNegative()) {
+            return load(key, valueLoader);
+        }
+
+        String leaseKey = "lock:" + getName() + "::" + key;
+        String token = UUID.randomUUID().toString();
+        if (!Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(leaseKey, token, leaseTime))) {
+            if (!blocking) {
+                return null;
+            }
+            leaseWaits.incrementAndGet();
+            ValueWrapper wrapper = awaitLeaseHolder(key);
+            return wrapper != null ? wrapper.get() : load(key, valueLoader); // lease habis tanpa hasil, load sendiri
+        }
+
+        try {
+            if (blocking) {
+                ValueWrapper wrapper = delegate.get(key); // node lain mungkin sudah selesai load sebelum lease di dapat
+                if (wrapper != null) {
+                    return wrapper.get();
+                }
+            }
+            return load(key, valueLoader);
+        } finally {
+            try {
+                redisTemplate.execute(RELEASE_LEASE, List.of(leaseKey), token);
+            } catch (RuntimeException exception) {
+                log.warn("Failed to release cache lease {}: {}", leaseKey, exception.getMessage()); // lease expire sendiri
+            }
+        }
+    }
+
+    @Nullable
+    private ValueWrapper awaitLeaseHolder(Object key) {
+
+        long deadline = System.nanoTime() + leaseTime.toNanos();
+        while (System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(LEASE_POLL_MILLIS);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+            ValueWrapper wrapper = delegate.get(key);
+            if (wrapper != null) {
+                return wrapper;
+            }
+        }
+        return null;
+    }
+
+    @Nullable
+    private Object load(Object key, Callable<?> valueLoader) {
+
+        long start = System.nanoTime();
+        Object value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception exception) {
+            throw new ValueRetrievalException(key, valueLoader, exception);
+        }
+        Duration delta = Duration.ofNanos(System.nanoTime() - start);
+
+        delegate.put(key, value);
+        loads.incrementAndGet();
+        recordExpiry(key.toString(), delta);
+        return value;
+    }
+
+    @Nullable
+    private Object await(Object key, Callable<?> valueLoader, CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CompletionException exception) {
+            if (exception.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new ValueRetrievalException(key, valueLoader, exception.getCause());
+        }
+    }
+
+    private void refreshIfNeeded(Object key, Callable<?> valueLoader) {
+
+        boolean staleWhileRevalidate = softTtl.compareTo(Duration.ZERO) > 0 && softTtl.compareTo(ttl) < 0;
+        if ((beta <= 0 && !staleWhileRevalidate) || ttl.isZero() || ttl.isNegative()) {
+            return;
+        }
+
+        String localKey = key.toString();
+        Expiry expiry = expiries.get(localKey, this::lookupExpiry);
+        if (expiry == null) {
+            return;
+        }
+
+        // batas refresh: soft TTL (stale-while-revalidate) atau hard TTL (expiry di redis)
+        long now = System.currentTimeMillis();
+        long refreshAt = staleWhileRevalidate ? expiry.expiresAt() - ttl.toMillis() + softTtl.toMillis() : expiry.expiresAt();
+        boolean stale = staleWhileRevalidate && now >= refreshAt;
+        if (stale) {
+            staleHits.incrementAndGet();
+        } else {
+            // XFetch: now - delta * beta * ln(random) >= refreshAt
+            long gap = (long) (expiry.deltaMillis() * beta * -Math.log(random.getAsDouble()));
+            if (beta <= 0 || now + gap < refreshAt) {
+                return;
+            }
+        }
+
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        if (inFlight.putIfAbsent(localKey, future) != null) {
+            return; // sudah ada load/ refresh yang berjalan
+        }
+
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    Object value = loadWithLease(key, valueLoader, false);
+                    if (value != null) {
+                        earlyRefreshes.incrementAndGet();
+                    }
+                    future.complete(value);
+                } catch (RuntimeException exception) {
+                    log.warn("Failed to refresh {} in cache {}: {}", key, getName(), exception.getMessage());
+                    future.completeExceptionally(exception);
+                } finally {
+                    inFlight.remove(localKey, future);
+                }
+            });
+        } catch (RejectedExecutionException exception) {
+            inFlight.remove(localKey, future); // executor penuh, refresh di lewati
+            future.complete(null);
+        }
+    }
+
+    /**
+     * key yang di tulis node lain: sisa TTL di ambil dari redis (PTTL), delta memakai defaultDelta
+     */
+    @Nullable
+    private Expiry lookupExpiry(String localKey) {
+
+        if (redisKeyPrefix == null) {
+            return null;
+        }
+        Long remaining = redisTemplate.getExpire(redisKeyPrefix + localKey, TimeUnit.MILLISECONDS);
+        if (remaining == null || remaining <= 0) {
+            return null;
+        }
+        return new Expiry(System.currentTimeMillis() + remaining, defaultDelta.toMillis());
+    }
+
+    private void recordExpiry(String localKey, @Nullable Duration delta) {
+
+        if (ttl.isZero() || ttl.isNegative()) {
+            return;
+        }
+        Expiry previous = expiries.getIfPresent(localKey);
+        long deltaMillis = delta != null ? Math.max(1, delta.toMillis()) : previous != null ? previous.deltaMillis() : defaultDelta.toMillis();
+        expiries.put(localKey, new Expiry(System.currentTimeMillis() + ttl.toMillis(), deltaMillis));
+    }
+
+    private record Expiry(long expiresAt, long deltaMillis) {
+    }
+
+}
@@ -0,0 +1,135 @@
+package com.tutorial.redis.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.DoubleSupplier;
+
+public class StampedeProtectedCacheManager implements CacheManager {
+
+    /**
+     * CacheManager yang membungkus setiap cache dengan StampedeProtectedCache
+     *  delegate bisa RedisCacheManager atau NearCacheManager, TTL dan prefix key redis di ambil dari redisCacheManager
+     *  jika softTtl di set, TTL redisCacheManager menjadi hard TTL (stale-while-revalidate) untuk cache di softTtlCacheNames
+     */
+
+    private final CacheManager delegate;
+
+    private final RedisCacheManager redisCacheManager;
+
+    private final StringRedisTemplate redisTemplate;
+
+    private final Executor refreshExecutor;
+
+    private final ConcurrentMap<String, StampedeProtectedCache> caches = new ConcurrentHashMap<>();
+
+    private Duration leaseTime = Duration.ofSeconds(5);
+
+    private double beta = 1.0;
+
+    private Duration defaultDelta = Duration.ofMillis(100);
+
+    private Duration softTtl = Duration.ZERO;
+
+    private Set<String> softTtlCacheNames = Set.of();
+
+    private DoubleSupplier random = () -> ThreadLocalRandom.current().nextDouble(Double.MIN_VALUE, 1.0);
+
+    public StampedeProtectedCacheManager(CacheManager delegate, RedisCacheManager redisCacheManager, StringRedisTemplate redisTemplate,
+                                         Executor refreshExecutor) {
+        this.delegate = delegate;
+        this.redisCacheManager = redisCacheManager;
+        this.redisTemplate = redisTemplate;
+        this.refreshExecutor = refreshExecutor;
+    }
+
+    /**
+     * lease redis per key ketika load, 0 = tanpa lease (hanya coalescing per JVM)
+     */
+    public void setLeaseTime(Duration leaseTime) {
+        this.leaseTime = leaseTime;
+    }
+
+    /**
+     * agresivitas early refresh XFetch, 0 = tanpa early refresh
+     */
+    public void setBeta(double beta) {
+        this.beta = beta;
+    }
+
+    /**
+     * perkiraan lama loader untuk key yang belum pernah di load di node ini
+     */
+    public void setDefaultDelta(Duration defaultDelta) {
+        this.defaultDelta = defaultDelta;
+    }
+
+    /**
+     * umur entry sebelum di anggap stale, 0 = tanpa stale-while-revalidate. harus lebih kecil dari TTL redis (hard TTL)
+     */
+    public void setSoftTtl(Duration softTtl) {
+        this.softTtl = softTtl;
+    }
+
+    /**
+     * cache yang memakai softTtl, kosong = semua cache
+     */
+    public void setSoftTtlCacheNames(Collection<String> softTtlCacheNames) {
+        this.softTtlCacheNames = Set.copyOf(softTtlCacheNames);
+    }
+
+    /**
+     * sumber random XFetch, nilai (0, 1], default ThreadLocalRandom
+     */
+    public void setRandom(DoubleSupplier random) {
+        this.random = random;
+    }
+
+    @Override
+    @Nullable
+    public Cache getCache(String name) {
+
+        StampedeProtectedCache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+
+        Cache target = delegate.getCache(name);
+        if (target == null) {
+            return null;
+        }
+        return caches.computeIfAbsent(name, key -> createCache(target));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+
+    private StampedeProtectedCache createCache(Cache target) {
+
+        Duration ttl = Duration.ZERO;
+        String keyPrefix = null;
+        if (redisCacheManager.getCache(target.getName()) instanceof RedisCache redisCache) {
+            RedisCacheConfiguration configuration = redisCache.getCacheConfiguration();
+            ttl = configuration.getTtl();
+            keyPrefix = configuration.usePrefix() ? configuration.getKeyPrefixFor(target.getName()) : "";
+        }
+        boolean staleWhileRevalidate = softTtlCacheNames.isEmpty() || softTtlCacheNames.contains(target.getName());
+        return new StampedeProtectedCache(target, redisTemplate, refreshExecutor, ttl, keyPrefix, leaseTime, beta, defaultDelta,
+                staleWhileRevalidate ? softTtl : Duration.ZERO, random);
+    }
+
+}
@@ -0,0 +1,49 @@
+package com.tutorial.redis.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+
+public class StampedeProtectedCacheMeterBinderProvider implements CacheMeterBinderProvider<StampedeProtectedCache> {
+
+    /**
+     * cache.gets (result hit/miss) per pemanggil dengan tag cache.manager dari CacheManager utama, sync miss = 1 miss
+     * metrics stampede protection per cache:
+     *  cache.stampede.loads, cache.stampede.coalesced (menunggu load thread lain), cache.stampede.lease.waits (menunggu node lain),
+     *  cache.stampede.early.refreshes (refresh di background), cache.stampede.stale.hits (nilai stale di kembalikan, stale-while-revalidate)
+     *  StampedeProtectedCache selalu di paling luar, jika delegate NearCache metrics L1 (cache.manager=near) ikut di daftarkan di sini
+     */
+
+    private final NearCacheMeterBinderProvider nearCacheMeterBinderProvider = new NearCacheMeterBinderProvider();
+
+    @Override
+    public MeterBinder getMeterBinder(StampedeProtectedCache cache, Iterable<Tag> tags) {
+
+        Tags cacheTags = Tags.concat(tags, "cache", cache.getName());
+        MeterBinder nearCacheBinder = cache.getDelegate() instanceof NearCache nearCache
+                ? nearCacheMeterBinderProvider.getMeterBinder(nearCache, tags)
+                : null;
+        return registry -> {
+            if (nearCacheBinder != null) {
+                nearCacheBinder.bindTo(registry);
+            }
+            FunctionCounter.builder("cache.gets", cache, StampedeProtectedCache::getHits)
+                    .tags(cacheTags).tag("result", "hit").description("Cache lookups that returned a cached value").register(registry);
+            FunctionCounter.builder("cache.gets", cache, StampedeProtectedCache::getMisses)
+                    .tags(cacheTags).tag("result", "miss").description("Cache lookups that found no cached value").register(registry);
+            FunctionCounter.builder("cache.stampede.loads", cache, StampedeProtectedCache::getLoads)
+                    .tags(cacheTags).description("Loader invocations").register(registry);
+            FunctionCounter.builder("cache.stampede.coalesced", cache, StampedeProtectedCache::getCoalescedWaits)
+                    .tags(cacheTags).description("Callers that waited for an in-flight load in this JVM").register(registry);
+            FunctionCounter.builder("cache.stampede.lease.waits", cache, StampedeProtectedCache::getLeaseWaits)
+                    .tags(cacheTags).description("Loads that waited for the lease holder on another node").register(registry);
+            FunctionCounter.builder("cache.stampede.early.refreshes", cache, StampedeProtectedCache::getEarlyRefreshes)
+                    .tags(cacheTags).description("Entries refreshed in the background").register(registry);
+            FunctionCounter.builder("cache.stampede.stale.hits", cache, StampedeProtectedCache::getStaleHits)
+                    .tags(cacheTags).description("Hits served past the soft TTL while a refresh was triggered").register(registry);
+        };
+    }
+
+}
@@ -0,0 +1,20 @@
+package com.tutorial.redis.codec;
+
+public interface BinaryCodec<T> {
+
+    /**
+     * Binary Codec
+     *  kontrak encode/decode satu type ke format biner yang ringkas
+     *  getVersion() adalah versi schema yang di tulis, decode() harus bisa membaca semua versi sebelumnya
+     *  agar data lama di redis tetap bisa di baca ketika schema berubah
+     */
+
+    Class<T> getType();
+
+    int getVersion();
+
+    void encode(T value, BinaryOutput output);
+
+    T decode(BinaryInput input, int version);
+
+}
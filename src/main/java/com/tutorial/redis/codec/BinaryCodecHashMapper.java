@@ -0,0 +1,74 @@
+package com.tutorial.redis.codec;
+
+import org.springframework.data.redis.hash.HashMapper;
+import org.springframework.data.redis.hash.ObjectHashMapper;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class BinaryCodecHashMapper<T> implements HashMapper<Object, Object, Object> {
+
+    /**
+     * HashMapper untuk ObjectRecord di stream, object di simpan sebagai satu field "p" berisi [MAGIC][versi schema][payload BinaryCodec]
+     *  ObjectHashMapper menyimpan satu field per property + field _class dan membaca property dengan reflection,
+     *  di sini encode/decode di lakukan BinaryCodec (akses getter/setter langsung)
+     *  payload di tulis sebagai byte[] apa adanya (StringRedisSerializer melewatkan byte[] tanpa encode),
+     *  untuk membaca hash value harus di deserialize dengan RedisSerializer.byteArray() (lihat RedisConfig.orderStreamTemplate),
+     *  entry lama (format ObjectHashMapper) dan object yang bukan type codec tetap di baca/ di tulis dengan ObjectHashMapper
+     */
+
+    public static final String PAYLOAD_FIELD = "p";
+
+    private final BinaryCodec<T> codec;
+
+    private final ObjectHashMapper fallback = ObjectHashMapper.getSharedInstance();
+
+    public BinaryCodecHashMapper(BinaryCodec<T> codec) {
+        this.codec = codec;
+    }
+
+    @Override
+    public Map<Object, Object> toHash(Object object) {
+
+        if (!codec.getType().isInstance(object)) {
+            Map<Object, Object> hash = new LinkedHashMap<>();
+            fallback.toHash(object).forEach((key, value) -> hash.put(new String(key, StandardCharsets.UTF_8), value));
+            return hash;
+        }
+
+        byte[] payload = BinaryCodecRedisSerializer.encode(codec, codec.getType().cast(object));
+        return Collections.singletonMap(PAYLOAD_FIELD, payload);
+    }
+
+    @Override
+    public Object fromHash(Map<Object, Object> hash) {
+
+        Object payload = hash.get(PAYLOAD_FIELD);
+        if (payload == null) {
+            return fallback.fromHash(toBinary(hash)); // format lama (ObjectHashMapper)
+        }
+
+        if (!(payload instanceof byte[] bytes)) {
+            throw new SerializationException("Field " + PAYLOAD_FIELD + " must be read with RedisSerializer.byteArray(), got " + payload.getClass().getSimpleName());
+        }
+        if (!BinaryCodecRedisSerializer.isEncoded(bytes)) {
+            throw new SerializationException("Field " + PAYLOAD_FIELD + " is not a " + codec.getType().getSimpleName() + " payload");
+        }
+        return BinaryCodecRedisSerializer.decode(codec, bytes);
+    }
+
+    private static Map<byte[], byte[]> toBinary(Map<Object, Object> hash) {
+
+        Map<byte[], byte[]> binary = new LinkedHashMap<>();
+        hash.forEach((key, value) -> binary.put(toBytes(key), toBytes(value)));
+        return binary;
+    }
+
+    private static byte[] toBytes(Object value) {
+        return value instanceof byte[] bytes ? bytes : value.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+}
@@ -0,0 +1,74 @@
+package com.tutorial.redis.codec;
+
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.lang.Nullable;
+
+public class BinaryCodecRedisSerializer<T> implements RedisSerializer<Object> {
+
+    /**
+     * RedisSerializer dengan format: [MAGIC][versi schema varint][payload BinaryCodec]
+     *  data yang tidak di awali MAGIC (misal data lama hasil JDK serialization yang di awali 0xAC 0xED)
+     *  akan di baca dengan fallback serializer, jadi ketika rolling deploy cache tidak perlu di flush
+     *  object yang bukan type codec juga di tulis dengan fallback serializer
+     */
+
+    static final int MAGIC = 0xB1;
+
+    private final BinaryCodec<T> codec;
+
+    private final RedisSerializer<Object> fallback;
+
+    public BinaryCodecRedisSerializer(BinaryCodec<T> codec, @Nullable ClassLoader classLoader) {
+        this(codec, new JdkSerializationRedisSerializer(classLoader));
+    }
+
+    public BinaryCodecRedisSerializer(BinaryCodec<T> codec, RedisSerializer<Object> fallback) {
+        this.codec = codec;
+        this.fallback = fallback;
+    }
+
+    @Override
+    public byte[] serialize(@Nullable Object value) throws SerializationException {
+
+        if (!codec.getType().isInstance(value)) {
+            return fallback.serialize(value);
+        }
+        return encode(codec, codec.getType().cast(value));
+    }
+
+    @Override
+    @Nullable
+    public Object deserialize(@Nullable byte[] bytes) throws SerializationException {
+
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (!isEncoded(bytes)) {
+            return fallback.deserialize(bytes); // format lama (JDK)
+        }
+        return decode(codec, bytes);
+    }
+
+    static boolean isEncoded(byte[] bytes) {
+        return bytes.length > 0 && (bytes[0] & 0xFF) == MAGIC;
+    }
+
+    static <T> byte[] encode(BinaryCodec<T> codec, T value) {
+
+        BinaryOutput output = new BinaryOutput();
+        output.writeByte(MAGIC);
+        output.writeVarLong(codec.getVersion());
+        codec.encode(value, output);
+        return output.toByteArray();
+    }
+
+    static <T> T decode(BinaryCodec<T> codec, byte[] bytes) {
+
+        BinaryInput input = new BinaryInput(bytes, 1);
+        int version = (int) input.readVarLong();
+        return codec.decode(input, version);
+    }
+
+}
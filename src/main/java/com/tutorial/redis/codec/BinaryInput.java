@@ -0,0 +1,85 @@
+package com.tutorial.redis.codec;
+
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.lang.Nullable;
+
+import java.nio.charset.StandardCharsets;
+
+public final class BinaryInput {
+
+    /**
+     * pembaca untuk format yang di tulis oleh BinaryOutput
+     */
+
+    private final byte[] buffer;
+
+    private int position;
+
+    public BinaryInput(byte[] buffer) {
+        this(buffer, 0);
+    }
+
+    public BinaryInput(byte[] buffer, int offset) {
+        this.buffer = buffer;
+        this.position = offset;
+    }
+
+    public int readByte() {
+        if (position >= buffer.length) {
+            throw new SerializationException("Unexpected end of binary payload at " + position);
+        }
+        return buffer[position++] & 0xFF;
+    }
+
+    public long readVarLong() {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte();
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new SerializationException("Malformed varint at " + position);
+    }
+
+    public long readZigZagLong() {
+        long value = readVarLong();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    @Nullable
+    public Long readNullableLong() {
+        return readByte() == 0 ? null : readZigZagLong();
+    }
+
+    @Nullable
+    public String readString() {
+        long length = readVarLong();
+        if (length == 0) {
+            return null;
+        }
+        int size = (int) (length - 1);
+        if (size < 0 || size > buffer.length - position) {
+            throw new SerializationException("Invalid string length " + size + " at " + position);
+        }
+        String value = new String(buffer, position, size, StandardCharsets.UTF_8);
+        position += size;
+        return value;
+    }
+
+    public byte[] readBytes(int size) {
+        if (size < 0 || size > buffer.length - position) {
+            throw new SerializationException("Invalid bytes length " + size + " at " + position);
+        }
+        byte[] value = new byte[size];
+        System.arraycopy(buffer, position, value, 0, size);
+        position += size;
+        return value;
+    }
+
+    public boolean hasRemaining() {
+        return position < buffer.length;
+    }
+
+}
@@ -0,0 +1,91 @@
+package com.tutorial.redis.codec;
+
+import org.springframework.lang.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+public final class BinaryOutput {
+
+    /**
+     * buffer tulis untuk BinaryCodec
+     *  long di tulis sebagai varint (zigzag, 1-10 byte), string di tulis sebagai panjang varint + byte UTF-8
+     *  nilai null di tandai dengan panjang 0 (string) atau flag 0 (long)
+     */
+
+    private byte[] buffer;
+
+    private int position;
+
+    public BinaryOutput() {
+        this(64);
+    }
+
+    public BinaryOutput(int initialCapacity) {
+        this.buffer = new byte[Math.max(initialCapacity, 16)];
+    }
+
+    public void writeByte(int value) {
+        ensureCapacity(1);
+        buffer[position++] = (byte) value;
+    }
+
+    public void writeBytes(byte[] bytes) {
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    /**
+     * unsigned varint (LEB128), 7 bit per byte
+     */
+    public void writeVarLong(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+    }
+
+    /**
+     * signed varint, angka negatif kecil tetap pendek (-1 -> 1, 1 -> 2)
+     */
+    public void writeZigZagLong(long value) {
+        writeVarLong((value << 1) ^ (value >> 63));
+    }
+
+    public void writeNullableLong(@Nullable Long value) {
+        if (value == null) {
+            writeByte(0);
+        } else {
+            writeByte(1);
+            writeZigZagLong(value);
+        }
+    }
+
+    public void writeString(@Nullable String value) {
+        if (value == null) {
+            writeVarLong(0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(bytes.length + 1L); // +1 karena 0 di pakai untuk null
+        writeBytes(bytes);
+    }
+
+    public int size() {
+        return position;
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, position);
+    }
+
+    private void ensureCapacity(int length) {
+        if (position + length > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length << 1, position + length));
+        }
+    }
+
+}
@@ -0,0 +1,57 @@
+package com.tutorial.redis.codec;
+
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class MessageFrames {
+
+    /**
+     * Frame pubsub: beberapa message di gabung dalam satu PUBLISH
+     *  format: [MAGIC][jumlah message varint]([panjang varint][body])...
+     *  MAGIC 0xB2 tidak mungkin jadi byte pertama teks UTF-8 (continuation byte), jadi message biasa tetap bisa di bedakan
+     */
+
+    static final int MAGIC = 0xB2;
+
+    private MessageFrames() {
+    }
+
+    public static byte[] pack(List<byte[]> messages) {
+
+        int size = 1 + 5;
+        for (byte[] message : messages) {
+            size += 5 + message.length;
+        }
+
+        BinaryOutput output = new BinaryOutput(size);
+        output.writeByte(MAGIC);
+        output.writeVarLong(messages.size());
+        for (byte[] message : messages) {
+            output.writeVarLong(message.length);
+            output.writeBytes(message);
+        }
+        return output.toByteArray();
+    }
+
+    public static boolean isFrame(byte[] payload) {
+        return payload.length > 0 && (payload[0] & 0xFF) == MAGIC;
+    }
+
+    public static List<byte[]> unpack(byte[] payload) {
+
+        if (!isFrame(payload)) {
+            throw new SerializationException("Payload is not a message frame");
+        }
+
+        BinaryInput input = new BinaryInput(payload, 1);
+        int count = (int) input.readVarLong();
+        List<byte[]> messages = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            messages.add(input.readBytes((int) input.readVarLong()));
+        }
+        return messages;
+    }
+
+}
@@ -0,0 +1,44 @@
+package com.tutorial.redis.codec;
+
+import com.tutorial.data.Order;
+import org.springframework.data.redis.serializer.SerializationException;
+
+public class OrderCodec implements BinaryCodec<Order> {
+
+    /**
+     * schema v1: id (string), amount (nullable long)
+     * field baru di tambahkan di akhir dengan versi baru, versi lama tetap di baca di decode()
+     */
+
+    private static final int VERSION = 1;
+
+    @Override
+    public Class<Order> getType() {
+        return Order.class;
+    }
+
+    @Override
+    public int getVersion() {
+        return VERSION;
+    }
+
+    @Override
+    public void encode(Order order, BinaryOutput output) {
+        output.writeString(order.getId());
+        output.writeNullableLong(order.getAmount());
+    }
+
+    @Override
+    public Order decode(BinaryInput input, int version) {
+
+        if (version < 1 || version > VERSION) {
+            throw new SerializationException("Unsupported Order schema version " + version);
+        }
+
+        Order order = new Order();
+        order.setId(input.readString());
+        order.setAmount(input.readNullableLong());
+        return order;
+    }
+
+}
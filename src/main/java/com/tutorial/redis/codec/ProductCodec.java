@@ -0,0 +1,48 @@
+package com.tutorial.redis.codec;
+
+import com.tutorial.data.Product;
+import org.springframework.data.redis.serializer.SerializationException;
+
+public class ProductCodec implements BinaryCodec<Product> {
+
+    /**
+     * schema v1: id (string), name (string), price (nullable long), ttl (nullable long)
+     * field baru di tambahkan di akhir dengan versi baru, versi lama tetap di baca di decode()
+     */
+
+    private static final int VERSION = 1;
+
+    @Override
+    public Class<Product> getType() {
+        return Product.class;
+    }
+
+    @Override
+    public int getVersion() {
+        return VERSION;
+    }
+
+    @Override
+    public void encode(Product product, BinaryOutput output) {
+        output.writeString(product.getId());
+        output.writeString(product.getName());
+        output.writeNullableLong(product.getPrice());
+        output.writeNullableLong(product.getTtl());
+    }
+
+    @Override
+    public Product decode(BinaryInput input, int version) {
+
+        if (version < 1 || version > VERSION) {
+            throw new SerializationException("Unsupported Product schema version " + version);
+        }
+
+        Product product = new Product();
+        product.setId(input.readString());
+        product.setName(input.readString());
+        product.setPrice(input.readNullableLong());
+        product.setTtl(input.readNullableLong());
+        return product;
+    }
+
+}
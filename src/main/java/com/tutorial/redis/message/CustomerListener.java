@@ -5,6 +5,8 @@ import org.springframework.data.redis.connection.Message;
 import org.springframework.data.redis.connection.MessageListener;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+
 @Slf4j
 @Component
 public class CustomerListener implements MessageListener {
@@ -21,10 +23,20 @@ public class CustomerListener implements MessageListener {
     @Override
     public void onMessage(Message message, byte[] pattern) {
 
-        String data = new String(message.getBody());
+        String data = new String(message.getBody(), StandardCharsets.UTF_8);
         log.info("Received message: {}", data);
     } // void onMessage() // Panggilan balik untuk memproses objek yang diterima melalui Redis.
 
+    /**
+     * customer key dari message "budhi <customerId>" (CustomerPublisher), di pakai sebagai partition key dispatch
+     *  message yang tidak punya spasi di pakai seluruhnya sebagai key
+     */
+    public static String customerKey(Message message) {
+
+        String data = new String(message.getBody(), StandardCharsets.UTF_8);
+        return data.substring(data.lastIndexOf(' ') + 1);
+    }
+
     /**
      * 2023-11-08T12:01:13.237+07:00  WARN 16904 --- [cTaskExecutor-1] com.tutorial.config.RedisConfig          : Redis command timed out
      * 2023-11-08T12:01:18.161+07:00  INFO 16904 --- [enerContainer-2] c.t.redis.message.CustomerListener       : Received message: budhi 877f983e-1c31-4038-a597-3f22b4d951fb
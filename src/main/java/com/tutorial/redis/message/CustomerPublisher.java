@@ -1,5 +1,7 @@
 package com.tutorial.redis.message;
 
+import com.tutorial.redis.support.BatchingMessagePublisher;
+import com.tutorial.redis.support.ShardedChannel;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -14,6 +16,12 @@ public class CustomerPublisher {
     @Autowired
     private StringRedisTemplate redisTemplate;
 
+    @Autowired
+    private ShardedChannel customerChannel; // customers atau customers:<shard> jika app.customers.shards > 0
+
+    @Autowired(required = false)
+    private BatchingMessagePublisher customerBatchPublisher; // ada jika app.customers.batch.enabled=true
+
     @Scheduled(fixedRate = 10, timeUnit = TimeUnit.SECONDS) // kirimkan setiap 10s
     public void publisher(){
 
@@ -22,7 +30,14 @@ public class CustomerPublisher {
 //        message- pesan untuk dipublikasikan.
 //        Pengembalian:
 //        jumlah klien yang menerima pesan. null saat digunakan dalam pipeline/transaksi.
-        redisTemplate.convertAndSend("customers", "budhi " + UUID.randomUUID().toString()); // Long convertAndSend(String channel, Object message) // Publikasikan pesan tertentu ke saluran tertentu.
+        String customerId = UUID.randomUUID().toString();
+        String message = "budhi " + customerId;
+        String channel = customerChannel.channelFor(customerId); // customer yang sama selalu ke shard yang sama
+        if (customerBatchPublisher != null) {
+            customerBatchPublisher.publish(channel, message); // di gabung dengan message lain dalam satu PUBLISH
+            return;
+        }
+        redisTemplate.convertAndSend(channel, message); // Long convertAndSend(String channel, Object message) // Publikasikan pesan tertentu ke saluran tertentu.
     }
 
     /**
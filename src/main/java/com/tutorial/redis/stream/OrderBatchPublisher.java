@@ -0,0 +1,125 @@
+package com.tutorial.redis.stream;
+
+import com.tutorial.data.Order;
+import com.tutorial.redis.support.BatchingQueue;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.stream.ObjectRecord;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.hash.HashMapper;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+@Slf4j
+@Component
+public class OrderBatchPublisher {
+
+    /**
+     * Batch Publisher
+     *  publish() bisa di panggil dari banyak thread, order di tampung di BatchingQueue terbatas (app.orders.publisher.queue-capacity)
+     *  satu thread flusher mengirim order dalam satu pipeline XADD ketika batch penuh (batch-size) atau linger habis
+     *  ketika queue penuh publish() menunggu maksimal enqueue-timeout, lalu gagal (0 = langsung gagal / fast-fail)
+     *  setelah setiap batch stream orders di trim dengan MAXLEN ~ app.orders.max-length (0 = tidak di trim, default)
+     *   MAXLEN tidak memperhatikan consumer group: entry yang belum di baca atau masih pending (PEL) my-group ikut terhapus
+     *  jika bean orderHashMapper ada (app.orders.codec=binary) order di tulis dengan HashMapper tersebut
+     */
+
+    private static final String STREAM = "orders";
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Autowired(required = false)
+    private HashMapper<Object, Object, Object> orderHashMapper;
+
+    @Value("${app.orders.publisher.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.orders.publisher.linger:5ms}")
+    private Duration linger;
+
+    @Value("${app.orders.publisher.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${app.orders.publisher.enqueue-timeout:100ms}")
+    private Duration enqueueTimeout;
+
+    @Value("${app.orders.max-length:0}")
+    private long maxLength;
+
+    private BatchingQueue<PendingOrder> queue;
+
+    @PostConstruct
+    public void start() {
+        queue = new BatchingQueue<>("orders-publisher", batchSize, linger, queueCapacity, enqueueTimeout, this::flush);
+        queue.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        queue.stop(); // kirim sisa order di queue
+    }
+
+    public CompletableFuture<RecordId> publish(Order order) {
+
+        PendingOrder pending = new PendingOrder(ObjectRecord.create(STREAM, order), new CompletableFuture<>());
+        try {
+            queue.add(pending);
+        } catch (RejectedExecutionException exception) {
+            pending.future().completeExceptionally(exception);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            pending.future().completeExceptionally(exception);
+        }
+        return pending.future();
+    }
+
+    public int getQueuedOrders() {
+        return queue.size();
+    }
+
+    private void flush(List<PendingOrder> batch) {
+
+        List<Object> results;
+        try {
+            results = redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings({"unchecked", "rawtypes"})
+                public Object execute(RedisOperations operations) throws DataAccessException {
+                    StreamOperations streamOperations = orderHashMapper != null ? operations.opsForStream(orderHashMapper) : operations.opsForStream();
+                    for (PendingOrder pending : batch) {
+                        streamOperations.add(pending.record());
+                    }
+                    if (maxLength > 0) {
+                        streamOperations.trim(STREAM, maxLength, true); // XTRIM orders MAXLEN ~ maxLength
+                    }
+                    return null;
+                }
+            });
+        } catch (RuntimeException exception) {
+            log.warn("Failed to publish {} orders: {}", batch.size(), exception.getMessage());
+            batch.forEach(pending -> pending.future().completeExceptionally(exception));
+            return;
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).future().complete((RecordId) results.get(i));
+        }
+    }
+
+    private record PendingOrder(ObjectRecord<String, Order> record, CompletableFuture<RecordId> future) {
+    }
+
+}
@@ -0,0 +1,60 @@
+package com.tutorial.redis.stream;
+
+import com.tutorial.data.Order;
+import com.tutorial.redis.support.PartitionedExecutor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.stream.ObjectRecord;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.stream.StreamListener;
+
+@Slf4j
+public class OrderDispatcher implements StreamListener<String, ObjectRecord<String, Order>> {
+
+    /**
+     * StreamListener yang di daftarkan ke orderContainer
+     *  record di teruskan ke OrderListener di orderExecutor (partition key = order id)
+     *  jika acknowledge=true (manual ack), XACK di kirim setelah OrderListener selesai tanpa error,
+     *  record yang gagal tetap di pending list dan akan di ambil ulang oleh reclaimer
+     */
+
+    private final OrderListener orderListener;
+
+    private final PartitionedExecutor orderExecutor;
+
+    private final StringRedisTemplate redisTemplate;
+
+    private final String group;
+
+    private final boolean acknowledge;
+
+    public OrderDispatcher(OrderListener orderListener, PartitionedExecutor orderExecutor, StringRedisTemplate redisTemplate,
+                           String group, boolean acknowledge) {
+        this.orderListener = orderListener;
+        this.orderExecutor = orderExecutor;
+        this.redisTemplate = redisTemplate;
+        this.group = group;
+        this.acknowledge = acknowledge;
+    }
+
+    @Override
+    public void onMessage(ObjectRecord<String, Order> record) {
+        orderExecutor.execute(partitionKey(record), () -> process(record));
+    }
+
+    private void process(ObjectRecord<String, Order> record) {
+        try {
+            orderListener.onMessage(record);
+            if (acknowledge) {
+                redisTemplate.opsForStream().acknowledge(group, record);
+            }
+        } catch (RuntimeException exception) {
+            log.warn("Failed to process order {}: {}", record.getId(), exception.getMessage());
+        }
+    }
+
+    private static Object partitionKey(ObjectRecord<String, Order> record) {
+        Order order = record.getValue();
+        return order != null && order.getId() != null ? order.getId() : record.getId();
+    }
+
+}
@@ -1,14 +1,17 @@
 package com.tutorial.redis.stream;
 
 import com.tutorial.data.Order;
+import com.tutorial.redis.support.BatchStreamListener;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.redis.connection.stream.ObjectRecord;
 import org.springframework.data.redis.stream.StreamListener;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 @Slf4j
 @Component
-public class OrderListener implements StreamListener<String, ObjectRecord<String, Order>> {
+public class OrderListener implements StreamListener<String, ObjectRecord<String, Order>>, BatchStreamListener<String, ObjectRecord<String, Order>> {
 
     /**
      * create: 2
@@ -22,6 +25,12 @@ public class OrderListener implements StreamListener<String, ObjectRecord<String
         log.info("Receive order: {}", order);
     } // void onMessage(V message) // akan di panggil ketika ada data baru masuk ketika masuk StreamListener<K, V extends Record<K, ?>>
 
+    @Override
+    public void onMessages(List<ObjectRecord<String, Order>> messages) {
+        log.info("Receive {} orders", messages.size());
+        messages.forEach(this::onMessage);
+    } // void onMessages(List<V> messages) // mode batch (app.orders.batch.enabled=true), satu kali XREADGROUP satu kali panggil
+
     /**
      * result:
      * 2023-11-07T15:55:44.491+07:00  WARN 14248 --- [cTaskExecutor-1] com.tutorial.config.RedisConfig          : Redis command timed out
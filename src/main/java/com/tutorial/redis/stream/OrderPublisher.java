@@ -1,31 +1,36 @@
 package com.tutorial.redis.stream;
 
 import com.tutorial.data.Order;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.redis.connection.stream.ObjectRecord;
-import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 
+@Slf4j
 @Component
 public class OrderPublisher {
 
     @Autowired
-    private StringRedisTemplate redisTemplate;
+    private OrderBatchPublisher orderBatchPublisher;
 
     /**
      * create: 5
      * buat Scheduling untuk menjadwalkan publisher
+     * record tidak langsung di XADD, tapi di antrikan ke OrderBatchPublisher yang mengirim secara batch (pipeline)
      */
     @Scheduled(fixedRate = 10, timeUnit = TimeUnit.SECONDS) // kirimkan setiap 10s
     public void publisher(){
 
         Order order = new Order(UUID.randomUUID().toString(), 1000L);
-        ObjectRecord<String, Order> record = ObjectRecord.create("orders", order); // membuat record dengan stream dari StreamOffset adalah: orders
-        redisTemplate.opsForStream().add(record);
+        orderBatchPublisher.publish(order) // record dengan stream dari StreamOffset adalah: orders
+                .whenComplete((recordId, exception) -> {
+                    if (exception != null) {
+                        log.warn("Failed to publish order {}: {}", order.getId(), exception.getMessage());
+                    }
+                });
     }
 
     /**
@@ -0,0 +1,86 @@
+package com.tutorial.redis.stream;
+
+import com.tutorial.data.Order;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.ObjectRecord;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.stream.StreamReceiver;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+
+@Slf4j
+public class ReactiveOrderConsumer {
+
+    /**
+     * Reactive Consumer
+     *  StreamReceiver hanya membaca (XREADGROUP COUNT batchSize) ketika ada demand dari downstream
+     *  flatMap membatasi jumlah ReactiveOrderListener yang berjalan bersamaan (concurrency), jika semua slot terpakai
+     *  tidak ada XREADGROUP baru sampai ada listener yang selesai (backpressure)
+     *  XACK di kirim setelah listener selesai, record yang gagal tetap di pending list dan di ambil ulang oleh reclaimer
+     */
+
+    private static final String STREAM = "orders";
+
+    private final StreamReceiver<String, ObjectRecord<String, Order>> receiver;
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+
+    private final ReactiveOrderListener listener;
+
+    private final Consumer consumer;
+
+    private final int concurrency;
+
+    private Disposable subscription;
+
+    public ReactiveOrderConsumer(StreamReceiver<String, ObjectRecord<String, Order>> receiver, ReactiveStringRedisTemplate redisTemplate,
+                                 ReactiveOrderListener listener, Consumer consumer, int concurrency) {
+        this.receiver = receiver;
+        this.redisTemplate = redisTemplate;
+        this.listener = listener;
+        this.consumer = consumer;
+        this.concurrency = concurrency;
+    }
+
+    public synchronized void start() {
+
+        if (subscription != null) {
+            return;
+        }
+
+        subscription = redisTemplate.opsForStream().createGroup(STREAM, consumer.getGroup())
+                .onErrorResume(exception -> Mono.empty()) // consumer group sudah ada
+                .thenMany(receiver.receive(consumer, StreamOffset.create(STREAM, ReadOffset.lastConsumed())))
+                .doOnError(exception -> log.warn("Order receiver failed, retrying: {}", exception.getMessage()))
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1)).maxBackoff(Duration.ofSeconds(30)))
+                .flatMap(this::process, concurrency)
+                .subscribe();
+    }
+
+    public synchronized void stop() {
+        if (subscription != null) {
+            subscription.dispose();
+            subscription = null;
+        }
+    }
+
+    public boolean isRunning() {
+        return subscription != null && !subscription.isDisposed();
+    }
+
+    private Mono<Long> process(ObjectRecord<String, Order> record) {
+        return listener.onMessage(record)
+                .then(redisTemplate.opsForStream().acknowledge(consumer.getGroup(), record))
+                .onErrorResume(exception -> {
+                    log.warn("Failed to process order {}: {}", record.getId(), exception.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+}
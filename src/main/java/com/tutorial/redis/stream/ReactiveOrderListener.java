@@ -0,0 +1,21 @@
+package com.tutorial.redis.stream;
+
+import com.tutorial.data.Order;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.stream.ObjectRecord;
+import reactor.core.publisher.Mono;
+
+@Slf4j
+public class ReactiveOrderListener {
+
+    /**
+     * Reactive Stream Listener
+     *  sama seperti OrderListener, tapi return Mono, proses di anggap selesai ketika Mono complete
+     *  downstream I/O harus non-blocking (WebClient, reactive repository, ReactiveRedisTemplate) agar tidak menahan thread event loop
+     */
+
+    public Mono<Void> onMessage(ObjectRecord<String, Order> message) {
+        return Mono.fromRunnable(() -> log.info("Receive order: {}", message.getValue()));
+    }
+
+}
@@ -0,0 +1,42 @@
+package com.tutorial.redis.stream;
+
+import com.tutorial.data.Order;
+import org.reactivestreams.Publisher;
+import org.springframework.data.redis.connection.stream.ObjectRecord;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.core.ReactiveStreamOperations;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.hash.HashMapper;
+import org.springframework.lang.Nullable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public class ReactiveOrderPublisher {
+
+    /**
+     * Reactive Publisher
+     *  XADD lewat ReactiveStringRedisTemplate, tidak ada thread yang menunggu reply redis
+     *  publishAll() mengirim maksimal concurrency XADD yang belum di balas (in-flight), sisanya menunggu demand
+     */
+
+    private static final String STREAM = "orders";
+
+    private final ReactiveStreamOperations<String, Object, Object> operations;
+
+    private final int concurrency;
+
+    public ReactiveOrderPublisher(ReactiveStringRedisTemplate redisTemplate, @Nullable HashMapper<Object, Object, Object> hashMapper,
+                                  int concurrency) {
+        this.operations = hashMapper != null ? redisTemplate.opsForStream(hashMapper) : redisTemplate.opsForStream();
+        this.concurrency = concurrency;
+    }
+
+    public Mono<RecordId> publish(Order order) {
+        return operations.add(ObjectRecord.create(STREAM, order));
+    }
+
+    public Flux<RecordId> publishAll(Publisher<Order> orders) {
+        return Flux.from(orders).flatMapSequential(this::publish, concurrency);
+    }
+
+}
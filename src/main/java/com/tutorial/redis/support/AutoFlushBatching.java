@@ -0,0 +1,141 @@
+package com.tutorial.redis.support;
+
+import io.lettuce.core.resource.NettyCustomizer;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+
+import java.time.Duration;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+public class AutoFlushBatching implements NettyCustomizer {
+
+    /**
+     * Auto Flush Batching koneksi lettuce
+     *  lettuce mengirim setiap command dengan writeAndFlush, jadi banyak thread yang memakai shared connection
+     *  (StringRedisTemplate, repository, cache manager, publisher) menghasilkan satu flush (write syscall) per command
+     *  handler ini di pasang di pipeline netty setiap koneksi: write tetap di teruskan, flush di tunda lalu di gabung,
+     *  flush di kirim ketika maxBatch flush sudah terkumpul atau setelah interval (0 = setelah task event loop yang sudah antri,
+     *  yaitu command dari thread lain yang di tulis bersamaan)
+     *  urutan command tidak berubah dan caller tidak perlu tahu (tetap satu reply per command), MULTI/EXEC dan pipeline tetap jalan
+     */
+
+    private final int maxBatch;
+
+    private final long intervalNanos;
+
+    private final LongAdder writes = new LongAdder();
+
+    private final LongAdder flushes = new LongAdder();
+
+    public AutoFlushBatching(int maxBatch, Duration interval) {
+        if (maxBatch < 1) {
+            throw new IllegalArgumentException("maxBatch must be greater than 0");
+        }
+        this.maxBatch = maxBatch;
+        this.intervalNanos = interval.toNanos();
+    }
+
+    @Override
+    public void afterChannelInitialized(Channel channel) {
+        channel.pipeline().addFirst("autoFlushBatching", new BatchingHandler());
+    }
+
+    /**
+     * jumlah write ke socket, satu write = satu command atau satu batch pipeline yang sudah di encode CommandEncoder
+     */
+    public long getWrites() {
+        return writes.sum();
+    }
+
+    /**
+     * jumlah flush yang benar-benar di kirim ke socket, writes / flushes = rata-rata write per flush
+     */
+    public long getFlushes() {
+        return flushes.sum();
+    }
+
+    public int getMaxBatch() {
+        return maxBatch;
+    }
+
+    public Duration getInterval() {
+        return Duration.ofNanos(intervalNanos);
+    }
+
+    /**
+     * satu instance per channel, semua method di panggil di event loop channel jadi tidak perlu sinkronisasi
+     */
+    private final class BatchingHandler extends ChannelDuplexHandler {
+
+        private int pendingFlushes;
+
+        private Future<?> scheduledFlush;
+
+        @Override
+        public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) {
+            writes.increment();
+            ctx.write(msg, promise);
+        }
+
+        @Override
+        public void flush(ChannelHandlerContext ctx) {
+
+            if (++pendingFlushes >= maxBatch) {
+                flushNow(ctx);
+                return;
+            }
+            if (scheduledFlush == null) {
+                Runnable task = () -> {
+                    scheduledFlush = null;
+                    flushNow(ctx);
+                };
+                scheduledFlush = intervalNanos > 0
+                        ? ctx.channel().eventLoop().schedule(task, intervalNanos, TimeUnit.NANOSECONDS)
+                        : ctx.channel().eventLoop().submit(task);
+            }
+        }
+
+        private void flushNow(ChannelHandlerContext ctx) {
+
+            if (scheduledFlush != null) {
+                scheduledFlush.cancel(false);
+                scheduledFlush = null;
+            }
+            if (pendingFlushes > 0) {
+                pendingFlushes = 0;
+                flushes.increment();
+                ctx.flush();
+            }
+        }
+
+        @Override
+        public void channelWritabilityChanged(ChannelHandlerContext ctx) throws Exception {
+            if (!ctx.channel().isWritable()) {
+                flushNow(ctx); // buffer outbound penuh, kirim sekarang
+            }
+            ctx.fireChannelWritabilityChanged();
+        }
+
+        @Override
+        public void disconnect(ChannelHandlerContext ctx, ChannelPromise promise) throws Exception {
+            flushNow(ctx);
+            ctx.disconnect(promise);
+        }
+
+        @Override
+        public void close(ChannelHandlerContext ctx, ChannelPromise promise) throws Exception {
+            flushNow(ctx);
+            ctx.close(promise);
+        }
+
+        @Override
+        public void handlerRemoved(ChannelHandlerContext ctx) {
+            flushNow(ctx);
+        }
+    }
+
+}
@@ -0,0 +1,17 @@
+package com.tutorial.redis.support;
+
+import org.springframework.data.redis.connection.stream.Record;
+
+import java.util.List;
+
+public interface BatchStreamListener<K, V extends Record<K, ?>> {
+
+    /**
+     * Batch Stream Listener
+     *  sama seperti StreamListener, tetapi menerima semua record hasil satu kali XREADGROUP (maksimal batchSize)
+     *  setelah method ini selesai tanpa error semua record di acknowledge dengan satu XACK
+     */
+
+    void onMessages(List<V> messages);
+
+}
@@ -0,0 +1,172 @@
+package com.tutorial.redis.support;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.ObjectRecord;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.hash.HashMapper;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ErrorHandler;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@Slf4j
+public class BatchStreamMessageListenerContainer<V> {
+
+    /**
+     * Batch Stream Message Listener Container
+     *  mirip StreamMessageListenerContainer, setiap consumer yang di register punya loop polling sendiri di executor
+     *  satu kali poll = XREADGROUP COUNT batchSize BLOCK pollTimeout, hasilnya di kirim sekaligus ke BatchStreamListener
+     *  jika autoAcknowledge, semua id di batch di acknowledge dengan satu XACK setelah listener selesai
+     *  setelah error (misal redis mati) loop menunggu dulu sebelum XREADGROUP berikutnya, mulai 100ms dan naik 2x
+     *  per error beruntun sampai maksimal pollTimeout, jadi tidak spin dan membanjiri errorHandler/ log
+     */
+
+    private static final long INITIAL_BACKOFF_MILLIS = 100;
+
+    private final StringRedisTemplate redisTemplate;
+
+    private final Class<V> targetType;
+
+    private final Executor executor;
+
+    private final int batchSize;
+
+    private final Duration pollTimeout;
+
+    @Nullable
+    private HashMapper<Object, Object, Object> hashMapper;
+
+    private final List<Registration<V>> registrations = new CopyOnWriteArrayList<>();
+
+    private final Phaser activeLoops = new Phaser(1); // 1 party untuk stop(), ditambah 1 party per loop polling
+
+    private volatile boolean running;
+
+    public BatchStreamMessageListenerContainer(StringRedisTemplate redisTemplate, Class<V> targetType, Executor executor,
+                                               int batchSize, Duration pollTimeout) {
+        this.redisTemplate = redisTemplate;
+        this.targetType = targetType;
+        this.executor = executor;
+        this.batchSize = batchSize;
+        this.pollTimeout = pollTimeout;
+    }
+
+    /**
+     * HashMapper untuk mapping record ke targetType, null = ObjectHashMapper (default StreamOperations)
+     */
+    public void setHashMapper(@Nullable HashMapper<Object, Object, Object> hashMapper) {
+        this.hashMapper = hashMapper;
+    }
+
+    public void register(String stream, Consumer consumer, boolean autoAcknowledge,
+                         BatchStreamListener<String, ObjectRecord<String, V>> listener, ErrorHandler errorHandler) {
+
+        Registration<V> registration = new Registration<>(stream, consumer, autoAcknowledge, listener, errorHandler);
+        registrations.add(registration);
+        if (running) {
+            schedule(registration);
+        }
+    }
+
+    public synchronized void start() {
+
+        if (running) {
+            return;
+        }
+        running = true;
+        registrations.forEach(this::schedule);
+    }
+
+    public synchronized void stop() {
+
+        running = false;
+        try {
+            // tunggu loop yang sedang blocking di XREADGROUP selesai (maksimal pollTimeout)
+            activeLoops.awaitAdvanceInterruptibly(activeLoops.arrive(), pollTimeout.toMillis() + 1000, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        } catch (TimeoutException exception) {
+            log.warn("Stream polling loops did not stop within {}", pollTimeout);
+        }
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public List<Registration<V>> getRegistrations() {
+        return registrations;
+    }
+
+    private void schedule(Registration<V> registration) {
+        activeLoops.register();
+        executor.execute(() -> {
+            try {
+                poll(registration);
+            } finally {
+                activeLoops.arriveAndDeregister();
+            }
+        });
+    }
+
+    private void poll(Registration<V> registration) {
+
+        StreamReadOptions readOptions = StreamReadOptions.empty().count(batchSize).block(pollTimeout);
+        StreamOffset<String> offset = StreamOffset.create(registration.stream(), ReadOffset.lastConsumed());
+        StreamOperations<String, Object, Object> operations = hashMapper != null ? redisTemplate.opsForStream(hashMapper) : redisTemplate.opsForStream();
+
+        long backoff = 0;
+        while (running) {
+            try {
+                List<ObjectRecord<String, V>> records = operations.read(targetType, registration.consumer(), readOptions, offset);
+                backoff = 0;
+                if (records == null || records.isEmpty()) {
+                    continue;
+                }
+
+                registration.listener().onMessages(records);
+
+                if (registration.autoAcknowledge()) {
+                    RecordId[] ids = records.stream().map(ObjectRecord::getId).toArray(RecordId[]::new);
+                    operations.acknowledge(registration.stream(), registration.consumer().getGroup(), ids); // satu XACK untuk semua id
+                }
+            } catch (RuntimeException exception) {
+                if (running) {
+                    registration.errorHandler().handleError(exception);
+                    backoff = backoff == 0 ? INITIAL_BACKOFF_MILLIS : backoff * 2;
+                    backoff = Math.min(backoff, Math.max(pollTimeout.toMillis(), INITIAL_BACKOFF_MILLIS));
+                    if (!sleep(backoff)) {
+                        return; // di interrupt (executor di shutdown)
+                    }
+                }
+            }
+        }
+    }
+
+    private static boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    public record Registration<V>(String stream, Consumer consumer, boolean autoAcknowledge,
+                                  BatchStreamListener<String, ObjectRecord<String, V>> listener, ErrorHandler errorHandler) {
+    }
+
+}
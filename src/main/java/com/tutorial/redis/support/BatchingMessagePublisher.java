@@ -0,0 +1,91 @@
+package com.tutorial.redis.support;
+
+import com.tutorial.redis.codec.MessageFrames;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+@Slf4j
+public class BatchingMessagePublisher {
+
+    /**
+     * Batching Publisher pubsub
+     *  publish() memasukkan message ke BatchingQueue, satu thread flusher mengambil sampai batchSize message (atau sampai linger habis)
+     *  message di kelompokkan per channel (urutan per channel terjaga) lalu di pack jadi satu frame (MessageFrames) per channel,
+     *  semua PUBLISH frame di kirim dalam satu pipeline
+     *  subscriber harus memakai FramedMessageListenerAdapter untuk membongkar frame
+     *  future selesai dengan jumlah subscriber yang menerima frame
+     */
+
+    private final StringRedisTemplate redisTemplate;
+
+    private final BatchingQueue<PendingMessage> queue;
+
+    public BatchingMessagePublisher(StringRedisTemplate redisTemplate, int batchSize, Duration linger, int queueCapacity,
+                                    Duration enqueueTimeout) {
+        this.redisTemplate = redisTemplate;
+        this.queue = new BatchingQueue<>("pubsub-publisher", batchSize, linger, queueCapacity, enqueueTimeout, this::flush);
+    }
+
+    public void start() {
+        queue.start();
+    }
+
+    public void stop() throws InterruptedException {
+        queue.stop(); // kirim sisa message di queue
+    }
+
+    public CompletableFuture<Long> publish(String channel, String message) {
+
+        PendingMessage pending = new PendingMessage(channel, message.getBytes(StandardCharsets.UTF_8), new CompletableFuture<>());
+        try {
+            queue.add(pending);
+        } catch (RejectedExecutionException exception) {
+            pending.future().completeExceptionally(exception);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            pending.future().completeExceptionally(exception);
+        }
+        return pending.future();
+    }
+
+    private void flush(List<PendingMessage> batch) {
+
+        Map<String, List<PendingMessage>> channels = new LinkedHashMap<>();
+        for (PendingMessage pending : batch) {
+            channels.computeIfAbsent(pending.channel(), channel -> new ArrayList<>()).add(pending);
+        }
+
+        List<Object> results;
+        try {
+            results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                channels.forEach((channel, messages) -> connection.publish(channel.getBytes(StandardCharsets.UTF_8),
+                        MessageFrames.pack(messages.stream().map(PendingMessage::body).toList())));
+                return null;
+            });
+        } catch (RuntimeException exception) {
+            log.warn("Failed to publish {} messages: {}", batch.size(), exception.getMessage());
+            batch.forEach(pending -> pending.future().completeExceptionally(exception));
+            return;
+        }
+
+        int index = 0;
+        for (List<PendingMessage> messages : channels.values()) {
+            Long receivers = (Long) results.get(index++);
+            messages.forEach(pending -> pending.future().complete(receivers));
+        }
+    }
+
+    private record PendingMessage(String channel, byte[] body, CompletableFuture<Long> future) {
+    }
+
+}
@@ -0,0 +1,126 @@
+package com.tutorial.redis.support;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+@Slf4j
+public class BatchingQueue<T> {
+
+    /**
+     * Batching Queue
+     *  loop batching yang di pakai bersama OrderBatchPublisher dan BatchingMessagePublisher
+     *  add() bisa di panggil dari banyak thread, item di tampung di queue terbatas, ketika penuh menunggu maksimal enqueueTimeout
+     *  satu thread flusher mengambil sampai batchSize item (atau sampai linger habis) lalu memanggil flush (satu pipeline per batch)
+     *  stop() menunggu sisa item di queue di flush (maksimal 10s)
+     */
+
+    private final String name;
+
+    private final int batchSize;
+
+    private final Duration linger;
+
+    private final Duration enqueueTimeout;
+
+    private final BlockingQueue<T> queue;
+
+    private final Consumer<List<T>> flush;
+
+    private Thread flusher;
+
+    private volatile boolean running;
+
+    public BatchingQueue(String name, int batchSize, Duration linger, int queueCapacity, Duration enqueueTimeout,
+                         Consumer<List<T>> flush) {
+        this.name = name;
+        this.batchSize = batchSize;
+        this.linger = linger;
+        this.enqueueTimeout = enqueueTimeout;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.flush = flush;
+    }
+
+    public synchronized void start() {
+
+        if (running) {
+            return;
+        }
+        running = true;
+        flusher = new Thread(this::run, name);
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    public synchronized void stop() throws InterruptedException {
+
+        running = false;
+        if (flusher != null) {
+            flusher.join(TimeUnit.SECONDS.toMillis(10)); // flush sisa item di queue
+            flusher = null;
+        }
+    }
+
+    /**
+     * RejectedExecutionException jika queue sudah stop atau masih penuh setelah enqueueTimeout
+     */
+    public void add(T item) throws InterruptedException {
+
+        if (!running) {
+            throw new RejectedExecutionException(name + " is stopped");
+        }
+        if (!queue.offer(item, enqueueTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+            throw new RejectedExecutionException(name + " queue is full");
+        }
+    }
+
+    public int size() {
+        return queue.size();
+    }
+
+    private void run() {
+
+        List<T> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                T first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                // tunggu batch penuh maksimal linger
+                long deadline = System.nanoTime() + linger.toNanos();
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    T next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                flush.accept(batch);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException exception) {
+                log.warn("Failed to flush {} items in {}: {}", batch.size(), name, exception.getMessage());
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+}
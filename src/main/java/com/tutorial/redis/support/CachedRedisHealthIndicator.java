@@ -0,0 +1,177 @@
+package com.tutorial.redis.support;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+public class CachedRedisHealthIndicator implements HealthIndicator {
+
+    /**
+     * Cached Redis Health Indicator
+     *  menggantikan RedisHealthIndicator spring boot yang menjalankan INFO/ PING di thread request setiap probe
+     *  probe jalan asynchronous (reactive, tanpa menahan thread) setiap interval di scheduler sendiri (redis-health-) dengan timeout sendiri,
+     *  jadi task lain yang blocking di TaskScheduler spring boot tidak membuat health stale,
+     *  health() hanya mengembalikan hasil terakhir, jadi biaya ke redis tetap 1 probe per interval berapa pun frekuensi probe kubernetes
+     *  component (stream orders, pubsub customers) di cek di probe yang sama, status DOWN jika redis atau salah satu component DOWN
+     *  hasil lebih lama dari 3x interval (probe macet/ scheduler mati) di anggap DOWN
+     */
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+
+    private final ThreadPoolTaskScheduler taskScheduler = ListenerThreads.taskScheduler("redis-health-");
+
+    private final Duration interval;
+
+    private final Duration timeout;
+
+    private final Map<String, Supplier<Mono<Health>>> components = new LinkedHashMap<>();
+
+    private final AtomicBoolean probing = new AtomicBoolean();
+
+    private volatile Health health = Health.unknown().withDetail("reason", "not probed yet").build();
+
+    private volatile Instant checkedAt;
+
+    private ScheduledFuture<?> task;
+
+    public CachedRedisHealthIndicator(ReactiveStringRedisTemplate redisTemplate, Duration interval, Duration timeout) {
+        this.redisTemplate = redisTemplate;
+        this.interval = interval;
+        this.timeout = timeout;
+    }
+
+    /**
+     * component tambahan, check di jalankan di setiap probe dan tidak boleh blocking
+     */
+    public void addComponent(String name, Supplier<Mono<Health>> check) {
+        components.put(name, check);
+    }
+
+    public synchronized void start() {
+        if (task == null) {
+            taskScheduler.initialize();
+            task = taskScheduler.scheduleWithFixedDelay(this::probe, interval);
+        }
+    }
+
+    public synchronized void stop() {
+        if (task != null) {
+            task.cancel(false);
+            task = null;
+            taskScheduler.shutdown();
+        }
+    }
+
+    @Override
+    public Health health() {
+
+        Health current = health;
+        Instant checked = checkedAt;
+        if (checked != null && Duration.between(checked, Instant.now()).compareTo(interval.multipliedBy(3)) > 0) {
+            return Health.down()
+                    .withDetails(current.getDetails())
+                    .withDetail("reason", "stale health probe")
+                    .build();
+        }
+        return current;
+    }
+
+    /**
+     * satu probe: INFO server + semua component, probe berikutnya di lewati jika yang sebelumnya belum selesai
+     *  jika menyusun probe gagal (execute/ component melempar exception langsung) hasil nya DOWN dan probing di reset,
+     *  doFinally hanya jalan untuk Mono yang sudah di subscribe
+     */
+    public void probe() {
+
+        if (!probing.compareAndSet(false, true)) {
+            return;
+        }
+        boolean subscribed = false;
+        try {
+            subscribe(assemble());
+            subscribed = true;
+        } catch (RuntimeException exception) {
+            record(down(exception));
+        } finally {
+            if (!subscribed) {
+                probing.set(false);
+            }
+        }
+    }
+
+    private Mono<Health> assemble() {
+
+        Mono<Tuple2<Long, Properties>> info = redisTemplate.execute(connection -> connection.serverCommands().info("server"))
+                .next()
+                .elapsed(); // latency INFO dalam ms
+
+        List<String> names = new ArrayList<>(components.keySet());
+        List<Mono<Health>> checks = new ArrayList<>();
+        for (String name : names) {
+            checks.add(Mono.defer(components.get(name))
+                    .onErrorResume(throwable -> Mono.just(down(throwable))));
+        }
+        Mono<List<Health>> componentHealth = checks.isEmpty()
+                ? Mono.just(List.of())
+                : Mono.zip(checks, results -> {
+                    List<Health> list = new ArrayList<>(results.length);
+                    for (Object result : results) {
+                        list.add((Health) result);
+                    }
+                    return list;
+                });
+
+        return info.zipWith(componentHealth)
+                .timeout(timeout)
+                .map(result -> {
+                    Health.Builder builder = Health.up()
+                            .withDetail("version", result.getT1().getT2().getProperty("redis_version"))
+                            .withDetail("latencyMillis", result.getT1().getT1());
+                    for (int i = 0; i < names.size(); i++) {
+                        Health component = result.getT2().get(i);
+                        builder.withDetail(names.get(i), component);
+                        if (Status.DOWN.equals(component.getStatus())) {
+                            builder.down();
+                        }
+                    }
+                    return builder.build();
+                });
+    }
+
+    private void subscribe(Mono<Health> probe) {
+        probe.onErrorResume(throwable -> Mono.just(down(throwable)))
+                .doFinally(signal -> probing.set(false))
+                .subscribe(this::record);
+    }
+
+    private void record(Health result) {
+        Instant now = Instant.now();
+        health = Health.status(result.getStatus())
+                .withDetails(result.getDetails())
+                .withDetail("checkedAt", now.toString())
+                .build();
+        checkedAt = now;
+    }
+
+    private static Health down(Throwable throwable) {
+        return Health.down()
+                .withException(throwable instanceof Exception exception ? exception : new RuntimeException(throwable))
+                .build();
+    }
+
+}
@@ -0,0 +1,97 @@
+package com.tutorial.redis.support;
+
+import io.lettuce.core.protocol.CompleteableCommand;
+import io.lettuce.core.protocol.RedisCommand;
+import io.lettuce.core.resource.NettyCustomizer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class CommandMetrics implements NettyCustomizer {
+
+    /**
+     * Command Metrics koneksi lettuce
+     *  latency per command (lettuce.command.completion/ firstresponse) sudah di catat MicrometerCommandLatencyRecorder lettuce,
+     *  handler ini menambah yang tidak ada di sana:
+     *  redis.pipeline.size: jumlah command in-flight (sudah di kirim, reply belum datang) di koneksi ketika command di tulis,
+     *  1 = request/ response biasa, > 1 = pipeline (executePipelined) atau banyak thread di shared connection
+     *  redis.commands.errors: command yang selesai dengan error (tag command dan exception), misal WRONGTYPE, timeout, koneksi putus
+     *  di catat di event loop, alokasi per command hanya callback onComplete
+     */
+
+    private final MeterRegistry registry;
+
+    private final DistributionSummary pipelineSize;
+
+    private final ConcurrentMap<String, Counter> errors = new ConcurrentHashMap<>();
+
+    public CommandMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.pipelineSize = DistributionSummary.builder("redis.pipeline.size")
+                .description("Redis commands in flight on the connection when a command is written")
+                .baseUnit("commands")
+                .publishPercentiles(0.5, 0.99)
+                .register(registry);
+    }
+
+    @Override
+    public void afterChannelInitialized(Channel channel) {
+        channel.pipeline().addLast("commandMetrics", new MetricsHandler()); // sebelum CommandEncoder, masih berupa RedisCommand
+    }
+
+    private void onWrite(RedisCommand<?, ?, ?> command, AtomicInteger inFlight) {
+
+        if (command instanceof CompleteableCommand<?> completeable) {
+            pipelineSize.record(inFlight.incrementAndGet());
+            completeable.onComplete((result, throwable) -> {
+                inFlight.decrementAndGet();
+                if (throwable != null) {
+                    error(command.getType().name(), throwable).increment();
+                }
+            });
+        }
+    }
+
+    private Counter error(String command, Throwable throwable) {
+
+        String exception = throwable.getClass().getSimpleName();
+        return errors.computeIfAbsent(command + ':' + exception, key -> Counter.builder("redis.commands.errors")
+                .description("Redis commands completed with an error")
+                .tag("command", command)
+                .tag("exception", exception)
+                .register(registry));
+    }
+
+    /**
+     * satu instance per channel, inFlight di kurangi di callback onComplete (event loop, atau thread lain ketika timeout/ cancel)
+     */
+    private final class MetricsHandler extends ChannelOutboundHandlerAdapter {
+
+        private final AtomicInteger inFlight = new AtomicInteger();
+
+        @Override
+        public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
+
+            if (msg instanceof RedisCommand<?, ?, ?> command) {
+                onWrite(command, inFlight);
+            } else if (msg instanceof Collection<?> commands) { // flushCommands() menulis Collection<RedisCommand>
+                for (Object command : commands) {
+                    if (command instanceof RedisCommand<?, ?, ?> redisCommand) {
+                        onWrite(redisCommand, inFlight);
+                    }
+                }
+            }
+            ctx.write(msg, promise);
+        }
+    }
+
+}
@@ -0,0 +1,72 @@
+package com.tutorial.redis.support;
+
+import com.tutorial.redis.codec.MessageFrames;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.lang.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.Function;
+
+@Slf4j
+public class FramedMessageListenerAdapter implements MessageListener {
+
+    /**
+     * MessageListener yang membongkar frame dari BatchingMessagePublisher lalu memanggil delegate untuk setiap message
+     *  message biasa (bukan frame) di teruskan apa adanya, jadi publisher lama dan baru bisa jalan bersamaan
+     *  jika executor di set, frame di bongkar di thread pemanggil lalu setiap message jadi task di executor
+     *  dengan partition key dari partitionKey (default channel), urutan per key terjaga
+     *  executor sebaiknya dropWhenFull, thread pemanggil bisa event loop netty yang tidak boleh blocking
+     */
+
+    private final MessageListener delegate;
+
+    @Nullable
+    private final PartitionedExecutor executor;
+
+    private final Function<Message, Object> partitionKey;
+
+    public FramedMessageListenerAdapter(MessageListener delegate, @Nullable PartitionedExecutor executor) {
+        this(delegate, executor, message -> new String(message.getChannel(), StandardCharsets.UTF_8));
+    }
+
+    public FramedMessageListenerAdapter(MessageListener delegate, @Nullable PartitionedExecutor executor,
+                                        Function<Message, Object> partitionKey) {
+        this.delegate = delegate;
+        this.executor = executor;
+        this.partitionKey = partitionKey;
+    }
+
+    @Override
+    public void onMessage(Message message, @Nullable byte[] pattern) {
+
+        byte[] body = message.getBody();
+        if (!MessageFrames.isFrame(body)) {
+            dispatch(message, pattern);
+            return;
+        }
+
+        for (byte[] part : MessageFrames.unpack(body)) {
+            dispatch(new DefaultMessage(message.getChannel(), part), pattern);
+        }
+    }
+
+    private void dispatch(Message message, @Nullable byte[] pattern) {
+        if (executor == null) {
+            invoke(message, pattern);
+        } else {
+            executor.execute(partitionKey.apply(message), () -> invoke(message, pattern));
+        }
+    }
+
+    private void invoke(Message message, @Nullable byte[] pattern) {
+        try {
+            delegate.onMessage(message, pattern);
+        } catch (RuntimeException exception) {
+            log.warn("Failed to process message on {}: {}", new String(message.getChannel(), StandardCharsets.UTF_8), exception.getMessage());
+        }
+    }
+
+}
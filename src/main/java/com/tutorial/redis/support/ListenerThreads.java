@@ -0,0 +1,50 @@
+package com.tutorial.redis.support;
+
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.util.concurrent.ThreadFactory;
+
+public final class ListenerThreads {
+
+    /**
+     * Thread untuk polling loop dan dispatch listener
+     *  virtual=false: platform thread (CustomizableThreadFactory / SimpleAsyncTaskExecutor seperti default container)
+     *  virtual=true: virtual thread java 21, listener yang blocking (I/O ke service lain) tidak menahan carrier thread
+     *  nama thread tetap <prefix><nomor> agar mudah di bedakan di log
+     *  task terjadwal yang bisa blocking (reclaimer, reaper, health probe) memakai scheduler sendiri,
+     *  bukan TaskScheduler spring boot (1 thread) yang juga menjalankan @Scheduled publisher
+     */
+
+    private ListenerThreads() {
+    }
+
+    public static ThreadFactory threadFactory(String prefix, boolean virtual) {
+        return virtual
+                ? Thread.ofVirtual().name(prefix, 1).factory()
+                : new CustomizableThreadFactory(prefix);
+    }
+
+    /**
+     * executor satu thread per task, sama dengan default StreamMessageListenerContainer dan RedisMessageListenerContainer
+     */
+    public static SimpleAsyncTaskExecutor taskExecutor(String prefix, boolean virtual) {
+        return virtual
+                ? new SimpleAsyncTaskExecutor(threadFactory(prefix, true))
+                : new SimpleAsyncTaskExecutor(prefix);
+    }
+
+    /**
+     * scheduler 1 thread untuk satu komponen, belum di initialize: pemilik memanggil initialize() di start dan shutdown() di stop
+     */
+    public static ThreadPoolTaskScheduler taskScheduler(String prefix) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix(prefix);
+        scheduler.setWaitForTasksToCompleteOnShutdown(true);
+        scheduler.setAwaitTerminationSeconds(10);
+        return scheduler;
+    }
+
+}
@@ -0,0 +1,115 @@
+package com.tutorial.redis.support;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.Nullable;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+public class PartitionedExecutor {
+
+    /**
+     * Partitioned Executor
+     *  executor dengan beberapa partisi, setiap partisi adalah ThreadPoolExecutor dengan queue terbatas
+     *  task dengan partition key yang sama selalu masuk ke partisi yang sama, jika partisi hanya punya 1 thread urutan task terjaga
+     *  ketika queue penuh thread pemanggil (misal thread polling container) akan menunggu (backpressure), bukan membuang task
+     *  dropWhenFull: thread pemanggil tidak boleh di tahan (event loop netty/ pubsub), task di buang dan di hitung di getDroppedTasks()
+     */
+
+    private final ThreadPoolExecutor[] partitions;
+
+    private final AtomicLong droppedTasks = new AtomicLong();
+
+    public PartitionedExecutor(int partitions, int threadsPerPartition, int queueCapacity, ThreadFactory threadFactory) {
+        this(partitions, threadsPerPartition, queueCapacity, threadFactory, false);
+    }
+
+    public PartitionedExecutor(int partitions, int threadsPerPartition, int queueCapacity, ThreadFactory threadFactory, boolean dropWhenFull) {
+
+        this.partitions = new ThreadPoolExecutor[partitions];
+        for (int i = 0; i < partitions; i++) {
+            this.partitions[i] = new ThreadPoolExecutor(threadsPerPartition, threadsPerPartition, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity), threadFactory, dropWhenFull ? this::drop : PartitionedExecutor::waitForCapacity);
+        }
+    }
+
+    /**
+     * ordered: urutan per key terjaga (partitions x 1 thread)
+     * unordered: satu partisi dengan banyak thread, urutan tidak terjaga
+     */
+    public static PartitionedExecutor create(boolean ordered, int threads, int queueCapacity, ThreadFactory threadFactory) {
+        return ordered
+                ? new PartitionedExecutor(threads, 1, queueCapacity, threadFactory)
+                : new PartitionedExecutor(1, threads, queueCapacity, threadFactory);
+    }
+
+    public static PartitionedExecutor create(boolean ordered, int threads, int queueCapacity, ThreadFactory threadFactory, boolean dropWhenFull) {
+        return ordered
+                ? new PartitionedExecutor(threads, 1, queueCapacity, threadFactory, dropWhenFull)
+                : new PartitionedExecutor(1, threads, queueCapacity, threadFactory, dropWhenFull);
+    }
+
+    public void execute(@Nullable Object partitionKey, Runnable task) {
+        int partition = partitionKey == null ? 0 : Math.floorMod(partitionKey.hashCode(), partitions.length);
+        partitions[partition].execute(task);
+    }
+
+    public int getPartitionCount() {
+        return partitions.length;
+    }
+
+    public int getQueuedTasks() {
+        int queued = 0;
+        for (ThreadPoolExecutor partition : partitions) {
+            queued += partition.getQueue().size();
+        }
+        return queued;
+    }
+
+    public long getDroppedTasks() {
+        return droppedTasks.get();
+    }
+
+    public void shutdown() {
+
+        for (ThreadPoolExecutor partition : partitions) {
+            partition.shutdown();
+        }
+        try {
+            for (ThreadPoolExecutor partition : partitions) {
+                if (!partition.awaitTermination(10, TimeUnit.SECONDS)) {
+                    log.warn("Executor partition did not terminate, {} tasks dropped", partition.shutdownNow().size());
+                }
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void drop(Runnable task, ThreadPoolExecutor executor) {
+
+        long dropped = droppedTasks.incrementAndGet();
+        if (dropped == 1 || dropped % 1000 == 0) { // jangan banjiri log ketika consumer tertinggal
+            log.warn("Executor partition is full, {} tasks dropped", dropped);
+        }
+    }
+
+    private static void waitForCapacity(Runnable task, ThreadPoolExecutor executor) {
+
+        if (executor.isShutdown()) {
+            throw new RejectedExecutionException("Executor has been shut down");
+        }
+        try {
+            executor.getQueue().put(task); // block sampai ada slot di queue
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted while waiting for queue capacity", exception);
+        }
+    }
+
+}
@@ -0,0 +1,232 @@
+package com.tutorial.redis.support;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.ObjectRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.hash.HashMapper;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledFuture;
+
+@Slf4j
+public class PendingMessageReclaimer<V> {
+
+    /**
+     * Pending Message Reclaimer
+     *  record yang sudah di baca tapi belum di acknowledge (consumer mati / listener error) ada di pending list (XPENDING)
+     *  setiap interval, reclaimer membaca maksimal batchSize entry pending mulai dari cursor (bukan seluruh pending list),
+     *  entry yang idle >= minIdle di XCLAIM ke consumer milik node ini lalu di proses ulang oleh handler
+     *  entry yang sudah di kirim >= maxDeliveries kali di pindahkan ke deadLetterStream lalu di acknowledge
+     *  handler bertanggung jawab melakukan acknowledge untuk record yang berhasil di proses
+     *  handler boleh blocking (antrian executor penuh, batch listener), jadi tanpa TaskScheduler di constructor
+     *  reclaimer memakai scheduler 1 thread sendiri, tidak menahan TaskScheduler spring boot
+     */
+
+    private static final String FIRST = "-";
+
+    private final StringRedisTemplate redisTemplate;
+
+    private final String stream;
+
+    private final String group;
+
+    private final String consumerName;
+
+    private final Class<V> targetType;
+
+    private final BatchStreamListener<String, ObjectRecord<String, V>> handler;
+
+    private final TaskScheduler taskScheduler;
+
+    @Nullable
+    private final ThreadPoolTaskScheduler ownScheduler; // scheduler khusus reclaimer, di buat jika TaskScheduler tidak di berikan
+
+    private Duration interval = Duration.ofSeconds(30);
+
+    private Duration minIdle = Duration.ofSeconds(60);
+
+    private int batchSize = 100;
+
+    private long maxDeliveries = 5;
+
+    private String deadLetterStream;
+
+    @Nullable
+    private HashMapper<Object, Object, Object> hashMapper;
+
+    private volatile String cursor = FIRST;
+
+    private ScheduledFuture<?> task;
+
+    public PendingMessageReclaimer(StringRedisTemplate redisTemplate, String stream, String group, String consumerName,
+                                   Class<V> targetType, BatchStreamListener<String, ObjectRecord<String, V>> handler,
+                                   TaskScheduler taskScheduler) {
+        this(redisTemplate, stream, group, consumerName, targetType, handler, taskScheduler, null);
+    }
+
+    public PendingMessageReclaimer(StringRedisTemplate redisTemplate, String stream, String group, String consumerName,
+                                   Class<V> targetType, BatchStreamListener<String, ObjectRecord<String, V>> handler) {
+        this(redisTemplate, stream, group, consumerName, targetType, handler, null, ListenerThreads.taskScheduler(stream + "-reclaimer-"));
+    }
+
+    private PendingMessageReclaimer(StringRedisTemplate redisTemplate, String stream, String group, String consumerName,
+                                    Class<V> targetType, BatchStreamListener<String, ObjectRecord<String, V>> handler,
+                                    @Nullable TaskScheduler taskScheduler, @Nullable ThreadPoolTaskScheduler ownScheduler) {
+        this.redisTemplate = redisTemplate;
+        this.stream = stream;
+        this.group = group;
+        this.consumerName = consumerName;
+        this.targetType = targetType;
+        this.handler = handler;
+        this.taskScheduler = taskScheduler != null ? taskScheduler : ownScheduler;
+        this.ownScheduler = ownScheduler;
+        this.deadLetterStream = stream + ":dead-letter";
+    }
+
+    public void setInterval(Duration interval) {
+        this.interval = interval;
+    }
+
+    public void setMinIdle(Duration minIdle) {
+        this.minIdle = minIdle;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public void setMaxDeliveries(long maxDeliveries) {
+        this.maxDeliveries = maxDeliveries;
+    }
+
+    public void setDeadLetterStream(String deadLetterStream) {
+        this.deadLetterStream = deadLetterStream;
+    }
+
+    /**
+     * HashMapper untuk mapping record ke targetType, null = ObjectHashMapper (default StreamOperations)
+     */
+    public void setHashMapper(@Nullable HashMapper<Object, Object, Object> hashMapper) {
+        this.hashMapper = hashMapper;
+    }
+
+    public synchronized void start() {
+        if (task == null) {
+            if (ownScheduler != null) {
+                ownScheduler.initialize();
+            }
+            task = taskScheduler.scheduleWithFixedDelay(this::reclaimQuietly, interval);
+        }
+    }
+
+    public synchronized void stop() {
+        if (task != null) {
+            task.cancel(false);
+            task = null;
+            if (ownScheduler != null) {
+                ownScheduler.shutdown();
+            }
+        }
+    }
+
+    public boolean isRunning() {
+        return task != null;
+    }
+
+    /**
+     * satu langkah scan, return jumlah record yang berhasil di claim
+     */
+    public int reclaim() {
+
+        StreamOperations<String, Object, Object> operations = operations();
+        String from = cursor;
+        PendingMessages pending = operations.pending(stream, group, Range.closed(from, "+"), batchSize);
+        if (pending.isEmpty()) {
+            cursor = FIRST;
+            return 0;
+        }
+
+        // cursor berikutnya = id terakhir, jika sudah sampai akhir pending list mulai lagi dari awal
+        cursor = pending.size() < batchSize ? FIRST : pending.get(pending.size() - 1).getIdAsString();
+
+        List<RecordId> idle = new ArrayList<>();
+        Map<String, Long> deliveries = new HashMap<>();
+        for (PendingMessage message : pending) {
+            if (message.getIdAsString().equals(from)) {
+                continue; // batas bawah range inclusive, entry ini sudah di periksa di langkah sebelumnya
+            }
+            if (message.getElapsedTimeSinceLastDelivery().compareTo(minIdle) >= 0) {
+                idle.add(message.getId());
+                deliveries.put(message.getIdAsString(), message.getTotalDeliveryCount());
+            }
+        }
+        if (idle.isEmpty()) {
+            return 0;
+        }
+
+        // XCLAIM dengan min idle, jika node lain sudah claim lebih dulu entry tersebut tidak ikut di kembalikan
+        List<MapRecord<String, Object, Object>> claimed = operations.claim(stream, group, consumerName, minIdle, idle.toArray(RecordId[]::new));
+
+        List<MapRecord<String, Object, Object>> dead = new ArrayList<>();
+        List<ObjectRecord<String, V>> retry = new ArrayList<>();
+        for (MapRecord<String, Object, Object> record : claimed) {
+            if (deliveries.getOrDefault(record.getId().getValue(), 0L) >= maxDeliveries) {
+                dead.add(record);
+            } else {
+                retry.add(operations.map(record, targetType));
+            }
+        }
+
+        if (!dead.isEmpty()) {
+            deadLetter(operations, dead, deliveries);
+        }
+        if (!retry.isEmpty()) {
+            handler.onMessages(retry);
+        }
+        return claimed.size();
+    }
+
+    private void deadLetter(StreamOperations<String, Object, Object> operations, List<MapRecord<String, Object, Object>> records,
+                            Map<String, Long> deliveries) {
+
+        for (MapRecord<String, Object, Object> record : records) {
+            Map<Object, Object> fields = new LinkedHashMap<>(record.getValue());
+            fields.put("dead-letter-source-id", record.getId().getValue());
+            fields.put("dead-letter-deliveries", String.valueOf(deliveries.get(record.getId().getValue())));
+            operations.add(MapRecord.create(deadLetterStream, fields));
+        }
+
+        operations.acknowledge(stream, group, records.stream().map(MapRecord::getId).toArray(RecordId[]::new));
+        log.warn("Moved {} records from {} to {} after {} deliveries", records.size(), stream, deadLetterStream, maxDeliveries);
+    }
+
+    private StreamOperations<String, Object, Object> operations() {
+        return hashMapper != null ? redisTemplate.opsForStream(hashMapper) : redisTemplate.opsForStream();
+    }
+
+    private void reclaimQuietly() {
+        try {
+            int claimed;
+            do {
+                claimed = reclaim();
+            } while (claimed > 0 && !FIRST.equals(cursor)); // lanjut scan selama masih ada entry idle, berhenti di akhir pending list
+        } catch (RuntimeException exception) {
+            log.warn("Failed to reclaim pending records of {}: {}", stream, exception.getMessage());
+        }
+    }
+
+}
@@ -0,0 +1,64 @@
+package com.tutorial.redis.support;
+
+import org.springframework.data.redis.listener.ChannelTopic;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ShardedChannel {
+
+    /**
+     * Sharded Channel pubsub
+     *  satu channel logis di pecah jadi <prefix>:0 .. <prefix>:<shards-1>, shard di pilih dari hash key (misal customer id)
+     *  key yang sama selalu masuk shard yang sama, jadi urutan message per key tetap terjaga
+     *  shards <= 0 berarti tidak di shard, semua message di kirim ke <prefix>
+     */
+
+    private final String prefix;
+
+    private final int shards;
+
+    public ShardedChannel(String prefix, int shards) {
+        this.prefix = prefix;
+        this.shards = Math.max(shards, 0);
+    }
+
+    public boolean isSharded() {
+        return shards > 0;
+    }
+
+    public String channelFor(Object key) {
+        return isSharded() ? prefix + ":" + Math.floorMod(key.hashCode(), shards) : prefix; // String.hashCode() sama di semua JVM
+    }
+
+    public List<ChannelTopic> topics() {
+
+        if (!isSharded()) {
+            return List.of(new ChannelTopic(prefix));
+        }
+
+        List<ChannelTopic> topics = new ArrayList<>(shards);
+        for (int i = 0; i < shards; i++) {
+            topics.add(new ChannelTopic(prefix + ":" + i));
+        }
+        return topics;
+    }
+
+    /**
+     * bagi semua shard ke beberapa group (round robin), satu group = satu koneksi subscription
+     */
+    public List<List<ChannelTopic>> partition(int groups) {
+
+        List<ChannelTopic> topics = topics();
+        int size = Math.max(1, Math.min(groups, topics.size()));
+        List<List<ChannelTopic>> partitions = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            partitions.add(new ArrayList<>());
+        }
+        for (int i = 0; i < topics.size(); i++) {
+            partitions.get(i % size).add(topics.get(i));
+        }
+        return partitions;
+    }
+
+}
@@ -0,0 +1,93 @@
+package com.tutorial.redis.support;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadFactory;
+
+@Slf4j
+public class ShardedMessageListenerContainer {
+
+    /**
+     * Sharded Message Listener Container
+     *  semua shard dari ShardedChannel di bagi ke beberapa RedisMessageListenerContainer, satu container = satu koneksi subscription
+     *  semua container memanggil listener yang sama (merge)
+     *  container tidak membuat task per message (SyncTaskExecutor), thread subscription (event loop lettuce) hanya menyerahkan
+     *  message ke executor per shard (satu thread per shard), jadi urutan per shard (= per key) terjaga dan listener boleh blocking
+     *  queue per shard terbatas, jika penuh message di buang dan di hitung di getDroppedMessages(), thread subscription tidak pernah menunggu
+     */
+
+    private final List<RedisMessageListenerContainer> containers = new ArrayList<>();
+
+    private final PartitionedExecutor shardExecutor;
+
+    public ShardedMessageListenerContainer(RedisConnectionFactory connectionFactory, ShardedChannel channel, int connections,
+                                           MessageListener listener, Executor subscriptionExecutor) {
+        this(connectionFactory, channel, connections, listener, subscriptionExecutor, ListenerThreads.threadFactory("shard-listener-", false), 1000);
+    }
+
+    public ShardedMessageListenerContainer(RedisConnectionFactory connectionFactory, ShardedChannel channel, int connections,
+                                           MessageListener listener, Executor subscriptionExecutor,
+                                           ThreadFactory listenerThreadFactory, int queueCapacity) {
+
+        List<ChannelTopic> shards = channel.topics();
+        Map<String, Integer> shardIndex = new HashMap<>();
+        for (int i = 0; i < shards.size(); i++) {
+            shardIndex.put(shards.get(i).getTopic(), i); // Integer.hashCode() = index, satu shard = satu partisi
+        }
+        this.shardExecutor = new PartitionedExecutor(shards.size(), 1, queueCapacity, listenerThreadFactory, true);
+
+        MessageListener dispatcher = (message, pattern) -> shardExecutor.execute(
+                shardIndex.get(new String(message.getChannel(), StandardCharsets.UTF_8)), () -> listener.onMessage(message, pattern));
+        for (List<ChannelTopic> topics : channel.partition(connections)) {
+            RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+            container.setConnectionFactory(connectionFactory);
+            container.setTaskExecutor(new SyncTaskExecutor());
+            container.setSubscriptionExecutor(subscriptionExecutor);
+            container.addMessageListener(dispatcher, topics);
+            containers.add(container);
+        }
+    }
+
+    public void start() {
+        for (RedisMessageListenerContainer container : containers) {
+            container.afterPropertiesSet();
+            container.start();
+        }
+    }
+
+    public void stop() {
+        for (RedisMessageListenerContainer container : containers) {
+            try {
+                container.stop();
+                container.destroy();
+            } catch (Exception exception) {
+                log.warn("Failed to stop sharded listener container: {}", exception.getMessage());
+            }
+        }
+        shardExecutor.shutdown(); // message yang sudah antri tetap di proses
+    }
+
+    public boolean isRunning() {
+        return !containers.isEmpty() && containers.stream().allMatch(RedisMessageListenerContainer::isRunning);
+    }
+
+    public long getDroppedMessages() {
+        return shardExecutor.getDroppedTasks();
+    }
+
+    public List<RedisMessageListenerContainer> getContainers() {
+        return containers;
+    }
+
+}
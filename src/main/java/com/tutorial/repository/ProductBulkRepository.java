@@ -0,0 +1,34 @@
+package com.tutorial.repository;
+
+import com.tutorial.data.Product;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface ProductBulkRepository {
+
+    /**
+     * Bulk Operation
+     *  saveAll()/findAllById()/deleteAllById() dari KeyValueRepository menjalankan perintah redis satu per satu untuk setiap product
+     *  method di bawah ini menggabungkan perintah untuk banyak product ke dalam satu pipeline (per chunk)
+     *  format data (hash products:<id>, set products, index dan phantom key) sama dengan RedisKeyValueAdapter
+     *  note: event KeyValue (BeforeSave/AfterSave dan lain lain) tidak di publish
+     */
+
+    void saveAllPipelined(Collection<Product> products);
+
+    List<Product> findAllByIdPipelined(Collection<String> ids); // urutan sesuai ids, id yang tidak ada di lewati
+
+    void deleteAllByIdPipelined(Collection<String> ids);
+
+    /**
+     * pengganti findAll() untuk keyspace besar: id di baca bertahap dengan SSCAN products, hash di ambil per chunk dalam satu pipeline
+     * jadi memory hanya sebesar chunk, bukan seluruh catalog. stream harus di close (try-with-resources) agar koneksi SSCAN di lepas
+     * note: sesuai jaminan SCAN, product yang di tambah/ di hapus selama scan bisa ada atau tidak, dan bisa muncul lebih dari satu kali
+     */
+    Stream<Product> streamAll();
+
+    Stream<Product> streamAll(int chunkSize);
+
+}
@@ -0,0 +1,395 @@
+package com.tutorial.repository;
+
+import com.tutorial.data.Product;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.convert.IndexedData;
+import org.springframework.data.redis.core.convert.RedisConverter;
+import org.springframework.data.redis.core.convert.RedisData;
+import org.springframework.data.redis.core.convert.SimpleIndexedPropertyValue;
+import org.springframework.data.redis.core.index.Indexed;
+import org.springframework.data.redis.util.ByteUtils;
+import org.springframework.util.Assert;
+import org.springframework.util.CollectionUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+public class ProductBulkRepositoryImpl implements ProductBulkRepository {
+
+    /**
+     * implementasi fragment ProductBulkRepository (di temukan otomatis oleh spring data dari nama class + Impl)
+     *  setiap chunk (app.repository.bulk.chunk-size) di kirim dalam satu pipeline, jadi N product = N / chunk round trip
+     *  jika entity punya @Indexed, index lama di baca dulu (SMEMBERS products:<id>:idx) dalam satu pipeline tambahan
+     *  sorted set index (ProductSortedIndex) dan expiry index (ProductExpiryIndex) di update di pipeline yang sama
+     */
+
+    private static final String KEYSPACE = "products";
+
+    private static final byte[] PHANTOM_SUFFIX = ":phantom".getBytes(StandardCharsets.UTF_8);
+
+    private static final long PHANTOM_KEY_TTL = 300; // detik, sama dengan RedisKeyValueAdapter
+
+    @Autowired
+    private RedisConnectionFactory connectionFactory;
+
+    @Autowired
+    private RedisConverter redisConverter;
+
+    @Autowired
+    private ProductSortedIndex sortedIndex;
+
+    @Autowired
+    private ProductExpiryIndex expiryIndex;
+
+    @Value("${app.repository.bulk.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${app.repository.shadow-copy:false}") // harus sama dengan @EnableRedisRepositories(shadowCopy / enableKeyspaceEvents)
+    private boolean shadowCopy;
+
+    @Override
+    public void saveAllPipelined(Collection<Product> products) {
+
+        boolean indexed = hasIndexes();
+        for (List<Product> chunk : chunks(products)) {
+
+            List<RedisData> data = new ArrayList<>(chunk.size());
+            List<String> ids = new ArrayList<>(chunk.size());
+            for (Product product : chunk) {
+                Assert.notNull(product.getId(), "Product id must not be null for bulk save");
+                RedisData rdo = new RedisData();
+                redisConverter.write(product, rdo); // hash bucket, ttl dan index sama seperti repository.save()
+                data.add(rdo);
+                ids.add(product.getId());
+            }
+
+            List<Set<byte[]>> existingIndexes = indexed ? readIndexKeys(ids) : null;
+
+            pipelined(connection -> {
+
+                byte[][] members = new byte[data.size()][];
+                for (int i = 0; i < data.size(); i++) {
+
+                    RedisData rdo = data.get(i);
+                    byte[] id = toBytes(ids.get(i));
+                    byte[] key = createKey(ids.get(i));
+                    Map<byte[], byte[]> hash = rdo.getBucket().rawMap();
+
+                    connection.keyCommands().del(key);
+                    connection.hashCommands().hMSet(key, hash);
+                    if (expires(rdo)) {
+                        connection.keyCommands().expire(key, rdo.getTimeToLive());
+                    }
+
+                    if (shadowCopy) {
+                        byte[] phantomKey = ByteUtils.concat(key, PHANTOM_SUFFIX);
+                        connection.keyCommands().del(phantomKey);
+                        if (expires(rdo)) {
+                            connection.hashCommands().hMSet(phantomKey, hash);
+                            connection.keyCommands().expire(phantomKey, rdo.getTimeToLive() + PHANTOM_KEY_TTL);
+                        }
+                    }
+
+                    if (indexed) {
+                        removeFromIndexes(connection, ids.get(i), existingIndexes.get(i));
+                        createIndexes(connection, ids.get(i), rdo.getIndexedData());
+                    }
+                    sortedIndex.update(connection, chunk.get(i));
+                    expiryIndex.track(connection, chunk.get(i));
+                    members[i] = id;
+                }
+                connection.setCommands().sAdd(toBytes(KEYSPACE), members); // satu SADD untuk semua id di chunk
+            });
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Product> findAllByIdPipelined(Collection<String> ids) {
+
+        List<Product> products = new ArrayList<>(ids.size());
+        for (List<String> chunk : chunks(ids)) {
+
+            List<Object> replies = pipelined(connection -> {
+                for (String id : chunk) {
+                    byte[] key = createKey(id);
+                    connection.hashCommands().hGetAll(key);
+                    connection.keyCommands().ttl(key, TimeUnit.SECONDS); // @TimeToLive(unit = SECONDS) di baca ulang seperti findById()
+                }
+            });
+
+            for (int i = 0; i < chunk.size(); i++) {
+
+                Map<byte[], byte[]> hash = (Map<byte[], byte[]>) replies.get(i * 2);
+                if (CollectionUtils.isEmpty(hash)) {
+                    continue;
+                }
+
+                RedisData rdo = new RedisData(hash);
+                rdo.setId(chunk.get(i));
+                rdo.setKeyspace(KEYSPACE);
+                Product product = redisConverter.read(Product.class, rdo);
+                product.setTtl((Long) replies.get(i * 2 + 1));
+                products.add(product);
+            }
+        }
+        return products;
+    }
+
+    @Override
+    public void deleteAllByIdPipelined(Collection<String> ids) {
+
+        boolean indexed = hasIndexes();
+        for (List<String> chunk : chunks(ids)) {
+
+            List<Set<byte[]>> existingIndexes = indexed ? readIndexKeys(chunk) : null;
+
+            pipelined(connection -> {
+
+                byte[][] members = new byte[chunk.size()][];
+                for (int i = 0; i < chunk.size(); i++) {
+
+                    byte[] key = createKey(chunk.get(i));
+                    connection.keyCommands().del(key);
+                    if (shadowCopy) {
+                        connection.keyCommands().del(ByteUtils.concat(key, PHANTOM_SUFFIX));
+                    }
+                    if (indexed) {
+                        removeFromIndexes(connection, chunk.get(i), existingIndexes.get(i));
+                    }
+                    sortedIndex.remove(connection, chunk.get(i));
+                    expiryIndex.untrack(connection, chunk.get(i));
+                    members[i] = toBytes(chunk.get(i));
+                }
+                connection.setCommands().sRem(toBytes(KEYSPACE), members);
+            });
+        }
+    }
+
+    @Override
+    public Stream<Product> streamAll() {
+        return streamAll(chunkSize);
+    }
+
+    @Override
+    public Stream<Product> streamAll(int chunkSize) {
+
+        Assert.isTrue(chunkSize > 0, "Chunk size must be greater than 0");
+        RedisConnection connection = connectionFactory.getConnection(); // koneksi khusus untuk cursor SSCAN sampai stream di close
+        Cursor<byte[]> cursor;
+        try {
+            cursor = connection.setCommands().sScan(toBytes(KEYSPACE), ScanOptions.scanOptions().count(chunkSize).build());
+        } catch (RuntimeException exception) {
+            connection.close();
+            throw exception;
+        }
+
+        Iterator<List<Product>> chunks = new Iterator<>() {
+
+            @Override
+            public boolean hasNext() {
+                return cursor.hasNext();
+            }
+
+            @Override
+            public List<Product> next() {
+
+                if (!cursor.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                List<String> ids = new ArrayList<>(chunkSize);
+                while (ids.size() < chunkSize && cursor.hasNext()) {
+                    ids.add(new String(cursor.next(), StandardCharsets.UTF_8));
+                }
+                List<Product> products = findAllByIdPipelined(ids); // id yang hash nya sudah expire di lewati
+                if (products.size() < ids.size()) {
+                    purgeExpired(missingIds(ids, products)); // lazy cleanup
+                }
+                return products;
+            }
+        };
+
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(chunks, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .flatMap(List::stream)
+                .onClose(() -> {
+                    try {
+                        cursor.close();
+                    } finally {
+                        connection.close();
+                    }
+                });
+    }
+
+    /**
+     * hapus id yang hash nya sudah tidak ada (expire) dari set products, @Indexed, sorted index dan expiry index
+     * id yang hash nya masih ada (misal di save ulang) di lewati, di pakai ProductExpiryReaper dan ketika read (lazy)
+     * @return jumlah id yang di hapus
+     */
+    int purgeExpired(Collection<String> ids) {
+
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        List<String> candidates = new ArrayList<>(ids);
+        List<Object> exists = pipelined(connection -> {
+            for (String id : candidates) {
+                connection.keyCommands().exists(createKey(id)); // EXISTS juga memicu lazy expire di redis
+            }
+        });
+
+        List<String> expired = new ArrayList<>();
+        for (int i = 0; i < candidates.size(); i++) {
+            if (Boolean.FALSE.equals(exists.get(i))) {
+                expired.add(candidates.get(i));
+            }
+        }
+        if (expired.isEmpty()) {
+            return 0;
+        }
+
+        boolean indexed = hasIndexes();
+        List<Set<byte[]>> existingIndexes = indexed ? readIndexKeys(expired) : null;
+        pipelined(connection -> {
+
+            byte[][] members = new byte[expired.size()][];
+            for (int i = 0; i < expired.size(); i++) {
+
+                String id = expired.get(i);
+                if (shadowCopy) {
+                    connection.keyCommands().del(ByteUtils.concat(createKey(id), PHANTOM_SUFFIX));
+                }
+                if (indexed) {
+                    removeFromIndexes(connection, id, existingIndexes.get(i));
+                }
+                sortedIndex.remove(connection, id);
+                expiryIndex.untrack(connection, id);
+                members[i] = toBytes(id);
+            }
+            connection.setCommands().sRem(toBytes(KEYSPACE), members);
+        });
+        return expired.size();
+    }
+
+    static List<String> missingIds(List<String> ids, List<Product> products) {
+
+        Set<String> found = new HashSet<>();
+        products.forEach(product -> found.add(product.getId()));
+        return ids.stream().filter(id -> !found.contains(id)).toList();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Set<byte[]>> readIndexKeys(List<String> ids) {
+
+        List<Object> replies = pipelined(connection -> {
+            for (String id : ids) {
+                connection.setCommands().sMembers(createIndexHelperKey(id));
+            }
+        });
+
+        List<Set<byte[]>> indexKeys = new ArrayList<>(ids.size());
+        for (Object reply : replies) {
+            indexKeys.add(reply != null ? (Set<byte[]>) reply : Collections.emptySet());
+        }
+        return indexKeys;
+    }
+
+    private void removeFromIndexes(RedisConnection connection, String id, Set<byte[]> indexKeys) {
+
+        byte[] binId = toBytes(id);
+        for (byte[] indexKey : indexKeys) {
+            connection.setCommands().sRem(indexKey, binId);
+        }
+        connection.keyCommands().del(createIndexHelperKey(id));
+    }
+
+    private void createIndexes(RedisConnection connection, String id, Set<IndexedData> indexedData) {
+
+        byte[] binId = toBytes(id);
+        byte[] helperKey = createIndexHelperKey(id);
+        for (IndexedData data : indexedData) {
+
+            if (!(data instanceof SimpleIndexedPropertyValue value)) {
+                throw new InvalidDataAccessApiUsageException("Bulk save only supports simple indexes, found " + data.getClass().getSimpleName());
+            }
+            if (value.getValue() == null) {
+                continue;
+            }
+
+            // products:<property>:<value> -> set id, sama dengan IndexWriter
+            byte[] indexKey = ByteUtils.concat(toBytes(value.getKeyspace() + ":" + value.getIndexName() + ":"),
+                    redisConverter.getConversionService().convert(value.getValue(), byte[].class));
+            connection.setCommands().sAdd(indexKey, binId);
+            connection.setCommands().sAdd(helperKey, indexKey);
+        }
+    }
+
+    private boolean hasIndexes() {
+        return redisConverter.getMappingContext().getRequiredPersistentEntity(Product.class).getPersistentProperty(Indexed.class) != null;
+    }
+
+    private List<Object> pipelined(Consumer<RedisConnection> commands) {
+
+        RedisConnection connection = connectionFactory.getConnection();
+        try {
+            connection.openPipeline();
+            commands.accept(connection);
+            return connection.closePipeline(); // hasil perintah status (OK) tidak ikut di list
+        } finally {
+            connection.close();
+        }
+    }
+
+    private <T> List<List<T>> chunks(Collection<T> values) {
+
+        List<List<T>> chunks = new ArrayList<>();
+        List<T> chunk = new ArrayList<>(Math.min(chunkSize, values.size()));
+        for (T value : values) {
+            chunk.add(value);
+            if (chunk.size() == chunkSize) {
+                chunks.add(chunk);
+                chunk = new ArrayList<>(chunkSize);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            chunks.add(chunk);
+        }
+        return chunks;
+    }
+
+    private static boolean expires(RedisData rdo) {
+        return rdo.getTimeToLive() != null && rdo.getTimeToLive() > 0;
+    }
+
+    private static byte[] createKey(String id) {
+        return toBytes(KEYSPACE + ":" + id); // products:<id>
+    }
+
+    private static byte[] createIndexHelperKey(String id) {
+        return toBytes(KEYSPACE + ":" + id + ":idx");
+    }
+
+    private static byte[] toBytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+}
@@ -0,0 +1,130 @@
+package com.tutorial.repository;
+
+import com.tutorial.data.Product;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.keyvalue.core.event.KeyValueEvent;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+@Component
+public class ProductExpiryIndex {
+
+    /**
+     * Expiry Index untuk Product dengan @TimeToLive
+     *  mode keyspace (default): cleanup set products dan index mengandalkan phantom key + keyspace notification (RedisKeyExpiredEvent)
+     *  mode reaper (app.repository.expiry.mode=reaper): deadline setiap product di simpan di sorted set
+     *   products:expires (score = epoch millis deadline, member = id), ProductExpiryReaper membersihkan id yang sudah lewat deadline
+     *   per batch, tanpa keyspace notification. hash products:<id> tetap di expire oleh redis (EXPIRE)
+     *  product dengan ttl <= 0 (tidak pernah expire) di hapus dari products:expires
+     */
+
+    static final String EXPIRES = "products:expires";
+
+    private static final String KEYSPACE = "products";
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Value("${app.repository.expiry.mode:keyspace}")
+    private String mode;
+
+    public boolean isEnabled() {
+        return "reaper".equals(mode);
+    }
+
+    public void track(Product product) {
+
+        if (!isEnabled()) {
+            return;
+        }
+        if (expires(product)) {
+            redisTemplate.opsForZSet().add(EXPIRES, product.getId(), deadline(product));
+        } else {
+            redisTemplate.opsForZSet().remove(EXPIRES, product.getId());
+        }
+    }
+
+    public void untrack(String id) {
+        if (isEnabled()) {
+            redisTemplate.opsForZSet().remove(EXPIRES, id);
+        }
+    }
+
+    /**
+     * versi pipeline (di pakai ProductBulkRepositoryImpl)
+     */
+    void track(RedisConnection connection, Product product) {
+
+        if (!isEnabled()) {
+            return;
+        }
+        if (expires(product)) {
+            connection.zSetCommands().zAdd(toBytes(EXPIRES), deadline(product), toBytes(product.getId()));
+        } else {
+            connection.zSetCommands().zRem(toBytes(EXPIRES), toBytes(product.getId()));
+        }
+    }
+
+    void untrack(RedisConnection connection, String id) {
+        if (isEnabled()) {
+            connection.zSetCommands().zRem(toBytes(EXPIRES), toBytes(id));
+        }
+    }
+
+    /**
+     * id yang deadline nya sudah lewat, paling lama lebih dulu, maksimal limit
+     */
+    List<String> findExpired(long now, int limit) {
+        Set<String> ids = redisTemplate.opsForZSet().rangeByScore(EXPIRES, 0, now, 0, limit);
+        return ids != null ? new ArrayList<>(ids) : List.of();
+    }
+
+    @EventListener
+    public void onAfterInsert(KeyValueEvent.AfterInsertEvent<?> event) {
+        if (KEYSPACE.equals(event.getKeyspace()) && event.getPayload() instanceof Product product) {
+            track(product);
+        }
+    }
+
+    @EventListener
+    public void onAfterUpdate(KeyValueEvent.AfterUpdateEvent<?> event) { // save() dengan id yang sudah di isi = update
+        if (KEYSPACE.equals(event.getKeyspace()) && event.after() instanceof Product product) {
+            track(product);
+        }
+    }
+
+    @EventListener
+    public void onAfterDelete(KeyValueEvent.AfterDeleteEvent<?> event) {
+        if (KEYSPACE.equals(event.getKeyspace())) {
+            untrack(event.getKey().toString());
+        }
+    }
+
+    @EventListener
+    public void onAfterDropKeySpace(KeyValueEvent.AfterDropKeySpaceEvent<?> event) {
+        if (KEYSPACE.equals(event.getKeyspace())) {
+            redisTemplate.delete(EXPIRES);
+        }
+    }
+
+    private static boolean expires(Product product) {
+        return product.getTtl() != null && product.getTtl() > 0;
+    }
+
+    private static double deadline(Product product) {
+        return System.currentTimeMillis() + product.getTtl() * 1000; // @TimeToLive(unit = SECONDS)
+    }
+
+    private static byte[] toBytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+}
@@ -0,0 +1,103 @@
+package com.tutorial.repository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import com.tutorial.redis.support.ListenerThreads;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.repository.expiry.mode", havingValue = "reaper")
+public class ProductExpiryReaper {
+
+    /**
+     * Reaper untuk mode expiry reaper
+     *  setiap reap-interval ambil id yang deadline nya sudah lewat dari products:expires (ZRANGEBYSCORE LIMIT batch-size),
+     *  lalu bersihkan set products dan index nya dengan pipeline (ProductBulkRepositoryImpl.purgeExpired)
+     *  maksimal max-batches per putaran, jadi biaya cleanup terbatas walaupun ada jutaan product yang expire bersamaan
+     *  jalan di scheduler sendiri (products-reaper-), tidak menahan TaskScheduler spring boot yang menjalankan @Scheduled publisher
+     */
+
+    @Autowired
+    private ProductExpiryIndex expiryIndex;
+
+    @Autowired
+    private ProductBulkRepositoryImpl bulkRepository;
+
+    @Value("${app.repository.expiry.reap-interval:1s}")
+    private Duration reapInterval;
+
+    @Value("${app.repository.expiry.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.repository.expiry.max-batches:20}")
+    private int maxBatches;
+
+    private final AtomicLong reaped = new AtomicLong();
+
+    private final ThreadPoolTaskScheduler taskScheduler = ListenerThreads.taskScheduler("products-reaper-");
+
+    private ScheduledFuture<?> task;
+
+    @PostConstruct
+    public synchronized void start() {
+        if (task == null) {
+            taskScheduler.initialize();
+            task = taskScheduler.scheduleWithFixedDelay(this::reapQuietly, reapInterval);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (task != null) {
+            task.cancel(false);
+            task = null;
+            taskScheduler.shutdown();
+        }
+    }
+
+    private void reapQuietly() {
+        try {
+            reap();
+        } catch (RuntimeException exception) {
+            log.warn("Failed to reap expired products: {}", exception.getMessage());
+        }
+    }
+
+    /**
+     * @return jumlah product yang di bersihkan
+     */
+    public int reap() {
+
+        int total = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+
+            List<String> ids = expiryIndex.findExpired(System.currentTimeMillis(), batchSize);
+            if (ids.isEmpty()) {
+                break;
+            }
+            int purged = bulkRepository.purgeExpired(ids);
+            total += purged;
+            if (ids.size() < batchSize || purged == 0) {
+                break; // sisa id di products:expires masih ada hash nya (save ulang), tidak perlu di ulang
+            }
+        }
+        reaped.addAndGet(total);
+        return total;
+    }
+
+    public long getReaped() {
+        return reaped.get();
+    }
+
+}
@@ -0,0 +1,20 @@
+package com.tutorial.repository;
+
+import com.tutorial.data.Product;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+public interface ProductIndexRepository {
+
+    /**
+     * Range Query
+     *  query di bawah ini di jalankan di redis dengan sorted set index (ProductSortedIndex), bukan findAll() lalu filter di java
+     *  hasil selalu urut berdasarkan property index (price / name), sort di pageable di abaikan
+     *  note: product yang sudah expire tapi belum di hapus dari index tidak di kembalikan, jadi isi page bisa kurang dari page size
+     */
+
+    Page<Product> findByPriceBetween(long min, long max, Pageable pageable); // ZRANGEBYSCORE products:sorted:price min max LIMIT
+
+    Page<Product> findByNameStartingWith(String prefix, Pageable pageable); // ZRANGEBYLEX products:sorted:name [prefix ... LIMIT
+
+}
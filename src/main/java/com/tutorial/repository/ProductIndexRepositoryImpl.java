@@ -0,0 +1,58 @@
+package com.tutorial.repository;
+
+import com.tutorial.data.Product;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+public class ProductIndexRepositoryImpl implements ProductIndexRepository {
+
+    /**
+     * implementasi fragment ProductIndexRepository
+     *  satu perintah ZRANGEBY* untuk id di page, satu ZCOUNT/ZLEXCOUNT untuk total, lalu hash product di ambil dengan satu pipeline
+     */
+
+    @Autowired
+    private ProductSortedIndex sortedIndex;
+
+    @Autowired
+    private ProductBulkRepositoryImpl bulkRepository;
+
+    @Override
+    public Page<Product> findByPriceBetween(long min, long max, Pageable pageable) {
+
+        if (pageable.isUnpaged()) {
+            return findPage(sortedIndex.findIdsByPriceBetween(min, max, 0, -1), pageable, -1);
+        }
+        List<String> ids = sortedIndex.findIdsByPriceBetween(min, max, pageable.getOffset(), pageable.getPageSize());
+        return findPage(ids, pageable, sortedIndex.countByPriceBetween(min, max));
+    }
+
+    @Override
+    public Page<Product> findByNameStartingWith(String prefix, Pageable pageable) {
+
+        if (pageable.isUnpaged()) {
+            return findPage(sortedIndex.findIdsByNameStartingWith(prefix, 0, -1), pageable, -1);
+        }
+        List<String> ids = sortedIndex.findIdsByNameStartingWith(prefix, pageable.getOffset(), pageable.getPageSize());
+        return findPage(ids, pageable, sortedIndex.countByNameStartingWith(prefix));
+    }
+
+    private Page<Product> findPage(List<String> ids, Pageable pageable, long total) {
+
+        List<Product> products = bulkRepository.findAllByIdPipelined(ids);
+        if (products.size() < ids.size()) {
+
+            // hash sudah tidak ada (expire tanpa keyspace events), hapus dari set products dan semua index
+            bulkRepository.purgeExpired(ProductBulkRepositoryImpl.missingIds(ids, products));
+            if (total >= 0) {
+                total -= ids.size() - products.size();
+            }
+        }
+        return total >= 0 ? new PageImpl<>(products, pageable, total) : new PageImpl<>(products);
+    }
+
+}
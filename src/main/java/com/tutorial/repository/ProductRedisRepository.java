@@ -5,6 +5,6 @@ import org.springframework.data.keyvalue.repository.KeyValueRepository;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface ProductRedisRepository extends KeyValueRepository<Product, String> {
+public interface ProductRedisRepository extends KeyValueRepository<Product, String>, ProductBulkRepository, ProductIndexRepository {
 
 }
@@ -0,0 +1,182 @@
+package com.tutorial.repository;
+
+import com.tutorial.data.Product;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Range;
+import org.springframework.data.keyvalue.core.event.KeyValueEvent;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisKeyExpiredEvent;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+@Component
+public class ProductSortedIndex {
+
+    /**
+     * Sorted Set Secondary Index untuk Product
+     *  @Indexed bawaan spring data redis hanya set per value (products:name:<value>), jadi hanya bisa query sama dengan (equals)
+     *  index di sini memakai sorted set sehingga range query di jalankan di redis, O(log N + page):
+     *   products:sorted:price        score = price, member = id                (ZRANGEBYSCORE)
+     *   products:sorted:name         score = 0, member = <name>\0<id>          (ZRANGEBYLEX)
+     *   products:sorted:name:members id -> member di index name, untuk menghapus member lama ketika name berubah
+     *  setiap update index di jalankan dengan satu script lua, jadi ketiga key selalu konsisten (atomic)
+     *  index di update setelah repository.save()/delete()/deleteAll() (KeyValueEvent) dan setelah product expire
+     *  (RedisKeyExpiredEvent, hanya jika keyspace events aktif), id yang hash nya sudah tidak ada di hapus ketika query (lazy)
+     *  note: script index jalan setelah hash di tulis RedisKeyValueAdapter, jadi tidak atomic dengan hash nya,
+     *  jika proses mati di antara keduanya index bisa tertinggal sampai product di save ulang
+     */
+
+    static final String PRICE_INDEX = "products:sorted:price";
+
+    static final String NAME_INDEX = "products:sorted:name";
+
+    static final String NAME_MEMBERS = "products:sorted:name:members";
+
+    private static final String KEYSPACE = "products";
+
+    private static final char SEPARATOR = '\0';
+
+    private static final String UPDATE_SCRIPT = """
+            local old = redis.call('HGET', KEYS[3], ARGV[1])
+            if old then redis.call('ZREM', KEYS[2], old) end
+            if ARGV[2] == '' then redis.call('ZREM', KEYS[1], ARGV[1]) else redis.call('ZADD', KEYS[1], ARGV[2], ARGV[1]) end
+            if ARGV[3] == '' then
+              redis.call('HDEL', KEYS[3], ARGV[1])
+            else
+              redis.call('ZADD', KEYS[2], 0, ARGV[3])
+              redis.call('HSET', KEYS[3], ARGV[1], ARGV[3])
+            end
+            return 1
+            """;
+
+    private static final RedisScript<Long> UPDATE = new DefaultRedisScript<>(UPDATE_SCRIPT, Long.class);
+
+    private static final byte[] UPDATE_BYTES = UPDATE_SCRIPT.getBytes(StandardCharsets.UTF_8);
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    public void update(Product product) {
+        redisTemplate.execute(UPDATE, List.of(PRICE_INDEX, NAME_INDEX, NAME_MEMBERS), product.getId(), price(product), nameMember(product));
+    }
+
+    public void remove(String id) {
+        redisTemplate.execute(UPDATE, List.of(PRICE_INDEX, NAME_INDEX, NAME_MEMBERS), id, "", "");
+    }
+
+    /**
+     * versi pipeline (di pakai ProductBulkRepositoryImpl), EVAL bukan EVALSHA karena NOSCRIPT tidak bisa di ulang di dalam pipeline
+     */
+    void update(RedisConnection connection, Product product) {
+        eval(connection, product.getId(), price(product), nameMember(product));
+    }
+
+    void remove(RedisConnection connection, String id) {
+        eval(connection, id, "", "");
+    }
+
+    public void clear() {
+        redisTemplate.delete(List.of(PRICE_INDEX, NAME_INDEX, NAME_MEMBERS));
+    }
+
+    /**
+     * id dengan price di antara min dan max (inclusive), urut berdasarkan price
+     */
+    List<String> findIdsByPriceBetween(long min, long max, long offset, int count) {
+        Set<String> ids = redisTemplate.opsForZSet().rangeByScore(PRICE_INDEX, min, max, offset, count);
+        return ids != null ? new ArrayList<>(ids) : List.of();
+    }
+
+    long countByPriceBetween(long min, long max) {
+        Long count = redisTemplate.opsForZSet().count(PRICE_INDEX, min, max);
+        return count != null ? count : 0;
+    }
+
+    /**
+     * id dengan name di awali prefix (case sensitive), urut berdasarkan name
+     */
+    List<String> findIdsByNameStartingWith(String prefix, long offset, int count) {
+
+        Set<String> members = redisTemplate.opsForZSet().rangeByLex(NAME_INDEX, prefixRange(prefix),
+                Limit.limit().offset((int) offset).count(count));
+        List<String> ids = new ArrayList<>();
+        if (members != null) {
+            for (String member : members) {
+                ids.add(member.substring(member.lastIndexOf(SEPARATOR) + 1));
+            }
+        }
+        return ids;
+    }
+
+    long countByNameStartingWith(String prefix) {
+        Long count = redisTemplate.opsForZSet().lexCount(NAME_INDEX, prefixRange(prefix));
+        return count != null ? count : 0;
+    }
+
+    @EventListener
+    public void onAfterInsert(KeyValueEvent.AfterInsertEvent<?> event) {
+        if (KEYSPACE.equals(event.getKeyspace()) && event.getPayload() instanceof Product product) {
+            update(product);
+        }
+    }
+
+    @EventListener
+    public void onAfterUpdate(KeyValueEvent.AfterUpdateEvent<?> event) { // save() dengan id yang sudah di isi = update
+        if (KEYSPACE.equals(event.getKeyspace()) && event.after() instanceof Product product) {
+            update(product);
+        }
+    }
+
+    @EventListener
+    public void onAfterDelete(KeyValueEvent.AfterDeleteEvent<?> event) {
+        if (KEYSPACE.equals(event.getKeyspace())) {
+            remove(event.getKey().toString());
+        }
+    }
+
+    @EventListener
+    public void onAfterDropKeySpace(KeyValueEvent.AfterDropKeySpaceEvent<?> event) {
+        if (KEYSPACE.equals(event.getKeyspace())) {
+            clear();
+        }
+    }
+
+    @EventListener
+    public void onExpired(RedisKeyExpiredEvent<?> event) {
+        if (KEYSPACE.equals(event.getKeyspace())) {
+            remove(new String(event.getId(), StandardCharsets.UTF_8));
+        }
+    }
+
+    private void eval(RedisConnection connection, String id, String price, String nameMember) {
+        connection.scriptingCommands().eval(UPDATE_BYTES, ReturnType.INTEGER, 3, toBytes(PRICE_INDEX), toBytes(NAME_INDEX),
+                toBytes(NAME_MEMBERS), toBytes(id), toBytes(price), toBytes(nameMember));
+    }
+
+    private static String price(Product product) {
+        return product.getPrice() != null ? product.getPrice().toString() : "";
+    }
+
+    private static String nameMember(Product product) {
+        return product.getName() != null ? product.getName() + SEPARATOR + product.getId() : "";
+    }
+
+    private static Range<String> prefixRange(String prefix) {
+        return Range.closed(prefix, prefix + Character.MAX_VALUE); // semua name yang di awali prefix
+    }
+
+    private static byte[] toBytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+}
@@ -1,18 +1,30 @@
 package com.tutorial.service;
 
 import com.tutorial.data.Product;
+import com.tutorial.redis.cache.RedisBulkCache;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 @Slf4j
 @Component
 public class ProductRedisService {
 
+    @Autowired
+    private RedisBulkCache<String, Product> productsBulkCache;
+
     // @KeySpace("products") // key redis pada entity
-    @Cacheable(value = "products", key = "#id") // implement deklarative spring caching.. deklaratif caching akan menyimpan data ketika data nya di ambil, proses selanjutnya ambil data di chaching tidak lagi di koneksi ke DB
+    // sync = true: cache di akses lewat Cache.get(key, loader), di pakai StampedeProtectedCache untuk coalescing load per key
+    @Cacheable(value = "products", key = "#id", sync = true) // implement deklarative spring caching.. deklaratif caching akan menyimpan data ketika data nya di ambil, proses selanjutnya ambil data di chaching tidak lagi di koneksi ke DB
     public Product getProduct(String id){
 
         // block ini akan di jalankan ketika data belum ada di spring caching. ketika ada tidak akan di jalankan
@@ -25,6 +37,26 @@ public class ProductRedisService {
 
     }
 
+    // bulk get: satu MGET ke cache products, yang miss di load sekaligus lalu di simpan dengan satu pipeline SET
+    public List<Product> getProducts(Collection<String> ids){
+
+        Map<String, Product> products = productsBulkCache.getAll(ids, misses -> {
+
+            // block ini hanya di jalankan untuk id yang belum ada di cache, satu kali untuk semua id
+            log.info("Get Products: {}", misses);
+            Map<String, Product> loaded = new LinkedHashMap<>();
+            for (String id : misses) {
+                loaded.put(id, Product.builder()
+                        .id(id)
+                        .name("sample")
+                        .price(100L)
+                        .build());
+            }
+            return loaded;
+        });
+        return new ArrayList<>(products.values()); // urutan sesuai ids
+    }
+
     @CachePut(value = "products", key = "#product.id") // mengubah data chache tanpa harus mengakses @Cacheable
     public Product putProduct(Product product){
 
@@ -0,0 +1,164 @@
+package com.tutorial.embedded;
+
+final class Args {
+
+    /**
+     * parsing argument command (angka, flag) dengan error yang sama seperti redis
+     */
+
+    private Args() {
+    }
+
+    static long parseLong(String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException exception) {
+            throw new RedisError(RedisError.NOT_INTEGER);
+        }
+    }
+
+    static int parseInt(String value) {
+        long parsed = parseLong(value);
+        if (parsed > Integer.MAX_VALUE || parsed < Integer.MIN_VALUE) {
+            throw new RedisError(RedisError.NOT_INTEGER);
+        }
+        return (int) parsed;
+    }
+
+    static double parseDouble(String value) {
+        switch (value.toLowerCase()) {
+            case "inf", "+inf", "infinity", "+infinity" -> {
+                return Double.POSITIVE_INFINITY;
+            }
+            case "-inf", "-infinity" -> {
+                return Double.NEGATIVE_INFINITY;
+            }
+            default -> {
+                try {
+                    double parsed = Double.parseDouble(value);
+                    if (Double.isNaN(parsed)) {
+                        throw new RedisError(RedisError.NOT_FLOAT);
+                    }
+                    return parsed;
+                } catch (NumberFormatException exception) {
+                    throw new RedisError(RedisError.NOT_FLOAT);
+                }
+            }
+        }
+    }
+
+    /**
+     * timeout blocking command dalam detik (boleh pecahan), di kembalikan dalam millis
+     */
+    static long parseTimeoutSeconds(String value) {
+        double seconds;
+        try {
+            seconds = Double.parseDouble(value);
+        } catch (NumberFormatException exception) {
+            throw new RedisError("ERR timeout is not a float or out of range");
+        }
+        if (seconds < 0) {
+            throw new RedisError("ERR timeout is negative");
+        }
+        return (long) (seconds * 1000);
+    }
+
+    static boolean is(String value, String option) {
+        return value.equalsIgnoreCase(option);
+    }
+
+    /**
+     * index negatif di hitung dari belakang (seperti LRANGE/ZRANGE)
+     */
+    static int normalizeIndex(long index, int size) {
+        if (index < 0) {
+            index += size;
+        }
+        return (int) Math.max(Math.min(index, Integer.MAX_VALUE), Integer.MIN_VALUE);
+    }
+
+    /**
+     * glob pattern redis (*, ?, [abc], [^a], [a-z], \x)
+     */
+    static boolean globMatch(String pattern, String value) {
+        return globMatch(pattern, 0, value, 0);
+    }
+
+    private static boolean globMatch(String pattern, int p, String value, int v) {
+
+        while (p < pattern.length()) {
+            char c = pattern.charAt(p);
+            switch (c) {
+                case '*' -> {
+                    while (p + 1 < pattern.length() && pattern.charAt(p + 1) == '*') {
+                        p++;
+                    }
+                    if (p + 1 == pattern.length()) {
+                        return true;
+                    }
+                    for (int i = v; i <= value.length(); i++) {
+                        if (globMatch(pattern, p + 1, value, i)) {
+                            return true;
+                        }
+                    }
+                    return false;
+                }
+                case '?' -> {
+                    if (v >= value.length()) {
+                        return false;
+                    }
+                    v++;
+                }
+                case '[' -> {
+                    if (v >= value.length()) {
+                        return false;
+                    }
+                    int i = p + 1;
+                    boolean negate = i < pattern.length() && pattern.charAt(i) == '^';
+                    if (negate) {
+                        i++;
+                    }
+                    boolean match = false;
+                    while (i < pattern.length() && pattern.charAt(i) != ']') {
+                        if (pattern.charAt(i) == '\\' && i + 1 < pattern.length()) {
+                            i++;
+                            match |= pattern.charAt(i) == value.charAt(v);
+                        } else if (i + 2 < pattern.length() && pattern.charAt(i + 1) == '-' && pattern.charAt(i + 2) != ']') {
+                            char from = pattern.charAt(i);
+                            char to = pattern.charAt(i + 2);
+                            char actual = value.charAt(v);
+                            match |= from <= to ? actual >= from && actual <= to : actual >= to && actual <= from;
+                            i += 2;
+                        } else {
+                            match |= pattern.charAt(i) == value.charAt(v);
+                        }
+                        i++;
+                    }
+                    if (match == negate) {
+                        return false;
+                    }
+                    p = i;
+                    v++;
+                }
+                case '\\' -> {
+                    if (p + 1 < pattern.length()) {
+                        p++;
+                    }
+                    if (v >= value.length() || pattern.charAt(p) != value.charAt(v)) {
+                        return false;
+                    }
+                    v++;
+                }
+                default -> {
+                    if (v >= value.length() || c != value.charAt(v)) {
+                        return false;
+                    }
+                    v++;
+                }
+            }
+            p++;
+        }
+        return v == value.length();
+    }
+
+}
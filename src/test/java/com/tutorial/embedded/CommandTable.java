@@ -0,0 +1,136 @@
+package com.tutorial.embedded;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+final class CommandTable {
+
+    /**
+     * daftar command yang di dukung, arity dan posisi key sama seperti command table redis
+     *  arity positif = jumlah argument pasti (termasuk nama command), negatif = minimal
+     *  command write menyentuh key nya (firstKey..lastKey step) setelah di jalankan, untuk WATCH dan client blocking
+     */
+
+    @FunctionalInterface
+    interface Handler {
+        void execute(Session session, String[] argv, RespWriter out);
+    }
+
+    record Spec(String name, int arity, boolean write, int firstKey, int lastKey, int step, Handler handler) {
+    }
+
+    /**
+     * command yang tetap boleh di jalankan ketika koneksi dalam mode subscribe (RESP2)
+     */
+    private static final Set<String> SUBSCRIBE_COMMANDS = Set.of("subscribe", "unsubscribe", "psubscribe", "punsubscribe", "ping", "quit", "reset");
+
+    /**
+     * command yang tidak di antrikan ketika MULTI
+     */
+    private static final Set<String> TRANSACTION_COMMANDS = Set.of("exec", "discard", "multi", "watch", "unwatch", "quit", "reset");
+
+    private final Map<String, Spec> specs = new HashMap<>();
+
+    CommandTable() {
+        ServerCommands.register(this);
+        KeyCommands.register(this);
+        StringCommands.register(this);
+        ListCommands.register(this);
+        SetCommands.register(this);
+        HashCommands.register(this);
+        SortedSetCommands.register(this);
+        GeoCommands.register(this);
+        HyperLogLogCommands.register(this);
+        StreamCommands.register(this);
+        ScriptCommands.register(this);
+    }
+
+    void read(String name, int arity, int firstKey, int lastKey, Handler handler) {
+        specs.put(name, new Spec(name, arity, false, firstKey, lastKey, 1, handler));
+    }
+
+    void write(String name, int arity, int firstKey, int lastKey, int step, Handler handler) {
+        specs.put(name, new Spec(name, arity, true, firstKey, lastKey, step, handler));
+    }
+
+    void write(String name, int arity, int firstKey, int lastKey, Handler handler) {
+        write(name, arity, firstKey, lastKey, 1, handler);
+    }
+
+    Spec lookup(String name) {
+        return specs.get(name.toLowerCase(Locale.ROOT));
+    }
+
+    int size() {
+        return specs.size();
+    }
+
+    /**
+     * jalankan satu command, reply (atau error) di tulis ke out
+     */
+    void execute(Session session, String[] argv, RespWriter out) {
+
+        if (argv.length == 0) {
+            return;
+        }
+        Spec spec = lookup(argv[0]);
+        session.lastCommand = argv[0].toLowerCase(Locale.ROOT);
+        session.lastCommandTime = System.currentTimeMillis();
+
+        if (spec == null) {
+            if (session.queued != null) {
+                session.queueError = true;
+            }
+            out.error("ERR unknown command '" + argv[0] + "', with args beginning with: " + argsPreview(argv));
+            return;
+        }
+        if ((spec.arity() > 0 && argv.length != spec.arity()) || (spec.arity() < 0 && argv.length < -spec.arity())) {
+            if (session.queued != null) {
+                session.queueError = true;
+            }
+            out.error(RedisError.wrongArguments(spec.name()).getMessage());
+            return;
+        }
+        if (session.queued != null && !TRANSACTION_COMMANDS.contains(spec.name())) {
+            session.queued.add(argv);
+            out.simple("QUEUED");
+            return;
+        }
+        if (session.isSubscribed() && !SUBSCRIBE_COMMANDS.contains(spec.name())) {
+            out.error("ERR Can't execute '" + spec.name() + "': only (P|S)SUBSCRIBE / (P|S)UNSUBSCRIBE / PING / QUIT / RESET are allowed in this context");
+            return;
+        }
+
+        try {
+            spec.handler().execute(session, argv, out);
+        } catch (RedisError error) {
+            out.error(error.getMessage());
+            return;
+        } catch (IndexOutOfBoundsException exception) {
+            out.error(RedisError.SYNTAX); // option tanpa value, misal COUNT di akhir command
+            return;
+        } catch (RuntimeException exception) {
+            out.error("ERR " + spec.name() + " failed in embedded server: " + exception); // koneksi dan server tetap jalan
+            return;
+        }
+
+        if (spec.write() && spec.firstKey() > 0 && session.blocked == null) {
+            Keyspace keyspace = session.keyspace();
+            int last = spec.lastKey() < 0 ? argv.length + spec.lastKey() : Math.min(spec.lastKey(), argv.length - 1);
+            for (int i = spec.firstKey(); i <= last; i += spec.step()) {
+                keyspace.touch(argv[i]);
+            }
+        }
+    }
+
+    private static String argsPreview(String[] argv) {
+        StringBuilder preview = new StringBuilder();
+        for (int i = 1; i < argv.length && i < 4; i++) {
+            preview.append('\'').append(argv[i]).append("' ");
+        }
+        return preview.toString();
+    }
+
+}
@@ -0,0 +1,43 @@
+package com.tutorial.embedded;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.Profiles;
+
+import java.util.Map;
+
+public class EmbeddedRedisEnvironmentPostProcessor implements EnvironmentPostProcessor, Ordered {
+
+    /**
+     * Embedded Redis untuk test
+     *  jika profile embedded-redis aktif (@ActiveProfiles("embedded-redis") atau -Dspring.profiles.active=embedded-redis),
+     *  EmbeddedRedisServer.shared() di jalankan dan spring.data.redis.host/port di arahkan ke server tersebut
+     *  di jalankan paling akhir supaya profile dari application.properties / test sudah ter-resolve
+     *  di daftarkan di src/test/resources/META-INF/spring.factories
+     */
+
+    public static final String PROFILE = "embedded-redis";
+
+    private static final String PROPERTY_SOURCE = "embeddedRedis";
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+
+        if (!environment.acceptsProfiles(Profiles.of(PROFILE)) || environment.getPropertySources().contains(PROPERTY_SOURCE)) {
+            return;
+        }
+        EmbeddedRedisServer server = EmbeddedRedisServer.shared();
+        environment.getPropertySources().addFirst(new MapPropertySource(PROPERTY_SOURCE, Map.of(
+                "spring.data.redis.host", server.getHost(),
+                "spring.data.redis.port", server.getPort())));
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+
+}
@@ -0,0 +1,517 @@
+package com.tutorial.embedded;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+public final class EmbeddedRedisServer {
+
+    /**
+     * Embedded Redis (RESP2) untuk test dan benchmark, tanpa redis di localhost:6379
+     *  satu thread NIO (selector) menjalankan semua command secara berurutan seperti redis asli, jadi command atomic
+     *  semua command dari satu read (pipeline) di jalankan lalu reply nya di kirim dengan satu write
+     *  di dukung: string, list, set, sorted set, hash, geo, hyperloglog, stream + consumer group, pub/sub,
+     *  MULTI/EXEC/WATCH, EVAL/EVALSHA (lua lewat luaj), expiry (lazy + aktif) dan blocking BLPOP/BRPOP/XREAD/XREADGROUP
+     *  tidak di dukung: RESP3 (HELLO di tolak, lettuce otomatis memakai RESP2), CLIENT TRACKING, keyspace notification,
+     *  persistence dan replikasi. HyperLogLog di hitung exact
+     */
+
+    private static final long CRON_INTERVAL_MILLIS = 100;
+
+    private static final int EXPIRE_PER_CYCLE = 10_000;
+
+    private static EmbeddedRedisServer shared;
+
+    private final String host;
+
+    private final int requestedPort;
+
+    private final Keyspace[] databases = new Keyspace[16];
+
+    private final CommandTable commands = new CommandTable();
+
+    private final Map<Long, Session> sessions = new LinkedHashMap<>();
+
+    private final Map<String, Set<Session>> channelSubscribers = new HashMap<>();
+
+    private final Map<String, Set<Session>> patternSubscribers = new HashMap<>();
+
+    private final List<Session> blockedSessions = new ArrayList<>();
+
+    private final Set<Session> dirtySessions = new LinkedHashSet<>();
+
+    private final AtomicLong sessionIds = new AtomicLong();
+
+    private final long startTime = System.currentTimeMillis();
+
+    private LuaScripts scripts;
+
+    private ServerSocketChannel serverChannel;
+
+    private Selector selector;
+
+    private Thread thread;
+
+    private volatile boolean running;
+
+    private long processedCommands;
+
+    private long lastCron;
+
+    public EmbeddedRedisServer() {
+        this(0); // port random
+    }
+
+    public EmbeddedRedisServer(int port) {
+        this("127.0.0.1", port);
+    }
+
+    public EmbeddedRedisServer(String host, int port) {
+        this.host = host;
+        this.requestedPort = port;
+        for (int i = 0; i < databases.length; i++) {
+            databases[i] = new Keyspace();
+        }
+    }
+
+    /**
+     * satu server per JVM (port random) untuk semua test context dan benchmark, di stop ketika JVM berhenti
+     */
+    public static synchronized EmbeddedRedisServer shared() {
+        if (shared == null) {
+            EmbeddedRedisServer server = new EmbeddedRedisServer();
+            try {
+                server.start();
+            } catch (IOException exception) {
+                throw new IllegalStateException("Failed to start embedded redis", exception);
+            }
+            Runtime.getRuntime().addShutdownHook(new Thread(server::stop, "embedded-redis-shutdown"));
+            shared = server;
+        }
+        return shared;
+    }
+
+    public synchronized void start() throws IOException {
+
+        if (running) {
+            return;
+        }
+        selector = Selector.open();
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.setOption(StandardSocketOptions.SO_REUSEADDR, true);
+        serverChannel.bind(new InetSocketAddress(host, requestedPort), 1024);
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+
+        running = true;
+        CountDownLatch started = new CountDownLatch(1);
+        thread = new Thread(() -> {
+            started.countDown();
+            run();
+        }, "embedded-redis-" + getPort());
+        thread.setDaemon(true);
+        thread.start();
+        try {
+            started.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+        log.info("Embedded redis started on {}:{}", host, getPort());
+    }
+
+    public synchronized void stop() {
+
+        if (!running) {
+            return;
+        }
+        running = false;
+        selector.wakeup();
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+        log.info("Embedded redis stopped");
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public String getHost() {
+        return host;
+    }
+
+    public int getPort() {
+        return serverChannel.socket().getLocalPort();
+    }
+
+    // ---------------------------------------------------------------- event loop
+
+    private void run() {
+
+        try {
+            while (running) {
+                selector.select(selectTimeout());
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        accept();
+                    } else {
+                        Session session = (Session) key.attachment();
+                        if (key.isReadable()) {
+                            read(session);
+                        }
+                        if (key.isValid() && key.isWritable()) {
+                            flush(session);
+                        }
+                    }
+                }
+                cron();
+                serveBlocked();
+                flushDirty();
+            }
+        } catch (IOException | ClosedSelectorException exception) {
+            if (running) {
+                log.warn("Embedded redis stopped unexpectedly: {}", exception.getMessage());
+            }
+        } finally {
+            running = false;
+            new ArrayList<>(sessions.values()).forEach(this::close);
+            try {
+                serverChannel.close();
+                selector.close();
+            } catch (IOException ignored) {
+                // server sudah berhenti
+            }
+        }
+    }
+
+    private long selectTimeout() {
+        long timeout = CRON_INTERVAL_MILLIS;
+        long now = System.currentTimeMillis();
+        for (Session session : blockedSessions) {
+            timeout = Math.min(timeout, Math.max(1, session.blocked.deadline() - now));
+        }
+        return timeout;
+    }
+
+    private void accept() throws IOException {
+
+        SocketChannel channel = serverChannel.accept();
+        if (channel == null) {
+            return;
+        }
+        channel.configureBlocking(false);
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        Session session = new Session(sessionIds.incrementAndGet(), this, channel);
+        session.selectionKey = channel.register(selector, SelectionKey.OP_READ, session);
+        sessions.put(session.id, session);
+    }
+
+    private void read(Session session) {
+
+        int read;
+        try {
+            read = session.channel.read(session.reader.writableBuffer());
+        } catch (IOException exception) {
+            close(session);
+            return;
+        }
+        if (read < 0) {
+            close(session);
+            return;
+        }
+        session.reader.advance(read);
+        process(session);
+        flush(session);
+    }
+
+    /**
+     * jalankan semua command lengkap di buffer client (pipeline), berhenti jika client blocking
+     */
+    private void process(Session session) {
+
+        while (session.blocked == null && !session.closing) {
+            String[] argv;
+            try {
+                argv = session.reader.next();
+            } catch (RedisError error) {
+                session.writer.error(error.getMessage());
+                session.closing = true; // protocol error, koneksi di tutup seperti redis
+                return;
+            }
+            if (argv == null) {
+                return;
+            }
+            processedCommands++;
+            commands.execute(session, argv, session.writer);
+            if (session.blocked != null) {
+                blockedSessions.add(session);
+                setTrackTouched(true);
+            }
+        }
+    }
+
+    private void flush(Session session) {
+
+        if (!session.channel.isOpen()) {
+            return;
+        }
+        try {
+            boolean complete = session.writer.writeTo(session.channel);
+            if (complete && session.closing) {
+                close(session);
+                return;
+            }
+            session.selectionKey.interestOps(complete ? SelectionKey.OP_READ : SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+        } catch (IOException exception) {
+            close(session);
+        }
+    }
+
+    private void flushDirty() {
+        if (dirtySessions.isEmpty()) {
+            return;
+        }
+        List<Session> dirty = new ArrayList<>(dirtySessions);
+        dirtySessions.clear();
+        dirty.forEach(this::flush);
+    }
+
+    private void close(Session session) {
+
+        sessions.remove(session.id);
+        blockedSessions.remove(session);
+        dirtySessions.remove(session);
+        session.unwatchAll();
+        unsubscribeAll(session, channelSubscribers, session.channels);
+        unsubscribeAll(session, patternSubscribers, session.patterns);
+        if (blockedSessions.isEmpty()) {
+            setTrackTouched(false);
+        }
+        try {
+            session.channel.close();
+        } catch (IOException ignored) {
+            // koneksi sudah tertutup
+        }
+    }
+
+    private void cron() {
+
+        long now = System.currentTimeMillis();
+        if (now - lastCron < CRON_INTERVAL_MILLIS) {
+            return;
+        }
+        lastCron = now;
+        for (Keyspace keyspace : databases) {
+            keyspace.expireCycle(EXPIRE_PER_CYCLE);
+        }
+    }
+
+    /**
+     * jalankan ulang command blocking yang key nya berubah, dan kirim nil untuk yang timeout
+     */
+    private void serveBlocked() {
+
+        if (blockedSessions.isEmpty()) {
+            return;
+        }
+        List<Set<String>> touched = new ArrayList<>(databases.length);
+        for (Keyspace keyspace : databases) {
+            touched.add(keyspace.drainTouched());
+        }
+
+        long now = System.currentTimeMillis();
+        for (Session session : new ArrayList<>(blockedSessions)) {
+
+            Session.Blocked blocked = session.blocked;
+            boolean ready = blocked.keys().stream().anyMatch(touched.get(session.db)::contains);
+            if (!ready && now < blocked.deadline()) {
+                continue;
+            }
+
+            session.blocked = null;
+            if (ready) {
+                commands.execute(session, blocked.argv(), session.writer);
+                if (session.blocked != null) {
+                    if (now < blocked.deadline()) {
+                        session.blocked = blocked; // belum ada data untuk client ini, tetap menunggu dengan deadline awal
+                        continue;
+                    }
+                    session.blocked = null;
+                    session.writer.nullArray();
+                }
+            } else {
+                session.writer.nullArray(); // timeout
+            }
+
+            blockedSessions.remove(session);
+            process(session); // lanjutkan command berikutnya di pipeline
+            dirtySessions.add(session);
+        }
+        if (blockedSessions.isEmpty()) {
+            setTrackTouched(false);
+        }
+    }
+
+    private void setTrackTouched(boolean track) {
+        for (Keyspace keyspace : databases) {
+            keyspace.setTrackTouched(track);
+        }
+    }
+
+    // ---------------------------------------------------------------- state untuk command
+
+    Keyspace keyspace(int db) {
+        return databases[db];
+    }
+
+    int databaseCount() {
+        return databases.length;
+    }
+
+    CommandTable commands() {
+        return commands;
+    }
+
+    LuaScripts scripts() {
+        if (scripts == null) {
+            scripts = new LuaScripts(this);
+        }
+        return scripts;
+    }
+
+    Collection<Session> sessions() {
+        return sessions.values();
+    }
+
+    long uptimeMillis() {
+        return System.currentTimeMillis() - startTime;
+    }
+
+    long processedCommands() {
+        return processedCommands;
+    }
+
+    int blockedCount() {
+        return blockedSessions.size();
+    }
+
+    // ---------------------------------------------------------------- pub/sub
+
+    void subscribe(Session session, String channel, boolean pattern) {
+        Map<String, Set<Session>> subscribers = pattern ? patternSubscribers : channelSubscribers;
+        if ((pattern ? session.patterns : session.channels).add(channel)) {
+            subscribers.computeIfAbsent(channel, key -> new LinkedHashSet<>()).add(session);
+        }
+    }
+
+    boolean unsubscribe(Session session, String channel, boolean pattern) {
+        Map<String, Set<Session>> subscribers = pattern ? patternSubscribers : channelSubscribers;
+        if (!(pattern ? session.patterns : session.channels).remove(channel)) {
+            return false;
+        }
+        Set<Session> sessionsOfChannel = subscribers.get(channel);
+        if (sessionsOfChannel != null) {
+            sessionsOfChannel.remove(session);
+            if (sessionsOfChannel.isEmpty()) {
+                subscribers.remove(channel);
+            }
+        }
+        return true;
+    }
+
+    int publish(String channel, String message) {
+
+        int receivers = 0;
+        Set<Session> subscribers = channelSubscribers.get(channel);
+        if (subscribers != null) {
+            for (Session subscriber : subscribers) {
+                subscriber.writer.array(3);
+                subscriber.writer.bulk("message");
+                subscriber.writer.bulk(channel);
+                subscriber.writer.bulk(message);
+                dirtySessions.add(subscriber);
+                receivers++;
+            }
+        }
+        for (Map.Entry<String, Set<Session>> entry : patternSubscribers.entrySet()) {
+            if (!Args.globMatch(entry.getKey(), channel)) {
+                continue;
+            }
+            for (Session subscriber : entry.getValue()) {
+                subscriber.writer.array(4);
+                subscriber.writer.bulk("pmessage");
+                subscriber.writer.bulk(entry.getKey());
+                subscriber.writer.bulk(channel);
+                subscriber.writer.bulk(message);
+                dirtySessions.add(subscriber);
+                receivers++;
+            }
+        }
+        return receivers;
+    }
+
+    Set<String> activeChannels() {
+        return channelSubscribers.keySet();
+    }
+
+    int subscriberCount(String channel) {
+        Set<Session> subscribers = channelSubscribers.get(channel);
+        return subscribers == null ? 0 : subscribers.size();
+    }
+
+    int patternCount() {
+        return patternSubscribers.size();
+    }
+
+    private static void unsubscribeAll(Session session, Map<String, Set<Session>> subscribers, Set<String> names) {
+        for (String name : names) {
+            Set<Session> sessionsOfChannel = subscribers.get(name);
+            if (sessionsOfChannel != null) {
+                sessionsOfChannel.remove(session);
+                if (sessionsOfChannel.isEmpty()) {
+                    subscribers.remove(name);
+                }
+            }
+        }
+        names.clear();
+    }
+
+    /**
+     * jalankan redis standalone, misal untuk benchmark: java ... com.tutorial.embedded.EmbeddedRedisServer 6379
+     */
+    public static void main(String[] args) throws Exception {
+        EmbeddedRedisServer server = new EmbeddedRedisServer(args.length > 0 ? Integer.parseInt(args[0]) : 6379);
+        server.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(server::stop));
+        server.thread.join();
+    }
+
+}
@@ -0,0 +1,411 @@
+package com.tutorial.embedded;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+final class GeoCommands {
+
+    /**
+     * command geo: GEOADD, GEOPOS, GEODIST, GEOHASH, GEOSEARCH, GEORADIUS(BYMEMBER)(_RO)
+     *  posisi di simpan di sorted set dengan score geohash 52 bit, encode/decode dan jarak (haversine) sama dengan redis
+     *  jadi score, GEOPOS dan GEODIST sama persis dengan redis asli
+     *  pencarian memeriksa semua member (bukan 9 cell geohash), hasil tanpa ASC/DESC urut berdasarkan score
+     */
+
+    private static final double EARTH_RADIUS_IN_METERS = 6372797.560856;
+
+    private static final double LAT_MIN = -85.05112878;
+
+    private static final double LAT_MAX = 85.05112878;
+
+    private static final double LON_MIN = -180;
+
+    private static final double LON_MAX = 180;
+
+    private static final int STEP = 26;
+
+    private static final String GEOALPHABET = "0123456789bcdefghjkmnpqrstuvwxyz";
+
+    record Point(double longitude, double latitude) {
+    }
+
+    private record Match(String member, double distance, long hash, Point point) {
+    }
+
+    private GeoCommands() {
+    }
+
+    static void register(CommandTable table) {
+
+        table.write("geoadd", -5, 1, 1, GeoCommands::geoadd);
+        table.read("geopos", -2, 1, 1, (session, argv, out) -> {
+            ZSetValue zset = session.keyspace().getZSet(argv[1], false);
+            out.array(argv.length - 2);
+            for (int i = 2; i < argv.length; i++) {
+                Double score = zset == null ? null : zset.score(argv[i]);
+                if (score == null) {
+                    out.nullArray();
+                } else {
+                    Point point = decode((long) score.doubleValue());
+                    out.array(2);
+                    out.bulk(point.longitude());
+                    out.bulk(point.latitude());
+                }
+            }
+        });
+        table.read("geodist", -4, 1, 1, (session, argv, out) -> {
+            if (argv.length > 5) {
+                throw new RedisError(RedisError.SYNTAX);
+            }
+            double unit = argv.length == 5 ? unit(argv[4]) : 1;
+            ZSetValue zset = session.keyspace().getZSet(argv[1], false);
+            Double first = zset == null ? null : zset.score(argv[2]);
+            Double second = zset == null ? null : zset.score(argv[3]);
+            if (first == null || second == null) {
+                out.bulk(null);
+                return;
+            }
+            double distance = distance(decode((long) first.doubleValue()), decode((long) second.doubleValue())) / unit;
+            out.bulk(String.format(Locale.ROOT, "%.4f", distance));
+        });
+        table.read("geohash", -2, 1, 1, (session, argv, out) -> {
+            ZSetValue zset = session.keyspace().getZSet(argv[1], false);
+            out.array(argv.length - 2);
+            for (int i = 2; i < argv.length; i++) {
+                Double score = zset == null ? null : zset.score(argv[i]);
+                out.bulk(score == null ? null : geohashString(decode((long) score.doubleValue())));
+            }
+        });
+        table.read("geosearch", -7, 1, 1, (session, argv, out) -> search(session, argv, out, 2, true));
+        table.read("georadius", -6, 1, 1, (session, argv, out) -> search(session, argv, out, 2, false));
+        table.read("georadius_ro", -6, 1, 1, (session, argv, out) -> search(session, argv, out, 2, false));
+        table.read("georadiusbymember", -5, 1, 1, (session, argv, out) -> search(session, argv, out, 2, false));
+        table.read("georadiusbymember_ro", -5, 1, 1, (session, argv, out) -> search(session, argv, out, 2, false));
+    }
+
+    /**
+     * GEOADD key [NX | XX] [CH] longitude latitude member [longitude latitude member ...]
+     */
+    private static void geoadd(Session session, String[] argv, RespWriter out) {
+
+        boolean nx = false, xx = false, ch = false;
+        int i = 2;
+        for (; i < argv.length; i++) {
+            if (Args.is(argv[i], "nx")) {
+                nx = true;
+            } else if (Args.is(argv[i], "xx")) {
+                xx = true;
+            } else if (Args.is(argv[i], "ch")) {
+                ch = true;
+            } else {
+                break;
+            }
+        }
+        if ((argv.length - i) == 0 || (argv.length - i) % 3 != 0) {
+            throw new RedisError(RedisError.SYNTAX);
+        }
+        if (nx && xx) {
+            throw new RedisError("ERR XX and NX options at the same time are not compatible");
+        }
+
+        List<String[]> members = new ArrayList<>();
+        for (; i < argv.length; i += 3) {
+            double longitude = Args.parseDouble(argv[i]);
+            double latitude = Args.parseDouble(argv[i + 1]);
+            if (longitude < LON_MIN || longitude > LON_MAX || latitude < LAT_MIN || latitude > LAT_MAX) {
+                throw new RedisError(String.format(Locale.ROOT, "ERR invalid longitude,latitude pair %f,%f", longitude, latitude));
+            }
+            members.add(new String[]{Long.toString(encode(longitude, latitude)), argv[i + 2]});
+        }
+
+        Keyspace keyspace = session.keyspace();
+        ZSetValue zset = keyspace.getZSet(argv[1], !xx);
+        long added = 0;
+        long changed = 0;
+        if (zset != null) {
+            for (String[] member : members) {
+                Double current = zset.score(member[1]);
+                double score = Double.parseDouble(member[0]);
+                if ((nx && current != null) || (xx && current == null)) {
+                    continue;
+                }
+                if (current == null) {
+                    added++;
+                } else if (current != score) {
+                    changed++;
+                }
+                zset.add(member[1], score);
+            }
+            keyspace.removeIfEmpty(argv[1], zset);
+        }
+        out.integer(ch ? added + changed : added);
+    }
+
+    /**
+     * GEOSEARCH key FROMMEMBER m | FROMLONLAT lon lat BYRADIUS r unit | BYBOX w h unit [ASC|DESC] [COUNT n [ANY]] [WITH...]
+     * GEORADIUS key lon lat radius unit [WITH...] [COUNT n [ANY]] [ASC|DESC]
+     * GEORADIUSBYMEMBER key member radius unit [WITH...] [COUNT n [ANY]] [ASC|DESC]
+     */
+    private static void search(Session session, String[] argv, RespWriter out, int from, boolean geosearch) {
+
+        ZSetValue zset = session.keyspace().getZSet(argv[1], false);
+        Point center = null;
+        String centerMember = null;
+        double radius = -1, width = -1, height = -1, unit = 1;
+        int i = from;
+
+        if (!geosearch) {
+            boolean byMember = argv[0].toLowerCase().startsWith("georadiusbymember");
+            if (byMember) {
+                centerMember = argv[i++];
+            } else {
+                center = point(argv[i], argv[i + 1]);
+                i += 2;
+            }
+            if (i + 1 >= argv.length) {
+                throw new RedisError(RedisError.SYNTAX);
+            }
+            unit = unit(argv[i + 1]);
+            radius = Args.parseDouble(argv[i]) * unit;
+            i += 2;
+        }
+
+        boolean withCoord = false, withDist = false, withHash = false, any = false;
+        Boolean ascending = null;
+        long count = 0;
+        for (; i < argv.length; i++) {
+            String option = argv[i].toLowerCase();
+            switch (option) {
+                case "withcoord" -> withCoord = true;
+                case "withdist" -> withDist = true;
+                case "withhash" -> withHash = true;
+                case "asc" -> ascending = true;
+                case "desc" -> ascending = false;
+                case "any" -> any = true;
+                case "count" -> {
+                    count = Args.parseLong(argv[++i]);
+                    if (count <= 0) {
+                        throw new RedisError("ERR COUNT must be > 0");
+                    }
+                }
+                case "frommember" -> {
+                    requireGeosearch(geosearch, i + 1 < argv.length);
+                    centerMember = argv[++i];
+                }
+                case "fromlonlat" -> {
+                    requireGeosearch(geosearch, i + 2 < argv.length);
+                    center = point(argv[i + 1], argv[i + 2]);
+                    i += 2;
+                }
+                case "byradius" -> {
+                    requireGeosearch(geosearch, i + 2 < argv.length);
+                    unit = unit(argv[i + 2]);
+                    radius = Args.parseDouble(argv[i + 1]) * unit;
+                    i += 2;
+                }
+                case "bybox" -> {
+                    requireGeosearch(geosearch, i + 3 < argv.length);
+                    unit = unit(argv[i + 3]);
+                    width = Args.parseDouble(argv[i + 1]) * unit;
+                    height = Args.parseDouble(argv[i + 2]) * unit;
+                    i += 3;
+                }
+                case "store", "storedist" -> throw new RedisError("ERR STORE option is not supported by the embedded server");
+                default -> throw new RedisError(RedisError.SYNTAX);
+            }
+        }
+        if (geosearch && ((center == null) == (centerMember == null))) {
+            throw new RedisError("ERR exactly one of FROMMEMBER or FROMLONLAT can be specified for " + argv[0].toLowerCase());
+        }
+        if (geosearch && ((radius < 0) == (width < 0))) {
+            throw new RedisError("ERR exactly one of BYRADIUS and BYBOX can be specified for " + argv[0].toLowerCase());
+        }
+        if (any && count == 0) {
+            throw new RedisError("ERR the ANY argument requires COUNT argument");
+        }
+
+        if (centerMember != null) {
+            Double score = zset == null ? null : zset.score(centerMember);
+            if (score == null) {
+                throw new RedisError("ERR could not decode requested zset member");
+            }
+            center = decode((long) score.doubleValue());
+        }
+        if (zset == null) {
+            out.array(0);
+            return;
+        }
+
+        List<Match> matches = new ArrayList<>();
+        for (ZSetValue.Entry entry : zset.entries()) {
+            long hash = (long) entry.score();
+            Point point = decode(hash);
+            Double distance = radius >= 0 ? withinRadius(center, point, radius) : withinBox(center, point, width, height);
+            if (distance != null) {
+                matches.add(new Match(entry.member(), distance, hash, point));
+                if (any && matches.size() >= count) {
+                    break;
+                }
+            }
+        }
+        if (count > 0 && ascending == null && !any) {
+            ascending = true; // COUNT tanpa ASC/DESC = ASC di redis
+        }
+        if (ascending != null) {
+            Comparator<Match> byDistance = Comparator.comparingDouble(Match::distance);
+            matches.sort(ascending ? byDistance : byDistance.reversed());
+        }
+        if (count > 0 && matches.size() > count) {
+            matches = matches.subList(0, (int) count);
+        }
+
+        int fields = (withDist ? 1 : 0) + (withHash ? 1 : 0) + (withCoord ? 1 : 0);
+        out.array(matches.size());
+        for (Match match : matches) {
+            if (fields == 0) {
+                out.bulk(match.member());
+                continue;
+            }
+            out.array(fields + 1);
+            out.bulk(match.member());
+            if (withDist) {
+                out.bulk(String.format(Locale.ROOT, "%.4f", match.distance() / unit));
+            }
+            if (withHash) {
+                out.integer(match.hash());
+            }
+            if (withCoord) {
+                out.array(2);
+                out.bulk(match.point().longitude());
+                out.bulk(match.point().latitude());
+            }
+        }
+    }
+
+    private static void requireGeosearch(boolean geosearch, boolean hasArguments) {
+        if (!geosearch || !hasArguments) {
+            throw new RedisError(RedisError.SYNTAX);
+        }
+    }
+
+    private static Point point(String longitude, String latitude) {
+        double lon = Args.parseDouble(longitude);
+        double lat = Args.parseDouble(latitude);
+        if (lon < LON_MIN || lon > LON_MAX || lat < LAT_MIN || lat > LAT_MAX) {
+            throw new RedisError(String.format(Locale.ROOT, "ERR invalid longitude,latitude pair %f,%f", lon, lat));
+        }
+        return new Point(lon, lat);
+    }
+
+    private static double unit(String unit) {
+        return switch (unit.toLowerCase()) {
+            case "m" -> 1;
+            case "km" -> 1000;
+            case "mi" -> 1609.34;
+            case "ft" -> 0.3048;
+            default -> throw new RedisError("ERR unsupported unit provided. please use M, KM, FT, MI");
+        };
+    }
+
+    // ---------------------------------------------------------------- geohash (sama dengan geohash.c / geohash_helper.c redis)
+
+    static long encode(double longitude, double latitude) {
+        return encode(longitude, latitude, LAT_MIN, LAT_MAX);
+    }
+
+    private static long encode(double longitude, double latitude, double latMin, double latMax) {
+        double latOffset = (latitude - latMin) / (latMax - latMin);
+        double lonOffset = (longitude - LON_MIN) / (LON_MAX - LON_MIN);
+        long lat = (long) (latOffset * (1L << STEP));
+        long lon = (long) (lonOffset * (1L << STEP));
+        return interleave(lat, lon);
+    }
+
+    /**
+     * posisi tengah cell geohash
+     */
+    static Point decode(long hash) {
+
+        long lat = deinterleave(hash);
+        long lon = deinterleave(hash >>> 1);
+
+        double latScale = LAT_MAX - LAT_MIN;
+        double lonScale = LON_MAX - LON_MIN;
+        double latMinCell = LAT_MIN + (lat * 1.0 / (1L << STEP)) * latScale;
+        double latMaxCell = LAT_MIN + ((lat + 1) * 1.0 / (1L << STEP)) * latScale;
+        double lonMinCell = LON_MIN + (lon * 1.0 / (1L << STEP)) * lonScale;
+        double lonMaxCell = LON_MIN + ((lon + 1) * 1.0 / (1L << STEP)) * lonScale;
+
+        double longitude = Math.max(LON_MIN, Math.min(LON_MAX, (lonMinCell + lonMaxCell) / 2));
+        double latitude = Math.max(LAT_MIN, Math.min(LAT_MAX, (latMinCell + latMaxCell) / 2));
+        return new Point(longitude, latitude);
+    }
+
+    /**
+     * GEOHASH: geohash standar 11 karakter (latitude -90..90)
+     */
+    private static String geohashString(Point point) {
+        long bits = encode(point.longitude(), point.latitude(), -90, 90);
+        StringBuilder hash = new StringBuilder(11);
+        for (int i = 0; i < 11; i++) {
+            int index = i == 10 ? 0 : (int) ((bits >>> (52 - ((i + 1) * 5))) & 0x1f);
+            hash.append(GEOALPHABET.charAt(index));
+        }
+        return hash.toString();
+    }
+
+    /**
+     * bit latitude di posisi genap, longitude di posisi ganjil
+     */
+    private static long interleave(long x, long y) {
+        return spread(x) | (spread(y) << 1);
+    }
+
+    private static long spread(long value) {
+        value &= 0xFFFFFFFFL;
+        value = (value | (value << 16)) & 0x0000FFFF0000FFFFL;
+        value = (value | (value << 8)) & 0x00FF00FF00FF00FFL;
+        value = (value | (value << 4)) & 0x0F0F0F0F0F0F0F0FL;
+        value = (value | (value << 2)) & 0x3333333333333333L;
+        value = (value | (value << 1)) & 0x5555555555555555L;
+        return value;
+    }
+
+    private static long deinterleave(long value) {
+        value &= 0x5555555555555555L;
+        value = (value | (value >>> 1)) & 0x3333333333333333L;
+        value = (value | (value >>> 2)) & 0x0F0F0F0F0F0F0F0FL;
+        value = (value | (value >>> 4)) & 0x00FF00FF00FF00FFL;
+        value = (value | (value >>> 8)) & 0x0000FFFF0000FFFFL;
+        value = (value | (value >>> 16)) & 0x00000000FFFFFFFFL;
+        return value;
+    }
+
+    static double distance(Point from, Point to) {
+        double lat1 = Math.toRadians(from.latitude());
+        double lat2 = Math.toRadians(to.latitude());
+        double u = Math.sin((lat2 - lat1) / 2);
+        double v = Math.sin(Math.toRadians(to.longitude() - from.longitude()) / 2);
+        return 2.0 * EARTH_RADIUS_IN_METERS * Math.asin(Math.sqrt(u * u + Math.cos(lat1) * Math.cos(lat2) * v * v));
+    }
+
+    private static Double withinRadius(Point center, Point point, double radius) {
+        double distance = distance(center, point);
+        return distance <= radius ? distance : null;
+    }
+
+    private static Double withinBox(Point center, Point point, double width, double height) {
+        double latDistance = EARTH_RADIUS_IN_METERS * Math.abs(Math.toRadians(point.latitude()) - Math.toRadians(center.latitude()));
+        if (latDistance > height / 2) {
+            return null;
+        }
+        double lonDistance = distance(new Point(center.longitude(), point.latitude()), point);
+        if (lonDistance > width / 2) {
+            return null;
+        }
+        return distance(center, point);
+    }
+
+}
@@ -0,0 +1,137 @@
+package com.tutorial.embedded;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+final class HashCommands {
+
+    /**
+     * command hash: HSET/HMSET, HSETNX, HGET/HMGET/HGETALL, HDEL, HEXISTS, HLEN, HKEYS/HVALS, HINCRBY(FLOAT), HSCAN
+     */
+
+    private HashCommands() {
+    }
+
+    static void register(CommandTable table) {
+
+        table.write("hset", -4, 1, 1, (session, argv, out) -> out.integer(hset(session, argv)));
+        table.write("hmset", -4, 1, 1, (session, argv, out) -> {
+            hset(session, argv);
+            out.ok();
+        });
+        table.write("hsetnx", 4, 1, 1, (session, argv, out) -> {
+            LinkedHashMap<String, String> hash = session.keyspace().getHash(argv[1], true);
+            out.integer(hash.putIfAbsent(argv[2], argv[3]) == null ? 1 : 0);
+        });
+        table.read("hget", 3, 1, 1, (session, argv, out) -> out.bulk(fields(session, argv[1]).get(argv[2])));
+        table.read("hmget", -3, 1, 1, (session, argv, out) -> {
+            Map<String, String> hash = fields(session, argv[1]);
+            out.array(argv.length - 2);
+            for (int i = 2; i < argv.length; i++) {
+                out.bulk(hash.get(argv[i]));
+            }
+        });
+        table.read("hgetall", 2, 1, 1, (session, argv, out) -> {
+            Map<String, String> hash = fields(session, argv[1]);
+            out.array(hash.size() * 2);
+            hash.forEach((field, value) -> {
+                out.bulk(field);
+                out.bulk(value);
+            });
+        });
+        table.write("hdel", -3, 1, 1, (session, argv, out) -> {
+            Keyspace keyspace = session.keyspace();
+            LinkedHashMap<String, String> hash = keyspace.getHash(argv[1], false);
+            long removed = 0;
+            if (hash != null) {
+                for (int i = 2; i < argv.length; i++) {
+                    removed += hash.remove(argv[i]) != null ? 1 : 0;
+                }
+                keyspace.removeIfEmpty(argv[1], hash);
+            }
+            out.integer(removed);
+        });
+        table.read("hexists", 3, 1, 1, (session, argv, out) -> out.integer(fields(session, argv[1]).containsKey(argv[2]) ? 1 : 0));
+        table.read("hlen", 2, 1, 1, (session, argv, out) -> out.integer(fields(session, argv[1]).size()));
+        table.read("hkeys", 2, 1, 1, (session, argv, out) -> out.bulks(fields(session, argv[1]).keySet()));
+        table.read("hvals", 2, 1, 1, (session, argv, out) -> out.bulks(fields(session, argv[1]).values()));
+        table.read("hstrlen", 3, 1, 1, (session, argv, out) -> {
+            String value = fields(session, argv[1]).get(argv[2]);
+            out.integer(value == null ? 0 : value.length());
+        });
+        table.write("hincrby", 4, 1, 1, (session, argv, out) -> {
+            long increment = Args.parseLong(argv[3]);
+            LinkedHashMap<String, String> hash = session.keyspace().getHash(argv[1], true);
+            String current = hash.get(argv[2]);
+            long value;
+            try {
+                value = current == null ? 0 : Long.parseLong(current);
+            } catch (NumberFormatException exception) {
+                throw new RedisError("ERR hash value is not an integer");
+            }
+            long result;
+            try {
+                result = Math.addExact(value, increment);
+            } catch (ArithmeticException exception) {
+                throw new RedisError("ERR increment or decrement would overflow");
+            }
+            hash.put(argv[2], Long.toString(result));
+            out.integer(result);
+        });
+        table.write("hincrbyfloat", 4, 1, 1, (session, argv, out) -> {
+            double increment = Args.parseDouble(argv[3]);
+            LinkedHashMap<String, String> hash = session.keyspace().getHash(argv[1], true);
+            String current = hash.get(argv[2]);
+            double value;
+            try {
+                value = current == null ? 0 : Double.parseDouble(current);
+            } catch (NumberFormatException exception) {
+                throw new RedisError("ERR hash value is not a float");
+            }
+            double result = value + increment;
+            if (Double.isNaN(result) || Double.isInfinite(result)) {
+                throw new RedisError("ERR increment would produce NaN or Infinity");
+            }
+            String formatted = StringCommands.formatFloat(result);
+            hash.put(argv[2], formatted);
+            out.bulk(formatted);
+        });
+        table.read("hrandfield", -2, 1, 1, (session, argv, out) -> {
+            List<String> fields = new ArrayList<>(fields(session, argv[1]).keySet());
+            if (argv.length == 2) {
+                out.bulk(fields.isEmpty() ? null : fields.get((int) (Math.random() * fields.size())));
+                return;
+            }
+            Collections.shuffle(fields);
+            out.bulks(fields.subList(0, (int) Math.min(Math.abs(Args.parseLong(argv[2])), fields.size())));
+        });
+        table.read("hscan", -3, 1, 1, (session, argv, out) -> {
+            Map<String, String> hash = fields(session, argv[1]);
+            Scans.scan(session, argv, 2, () -> new ArrayList<>(hash.keySet()), field -> {
+                String value = fields(session, argv[1]).get(field);
+                return value == null ? null : new String[]{field, value};
+            }, null, out);
+        });
+    }
+
+    private static long hset(Session session, String[] argv) {
+        if (argv.length % 2 != 0) {
+            throw RedisError.wrongArguments(argv[0]);
+        }
+        LinkedHashMap<String, String> hash = session.keyspace().getHash(argv[1], true);
+        long added = 0;
+        for (int i = 2; i < argv.length; i += 2) {
+            added += hash.put(argv[i], argv[i + 1]) == null ? 1 : 0;
+        }
+        return added;
+    }
+
+    private static Map<String, String> fields(Session session, String key) {
+        LinkedHashMap<String, String> hash = session.keyspace().getHash(key, false);
+        return hash == null ? Collections.emptyMap() : hash;
+    }
+
+}
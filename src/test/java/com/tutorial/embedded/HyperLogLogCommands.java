@@ -0,0 +1,52 @@
+package com.tutorial.embedded;
+
+import java.util.HashSet;
+import java.util.Set;
+
+final class HyperLogLogCommands {
+
+    /**
+     * command hyperloglog: PFADD, PFCOUNT, PFMERGE (exact, lihat HyperLogLogValue)
+     */
+
+    private HyperLogLogCommands() {
+    }
+
+    static void register(CommandTable table) {
+
+        table.write("pfadd", -2, 1, 1, (session, argv, out) -> {
+            Keyspace keyspace = session.keyspace();
+            boolean created = !keyspace.exists(argv[1]);
+            HyperLogLogValue hll = keyspace.getHyperLogLog(argv[1], true);
+            boolean changed = created;
+            for (int i = 2; i < argv.length; i++) {
+                changed |= hll.add(argv[i]);
+            }
+            out.integer(changed ? 1 : 0);
+        });
+        table.read("pfcount", -2, 1, -1, (session, argv, out) -> {
+            Set<String> union = new HashSet<>();
+            for (int i = 1; i < argv.length; i++) {
+                HyperLogLogValue hll = session.keyspace().getHyperLogLog(argv[i], false);
+                if (hll != null) {
+                    union.addAll(hll.elements());
+                }
+            }
+            out.integer(union.size());
+        });
+        table.write("pfmerge", -2, 1, -1, (session, argv, out) -> {
+            Keyspace keyspace = session.keyspace();
+            Set<String> union = new HashSet<>();
+            for (int i = 2; i < argv.length; i++) {
+                HyperLogLogValue hll = keyspace.getHyperLogLog(argv[i], false);
+                if (hll != null) {
+                    union.addAll(hll.elements());
+                }
+            }
+            HyperLogLogValue destination = keyspace.getHyperLogLog(argv[1], true);
+            union.forEach(destination::add);
+            out.ok();
+        });
+    }
+
+}
@@ -0,0 +1,27 @@
+package com.tutorial.embedded;
+
+import java.util.HashSet;
+import java.util.Set;
+
+final class HyperLogLogValue {
+
+    /**
+     * HyperLogLog di simpan sebagai set biasa, jadi PFCOUNT selalu exact (redis asli memberi estimasi dengan error ~0.81%)
+     */
+
+    private final Set<String> elements = new HashSet<>();
+
+    boolean add(String element) {
+        return elements.add(element);
+    }
+
+    Set<String> elements() {
+        return elements;
+    }
+
+    @Override
+    public String toString() {
+        return "HYLL"; // GET pada key HLL mengembalikan representasi internal di redis asli
+    }
+
+}
@@ -0,0 +1,159 @@
+package com.tutorial.embedded;
+
+import java.util.ArrayList;
+import java.util.List;
+
+final class KeyCommands {
+
+    /**
+     * command generic key: DEL, EXISTS, EXPIRE/TTL, TYPE, KEYS, SCAN, RENAME
+     */
+
+    private KeyCommands() {
+    }
+
+    static void register(CommandTable table) {
+
+        table.write("del", -2, 1, -1, KeyCommands::del);
+        table.write("unlink", -2, 1, -1, KeyCommands::del);
+        table.read("exists", -2, 1, -1, (session, argv, out) -> {
+            long count = 0;
+            for (int i = 1; i < argv.length; i++) {
+                count += session.keyspace().exists(argv[i]) ? 1 : 0;
+            }
+            out.integer(count);
+        });
+        table.read("touch", -2, 1, -1, (session, argv, out) -> {
+            long count = 0;
+            for (int i = 1; i < argv.length; i++) {
+                count += session.keyspace().exists(argv[i]) ? 1 : 0;
+            }
+            out.integer(count);
+        });
+        table.write("expire", -3, 1, 1, (session, argv, out) -> expire(session, argv, out, 1000, false));
+        table.write("pexpire", -3, 1, 1, (session, argv, out) -> expire(session, argv, out, 1, false));
+        table.write("expireat", -3, 1, 1, (session, argv, out) -> expire(session, argv, out, 1000, true));
+        table.write("pexpireat", -3, 1, 1, (session, argv, out) -> expire(session, argv, out, 1, true));
+        table.read("ttl", 2, 1, 1, (session, argv, out) -> {
+            long pttl = session.keyspace().pttl(argv[1]);
+            out.integer(pttl < 0 ? pttl : (pttl + 500) / 1000);
+        });
+        table.read("pttl", 2, 1, 1, (session, argv, out) -> out.integer(session.keyspace().pttl(argv[1])));
+        table.read("expiretime", 2, 1, 1, (session, argv, out) -> out.integer(expireTime(session, argv[1], 1000)));
+        table.read("pexpiretime", 2, 1, 1, (session, argv, out) -> out.integer(expireTime(session, argv[1], 1)));
+        table.write("persist", 2, 1, 1, (session, argv, out) -> out.integer(session.keyspace().persist(argv[1]) ? 1 : 0));
+        table.read("type", 2, 1, 1, (session, argv, out) -> out.simple(Keyspace.type(session.keyspace().get(argv[1]))));
+        table.read("keys", 2, 0, 0, KeyCommands::keys);
+        table.read("scan", -2, 0, 0, (session, argv, out) -> {
+            Keyspace keyspace = session.keyspace();
+            Scans.scan(session, argv, 1, keyspace::keys,
+                    key -> keyspace.exists(key) ? new String[]{key} : null,
+                    key -> Keyspace.type(keyspace.get(key)), out);
+        });
+        table.read("randomkey", 1, 0, 0, (session, argv, out) -> {
+            List<String> keys = session.keyspace().keys();
+            out.bulk(keys.isEmpty() ? null : keys.get((int) (Math.random() * keys.size())));
+        });
+        table.write("rename", 3, 1, 2, (session, argv, out) -> {
+            rename(session, argv[1], argv[2], false);
+            out.ok();
+        });
+        table.write("renamenx", 3, 1, 2, (session, argv, out) -> out.integer(rename(session, argv[1], argv[2], true) ? 1 : 0));
+    }
+
+    private static void del(Session session, String[] argv, RespWriter out) {
+        long count = 0;
+        for (int i = 1; i < argv.length; i++) {
+            count += session.keyspace().remove(argv[i]) ? 1 : 0;
+        }
+        out.integer(count);
+    }
+
+    /**
+     * EXPIRE key time [NX | XX | GT | LT], time <= 0 (atau deadline sudah lewat) menghapus key
+     */
+    private static void expire(Session session, String[] argv, RespWriter out, long unitMillis, boolean absolute) {
+
+        Keyspace keyspace = session.keyspace();
+        long time = Args.parseLong(argv[2]);
+        long deadline;
+        try {
+            deadline = absolute ? Math.multiplyExact(time, unitMillis)
+                    : Math.addExact(System.currentTimeMillis(), Math.multiplyExact(time, unitMillis));
+        } catch (ArithmeticException exception) {
+            throw new RedisError("ERR invalid expire time in '" + argv[0].toLowerCase() + "' command");
+        }
+
+        boolean nx = false, xx = false, gt = false, lt = false;
+        for (int i = 3; i < argv.length; i++) {
+            switch (argv[i].toLowerCase()) {
+                case "nx" -> nx = true;
+                case "xx" -> xx = true;
+                case "gt" -> gt = true;
+                case "lt" -> lt = true;
+                default -> throw new RedisError("ERR Unsupported option " + argv[i]);
+            }
+        }
+        if (nx && (xx || gt || lt)) {
+            throw new RedisError("ERR NX and XX, GT or LT options at the same time are not compatible");
+        }
+        if (gt && lt) {
+            throw new RedisError("ERR GT and LT options at the same time are not compatible");
+        }
+
+        if (!keyspace.exists(argv[1])) {
+            out.integer(0);
+            return;
+        }
+        Long current = keyspace.expiresAt(argv[1]);
+        if ((nx && current != null) || (xx && current == null)
+                || (gt && (current == null || deadline <= current)) // tanpa TTL = tak hingga
+                || (lt && current != null && deadline >= current)) {
+            out.integer(0);
+            return;
+        }
+        out.integer(keyspace.expireAt(argv[1], deadline) ? 1 : 0);
+    }
+
+    private static long expireTime(Session session, String key, long unitMillis) {
+        Keyspace keyspace = session.keyspace();
+        if (!keyspace.exists(key)) {
+            return -2;
+        }
+        Long deadline = keyspace.expiresAt(key);
+        return deadline == null ? -1 : deadline / unitMillis;
+    }
+
+    private static void keys(Session session, String[] argv, RespWriter out) {
+        List<String> keys = new ArrayList<>();
+        for (String key : session.keyspace().keys()) {
+            if (Args.globMatch(argv[1], key)) {
+                keys.add(key);
+            }
+        }
+        out.bulks(keys);
+    }
+
+    private static boolean rename(Session session, String source, String target, boolean nx) {
+
+        Keyspace keyspace = session.keyspace();
+        Object value = keyspace.get(source);
+        if (value == null) {
+            throw new RedisError("ERR no such key");
+        }
+        if (source.equals(target)) {
+            return !nx;
+        }
+        if (nx && keyspace.exists(target)) {
+            return false;
+        }
+        Long deadline = keyspace.expiresAt(source);
+        keyspace.remove(source);
+        keyspace.put(target, value);
+        if (deadline != null) {
+            keyspace.expireAt(target, deadline);
+        }
+        return true;
+    }
+
+}
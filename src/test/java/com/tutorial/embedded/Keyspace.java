@@ -0,0 +1,306 @@
+package com.tutorial.embedded;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.Supplier;
+
+final class Keyspace {
+
+    /**
+     * satu database redis (SELECT n)
+     *  value: String (string), LinkedList (list), HashSet (set), LinkedHashMap (hash), ZSetValue (zset),
+     *         StreamValue (stream), HyperLogLogValue (string di redis asli)
+     *  expiry: lazy ketika key di akses dan aktif lewat queue deadline (expireCycle)
+     *  version key yang di WATCH di naikkan setiap write, key yang berubah di catat ketika ada client blocking (trackTouched)
+     */
+
+    private final Map<String, Object> data = new HashMap<>();
+
+    private final Map<String, Long> expires = new HashMap<>();
+
+    private final PriorityQueue<Deadline> deadlines = new PriorityQueue<>();
+
+    private final Map<String, Long> versions = new HashMap<>(); // hanya key yang di WATCH
+
+    private final Map<String, Integer> watchers = new HashMap<>();
+
+    private final Set<String> touched = new HashSet<>();
+
+    private long versionCounter;
+
+    private boolean trackTouched;
+
+    Object get(String key) {
+        expireIfNeeded(key);
+        return data.get(key);
+    }
+
+    boolean exists(String key) {
+        return get(key) != null;
+    }
+
+    /**
+     * set value dan hapus TTL (seperti SET tanpa KEEPTTL)
+     */
+    void put(String key, Object value) {
+        data.put(key, value);
+        expires.remove(key);
+        touch(key);
+    }
+
+    void putKeepTtl(String key, Object value) {
+        expireIfNeeded(key);
+        data.put(key, value);
+        touch(key);
+    }
+
+    boolean remove(String key) {
+        expireIfNeeded(key);
+        boolean removed = data.remove(key) != null;
+        expires.remove(key);
+        if (removed) {
+            touch(key);
+        }
+        return removed;
+    }
+
+    /**
+     * hapus key jika collection nya kosong (redis tidak menyimpan collection kosong)
+     */
+    void removeIfEmpty(String key, Object value) {
+        boolean empty = value instanceof java.util.Collection<?> collection ? collection.isEmpty()
+                : value instanceof Map<?, ?> map ? map.isEmpty()
+                : value instanceof ZSetValue zset && zset.size() == 0;
+        if (empty) {
+            remove(key);
+        }
+    }
+
+    int size() {
+        return data.size();
+    }
+
+    List<String> keys() {
+        expireCycle(Long.MAX_VALUE);
+        return new ArrayList<>(data.keySet());
+    }
+
+    void clear() {
+        data.keySet().forEach(this::touch);
+        data.clear();
+        expires.clear();
+        deadlines.clear();
+    }
+
+    String getString(String key) {
+        Object value = get(key);
+        if (value == null || value instanceof String) {
+            return (String) value;
+        }
+        if (value instanceof HyperLogLogValue) {
+            return value.toString();
+        }
+        throw new RedisError(RedisError.WRONG_TYPE);
+    }
+
+    @SuppressWarnings("unchecked")
+    LinkedList<String> getList(String key, boolean create) {
+        return (LinkedList<String>) getTyped(key, LinkedList.class, create ? LinkedList::new : null);
+    }
+
+    @SuppressWarnings("unchecked")
+    HashSet<String> getSet(String key, boolean create) {
+        return (HashSet<String>) getTyped(key, HashSet.class, create ? HashSet::new : null);
+    }
+
+    @SuppressWarnings("unchecked")
+    LinkedHashMap<String, String> getHash(String key, boolean create) {
+        return (LinkedHashMap<String, String>) getTyped(key, LinkedHashMap.class, create ? LinkedHashMap::new : null);
+    }
+
+    ZSetValue getZSet(String key, boolean create) {
+        return getTyped(key, ZSetValue.class, create ? ZSetValue::new : null);
+    }
+
+    StreamValue getStream(String key, boolean create) {
+        return getTyped(key, StreamValue.class, create ? StreamValue::new : null);
+    }
+
+    HyperLogLogValue getHyperLogLog(String key, boolean create) {
+        return getTyped(key, HyperLogLogValue.class, create ? HyperLogLogValue::new : null);
+    }
+
+    private <T> T getTyped(String key, Class<T> type, Supplier<T> factory) {
+
+        Object value = get(key);
+        if (value == null) {
+            if (factory == null) {
+                return null;
+            }
+            T created = factory.get();
+            data.put(key, created);
+            return created;
+        }
+        if (!type.isInstance(value)) {
+            throw new RedisError(RedisError.WRONG_TYPE);
+        }
+        return type.cast(value);
+    }
+
+    static String type(Object value) {
+        if (value == null) {
+            return "none";
+        }
+        if (value instanceof String || value instanceof HyperLogLogValue) {
+            return "string";
+        }
+        if (value instanceof LinkedList) {
+            return "list";
+        }
+        if (value instanceof HashSet) {
+            return "set";
+        }
+        if (value instanceof Map) {
+            return "hash";
+        }
+        if (value instanceof ZSetValue) {
+            return "zset";
+        }
+        return "stream";
+    }
+
+    // ---------------------------------------------------------------- expiry
+
+    /**
+     * @param deadline epoch millis
+     */
+    boolean expireAt(String key, long deadline) {
+
+        if (!exists(key)) {
+            return false;
+        }
+        if (deadline <= System.currentTimeMillis()) {
+            remove(key);
+            return true;
+        }
+        expires.put(key, deadline);
+        deadlines.add(new Deadline(deadline, key));
+        touch(key);
+        return true;
+    }
+
+    boolean persist(String key) {
+        if (exists(key) && expires.remove(key) != null) {
+            touch(key);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return sisa TTL millis, -1 jika tidak expire, -2 jika key tidak ada
+     */
+    long pttl(String key) {
+        if (!exists(key)) {
+            return -2;
+        }
+        Long deadline = expires.get(key);
+        return deadline == null ? -1 : Math.max(0, deadline - System.currentTimeMillis());
+    }
+
+    Long expiresAt(String key) {
+        return expires.get(key);
+    }
+
+    /**
+     * hapus key yang sudah expire, maksimal limit key per panggilan
+     */
+    void expireCycle(long limit) {
+
+        long now = System.currentTimeMillis();
+        long removed = 0;
+        while (!deadlines.isEmpty() && deadlines.peek().time() <= now && removed < limit) {
+            Deadline deadline = deadlines.poll();
+            Long current = expires.get(deadline.key());
+            if (current != null && current == deadline.time()) {
+                expireIfNeeded(deadline.key());
+                removed++;
+            }
+        }
+    }
+
+    private void expireIfNeeded(String key) {
+        Long deadline = expires.get(key);
+        if (deadline != null && deadline <= System.currentTimeMillis()) {
+            expires.remove(key);
+            data.remove(key);
+            touch(key);
+        }
+    }
+
+    // ---------------------------------------------------------------- versions
+
+    void touch(String key) {
+        if (!watchers.isEmpty() && watchers.containsKey(key)) {
+            versions.put(key, ++versionCounter);
+        }
+        if (trackTouched) {
+            touched.add(key);
+        }
+    }
+
+    /**
+     * @return version key saat ini, di bandingkan lagi ketika EXEC
+     */
+    long watch(String key) {
+        expireIfNeeded(key);
+        watchers.merge(key, 1, Integer::sum);
+        return versions.computeIfAbsent(key, ignored -> ++versionCounter);
+    }
+
+    void unwatch(String key) {
+        if (watchers.merge(key, -1, Integer::sum) <= 0) {
+            watchers.remove(key);
+            versions.remove(key);
+        }
+    }
+
+    long version(String key) {
+        expireIfNeeded(key);
+        return versions.getOrDefault(key, 0L);
+    }
+
+    void setTrackTouched(boolean trackTouched) {
+        this.trackTouched = trackTouched;
+        if (!trackTouched) {
+            touched.clear();
+        }
+    }
+
+    /**
+     * key yang berubah sejak panggilan terakhir, di pakai untuk membangunkan client blocking
+     */
+    Set<String> drainTouched() {
+        if (touched.isEmpty()) {
+            return Set.of();
+        }
+        Set<String> keys = new HashSet<>(touched);
+        touched.clear();
+        return keys;
+    }
+
+    private record Deadline(long time, String key) implements Comparable<Deadline> {
+        @Override
+        public int compareTo(Deadline other) {
+            return Long.compare(time, other.time);
+        }
+    }
+
+}
@@ -0,0 +1,232 @@
+package com.tutorial.embedded;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.ListIterator;
+
+final class ListCommands {
+
+    /**
+     * command list: LPUSH/RPUSH, LPOP/RPOP, LRANGE, LINDEX, LSET, LREM, LTRIM, LMOVE, BLPOP/BRPOP
+     */
+
+    private ListCommands() {
+    }
+
+    static void register(CommandTable table) {
+
+        table.write("lpush", -3, 1, 1, (session, argv, out) -> out.integer(push(session, argv, true, true)));
+        table.write("rpush", -3, 1, 1, (session, argv, out) -> out.integer(push(session, argv, false, true)));
+        table.write("lpushx", -3, 1, 1, (session, argv, out) -> out.integer(push(session, argv, true, false)));
+        table.write("rpushx", -3, 1, 1, (session, argv, out) -> out.integer(push(session, argv, false, false)));
+        table.write("lpop", -2, 1, 1, (session, argv, out) -> pop(session, argv, out, true));
+        table.write("rpop", -2, 1, 1, (session, argv, out) -> pop(session, argv, out, false));
+        table.read("llen", 2, 1, 1, (session, argv, out) -> {
+            LinkedList<String> list = session.keyspace().getList(argv[1], false);
+            out.integer(list == null ? 0 : list.size());
+        });
+        table.read("lrange", 4, 1, 1, ListCommands::lrange);
+        table.read("lindex", 3, 1, 1, (session, argv, out) -> {
+            LinkedList<String> list = session.keyspace().getList(argv[1], false);
+            if (list == null) {
+                out.bulk(null);
+                return;
+            }
+            int index = Args.normalizeIndex(Args.parseLong(argv[2]), list.size());
+            out.bulk(index >= 0 && index < list.size() ? list.get(index) : null);
+        });
+        table.write("lset", 4, 1, 1, (session, argv, out) -> {
+            LinkedList<String> list = session.keyspace().getList(argv[1], false);
+            if (list == null) {
+                throw new RedisError("ERR no such key");
+            }
+            int index = Args.normalizeIndex(Args.parseLong(argv[2]), list.size());
+            if (index < 0 || index >= list.size()) {
+                throw new RedisError("ERR index out of range");
+            }
+            list.set(index, argv[3]);
+            out.ok();
+        });
+        table.write("lrem", 4, 1, 1, ListCommands::lrem);
+        table.write("ltrim", 4, 1, 1, ListCommands::ltrim);
+        table.write("lmove", 5, 1, 2, (session, argv, out) ->
+                out.bulk(move(session, argv[1], argv[2], isLeft(argv[3]), isLeft(argv[4]))));
+        table.write("rpoplpush", 3, 1, 2, (session, argv, out) -> out.bulk(move(session, argv[1], argv[2], false, true)));
+        table.write("blpop", -3, 1, -2, (session, argv, out) -> blockingPop(session, argv, out, true));
+        table.write("brpop", -3, 1, -2, (session, argv, out) -> blockingPop(session, argv, out, false));
+    }
+
+    private static long push(Session session, String[] argv, boolean left, boolean create) {
+
+        Keyspace keyspace = session.keyspace();
+        LinkedList<String> list = keyspace.getList(argv[1], create);
+        if (list == null) {
+            return 0;
+        }
+        for (int i = 2; i < argv.length; i++) {
+            if (left) {
+                list.addFirst(argv[i]);
+            } else {
+                list.addLast(argv[i]);
+            }
+        }
+        return list.size();
+    }
+
+    /**
+     * LPOP key [count], tanpa count = satu bulk, dengan count = array
+     */
+    private static void pop(Session session, String[] argv, RespWriter out, boolean left) {
+
+        if (argv.length > 3) {
+            throw new RedisError(RedisError.SYNTAX);
+        }
+        Keyspace keyspace = session.keyspace();
+        LinkedList<String> list = keyspace.getList(argv[1], false);
+        if (argv.length == 2) {
+            out.bulk(list == null ? null : left ? list.pollFirst() : list.pollLast());
+        } else {
+            long count = Args.parseLong(argv[2]);
+            if (count < 0) {
+                throw new RedisError("ERR value is out of range, must be positive");
+            }
+            if (list == null) {
+                out.nullArray();
+                return;
+            }
+            List<String> popped = new ArrayList<>();
+            while (popped.size() < count && !list.isEmpty()) {
+                popped.add(left ? list.pollFirst() : list.pollLast());
+            }
+            out.bulks(popped);
+        }
+        if (list != null) {
+            keyspace.removeIfEmpty(argv[1], list);
+        }
+    }
+
+    private static void lrange(Session session, String[] argv, RespWriter out) {
+
+        LinkedList<String> list = session.keyspace().getList(argv[1], false);
+        if (list == null) {
+            out.array(0);
+            return;
+        }
+        int size = list.size();
+        int start = Math.max(0, Args.normalizeIndex(Args.parseLong(argv[2]), size));
+        int stop = Math.min(size - 1, Args.normalizeIndex(Args.parseLong(argv[3]), size));
+        List<String> result = new ArrayList<>();
+        if (start <= stop) {
+            ListIterator<String> iterator = list.listIterator(start);
+            for (int i = start; i <= stop; i++) {
+                result.add(iterator.next());
+            }
+        }
+        out.bulks(result);
+    }
+
+    private static void lrem(Session session, String[] argv, RespWriter out) {
+
+        Keyspace keyspace = session.keyspace();
+        LinkedList<String> list = keyspace.getList(argv[1], false);
+        long count = Args.parseLong(argv[2]);
+        if (list == null) {
+            out.integer(0);
+            return;
+        }
+        long limit = count == 0 ? Long.MAX_VALUE : Math.abs(count);
+        long removed = 0;
+        Iterator<String> iterator = count < 0 ? list.descendingIterator() : list.iterator();
+        while (iterator.hasNext() && removed < limit) {
+            if (iterator.next().equals(argv[3])) {
+                iterator.remove();
+                removed++;
+            }
+        }
+        keyspace.removeIfEmpty(argv[1], list);
+        out.integer(removed);
+    }
+
+    private static void ltrim(Session session, String[] argv, RespWriter out) {
+
+        Keyspace keyspace = session.keyspace();
+        LinkedList<String> list = keyspace.getList(argv[1], false);
+        if (list != null) {
+            int size = list.size();
+            int start = Math.max(0, Args.normalizeIndex(Args.parseLong(argv[2]), size));
+            int stop = Math.min(size - 1, Args.normalizeIndex(Args.parseLong(argv[3]), size));
+            if (start > stop) {
+                list.clear();
+            } else {
+                for (int i = size - 1; i > stop; i--) {
+                    list.removeLast();
+                }
+                for (int i = 0; i < start; i++) {
+                    list.removeFirst();
+                }
+            }
+            keyspace.removeIfEmpty(argv[1], list);
+        }
+        out.ok();
+    }
+
+    private static boolean isLeft(String direction) {
+        if (Args.is(direction, "left")) {
+            return true;
+        }
+        if (Args.is(direction, "right")) {
+            return false;
+        }
+        throw new RedisError(RedisError.SYNTAX);
+    }
+
+    private static String move(Session session, String source, String destination, boolean fromLeft, boolean toLeft) {
+
+        Keyspace keyspace = session.keyspace();
+        LinkedList<String> sourceList = keyspace.getList(source, false);
+        if (sourceList == null) {
+            return null;
+        }
+        keyspace.getList(destination, false); // cek WRONGTYPE sebelum pop
+        String value = fromLeft ? sourceList.pollFirst() : sourceList.pollLast();
+        keyspace.removeIfEmpty(source, sourceList);
+        LinkedList<String> destinationList = keyspace.getList(destination, true);
+        if (toLeft) {
+            destinationList.addFirst(value);
+        } else {
+            destinationList.addLast(value);
+        }
+        keyspace.touch(destination);
+        return value;
+    }
+
+    /**
+     * BLPOP key [key ...] timeout, jika semua list kosong client di block sampai ada push atau timeout
+     */
+    private static void blockingPop(Session session, String[] argv, RespWriter out, boolean left) {
+
+        long timeout = Args.parseTimeoutSeconds(argv[argv.length - 1]);
+        Keyspace keyspace = session.keyspace();
+        for (int i = 1; i < argv.length - 1; i++) {
+            LinkedList<String> list = keyspace.getList(argv[i], false);
+            if (list != null && !list.isEmpty()) {
+                String value = left ? list.pollFirst() : list.pollLast();
+                keyspace.removeIfEmpty(argv[i], list);
+                out.array(2);
+                out.bulk(argv[i]);
+                out.bulk(value);
+                return;
+            }
+        }
+        if (!session.canBlock) {
+            out.nullArray(); // di dalam MULTI/script tidak blocking
+            return;
+        }
+        LinkedHashSet<String> keys = new LinkedHashSet<>(List.of(argv).subList(1, argv.length - 1));
+        session.block(argv, keys, timeout);
+    }
+
+}
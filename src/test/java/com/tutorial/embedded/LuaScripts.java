@@ -0,0 +1,329 @@
+package com.tutorial.embedded;
+
+import org.luaj.vm2.Globals;
+import org.luaj.vm2.LoadState;
+import org.luaj.vm2.LuaError;
+import org.luaj.vm2.LuaInteger;
+import org.luaj.vm2.LuaString;
+import org.luaj.vm2.LuaTable;
+import org.luaj.vm2.LuaValue;
+import org.luaj.vm2.Varargs;
+import org.luaj.vm2.compiler.LuaC;
+import org.luaj.vm2.lib.Bit32Lib;
+import org.luaj.vm2.lib.PackageLib;
+import org.luaj.vm2.lib.StringLib;
+import org.luaj.vm2.lib.TableLib;
+import org.luaj.vm2.lib.VarArgFunction;
+import org.luaj.vm2.lib.jse.JseBaseLib;
+import org.luaj.vm2.lib.jse.JseMathLib;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+
+final class LuaScripts {
+
+    /**
+     * EVAL/EVALSHA dengan luaj (lua 5.2, redis memakai lua 5.1, script redis umumnya kompatibel)
+     *  library yang tersedia: base, string, table, math, bit32 dan redis (call, pcall, sha1hex, status_reply, error_reply)
+     *  tidak tersedia: cjson, cmsgpack, struct
+     *  redis.call() menjalankan command lewat CommandTable dengan session script (db sama dengan caller, tidak pernah blocking),
+     *  reply RESP nya di ubah ke value lua dengan aturan konversi redis
+     */
+
+    private final EmbeddedRedisServer server;
+
+    private final Globals globals;
+
+    private final Map<String, String> bodies = new HashMap<>();
+
+    private final Map<String, LuaValue> functions = new HashMap<>();
+
+    private final Session scriptSession;
+
+    LuaScripts(EmbeddedRedisServer server) {
+        this.server = server;
+        this.scriptSession = new Session(0, server, null);
+        this.globals = createGlobals();
+    }
+
+    private Globals createGlobals() {
+
+        Globals lua = new Globals();
+        lua.load(new JseBaseLib());
+        lua.load(new PackageLib());
+        lua.load(new Bit32Lib());
+        lua.load(new TableLib());
+        lua.load(new StringLib());
+        lua.load(new JseMathLib());
+        LoadState.install(lua);
+        LuaC.install(lua);
+
+        LuaTable redis = new LuaTable();
+        redis.set("call", new VarArgFunction() {
+            @Override
+            public Varargs invoke(Varargs args) {
+                return redisCall(args, true);
+            }
+        });
+        redis.set("pcall", new VarArgFunction() {
+            @Override
+            public Varargs invoke(Varargs args) {
+                return redisCall(args, false);
+            }
+        });
+        redis.set("sha1hex", new VarArgFunction() {
+            @Override
+            public Varargs invoke(Varargs args) {
+                return LuaValue.valueOf(sha1(toJava(args.checkstring(1))));
+            }
+        });
+        redis.set("status_reply", new VarArgFunction() {
+            @Override
+            public Varargs invoke(Varargs args) {
+                LuaTable reply = new LuaTable();
+                reply.set("ok", args.checkstring(1));
+                return reply;
+            }
+        });
+        redis.set("error_reply", new VarArgFunction() {
+            @Override
+            public Varargs invoke(Varargs args) {
+                LuaTable reply = new LuaTable();
+                reply.set("err", args.checkstring(1));
+                return reply;
+            }
+        });
+        redis.set("log", new VarArgFunction() {
+            @Override
+            public Varargs invoke(Varargs args) {
+                return LuaValue.NONE;
+            }
+        });
+        redis.set("LOG_DEBUG", 0);
+        redis.set("LOG_VERBOSE", 1);
+        redis.set("LOG_NOTICE", 2);
+        redis.set("LOG_WARNING", 3);
+        lua.set("redis", redis);
+        return lua;
+    }
+
+    String load(String body) {
+        String sha = sha1(body);
+        if (!functions.containsKey(sha)) {
+            try {
+                functions.put(sha, globals.load(new ByteArrayInputStream(body.getBytes(StandardCharsets.ISO_8859_1)), "@user_script", "t", globals));
+            } catch (LuaError error) {
+                throw new RedisError("ERR Error compiling script (new function): " + error.getMessage());
+            }
+            bodies.put(sha, body);
+        }
+        return sha;
+    }
+
+    boolean exists(String sha) {
+        return bodies.containsKey(sha.toLowerCase());
+    }
+
+    void flush() {
+        bodies.clear();
+        functions.clear();
+    }
+
+    /**
+     * jalankan script (sudah di load) dan tulis hasilnya sebagai reply RESP
+     */
+    void run(Session caller, String sha, String[] keys, String[] args, RespWriter out) {
+
+        LuaValue function = functions.get(sha.toLowerCase());
+        if (function == null) {
+            throw new RedisError("NOSCRIPT No matching script. Please use EVAL.");
+        }
+        globals.set("KEYS", toLuaArray(keys));
+        globals.set("ARGV", toLuaArray(args));
+        scriptSession.db = caller.db;
+
+        LuaValue result;
+        try {
+            result = function.call();
+        } catch (LuaError error) {
+            LuaValue message = error.getMessageObject();
+            if (message != null && message.istable() && message.get("err").isstring()) {
+                throw new RedisError(toJava(message.get("err").checkstring()));
+            }
+            throw new RedisError("ERR user_script: " + error.getMessage());
+        } finally {
+            scriptSession.writer.clear();
+        }
+        writeReply(result, out);
+    }
+
+    // ---------------------------------------------------------------- redis.call / redis.pcall
+
+    private Varargs redisCall(Varargs args, boolean raise) {
+
+        if (args.narg() == 0) {
+            throw new LuaError(errorTable("ERR Please specify at least one argument for this redis lib call"));
+        }
+        String[] argv = new String[args.narg()];
+        for (int i = 0; i < argv.length; i++) {
+            LuaValue arg = args.arg(i + 1);
+            if (!arg.isstring()) { // number di ubah ke string seperti redis
+                throw new LuaError(errorTable("ERR Lua redis lib command arguments must be strings or integers"));
+            }
+            argv[i] = toJava(arg.checkstring());
+        }
+
+        RespWriter writer = scriptSession.writer;
+        writer.clear();
+        server.commands().execute(scriptSession, argv, writer);
+        LuaValue reply = new ReplyParser(writer.toByteArray()).next();
+        writer.clear();
+
+        if (raise && reply.istable() && !reply.get("err").isnil()) {
+            throw new LuaError(reply);
+        }
+        return reply;
+    }
+
+    private static LuaTable errorTable(String message) {
+        LuaTable error = new LuaTable();
+        error.set("err", message);
+        return error;
+    }
+
+    /**
+     * reply RESP ke value lua: status = {ok=...}, error = {err=...}, integer = number, bulk = string,
+     * nil = false, array = table
+     */
+    private static final class ReplyParser {
+
+        private final byte[] data;
+
+        private int position;
+
+        ReplyParser(byte[] data) {
+            this.data = data;
+        }
+
+        LuaValue next() {
+            byte type = data[position++];
+            String line = readLine();
+            switch (type) {
+                case '+' -> {
+                    LuaTable status = new LuaTable();
+                    status.set("ok", toLua(line));
+                    return status;
+                }
+                case '-' -> {
+                    return errorTable(line);
+                }
+                case ':' -> {
+                    return LuaInteger.valueOf(Long.parseLong(line));
+                }
+                case '$' -> {
+                    int length = Integer.parseInt(line);
+                    if (length < 0) {
+                        return LuaValue.FALSE;
+                    }
+                    byte[] bytes = new byte[length];
+                    System.arraycopy(data, position, bytes, 0, length);
+                    position += length + 2;
+                    return LuaString.valueOf(bytes);
+                }
+                default -> {
+                    int size = Integer.parseInt(line);
+                    if (size < 0) {
+                        return LuaValue.FALSE;
+                    }
+                    LuaTable array = new LuaTable();
+                    for (int i = 1; i <= size; i++) {
+                        array.set(i, next());
+                    }
+                    return array;
+                }
+            }
+        }
+
+        private String readLine() {
+            int start = position;
+            while (data[position] != '\r') {
+                position++;
+            }
+            String line = new String(data, start, position - start, StandardCharsets.ISO_8859_1);
+            position += 2;
+            return line;
+        }
+    }
+
+    /**
+     * value lua ke reply RESP dengan aturan konversi redis
+     */
+    private static void writeReply(LuaValue value, RespWriter out) {
+
+        switch (value.type()) {
+            case LuaValue.TNUMBER -> out.integer(value.tolong()); // number di potong jadi integer
+            case LuaValue.TSTRING -> out.bulk(toJava(value.checkstring()));
+            case LuaValue.TBOOLEAN -> {
+                if (value.toboolean()) {
+                    out.integer(1);
+                } else {
+                    out.bulk(null);
+                }
+            }
+            case LuaValue.TTABLE -> {
+                LuaValue ok = value.get("ok");
+                LuaValue err = value.get("err");
+                if (err.isstring()) {
+                    out.error(toJava(err.checkstring()));
+                } else if (ok.isstring()) {
+                    out.simple(toJava(ok.checkstring()));
+                } else {
+                    int size = 0;
+                    while (!value.get(size + 1).isnil()) { // array berhenti di nil pertama
+                        size++;
+                    }
+                    out.array(size);
+                    for (int i = 1; i <= size; i++) {
+                        writeReply(value.get(i), out);
+                    }
+                }
+            }
+            default -> out.bulk(null);
+        }
+    }
+
+    // ---------------------------------------------------------------- konversi string (1 char ISO-8859-1 = 1 byte)
+
+    private static LuaTable toLuaArray(String[] values) {
+        LuaTable table = new LuaTable();
+        for (int i = 0; i < values.length; i++) {
+            table.set(i + 1, toLua(values[i]));
+        }
+        return table;
+    }
+
+    private static LuaString toLua(String value) {
+        return LuaString.valueOf(value.getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    private static String toJava(LuaString value) {
+        byte[] bytes = new byte[value.length()];
+        value.copyInto(0, bytes, 0, bytes.length);
+        return new String(bytes, StandardCharsets.ISO_8859_1);
+    }
+
+    static String sha1(String body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            return HexFormat.of().formatHex(digest.digest(body.getBytes(StandardCharsets.ISO_8859_1)));
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+}
@@ -0,0 +1,25 @@
+package com.tutorial.embedded;
+
+final class RedisError extends RuntimeException {
+
+    /**
+     * error yang di kirim ke client sebagai reply -<message>, message di awali kode error redis (ERR, WRONGTYPE, NOSCRIPT ...)
+     */
+
+    static final String WRONG_TYPE = "WRONGTYPE Operation against a key holding the wrong kind of value";
+
+    static final String SYNTAX = "ERR syntax error";
+
+    static final String NOT_INTEGER = "ERR value is not an integer or out of range";
+
+    static final String NOT_FLOAT = "ERR value is not a valid float";
+
+    RedisError(String message) {
+        super(message, null, false, false);
+    }
+
+    static RedisError wrongArguments(String command) {
+        return new RedisError("ERR wrong number of arguments for '" + command.toLowerCase() + "' command");
+    }
+
+}
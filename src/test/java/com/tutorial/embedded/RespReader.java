@@ -0,0 +1,153 @@
+package com.tutorial.embedded;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+final class RespReader {
+
+    /**
+     * parser request RESP (array of bulk string) dan inline command secara incremental
+     *  data dari socket di baca langsung ke writableBuffer() lalu advance(), next() mengembalikan null jika command belum lengkap
+     */
+
+    private static final int MAX_BULK_LENGTH = 512 * 1024 * 1024;
+
+    private byte[] buffer = new byte[16 * 1024];
+
+    private int start;
+
+    private int end;
+
+    ByteBuffer writableBuffer() {
+
+        if (start == end) {
+            start = 0;
+            end = 0;
+        } else if (buffer.length - end < 4096) {
+            if (start > 0) {
+                System.arraycopy(buffer, start, buffer, 0, end - start);
+                end -= start;
+                start = 0;
+            }
+            if (buffer.length - end < 4096) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+        }
+        return ByteBuffer.wrap(buffer, end, buffer.length - end);
+    }
+
+    void advance(int read) {
+        end += read;
+    }
+
+    boolean hasData() {
+        return start < end;
+    }
+
+    /**
+     * @return argv (nama command di index 0) atau null jika data belum lengkap
+     */
+    String[] next() {
+
+        if (start >= end) {
+            return null;
+        }
+        if (buffer[start] != '*') {
+            return nextInline();
+        }
+
+        int position = start + 1;
+        int lineEnd = findCrlf(position);
+        if (lineEnd < 0) {
+            return null;
+        }
+        int size = (int) parseLong(position, lineEnd);
+        position = lineEnd + 2;
+        if (size <= 0) {
+            start = position;
+            return new String[0];
+        }
+
+        String[] argv = new String[size];
+        for (int i = 0; i < size; i++) {
+
+            if (position >= end) {
+                return null;
+            }
+            if (buffer[position] != '$') {
+                throw new RedisError("ERR Protocol error: expected '$', got '" + (char) buffer[position] + "'");
+            }
+            lineEnd = findCrlf(position + 1);
+            if (lineEnd < 0) {
+                return null;
+            }
+            long length = parseLong(position + 1, lineEnd);
+            if (length < 0 || length > MAX_BULK_LENGTH) {
+                throw new RedisError("ERR Protocol error: invalid bulk length");
+            }
+            position = lineEnd + 2;
+            if (end - position < length + 2) {
+                return null;
+            }
+            argv[i] = new String(buffer, position, (int) length, StandardCharsets.ISO_8859_1);
+            position += (int) length + 2;
+        }
+        start = position;
+        return argv;
+    }
+
+    private String[] nextInline() {
+
+        int lineEnd = findLf(start);
+        if (lineEnd < 0) {
+            return null;
+        }
+        int contentEnd = lineEnd > start && buffer[lineEnd - 1] == '\r' ? lineEnd - 1 : lineEnd;
+        String line = new String(buffer, start, contentEnd - start, StandardCharsets.ISO_8859_1);
+        start = lineEnd + 1;
+
+        List<String> argv = new ArrayList<>();
+        for (String part : line.trim().split("\\s+")) {
+            if (!part.isEmpty()) {
+                argv.add(part);
+            }
+        }
+        return argv.toArray(String[]::new);
+    }
+
+    private int findCrlf(int from) {
+        for (int i = from; i < end - 1; i++) {
+            if (buffer[i] == '\r' && buffer[i + 1] == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int findLf(int from) {
+        for (int i = from; i < end; i++) {
+            if (buffer[i] == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private long parseLong(int from, int to) {
+
+        boolean negative = buffer[from] == '-';
+        long value = 0;
+        for (int i = negative ? from + 1 : from; i < to; i++) {
+            int digit = buffer[i] - '0';
+            if (digit < 0 || digit > 9) {
+                throw new RedisError("ERR Protocol error: invalid multibulk length");
+            }
+            value = value * 10 + digit;
+        }
+        return negative ? -value : value;
+    }
+
+}
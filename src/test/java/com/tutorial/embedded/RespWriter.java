@@ -0,0 +1,156 @@
+package com.tutorial.embedded;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+
+final class RespWriter {
+
+    /**
+     * buffer reply RESP2 untuk satu client, semua reply dari satu read (pipeline) di kirim dengan satu write
+     *  string di server memakai ISO-8859-1 (1 char = 1 byte) jadi data binary tidak berubah
+     */
+
+    private static final byte[] CRLF = {'\r', '\n'};
+
+    private static final byte[] NULL_BULK = "$-1\r\n".getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte[] NULL_ARRAY = "*-1\r\n".getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte[] OK = "+OK\r\n".getBytes(StandardCharsets.US_ASCII);
+
+    private byte[] buffer = new byte[1024];
+
+    private int count;
+
+    private int position; // sudah di kirim sampai position
+
+    void ok() {
+        write(OK);
+    }
+
+    void simple(String value) {
+        writeByte('+');
+        writeLatin1(value);
+        write(CRLF);
+    }
+
+    void error(String message) {
+        writeByte('-');
+        writeLatin1(message);
+        write(CRLF);
+    }
+
+    void integer(long value) {
+        writeByte(':');
+        writeLatin1(Long.toString(value));
+        write(CRLF);
+    }
+
+    void bulk(String value) {
+        if (value == null) {
+            write(NULL_BULK);
+            return;
+        }
+        writeByte('$');
+        writeLatin1(Integer.toString(value.length()));
+        write(CRLF);
+        writeLatin1(value);
+        write(CRLF);
+    }
+
+    void bulk(double value) {
+        bulk(formatDouble(value));
+    }
+
+    void array(int size) {
+        writeByte('*');
+        writeLatin1(Integer.toString(size));
+        write(CRLF);
+    }
+
+    void nullArray() {
+        write(NULL_ARRAY);
+    }
+
+    void bulks(Collection<String> values) {
+        array(values.size());
+        for (String value : values) {
+            bulk(value);
+        }
+    }
+
+    void raw(byte[] bytes) {
+        write(bytes);
+    }
+
+    boolean hasPending() {
+        return position < count;
+    }
+
+    byte[] toByteArray() {
+        return Arrays.copyOfRange(buffer, position, count);
+    }
+
+    void clear() {
+        count = 0;
+        position = 0;
+    }
+
+    /**
+     * @return true jika semua data sudah terkirim
+     */
+    boolean writeTo(SocketChannel channel) throws IOException {
+
+        while (position < count) {
+            int written = channel.write(ByteBuffer.wrap(buffer, position, count - position));
+            if (written == 0) {
+                return false; // socket buffer penuh, lanjut ketika OP_WRITE
+            }
+            position += written;
+        }
+        clear();
+        return true;
+    }
+
+    static String formatDouble(double value) {
+        if (Double.isInfinite(value)) {
+            return value > 0 ? "inf" : "-inf";
+        }
+        if (value == Math.rint(value) && Math.abs(value) < 1e17) {
+            return Long.toString((long) value);
+        }
+        return Double.toString(value);
+    }
+
+    private void writeLatin1(String value) {
+        write(value.getBytes(StandardCharsets.ISO_8859_1)); // 1 char = 1 byte
+    }
+
+    private void writeByte(int value) {
+        ensure(1);
+        buffer[count++] = (byte) value;
+    }
+
+    private void write(byte[] bytes) {
+        ensure(bytes.length);
+        System.arraycopy(bytes, 0, buffer, count, bytes.length);
+        count += bytes.length;
+    }
+
+    private void ensure(int length) {
+        if (count + length > buffer.length) {
+            if (position > 0 && count - position + length <= buffer.length) {
+                System.arraycopy(buffer, position, buffer, 0, count - position); // buang data yang sudah terkirim
+                count -= position;
+                position = 0;
+                return;
+            }
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, count + length));
+        }
+    }
+
+}
@@ -0,0 +1,94 @@
+package com.tutorial.embedded;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+final class Scans {
+
+    /**
+     * SCAN/SSCAN/HSCAN/ZSCAN dengan snapshot key ketika cursor 0, cursor berikutnya adalah id snapshot di session
+     *  element yang ada selama seluruh iterasi selalu di kembalikan tepat satu kali (lebih kuat dari jaminan redis),
+     *  element yang di hapus di tengah iterasi di lewati karena value nya di baca ulang ketika di kirim
+     */
+
+    private Scans() {
+    }
+
+    /**
+     * @param snapshot daftar key/member ketika iterasi di mulai
+     * @param resolve  element reply untuk satu key (key saja, atau field + value), null jika sudah tidak ada
+     * @param options  index argument pertama setelah cursor (MATCH, COUNT, TYPE)
+     */
+    static void scan(Session session, String[] argv, int cursorIndex, Supplier<List<String>> snapshot,
+                     Function<String, String[]> resolve, Function<String, String> typeOf, RespWriter out) {
+
+        long cursor;
+        try {
+            cursor = Long.parseUnsignedLong(argv[cursorIndex]);
+        } catch (NumberFormatException exception) {
+            throw new RedisError("ERR invalid cursor");
+        }
+
+        String pattern = null;
+        String type = null;
+        long count = 10;
+        for (int i = cursorIndex + 1; i < argv.length; i++) {
+            if (Args.is(argv[i], "match") && i + 1 < argv.length) {
+                pattern = argv[++i];
+            } else if (Args.is(argv[i], "count") && i + 1 < argv.length) {
+                count = Args.parseLong(argv[++i]);
+                if (count < 1) {
+                    throw new RedisError(RedisError.SYNTAX);
+                }
+            } else if (typeOf != null && Args.is(argv[i], "type") && i + 1 < argv.length) {
+                type = argv[++i].toLowerCase();
+            } else {
+                throw new RedisError(RedisError.SYNTAX);
+            }
+        }
+
+        Session.Scan scan;
+        long id;
+        if (cursor == 0) {
+            scan = new Session.Scan(snapshot.get());
+            id = ++session.scanCursors;
+        } else {
+            scan = session.scans.remove(cursor);
+            id = cursor;
+            if (scan == null) {
+                out.array(2);
+                out.bulk("0");
+                out.array(0);
+                return;
+            }
+        }
+
+        List<String> elements = new ArrayList<>();
+        int visited = 0;
+        while (scan.position < scan.keys.size() && visited < count) {
+            String key = scan.keys.get(scan.position++);
+            visited++;
+            if (pattern != null && !Args.globMatch(pattern, key)) {
+                continue;
+            }
+            if (type != null && !type.equals(typeOf.apply(key))) {
+                continue;
+            }
+            String[] element = resolve.apply(key);
+            if (element != null) {
+                elements.addAll(List.of(element));
+            }
+        }
+
+        boolean done = scan.position >= scan.keys.size();
+        if (!done) {
+            session.scans.put(id, scan);
+        }
+        out.array(2);
+        out.bulk(done ? "0" : Long.toUnsignedString(id));
+        out.bulks(elements);
+    }
+
+}
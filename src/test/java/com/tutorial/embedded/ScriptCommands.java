@@ -0,0 +1,67 @@
+package com.tutorial.embedded;
+
+final class ScriptCommands {
+
+    /**
+     * command scripting: EVAL, EVALSHA (NOSCRIPT jika belum di load), SCRIPT LOAD/EXISTS/FLUSH
+     */
+
+    private ScriptCommands() {
+    }
+
+    static void register(CommandTable table) {
+
+        table.read("eval", -3, 0, 0, (session, argv, out) -> eval(session, argv, out, false));
+        table.read("eval_ro", -3, 0, 0, (session, argv, out) -> eval(session, argv, out, false));
+        table.read("evalsha", -3, 0, 0, (session, argv, out) -> eval(session, argv, out, true));
+        table.read("evalsha_ro", -3, 0, 0, (session, argv, out) -> eval(session, argv, out, true));
+        table.read("script", -2, 0, 0, ScriptCommands::script);
+    }
+
+    /**
+     * EVAL script numkeys [key ...] [arg ...], EVALSHA sha1 numkeys [key ...] [arg ...]
+     */
+    private static void eval(Session session, String[] argv, RespWriter out, boolean sha) {
+
+        long numKeys = Args.parseLong(argv[2]);
+        if (numKeys < 0) {
+            throw new RedisError("ERR Number of keys can't be negative");
+        }
+        if (numKeys > argv.length - 3) {
+            throw new RedisError("ERR Number of keys can't be greater than number of args");
+        }
+        String[] keys = new String[(int) numKeys];
+        String[] args = new String[argv.length - 3 - keys.length];
+        System.arraycopy(argv, 3, keys, 0, keys.length);
+        System.arraycopy(argv, 3 + keys.length, args, 0, args.length);
+
+        LuaScripts scripts = session.server.scripts();
+        String digest = sha ? argv[1] : scripts.load(argv[1]);
+        scripts.run(session, digest, keys, args, out);
+    }
+
+    private static void script(Session session, String[] argv, RespWriter out) {
+
+        LuaScripts scripts = session.server.scripts();
+        switch (argv[1].toLowerCase()) {
+            case "load" -> {
+                if (argv.length != 3) {
+                    throw RedisError.wrongArguments("script|load");
+                }
+                out.bulk(scripts.load(argv[2]));
+            }
+            case "exists" -> {
+                out.array(argv.length - 2);
+                for (int i = 2; i < argv.length; i++) {
+                    out.integer(scripts.exists(argv[i]) ? 1 : 0);
+                }
+            }
+            case "flush" -> {
+                scripts.flush();
+                out.ok();
+            }
+            default -> throw new RedisError("ERR unknown subcommand '" + argv[1] + "'. Try SCRIPT HELP.");
+        }
+    }
+
+}
@@ -0,0 +1,399 @@
+package com.tutorial.embedded;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+final class ServerCommands {
+
+    /**
+     * command koneksi, server, transaksi (MULTI/EXEC/WATCH) dan pub/sub
+     */
+
+    private static final Map<String, String> CONFIG = new HashMap<>(Map.of(
+            "notify-keyspace-events", "",
+            "maxmemory", "0",
+            "maxmemory-policy", "noeviction",
+            "save", "",
+            "appendonly", "no",
+            "databases", "16",
+            "timeout", "0"));
+
+    private ServerCommands() {
+    }
+
+    static void register(CommandTable table) {
+
+        table.read("ping", -1, 0, 0, ServerCommands::ping);
+        table.read("echo", 2, 0, 0, (session, argv, out) -> out.bulk(argv[1]));
+        table.read("select", 2, 0, 0, ServerCommands::select);
+        table.read("quit", -1, 0, 0, (session, argv, out) -> {
+            out.ok();
+            session.closing = true;
+        });
+        table.read("reset", 1, 0, 0, ServerCommands::reset);
+        table.read("hello", -1, 0, 0, (session, argv, out) -> {
+            throw new RedisError("ERR unknown command 'HELLO'"); // hanya RESP2, client fallback ke RESP2
+        });
+        table.read("auth", -2, 0, 0, (session, argv, out) -> out.ok());
+        table.read("client", -2, 0, 0, ServerCommands::client);
+        table.read("info", -1, 0, 0, ServerCommands::info);
+        table.read("dbsize", 1, 0, 0, (session, argv, out) -> out.integer(session.keyspace().size()));
+        table.write("flushdb", -1, 0, 0, (session, argv, out) -> {
+            session.keyspace().clear();
+            out.ok();
+        });
+        table.write("flushall", -1, 0, 0, (session, argv, out) -> {
+            for (int db = 0; db < session.server.databaseCount(); db++) {
+                session.server.keyspace(db).clear();
+            }
+            out.ok();
+        });
+        table.read("command", -1, 0, 0, (session, argv, out) -> out.array(0));
+        table.read("config", -2, 0, 0, ServerCommands::config);
+        table.read("time", 1, 0, 0, (session, argv, out) -> {
+            long micros = System.currentTimeMillis() * 1000 + (System.nanoTime() / 1000) % 1000;
+            out.array(2);
+            out.bulk(Long.toString(micros / 1_000_000));
+            out.bulk(Long.toString(micros % 1_000_000));
+        });
+        table.read("memory", -2, 0, 0, ServerCommands::memory);
+
+        table.read("multi", 1, 0, 0, ServerCommands::multi);
+        table.read("exec", 1, 0, 0, ServerCommands::exec);
+        table.read("discard", 1, 0, 0, ServerCommands::discard);
+        table.read("watch", -2, 1, -1, ServerCommands::watch);
+        table.read("unwatch", 1, 0, 0, (session, argv, out) -> {
+            session.unwatchAll();
+            out.ok();
+        });
+
+        table.read("subscribe", -2, 0, 0, (session, argv, out) -> subscribe(session, argv, out, false));
+        table.read("psubscribe", -2, 0, 0, (session, argv, out) -> subscribe(session, argv, out, true));
+        table.read("unsubscribe", -1, 0, 0, (session, argv, out) -> unsubscribe(session, argv, out, false));
+        table.read("punsubscribe", -1, 0, 0, (session, argv, out) -> unsubscribe(session, argv, out, true));
+        table.read("publish", 3, 0, 0, (session, argv, out) -> out.integer(session.server.publish(argv[1], argv[2])));
+        table.read("pubsub", -2, 0, 0, ServerCommands::pubsub);
+    }
+
+    private static void ping(Session session, String[] argv, RespWriter out) {
+
+        if (argv.length > 2) {
+            throw RedisError.wrongArguments("ping");
+        }
+        if (session.isSubscribed()) {
+            out.array(2);
+            out.bulk("pong");
+            out.bulk(argv.length == 2 ? argv[1] : "");
+        } else if (argv.length == 2) {
+            out.bulk(argv[1]);
+        } else {
+            out.simple("PONG");
+        }
+    }
+
+    private static void select(Session session, String[] argv, RespWriter out) {
+        int db = Args.parseInt(argv[1]);
+        if (db < 0 || db >= session.server.databaseCount()) {
+            throw new RedisError("ERR DB index is out of range");
+        }
+        session.db = db;
+        out.ok();
+    }
+
+    private static void reset(Session session, String[] argv, RespWriter out) {
+        session.queued = null;
+        session.queueError = false;
+        session.unwatchAll();
+        for (String channel : new ArrayList<>(session.channels)) {
+            session.server.unsubscribe(session, channel, false);
+        }
+        for (String pattern : new ArrayList<>(session.patterns)) {
+            session.server.unsubscribe(session, pattern, true);
+        }
+        session.db = 0;
+        session.name = null;
+        out.simple("RESET");
+    }
+
+    private static void client(Session session, String[] argv, RespWriter out) {
+
+        String subcommand = argv[1].toLowerCase();
+        switch (subcommand) {
+            case "setname" -> {
+                if (argv.length != 3) {
+                    throw RedisError.wrongArguments("client|setname");
+                }
+                session.name = argv[2].isEmpty() ? null : argv[2];
+                out.ok();
+            }
+            case "getname" -> out.bulk(session.name);
+            case "id" -> out.integer(session.id);
+            case "info" -> out.bulk(clientInfo(session));
+            case "list" -> {
+                StringBuilder list = new StringBuilder();
+                for (Session client : session.server.sessions()) {
+                    list.append(clientInfo(client));
+                }
+                out.bulk(list.toString());
+            }
+            case "setinfo", "no-evict", "no-touch" -> out.ok();
+            case "tracking" -> throw new RedisError("ERR CLIENT TRACKING is not supported by the embedded server");
+            default -> throw new RedisError("ERR unknown subcommand '" + argv[1] + "'. Try CLIENT HELP.");
+        }
+    }
+
+    private static String clientInfo(Session session) {
+        long now = System.currentTimeMillis();
+        return "id=" + session.id
+                + " addr=" + address(session)
+                + " name=" + (session.name != null ? session.name : "")
+                + " age=" + (now - session.createdTime) / 1000
+                + " idle=" + (now - session.lastCommandTime) / 1000
+                + " db=" + session.db
+                + " sub=" + session.channels.size()
+                + " psub=" + session.patterns.size()
+                + " multi=" + (session.queued != null ? session.queued.size() : -1)
+                + " cmd=" + session.lastCommand
+                + "\n";
+    }
+
+    private static String address(Session session) {
+        try {
+            return session.channel != null ? session.channel.getRemoteAddress().toString().replace("/", "") : "";
+        } catch (java.io.IOException exception) {
+            return "";
+        }
+    }
+
+    private static void info(Session session, String[] argv, RespWriter out) {
+
+        EmbeddedRedisServer server = session.server;
+        StringBuilder info = new StringBuilder();
+        info.append("# Server\r\n")
+                .append("redis_version:7.2.0\r\n")
+                .append("redis_mode:standalone\r\n")
+                .append("os:embedded\r\n")
+                .append("tcp_port:").append(server.getPort()).append("\r\n")
+                .append("uptime_in_seconds:").append(server.uptimeMillis() / 1000).append("\r\n")
+                .append("\r\n# Clients\r\n")
+                .append("connected_clients:").append(server.sessions().size()).append("\r\n")
+                .append("blocked_clients:").append(server.blockedCount()).append("\r\n")
+                .append("\r\n# Memory\r\n")
+                .append("used_memory:0\r\n")
+                .append("maxmemory:0\r\n")
+                .append("\r\n# Persistence\r\n")
+                .append("loading:0\r\n")
+                .append("\r\n# Stats\r\n")
+                .append("total_commands_processed:").append(server.processedCommands()).append("\r\n")
+                .append("pubsub_channels:").append(server.activeChannels().size()).append("\r\n")
+                .append("pubsub_patterns:").append(server.patternCount()).append("\r\n")
+                .append("\r\n# Replication\r\n")
+                .append("role:master\r\n")
+                .append("connected_slaves:0\r\n")
+                .append("\r\n# Keyspace\r\n");
+        for (int db = 0; db < server.databaseCount(); db++) {
+            Keyspace keyspace = server.keyspace(db);
+            if (keyspace.size() > 0) {
+                info.append("db").append(db).append(":keys=").append(keyspace.size()).append(",expires=0,avg_ttl=0\r\n");
+            }
+        }
+        out.bulk(info.toString());
+    }
+
+    private static void config(Session session, String[] argv, RespWriter out) {
+
+        switch (argv[1].toLowerCase()) {
+            case "get" -> {
+                if (argv.length != 3) {
+                    throw RedisError.wrongArguments("config|get");
+                }
+                List<String> result = new ArrayList<>();
+                synchronized (CONFIG) {
+                    CONFIG.forEach((name, value) -> {
+                        if (Args.globMatch(argv[2].toLowerCase(), name)) {
+                            result.add(name);
+                            result.add(value);
+                        }
+                    });
+                }
+                out.bulks(result);
+            }
+            case "set" -> {
+                if (argv.length < 4 || argv.length % 2 != 0) {
+                    throw RedisError.wrongArguments("config|set");
+                }
+                synchronized (CONFIG) {
+                    for (int i = 2; i < argv.length; i += 2) {
+                        CONFIG.put(argv[i].toLowerCase(), argv[i + 1]); // hanya di simpan, tidak mengubah perilaku server
+                    }
+                }
+                out.ok();
+            }
+            case "resetstat", "rewrite" -> out.ok();
+            default -> throw new RedisError("ERR unknown subcommand '" + argv[1] + "'. Try CONFIG HELP.");
+        }
+    }
+
+    private static void memory(Session session, String[] argv, RespWriter out) {
+
+        if (!Args.is(argv[1], "usage") || argv.length < 3) {
+            throw new RedisError("ERR unknown subcommand '" + argv[1] + "'. Try MEMORY HELP.");
+        }
+        Object value = session.keyspace().get(argv[2]);
+        if (value == null) {
+            out.bulk(null);
+            return;
+        }
+        // perkiraan kasar: panjang key + isi value
+        long usage = 48L + argv[2].length();
+        if (value instanceof String string) {
+            usage += string.length();
+        } else if (value instanceof java.util.Collection<?> collection) {
+            usage += collection.stream().mapToLong(element -> 16 + element.toString().length()).sum();
+        } else if (value instanceof Map<?, ?> map) {
+            usage += map.entrySet().stream().mapToLong(entry -> 32 + entry.getKey().toString().length() + entry.getValue().toString().length()).sum();
+        } else if (value instanceof ZSetValue zset) {
+            usage += zset.entries().stream().mapToLong(entry -> 40 + entry.member().length()).sum();
+        } else if (value instanceof StreamValue stream) {
+            for (String[] fields : stream.entries.values()) {
+                usage += 16;
+                for (String field : fields) {
+                    usage += field.length();
+                }
+            }
+        }
+        out.integer(usage);
+    }
+
+    // ---------------------------------------------------------------- transaksi
+
+    private static void multi(Session session, String[] argv, RespWriter out) {
+        if (session.queued != null) {
+            throw new RedisError("ERR MULTI calls can not be nested");
+        }
+        session.queued = new ArrayList<>();
+        session.queueError = false;
+        out.ok();
+    }
+
+    private static void exec(Session session, String[] argv, RespWriter out) {
+
+        if (session.queued == null) {
+            throw new RedisError("ERR EXEC without MULTI");
+        }
+        List<String[]> queued = session.queued;
+        boolean queueError = session.queueError;
+        session.queued = null;
+        session.queueError = false;
+
+        if (queueError) {
+            session.unwatchAll();
+            throw new RedisError("EXECABORT Transaction discarded because of previous errors.");
+        }
+        boolean dirty = session.watches.stream().anyMatch(watch -> watch.keyspace().version(watch.key()) != watch.version());
+        session.unwatchAll();
+        if (dirty) {
+            out.nullArray(); // key yang di WATCH berubah, transaksi batal
+            return;
+        }
+
+        // command di dalam transaksi tidak pernah blocking (BLPOP = LPOP), sama seperti redis
+        boolean canBlock = session.canBlock;
+        session.canBlock = false;
+        try {
+            out.array(queued.size());
+            for (String[] command : queued) {
+                session.server.commands().execute(session, command, out);
+            }
+        } finally {
+            session.canBlock = canBlock;
+        }
+    }
+
+    private static void discard(Session session, String[] argv, RespWriter out) {
+        if (session.queued == null) {
+            throw new RedisError("ERR DISCARD without MULTI");
+        }
+        session.queued = null;
+        session.queueError = false;
+        session.unwatchAll();
+        out.ok();
+    }
+
+    private static void watch(Session session, String[] argv, RespWriter out) {
+        if (session.queued != null) {
+            throw new RedisError("ERR WATCH inside MULTI is not allowed");
+        }
+        Keyspace keyspace = session.keyspace();
+        for (int i = 1; i < argv.length; i++) {
+            session.watches.add(new Session.Watch(keyspace, argv[i], keyspace.watch(argv[i])));
+        }
+        out.ok();
+    }
+
+    // ---------------------------------------------------------------- pub/sub
+
+    private static void subscribe(Session session, String[] argv, RespWriter out, boolean pattern) {
+        for (int i = 1; i < argv.length; i++) {
+            session.server.subscribe(session, argv[i], pattern);
+            out.array(3);
+            out.bulk(pattern ? "psubscribe" : "subscribe");
+            out.bulk(argv[i]);
+            out.integer(session.channels.size() + session.patterns.size());
+        }
+    }
+
+    private static void unsubscribe(Session session, String[] argv, RespWriter out, boolean pattern) {
+
+        List<String> names = new ArrayList<>();
+        for (int i = 1; i < argv.length; i++) {
+            names.add(argv[i]);
+        }
+        if (names.isEmpty()) {
+            names.addAll(pattern ? session.patterns : session.channels);
+        }
+        String kind = pattern ? "punsubscribe" : "unsubscribe";
+        if (names.isEmpty()) {
+            out.array(3);
+            out.bulk(kind);
+            out.bulk(null);
+            out.integer(session.channels.size() + session.patterns.size());
+            return;
+        }
+        for (String name : names) {
+            session.server.unsubscribe(session, name, pattern);
+            out.array(3);
+            out.bulk(kind);
+            out.bulk(name);
+            out.integer(session.channels.size() + session.patterns.size());
+        }
+    }
+
+    private static void pubsub(Session session, String[] argv, RespWriter out) {
+
+        EmbeddedRedisServer server = session.server;
+        switch (argv[1].toLowerCase()) {
+            case "channels" -> {
+                List<String> channels = new ArrayList<>();
+                for (String channel : server.activeChannels()) {
+                    if (argv.length < 3 || Args.globMatch(argv[2], channel)) {
+                        channels.add(channel);
+                    }
+                }
+                out.bulks(channels);
+            }
+            case "numsub" -> {
+                out.array((argv.length - 2) * 2);
+                for (int i = 2; i < argv.length; i++) {
+                    out.bulk(argv[i]);
+                    out.integer(server.subscriberCount(argv[i]));
+                }
+            }
+            case "numpat" -> out.integer(server.patternCount());
+            default -> throw new RedisError("ERR unknown subcommand '" + argv[1] + "'. Try PUBSUB HELP.");
+        }
+    }
+
+}
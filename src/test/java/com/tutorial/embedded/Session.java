@@ -0,0 +1,117 @@
+package com.tutorial.embedded;
+
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+final class Session {
+
+    /**
+     * state satu koneksi client (atau eksekusi script lua): database aktif, MULTI/WATCH, pubsub dan blocking command
+     */
+
+    record Watch(Keyspace keyspace, String key, long version) {
+    }
+
+    record Blocked(String[] argv, Set<String> keys, long deadline) {
+    }
+
+    /**
+     * snapshot SCAN/SSCAN/HSCAN/ZSCAN, cursor yang tidak di lanjutkan client di buang setelah MAX_SCANS
+     */
+    static final class Scan {
+
+        final List<String> keys;
+
+        int position;
+
+        Scan(List<String> keys) {
+            this.keys = keys;
+        }
+    }
+
+    private static final int MAX_SCANS = 64;
+
+    final long id;
+
+    final EmbeddedRedisServer server;
+
+    final SocketChannel channel; // null untuk session script
+
+    final RespReader reader = new RespReader();
+
+    final RespWriter writer = new RespWriter();
+
+    SelectionKey selectionKey;
+
+    int db;
+
+    String name;
+
+    List<String[]> queued; // != null ketika MULTI
+
+    boolean queueError;
+
+    final List<Watch> watches = new ArrayList<>();
+
+    final Set<String> channels = new HashSet<>();
+
+    final Set<String> patterns = new HashSet<>();
+
+    Blocked blocked;
+
+    boolean canBlock;
+
+    boolean closing;
+
+    long createdTime = System.currentTimeMillis();
+
+    long lastCommandTime = createdTime;
+
+    String lastCommand = "NULL";
+
+    final Map<Long, Scan> scans = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Scan> eldest) {
+            return size() > MAX_SCANS;
+        }
+    };
+
+    long scanCursors;
+
+    Session(long id, EmbeddedRedisServer server, SocketChannel channel) {
+        this.id = id;
+        this.server = server;
+        this.channel = channel;
+        this.canBlock = channel != null;
+    }
+
+    Keyspace keyspace() {
+        return server.keyspace(db);
+    }
+
+    boolean isSubscribed() {
+        return !channels.isEmpty() || !patterns.isEmpty();
+    }
+
+    /**
+     * di panggil command blocking ketika belum ada data, command di jalankan ulang ketika salah satu key berubah atau timeout
+     * @param timeoutMillis 0 = tanpa batas
+     */
+    void block(String[] argv, Set<String> keys, long timeoutMillis) {
+        blocked = new Blocked(argv, keys, timeoutMillis == 0 ? Long.MAX_VALUE : System.currentTimeMillis() + timeoutMillis);
+    }
+
+    void unwatchAll() {
+        for (Watch watch : watches) {
+            watch.keyspace().unwatch(watch.key());
+        }
+        watches.clear();
+    }
+
+}
@@ -0,0 +1,179 @@
+package com.tutorial.embedded;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+final class SetCommands {
+
+    /**
+     * command set: SADD/SREM, SMEMBERS, SISMEMBER, SCARD, SPOP, SRANDMEMBER, SINTER/SUNION/SDIFF (+STORE), SSCAN, SMOVE
+     */
+
+    private SetCommands() {
+    }
+
+    static void register(CommandTable table) {
+
+        table.write("sadd", -3, 1, 1, (session, argv, out) -> {
+            HashSet<String> set = session.keyspace().getSet(argv[1], true);
+            long added = 0;
+            for (int i = 2; i < argv.length; i++) {
+                added += set.add(argv[i]) ? 1 : 0;
+            }
+            out.integer(added);
+        });
+        table.write("srem", -3, 1, 1, (session, argv, out) -> {
+            Keyspace keyspace = session.keyspace();
+            HashSet<String> set = keyspace.getSet(argv[1], false);
+            long removed = 0;
+            if (set != null) {
+                for (int i = 2; i < argv.length; i++) {
+                    removed += set.remove(argv[i]) ? 1 : 0;
+                }
+                keyspace.removeIfEmpty(argv[1], set);
+            }
+            out.integer(removed);
+        });
+        table.read("smembers", 2, 1, 1, (session, argv, out) -> out.bulks(members(session, argv[1])));
+        table.read("sismember", 3, 1, 1, (session, argv, out) -> out.integer(members(session, argv[1]).contains(argv[2]) ? 1 : 0));
+        table.read("smismember", -3, 1, 1, (session, argv, out) -> {
+            Set<String> set = members(session, argv[1]);
+            out.array(argv.length - 2);
+            for (int i = 2; i < argv.length; i++) {
+                out.integer(set.contains(argv[i]) ? 1 : 0);
+            }
+        });
+        table.read("scard", 2, 1, 1, (session, argv, out) -> out.integer(members(session, argv[1]).size()));
+        table.write("spop", -2, 1, 1, SetCommands::spop);
+        table.read("srandmember", -2, 1, 1, SetCommands::srandmember);
+        table.read("sinter", -2, 1, -1, (session, argv, out) -> out.bulks(inter(session, argv, 1)));
+        table.read("sunion", -2, 1, -1, (session, argv, out) -> out.bulks(union(session, argv, 1)));
+        table.read("sdiff", -2, 1, -1, (session, argv, out) -> out.bulks(diff(session, argv, 1)));
+        table.read("sintercard", -3, 0, 0, (session, argv, out) -> {
+            int numKeys = Args.parseInt(argv[1]);
+            if (numKeys <= 0 || argv.length < numKeys + 2) {
+                throw new RedisError("ERR numkeys should be greater than 0");
+            }
+            long limit = argv.length > numKeys + 3 && Args.is(argv[numKeys + 2], "limit") ? Args.parseLong(argv[numKeys + 3]) : 0;
+            String[] keys = new String[numKeys + 1];
+            System.arraycopy(argv, 1, keys, 0, numKeys + 1);
+            long count = inter(session, keys, 1).size();
+            out.integer(limit > 0 ? Math.min(limit, count) : count);
+        });
+        table.write("sinterstore", -3, 1, -1, (session, argv, out) -> out.integer(store(session, argv[1], inter(session, argv, 2))));
+        table.write("sunionstore", -3, 1, -1, (session, argv, out) -> out.integer(store(session, argv[1], union(session, argv, 2))));
+        table.write("sdiffstore", -3, 1, -1, (session, argv, out) -> out.integer(store(session, argv[1], diff(session, argv, 2))));
+        table.read("sscan", -3, 1, 1, (session, argv, out) -> {
+            Set<String> set = members(session, argv[1]);
+            Scans.scan(session, argv, 2, () -> new ArrayList<>(set),
+                    member -> members(session, argv[1]).contains(member) ? new String[]{member} : null, null, out);
+        });
+        table.write("smove", 4, 1, 2, (session, argv, out) -> {
+            Keyspace keyspace = session.keyspace();
+            HashSet<String> source = keyspace.getSet(argv[1], false);
+            keyspace.getSet(argv[2], false); // cek WRONGTYPE
+            if (source == null || !source.remove(argv[3])) {
+                out.integer(0);
+                return;
+            }
+            keyspace.removeIfEmpty(argv[1], source);
+            keyspace.getSet(argv[2], true).add(argv[3]);
+            out.integer(1);
+        });
+    }
+
+    private static Set<String> members(Session session, String key) {
+        HashSet<String> set = session.keyspace().getSet(key, false);
+        return set == null ? Collections.emptySet() : set;
+    }
+
+    private static void spop(Session session, String[] argv, RespWriter out) {
+
+        Keyspace keyspace = session.keyspace();
+        HashSet<String> set = keyspace.getSet(argv[1], false);
+        if (argv.length > 3) {
+            throw new RedisError(RedisError.SYNTAX);
+        }
+        long count = argv.length == 3 ? Args.parseLong(argv[2]) : 1;
+        if (count < 0) {
+            throw new RedisError("ERR value is out of range, must be positive");
+        }
+        List<String> popped = new ArrayList<>();
+        if (set != null) {
+            List<String> shuffled = new ArrayList<>(set);
+            Collections.shuffle(shuffled);
+            for (int i = 0; i < count && i < shuffled.size(); i++) {
+                set.remove(shuffled.get(i));
+                popped.add(shuffled.get(i));
+            }
+            keyspace.removeIfEmpty(argv[1], set);
+        }
+        if (argv.length == 3) {
+            out.bulks(popped);
+        } else {
+            out.bulk(popped.isEmpty() ? null : popped.get(0));
+        }
+    }
+
+    /**
+     * SRANDMEMBER key [count], count negatif boleh mengembalikan member yang sama lebih dari sekali
+     */
+    private static void srandmember(Session session, String[] argv, RespWriter out) {
+
+        List<String> members = new ArrayList<>(members(session, argv[1]));
+        if (argv.length == 2) {
+            out.bulk(members.isEmpty() ? null : members.get((int) (Math.random() * members.size())));
+            return;
+        }
+        long count = Args.parseLong(argv[2]);
+        List<String> result = new ArrayList<>();
+        if (count < 0) {
+            for (long i = 0; i < -count && !members.isEmpty(); i++) {
+                result.add(members.get((int) (Math.random() * members.size())));
+            }
+        } else {
+            Collections.shuffle(members);
+            result.addAll(members.subList(0, (int) Math.min(count, members.size())));
+        }
+        out.bulks(result);
+    }
+
+    private static Set<String> inter(Session session, String[] argv, int from) {
+        Set<String> result = new LinkedHashSet<>(members(session, argv[from]));
+        for (int i = from + 1; i < argv.length; i++) {
+            result.retainAll(members(session, argv[i]));
+        }
+        return result;
+    }
+
+    private static Set<String> union(Session session, String[] argv, int from) {
+        Set<String> result = new LinkedHashSet<>();
+        for (int i = from; i < argv.length; i++) {
+            result.addAll(members(session, argv[i]));
+        }
+        return result;
+    }
+
+    private static Set<String> diff(Session session, String[] argv, int from) {
+        Set<String> result = new LinkedHashSet<>(members(session, argv[from]));
+        for (int i = from + 1; i < argv.length; i++) {
+            result.removeAll(members(session, argv[i]));
+        }
+        return result;
+    }
+
+    private static long store(Session session, String destination, Set<String> members) {
+        Keyspace keyspace = session.keyspace();
+        if (members.isEmpty()) {
+            keyspace.remove(destination);
+        } else {
+            keyspace.put(destination, new HashSet<>(members));
+        }
+        return members.size();
+    }
+
+}
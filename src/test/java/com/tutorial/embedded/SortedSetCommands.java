@@ -0,0 +1,469 @@
+package com.tutorial.embedded;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.NavigableSet;
+
+final class SortedSetCommands {
+
+    /**
+     * command sorted set: ZADD (NX, XX, GT, LT, CH, INCR), ZRANGE (BYSCORE, BYLEX, REV, LIMIT), ZRANGEBYSCORE/LEX,
+     * ZRANK, ZCOUNT, ZPOPMIN/MAX, ZREMRANGEBY*, ZSCAN
+     */
+
+    /**
+     * batas score (ZRANGEBYSCORE min max), "(" = exclusive
+     */
+    record ScoreBound(double value, boolean exclusive) {
+
+        static ScoreBound parse(String value) {
+            try {
+                if (value.startsWith("(")) {
+                    return new ScoreBound(Args.parseDouble(value.substring(1)), true);
+                }
+                return new ScoreBound(Args.parseDouble(value), false);
+            } catch (RedisError error) {
+                throw new RedisError("ERR min or max is not a float");
+            }
+        }
+
+        boolean aboveMin(double score) {
+            return exclusive ? score > value : score >= value;
+        }
+
+        boolean belowMax(double score) {
+            return exclusive ? score < value : score <= value;
+        }
+    }
+
+    /**
+     * batas lex (ZRANGEBYLEX min max): "[a" inclusive, "(a" exclusive, "-" dan "+" tak hingga
+     */
+    record LexBound(String value, boolean exclusive, int infinity) {
+
+        static LexBound parse(String value) {
+            if (value.equals("-")) {
+                return new LexBound("", false, -1);
+            }
+            if (value.equals("+")) {
+                return new LexBound("", false, 1);
+            }
+            if (value.startsWith("[")) {
+                return new LexBound(value.substring(1), false, 0);
+            }
+            if (value.startsWith("(")) {
+                return new LexBound(value.substring(1), true, 0);
+            }
+            throw new RedisError("ERR min or max not valid string range item");
+        }
+
+        boolean aboveMin(String member) {
+            if (infinity != 0) {
+                return infinity < 0;
+            }
+            int compare = member.compareTo(value);
+            return exclusive ? compare > 0 : compare >= 0;
+        }
+
+        boolean belowMax(String member) {
+            if (infinity != 0) {
+                return infinity > 0;
+            }
+            int compare = member.compareTo(value);
+            return exclusive ? compare < 0 : compare <= 0;
+        }
+    }
+
+    private SortedSetCommands() {
+    }
+
+    static void register(CommandTable table) {
+
+        table.write("zadd", -4, 1, 1, SortedSetCommands::zadd);
+        table.write("zincrby", 4, 1, 1, (session, argv, out) -> {
+            double increment = Args.parseDouble(argv[2]);
+            ZSetValue zset = session.keyspace().getZSet(argv[1], true);
+            Double current = zset.score(argv[3]);
+            double score = (current == null ? 0 : current) + increment;
+            if (Double.isNaN(score)) {
+                throw new RedisError("ERR resulting score is not a number (NaN)");
+            }
+            zset.add(argv[3], score);
+            out.bulk(score);
+        });
+        table.write("zrem", -3, 1, 1, (session, argv, out) -> {
+            Keyspace keyspace = session.keyspace();
+            ZSetValue zset = keyspace.getZSet(argv[1], false);
+            long removed = 0;
+            if (zset != null) {
+                for (int i = 2; i < argv.length; i++) {
+                    removed += zset.remove(argv[i]) ? 1 : 0;
+                }
+                keyspace.removeIfEmpty(argv[1], zset);
+            }
+            out.integer(removed);
+        });
+        table.read("zscore", 3, 1, 1, (session, argv, out) -> {
+            ZSetValue zset = session.keyspace().getZSet(argv[1], false);
+            Double score = zset == null ? null : zset.score(argv[2]);
+            if (score == null) {
+                out.bulk(null);
+            } else {
+                out.bulk(score);
+            }
+        });
+        table.read("zmscore", -3, 1, 1, (session, argv, out) -> {
+            ZSetValue zset = session.keyspace().getZSet(argv[1], false);
+            out.array(argv.length - 2);
+            for (int i = 2; i < argv.length; i++) {
+                Double score = zset == null ? null : zset.score(argv[i]);
+                if (score == null) {
+                    out.bulk(null);
+                } else {
+                    out.bulk(score);
+                }
+            }
+        });
+        table.read("zcard", 2, 1, 1, (session, argv, out) -> {
+            ZSetValue zset = session.keyspace().getZSet(argv[1], false);
+            out.integer(zset == null ? 0 : zset.size());
+        });
+        table.read("zcount", 4, 1, 1, (session, argv, out) -> {
+            ZSetValue zset = session.keyspace().getZSet(argv[1], false);
+            out.integer(zset == null ? 0 : byScore(zset, ScoreBound.parse(argv[2]), ScoreBound.parse(argv[3]), false).size());
+        });
+        table.read("zlexcount", 4, 1, 1, (session, argv, out) -> {
+            ZSetValue zset = session.keyspace().getZSet(argv[1], false);
+            out.integer(zset == null ? 0 : byLex(zset, LexBound.parse(argv[2]), LexBound.parse(argv[3]), false).size());
+        });
+        table.read("zrank", -3, 1, 1, (session, argv, out) -> rank(session, argv, out, false));
+        table.read("zrevrank", -3, 1, 1, (session, argv, out) -> rank(session, argv, out, true));
+
+        table.read("zrange", -4, 1, 1, (session, argv, out) -> range(session, argv, out, null, false));
+        table.read("zrevrange", -4, 1, 1, (session, argv, out) -> range(session, argv, out, "rank", true));
+        table.read("zrangebyscore", -4, 1, 1, (session, argv, out) -> range(session, argv, out, "score", false));
+        table.read("zrevrangebyscore", -4, 1, 1, (session, argv, out) -> range(session, argv, out, "score", true));
+        table.read("zrangebylex", -4, 1, 1, (session, argv, out) -> range(session, argv, out, "lex", false));
+        table.read("zrevrangebylex", -4, 1, 1, (session, argv, out) -> range(session, argv, out, "lex", true));
+
+        table.write("zpopmin", -2, 1, 1, (session, argv, out) -> pop(session, argv, out, false));
+        table.write("zpopmax", -2, 1, 1, (session, argv, out) -> pop(session, argv, out, true));
+        table.write("zremrangebyscore", 4, 1, 1, (session, argv, out) -> {
+            ZSetValue zset = session.keyspace().getZSet(argv[1], false);
+            out.integer(zset == null ? 0 : removeAll(session, argv[1], zset, byScore(zset, ScoreBound.parse(argv[2]), ScoreBound.parse(argv[3]), false)));
+        });
+        table.write("zremrangebylex", 4, 1, 1, (session, argv, out) -> {
+            ZSetValue zset = session.keyspace().getZSet(argv[1], false);
+            out.integer(zset == null ? 0 : removeAll(session, argv[1], zset, byLex(zset, LexBound.parse(argv[2]), LexBound.parse(argv[3]), false)));
+        });
+        table.write("zremrangebyrank", 4, 1, 1, (session, argv, out) -> {
+            ZSetValue zset = session.keyspace().getZSet(argv[1], false);
+            out.integer(zset == null ? 0 : removeAll(session, argv[1], zset, byRank(zset, Args.parseLong(argv[2]), Args.parseLong(argv[3]), false)));
+        });
+        table.read("zscan", -3, 1, 1, (session, argv, out) -> {
+            ZSetValue zset = session.keyspace().getZSet(argv[1], false);
+            List<String> members = new ArrayList<>();
+            if (zset != null) {
+                zset.entries().forEach(entry -> members.add(entry.member()));
+            }
+            Scans.scan(session, argv, 2, () -> members, member -> {
+                ZSetValue current = session.keyspace().getZSet(argv[1], false);
+                Double score = current == null ? null : current.score(member);
+                return score == null ? null : new String[]{member, RespWriter.formatDouble(score)};
+            }, null, out);
+        });
+    }
+
+    /**
+     * ZADD key [NX | XX] [GT | LT] [CH] [INCR] score member [score member ...]
+     */
+    private static void zadd(Session session, String[] argv, RespWriter out) {
+
+        boolean nx = false, xx = false, gt = false, lt = false, ch = false, incr = false;
+        int i = 2;
+        while (i < argv.length && isZAddOption(argv[i])) {
+            switch (argv[i++].toLowerCase()) {
+                case "nx" -> nx = true;
+                case "xx" -> xx = true;
+                case "gt" -> gt = true;
+                case "lt" -> lt = true;
+                case "ch" -> ch = true;
+                default -> incr = true;
+            }
+        }
+        int pairs = argv.length - i;
+        if (pairs == 0 || pairs % 2 != 0) {
+            throw new RedisError(RedisError.SYNTAX);
+        }
+        if (nx && xx) {
+            throw new RedisError("ERR XX and NX options at the same time are not compatible");
+        }
+        if ((gt && nx) || (lt && nx) || (gt && lt)) {
+            throw new RedisError("ERR GT, LT, and/or NX options at the same time are not compatible");
+        }
+        if (incr && pairs > 2) {
+            throw new RedisError("ERR INCR option supports a single increment-element pair");
+        }
+
+        double[] scores = new double[pairs / 2];
+        for (int pair = 0; pair < scores.length; pair++) {
+            scores[pair] = Args.parseDouble(argv[i + pair * 2]);
+        }
+
+        Keyspace keyspace = session.keyspace();
+        ZSetValue zset = keyspace.getZSet(argv[1], !xx);
+        if (zset == null) {
+            if (incr) {
+                out.bulk(null);
+            } else {
+                out.integer(0);
+            }
+            return;
+        }
+
+        long added = 0;
+        long changed = 0;
+        Double result = null;
+        for (int pair = 0; pair < scores.length; pair++) {
+            String member = argv[i + pair * 2 + 1];
+            Double current = zset.score(member);
+            double score = incr ? (current == null ? 0 : current) + scores[pair] : scores[pair];
+            if (Double.isNaN(score)) {
+                throw new RedisError("ERR resulting score is not a number (NaN)");
+            }
+            if ((nx && current != null) || (xx && current == null)
+                    || (current != null && gt && score <= current) || (current != null && lt && score >= current)) {
+                continue;
+            }
+            result = score;
+            if (current == null) {
+                added++;
+                zset.add(member, score);
+            } else if (current != score) {
+                changed++;
+                zset.add(member, score);
+            }
+        }
+        keyspace.removeIfEmpty(argv[1], zset);
+
+        if (incr) {
+            if (result == null) {
+                out.bulk(null);
+            } else {
+                out.bulk(result);
+            }
+        } else {
+            out.integer(ch ? added + changed : added);
+        }
+    }
+
+    private static boolean isZAddOption(String value) {
+        return switch (value.toLowerCase()) {
+            case "nx", "xx", "gt", "lt", "ch", "incr" -> true;
+            default -> false;
+        };
+    }
+
+    private static void rank(Session session, String[] argv, RespWriter out, boolean reverse) {
+
+        boolean withScore = argv.length == 4 && Args.is(argv[3], "withscore");
+        if (argv.length > 4 || (argv.length == 4 && !withScore)) {
+            throw new RedisError(RedisError.SYNTAX);
+        }
+        ZSetValue zset = session.keyspace().getZSet(argv[1], false);
+        int rank = zset == null ? -1 : zset.rank(argv[2]);
+        if (rank < 0) {
+            if (withScore) {
+                out.nullArray();
+            } else {
+                out.bulk(null);
+            }
+            return;
+        }
+        long result = reverse ? zset.size() - 1 - rank : rank;
+        if (withScore) {
+            out.array(2);
+            out.integer(result);
+            out.bulk(zset.score(argv[2]));
+        } else {
+            out.integer(result);
+        }
+    }
+
+    /**
+     * @param by null untuk ZRANGE (BYSCORE / BYLEX / REV dari argument), atau rank/score/lex untuk command lama
+     */
+    private static void range(Session session, String[] argv, RespWriter out, String by, boolean reverse) {
+
+        boolean withScores = false;
+        long offset = 0;
+        long count = -1;
+        boolean limit = false;
+        for (int i = 4; i < argv.length; i++) {
+            String option = argv[i].toLowerCase();
+            switch (option) {
+                case "withscores" -> withScores = true;
+                case "limit" -> {
+                    if (i + 2 >= argv.length) {
+                        throw new RedisError(RedisError.SYNTAX);
+                    }
+                    offset = Args.parseLong(argv[++i]);
+                    count = Args.parseLong(argv[++i]);
+                    limit = true;
+                }
+                case "byscore", "bylex", "rev" -> {
+                    if (!argv[0].equalsIgnoreCase("zrange")) {
+                        throw new RedisError(RedisError.SYNTAX);
+                    }
+                    if (option.equals("rev")) {
+                        reverse = true;
+                    } else {
+                        by = option.substring(2);
+                    }
+                }
+                default -> throw new RedisError(RedisError.SYNTAX);
+            }
+        }
+        if (by == null) {
+            by = "rank";
+        }
+        if (limit && by.equals("rank")) {
+            throw new RedisError("ERR syntax error, LIMIT is only supported in combination with either BYSCORE or BYLEX");
+        }
+        if (withScores && by.equals("lex")) {
+            throw new RedisError(RedisError.SYNTAX);
+        }
+
+        ZSetValue zset = session.keyspace().getZSet(argv[1], false);
+        List<ZSetValue.Entry> entries;
+        if (zset == null) {
+            entries = List.of();
+        } else {
+            // ZREVRANGEBYSCORE key max min, ZRANGE ... BYSCORE REV key max min
+            String min = reverse && !by.equals("rank") ? argv[3] : argv[2];
+            String max = reverse && !by.equals("rank") ? argv[2] : argv[3];
+            entries = switch (by) {
+                case "score" -> byScore(zset, ScoreBound.parse(min), ScoreBound.parse(max), reverse);
+                case "lex" -> byLex(zset, LexBound.parse(min), LexBound.parse(max), reverse);
+                default -> byRank(zset, Args.parseLong(argv[2]), Args.parseLong(argv[3]), reverse);
+            };
+        }
+
+        if (limit) {
+            if (offset < 0 || offset >= entries.size()) {
+                entries = List.of();
+            } else {
+                long end = count < 0 ? entries.size() : Math.min(entries.size(), offset + count);
+                entries = entries.subList((int) offset, (int) end);
+            }
+        }
+
+        out.array(withScores ? entries.size() * 2 : entries.size());
+        for (ZSetValue.Entry entry : entries) {
+            out.bulk(entry.member());
+            if (withScores) {
+                out.bulk(entry.score());
+            }
+        }
+    }
+
+    private static List<ZSetValue.Entry> byRank(ZSetValue zset, long start, long stop, boolean reverse) {
+
+        int size = zset.size();
+        int from = Math.max(0, Args.normalizeIndex(start, size));
+        int to = Math.min(size - 1, Args.normalizeIndex(stop, size));
+        if (from > to) {
+            return List.of();
+        }
+        if (!reverse) {
+            return zset.range(from, to);
+        }
+        List<ZSetValue.Entry> entries = zset.range(size - 1 - to, size - 1 - from);
+        Collections.reverse(entries);
+        return entries;
+    }
+
+    private static List<ZSetValue.Entry> byScore(ZSetValue zset, ScoreBound min, ScoreBound max, boolean reverse) {
+
+        List<ZSetValue.Entry> entries = new ArrayList<>();
+        NavigableSet<ZSetValue.Entry> tail = zset.entries().tailSet(new ZSetValue.Entry("", min.value()), true);
+        for (ZSetValue.Entry entry : tail) {
+            if (!max.belowMax(entry.score())) {
+                break;
+            }
+            if (min.aboveMin(entry.score())) {
+                entries.add(entry);
+            }
+        }
+        if (reverse) {
+            Collections.reverse(entries);
+        }
+        return entries;
+    }
+
+    /**
+     * range lex hanya bermakna jika semua score sama (seperti di redis), jika score sama di mulai dari tailSet min
+     */
+    private static List<ZSetValue.Entry> byLex(ZSetValue zset, LexBound min, LexBound max, boolean reverse) {
+
+        List<ZSetValue.Entry> entries = new ArrayList<>();
+        if (zset.size() == 0) {
+            return entries;
+        }
+        NavigableSet<ZSetValue.Entry> candidates = zset.entries();
+        double score = zset.first().score();
+        if (score == zset.last().score() && min.infinity() == 0) {
+            candidates = candidates.tailSet(new ZSetValue.Entry(min.value(), score), true);
+        }
+        for (ZSetValue.Entry entry : candidates) {
+            if (!min.aboveMin(entry.member())) {
+                continue;
+            }
+            if (!max.belowMax(entry.member())) {
+                break;
+            }
+            entries.add(entry);
+        }
+        if (reverse) {
+            Collections.reverse(entries);
+        }
+        return entries;
+    }
+
+    private static void pop(Session session, String[] argv, RespWriter out, boolean max) {
+
+        if (argv.length > 3) {
+            throw new RedisError(RedisError.SYNTAX);
+        }
+        long count = argv.length == 3 ? Args.parseLong(argv[2]) : 1;
+        if (count < 0) {
+            throw new RedisError("ERR value is out of range, must be positive");
+        }
+        Keyspace keyspace = session.keyspace();
+        ZSetValue zset = keyspace.getZSet(argv[1], false);
+        List<ZSetValue.Entry> popped = new ArrayList<>();
+        while (zset != null && popped.size() < count && zset.size() > 0) {
+            ZSetValue.Entry entry = max ? zset.last() : zset.first();
+            zset.remove(entry.member());
+            popped.add(entry);
+        }
+        if (zset != null) {
+            keyspace.removeIfEmpty(argv[1], zset);
+        }
+        out.array(popped.size() * 2);
+        for (ZSetValue.Entry entry : popped) {
+            out.bulk(entry.member());
+            out.bulk(entry.score());
+        }
+    }
+
+    private static long removeAll(Session session, String key, ZSetValue zset, List<ZSetValue.Entry> entries) {
+        for (ZSetValue.Entry entry : entries) {
+            zset.remove(entry.member());
+        }
+        session.keyspace().removeIfEmpty(key, zset);
+        return entries.size();
+    }
+
+}
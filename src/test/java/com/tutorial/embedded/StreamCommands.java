@@ -0,0 +1,848 @@
+package com.tutorial.embedded;
+
+import com.tutorial.embedded.StreamValue.Group;
+import com.tutorial.embedded.StreamValue.PendingEntry;
+import com.tutorial.embedded.StreamValue.StreamId;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+
+final class StreamCommands {
+
+    /**
+     * command stream: XADD (MAXLEN/MINID), XLEN, XRANGE/XREVRANGE, XDEL, XTRIM, XREAD, consumer group (XGROUP, XREADGROUP,
+     * XACK, XPENDING, XCLAIM, XAUTOCLAIM) dan XINFO
+     *  trim "~" (approximate) di jalankan exact, jadi panjang stream selalu tepat MAXLEN
+     */
+
+    private StreamCommands() {
+    }
+
+    static void register(CommandTable table) {
+
+        table.write("xadd", -5, 1, 1, StreamCommands::xadd);
+        table.read("xlen", 2, 1, 1, (session, argv, out) -> {
+            StreamValue stream = session.keyspace().getStream(argv[1], false);
+            out.integer(stream == null ? 0 : stream.entries.size());
+        });
+        table.read("xrange", -4, 1, 1, (session, argv, out) -> range(session, argv, out, false));
+        table.read("xrevrange", -4, 1, 1, (session, argv, out) -> range(session, argv, out, true));
+        table.write("xdel", -3, 1, 1, (session, argv, out) -> {
+            StreamValue stream = session.keyspace().getStream(argv[1], false);
+            long deleted = 0;
+            for (int i = 2; i < argv.length; i++) {
+                StreamId id = StreamId.parse(argv[i], 0);
+                deleted += stream != null && stream.delete(id) ? 1 : 0;
+            }
+            out.integer(deleted);
+        });
+        table.write("xtrim", -4, 1, 1, (session, argv, out) -> {
+            StreamValue stream = session.keyspace().getStream(argv[1], false);
+            int end = trimOptions(argv, 2);
+            if (end != argv.length) {
+                throw new RedisError(RedisError.SYNTAX);
+            }
+            out.integer(stream == null ? 0 : trim(stream, argv, 2));
+        });
+        table.read("xread", -4, 0, 0, StreamCommands::xread);
+        table.write("xreadgroup", -7, 0, 0, StreamCommands::xreadgroup);
+        table.write("xgroup", -2, 2, 2, StreamCommands::xgroup);
+        table.write("xack", -4, 1, 1, (session, argv, out) -> {
+            StreamValue stream = session.keyspace().getStream(argv[1], false);
+            Group group = stream == null ? null : stream.groups.get(argv[2]);
+            long acknowledged = 0;
+            for (int i = 3; i < argv.length; i++) {
+                StreamId id = StreamId.parse(argv[i], 0);
+                acknowledged += group != null && group.pending.remove(id) != null ? 1 : 0;
+            }
+            out.integer(acknowledged);
+        });
+        table.read("xpending", -3, 1, 1, StreamCommands::xpending);
+        table.write("xclaim", -6, 1, 1, StreamCommands::xclaim);
+        table.write("xautoclaim", -6, 1, 1, StreamCommands::xautoclaim);
+        table.read("xinfo", -2, 2, 2, StreamCommands::xinfo);
+    }
+
+    /**
+     * XADD key [NOMKSTREAM] [MAXLEN | MINID [= | ~] threshold [LIMIT count]] * | id field value [field value ...]
+     */
+    private static void xadd(Session session, String[] argv, RespWriter out) {
+
+        int i = 2;
+        boolean noMkStream = false;
+        if (Args.is(argv[i], "nomkstream")) {
+            noMkStream = true;
+            i++;
+        }
+        int trimStart = i;
+        i = trimOptions(argv, i);
+        boolean hasTrim = i != trimStart;
+        if (i >= argv.length || (argv.length - i - 1) == 0 || (argv.length - i - 1) % 2 != 0) {
+            throw RedisError.wrongArguments("xadd");
+        }
+
+        Keyspace keyspace = session.keyspace();
+        StreamValue stream = keyspace.getStream(argv[1], false);
+        if (stream == null) {
+            if (noMkStream) {
+                out.bulk(null);
+                return;
+            }
+            stream = new StreamValue();
+        }
+
+        StreamId id = resolveAddId(stream, argv[i]);
+        String[] fields = new String[argv.length - i - 1];
+        System.arraycopy(argv, i + 1, fields, 0, fields.length);
+
+        if (!keyspace.exists(argv[1])) {
+            keyspace.putKeepTtl(argv[1], stream);
+        }
+        stream.add(id, fields);
+        if (hasTrim) {
+            trim(stream, argv, trimStart);
+        }
+        out.bulk(id.toString());
+    }
+
+    private static StreamId resolveAddId(StreamValue stream, String value) {
+
+        if (value.equals("*")) {
+            return stream.nextId(System.currentTimeMillis());
+        }
+        StreamId id;
+        if (value.endsWith("-*")) {
+            long ms = StreamId.parse(value.substring(0, value.length() - 2), 0).ms();
+            id = ms == stream.lastId.ms() ? stream.lastId.next() : new StreamId(ms, 0);
+        } else {
+            id = StreamId.parse(value, 0);
+        }
+        if (id.equals(StreamId.MIN)) {
+            throw new RedisError("ERR The ID specified in XADD must be greater than 0-0");
+        }
+        if (id.compareTo(stream.lastId) <= 0) {
+            throw new RedisError("ERR The ID specified in XADD is equal or smaller than the target stream top item");
+        }
+        return id;
+    }
+
+    /**
+     * @return index argument setelah option trim (sama dengan from jika tidak ada trim)
+     */
+    private static int trimOptions(String[] argv, int from) {
+
+        int i = from;
+        if (i >= argv.length || !(Args.is(argv[i], "maxlen") || Args.is(argv[i], "minid"))) {
+            return from;
+        }
+        i++;
+        if (i < argv.length && (argv[i].equals("=") || argv[i].equals("~"))) {
+            i++;
+        }
+        if (i >= argv.length) {
+            throw new RedisError(RedisError.SYNTAX);
+        }
+        i++; // threshold
+        if (i + 1 < argv.length && Args.is(argv[i], "limit")) {
+            i += 2;
+        }
+        return i;
+    }
+
+    /**
+     * trim exact (MAXLEN n atau MINID id), LIMIT di abaikan
+     */
+    private static long trim(StreamValue stream, String[] argv, int from) {
+
+        boolean maxLen = Args.is(argv[from], "maxlen");
+        int thresholdIndex = argv[from + 1].equals("=") || argv[from + 1].equals("~") ? from + 2 : from + 1;
+        long removed = 0;
+        if (maxLen) {
+            long max = Args.parseLong(argv[thresholdIndex]);
+            if (max < 0) {
+                throw new RedisError("ERR The MAXLEN argument must be >= 0.");
+            }
+            while (stream.entries.size() > max) {
+                stream.delete(stream.entries.firstKey());
+                removed++;
+            }
+        } else {
+            StreamId minId = StreamId.parse(argv[thresholdIndex], 0);
+            while (!stream.entries.isEmpty() && stream.entries.firstKey().compareTo(minId) < 0) {
+                stream.delete(stream.entries.firstKey());
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * XRANGE key start end [COUNT n], XREVRANGE key end start [COUNT n], "-" dan "+" = id terkecil/terbesar, "(" exclusive
+     */
+    private static void range(Session session, String[] argv, RespWriter out, boolean reverse) {
+
+        long count = -1;
+        if (argv.length == 6 && Args.is(argv[4], "count")) {
+            count = Args.parseLong(argv[5]);
+        } else if (argv.length != 4) {
+            throw new RedisError(RedisError.SYNTAX);
+        }
+        StreamId start = rangeId(reverse ? argv[3] : argv[2], true);
+        StreamId end = rangeId(reverse ? argv[2] : argv[3], false);
+
+        StreamValue stream = session.keyspace().getStream(argv[1], false);
+        if (stream == null || start == null || end == null || start.compareTo(end) > 0 || count == 0) {
+            out.array(0);
+            return;
+        }
+        NavigableMap<StreamId, String[]> entries = stream.entries.subMap(start, true, end, true);
+        if (reverse) {
+            entries = entries.descendingMap();
+        }
+        writeEntries(out, entries, count);
+    }
+
+    /**
+     * @return null jika range exclusive melewati batas id
+     */
+    private static StreamId rangeId(String value, boolean start) {
+        if (value.equals("-")) {
+            return StreamId.MIN;
+        }
+        if (value.equals("+")) {
+            return StreamId.MAX;
+        }
+        if (value.startsWith("(")) {
+            StreamId id = StreamId.parse(value.substring(1), start ? 0 : -1L);
+            if (start) {
+                return id.equals(StreamId.MAX) ? null : id.next();
+            }
+            return id.equals(StreamId.MIN) ? null : id.previous();
+        }
+        return StreamId.parse(value, start ? 0 : -1L);
+    }
+
+    private static void writeEntries(RespWriter out, Map<StreamId, String[]> entries, long count) {
+        int size = count < 0 ? entries.size() : (int) Math.min(count, entries.size());
+        out.array(size);
+        int written = 0;
+        for (Map.Entry<StreamId, String[]> entry : entries.entrySet()) {
+            if (written++ >= size) {
+                break;
+            }
+            writeEntry(out, entry.getKey(), entry.getValue());
+        }
+    }
+
+    private static void writeEntry(RespWriter out, StreamId id, String[] fields) {
+        out.array(2);
+        out.bulk(id.toString());
+        if (fields == null) {
+            out.nullArray(); // entry di PEL yang sudah di hapus dari stream
+            return;
+        }
+        out.array(fields.length);
+        for (String field : fields) {
+            out.bulk(field);
+        }
+    }
+
+    private static int streamsIndex(String[] argv, int from) {
+        for (int i = from; i < argv.length; i++) {
+            if (Args.is(argv[i], "streams")) {
+                int keys = argv.length - i - 1;
+                if (keys == 0 || keys % 2 != 0) {
+                    throw new RedisError("ERR Unbalanced '" + argv[0].toLowerCase()
+                            + "' list of streams: for each stream key an ID or '$' must be specified.");
+                }
+                return i;
+            }
+        }
+        throw new RedisError(RedisError.SYNTAX);
+    }
+
+    /**
+     * XREAD [COUNT n] [BLOCK millis] STREAMS key [key ...] id [id ...], "$" = id terakhir ketika command di jalankan
+     */
+    private static void xread(Session session, String[] argv, RespWriter out) {
+
+        int streams = streamsIndex(argv, 1);
+        long count = -1;
+        Long block = null;
+        for (int i = 1; i < streams; i++) {
+            if (Args.is(argv[i], "count") && i + 1 < streams) {
+                count = Args.parseLong(argv[++i]);
+            } else if (Args.is(argv[i], "block") && i + 1 < streams) {
+                block = Args.parseLong(argv[++i]);
+                if (block < 0) {
+                    throw new RedisError("ERR timeout is negative");
+                }
+            } else {
+                throw new RedisError(RedisError.SYNTAX);
+            }
+        }
+
+        Keyspace keyspace = session.keyspace();
+        int keys = (argv.length - streams - 1) / 2;
+        String[] resolved = argv.clone();
+        Map<String, List<Map.Entry<StreamId, String[]>>> result = new LinkedHashMap<>();
+        for (int k = 0; k < keys; k++) {
+            String key = argv[streams + 1 + k];
+            int idIndex = streams + 1 + keys + k;
+            StreamValue stream = keyspace.getStream(key, false);
+            StreamId after;
+            if (argv[idIndex].equals("$")) {
+                after = stream == null ? StreamId.MIN : stream.lastId;
+                resolved[idIndex] = after.toString(); // ketika di jalankan ulang (blocking) "$" tetap id saat ini
+            } else {
+                after = StreamId.parse(argv[idIndex], 0);
+            }
+            if (stream == null) {
+                continue;
+            }
+            List<Map.Entry<StreamId, String[]>> entries = new ArrayList<>();
+            for (Map.Entry<StreamId, String[]> entry : stream.entries.tailMap(after, false).entrySet()) {
+                if (count > 0 && entries.size() >= count) {
+                    break;
+                }
+                entries.add(entry);
+            }
+            if (!entries.isEmpty()) {
+                result.put(key, entries);
+            }
+        }
+
+        if (result.isEmpty()) {
+            if (block != null && session.canBlock) {
+                LinkedHashSet<String> blockKeys = new LinkedHashSet<>(List.of(argv).subList(streams + 1, streams + 1 + keys));
+                session.block(resolved, blockKeys, block);
+                return;
+            }
+            out.nullArray();
+            return;
+        }
+        writeStreams(out, result);
+    }
+
+    private static void writeStreams(RespWriter out, Map<String, List<Map.Entry<StreamId, String[]>>> result) {
+        out.array(result.size());
+        result.forEach((key, entries) -> {
+            out.array(2);
+            out.bulk(key);
+            out.array(entries.size());
+            for (Map.Entry<StreamId, String[]> entry : entries) {
+                writeEntry(out, entry.getKey(), entry.getValue());
+            }
+        });
+    }
+
+    /**
+     * XREADGROUP GROUP group consumer [COUNT n] [BLOCK millis] [NOACK] STREAMS key [key ...] id [id ...]
+     *  ">" = entry baru (masuk PEL consumer), id lain = history PEL consumer setelah id tersebut
+     */
+    private static void xreadgroup(Session session, String[] argv, RespWriter out) {
+
+        if (!Args.is(argv[1], "group")) {
+            throw new RedisError("ERR Missing GROUP option for XREADGROUP");
+        }
+        String groupName = argv[2];
+        String consumerName = argv[3];
+        int streams = streamsIndex(argv, 4);
+        long count = -1;
+        Long block = null;
+        boolean noAck = false;
+        for (int i = 4; i < streams; i++) {
+            if (Args.is(argv[i], "count") && i + 1 < streams) {
+                count = Args.parseLong(argv[++i]);
+            } else if (Args.is(argv[i], "block") && i + 1 < streams) {
+                block = Args.parseLong(argv[++i]);
+                if (block < 0) {
+                    throw new RedisError("ERR timeout is negative");
+                }
+            } else if (Args.is(argv[i], "noack")) {
+                noAck = true;
+            } else {
+                throw new RedisError(RedisError.SYNTAX);
+            }
+        }
+
+        Keyspace keyspace = session.keyspace();
+        int keys = (argv.length - streams - 1) / 2;
+        List<StreamValue> values = new ArrayList<>();
+        for (int k = 0; k < keys; k++) {
+            String key = argv[streams + 1 + k];
+            StreamValue stream = keyspace.getStream(key, false);
+            if (stream == null || !stream.groups.containsKey(groupName)) {
+                throw new RedisError("NOGROUP No such key '" + key + "' or consumer group '" + groupName + "' in XREADGROUP with GROUP option");
+            }
+            values.add(stream);
+        }
+
+        long now = System.currentTimeMillis();
+        Map<String, List<Map.Entry<StreamId, String[]>>> result = new LinkedHashMap<>();
+        boolean onlyNew = true;
+        for (int k = 0; k < keys; k++) {
+            String key = argv[streams + 1 + k];
+            String idArgument = argv[streams + 1 + keys + k];
+            StreamValue stream = values.get(k);
+            Group group = stream.groups.get(groupName);
+            StreamValue.Consumer consumer = group.consumer(consumerName, now);
+            List<Map.Entry<StreamId, String[]>> entries = new ArrayList<>();
+
+            if (idArgument.equals(">")) {
+                for (Map.Entry<StreamId, String[]> entry : stream.entries.tailMap(group.lastDeliveredId, false).entrySet()) {
+                    if (count > 0 && entries.size() >= count) {
+                        break;
+                    }
+                    entries.add(entry);
+                    group.lastDeliveredId = entry.getKey();
+                    group.entriesRead++;
+                    if (!noAck) {
+                        PendingEntry pending = group.pending.get(entry.getKey());
+                        if (pending == null) {
+                            group.pending.put(entry.getKey(), new PendingEntry(consumerName, now));
+                        } else {
+                            pending.consumer = consumerName;
+                            pending.deliveryTime = now;
+                            pending.deliveryCount++;
+                        }
+                    }
+                }
+                if (!entries.isEmpty()) {
+                    consumer.activeTime = now;
+                    result.put(key, entries);
+                }
+            } else {
+                onlyNew = false;
+                StreamId after = StreamId.parse(idArgument, 0);
+                for (Map.Entry<StreamId, PendingEntry> pending : group.pending.tailMap(after, false).entrySet()) {
+                    if (count > 0 && entries.size() >= count) {
+                        break;
+                    }
+                    if (pending.getValue().consumer.equals(consumerName)) {
+                        entries.add(new AbstractMap.SimpleEntry<>(pending.getKey(), stream.entries.get(pending.getKey()))); // null = sudah di hapus
+                        pending.getValue().deliveryTime = now;
+                        pending.getValue().deliveryCount++;
+                    }
+                }
+                result.put(key, entries); // history selalu di kembalikan walaupun kosong
+            }
+        }
+
+        if (result.isEmpty() && onlyNew) {
+            if (block != null && session.canBlock) {
+                LinkedHashSet<String> blockKeys = new LinkedHashSet<>(List.of(argv).subList(streams + 1, streams + 1 + keys));
+                session.block(argv, blockKeys, block);
+                return;
+            }
+            out.nullArray();
+            return;
+        }
+        writeStreams(out, result);
+    }
+
+    private static void xgroup(Session session, String[] argv, RespWriter out) {
+
+        String subcommand = argv[1].toLowerCase();
+        if (argv.length < 4) {
+            throw RedisError.wrongArguments("xgroup|" + subcommand);
+        }
+        Keyspace keyspace = session.keyspace();
+        StreamValue stream = keyspace.getStream(argv[2], false);
+
+        if (subcommand.equals("create")) {
+            boolean mkStream = false;
+            for (int i = 5; i < argv.length; i++) {
+                if (Args.is(argv[i], "mkstream")) {
+                    mkStream = true;
+                } else if (Args.is(argv[i], "entriesread") && i + 1 < argv.length) {
+                    i++;
+                } else {
+                    throw new RedisError(RedisError.SYNTAX);
+                }
+            }
+            if (argv.length < 5) {
+                throw RedisError.wrongArguments("xgroup|create");
+            }
+            if (stream == null) {
+                if (!mkStream) {
+                    throw new RedisError("ERR The XGROUP subcommand requires the key to exist. Note that for CREATE you may want to use the MKSTREAM option to create an empty stream automatically.");
+                }
+                stream = keyspace.getStream(argv[2], true);
+            }
+            if (stream.groups.containsKey(argv[3])) {
+                throw new RedisError("BUSYGROUP Consumer Group name already exists");
+            }
+            StreamId id = argv[4].equals("$") ? stream.lastId : StreamId.parse(argv[4], 0);
+            stream.groups.put(argv[3], new Group(argv[3], id, argv[4].equals("$") ? stream.entriesAdded : 0));
+            out.ok();
+            return;
+        }
+
+        if (stream == null) {
+            throw new RedisError("ERR The XGROUP subcommand requires the key to exist. Note that for CREATE you may want to use the MKSTREAM option to create an empty stream automatically.");
+        }
+        Group group = stream.groups.get(argv[3]);
+        switch (subcommand) {
+            case "destroy" -> out.integer(stream.groups.remove(argv[3]) != null ? 1 : 0);
+            case "setid" -> {
+                requireGroup(group, argv[2], argv[3]);
+                if (argv.length < 5) {
+                    throw RedisError.wrongArguments("xgroup|setid");
+                }
+                group.lastDeliveredId = argv[4].equals("$") ? stream.lastId : StreamId.parse(argv[4], 0);
+                out.ok();
+            }
+            case "createconsumer" -> {
+                requireGroup(group, argv[2], argv[3]);
+                if (argv.length != 5) {
+                    throw RedisError.wrongArguments("xgroup|createconsumer");
+                }
+                boolean created = !group.consumers.containsKey(argv[4]);
+                group.consumer(argv[4], System.currentTimeMillis());
+                out.integer(created ? 1 : 0);
+            }
+            case "delconsumer" -> {
+                requireGroup(group, argv[2], argv[3]);
+                if (argv.length != 5) {
+                    throw RedisError.wrongArguments("xgroup|delconsumer");
+                }
+                long pending = group.pendingOf(argv[4]);
+                group.pending.values().removeIf(entry -> entry.consumer.equals(argv[4]));
+                group.consumers.remove(argv[4]);
+                out.integer(pending);
+            }
+            default -> throw new RedisError("ERR unknown subcommand '" + argv[1] + "'. Try XGROUP HELP.");
+        }
+    }
+
+    private static void requireGroup(Group group, String key, String name) {
+        if (group == null) {
+            throw new RedisError("NOGROUP No such consumer group '" + name + "' for key name '" + key + "'");
+        }
+    }
+
+    private static Group group(Session session, String key, String name) {
+        StreamValue stream = session.keyspace().getStream(key, false);
+        Group group = stream == null ? null : stream.groups.get(name);
+        if (group == null) {
+            throw new RedisError("NOGROUP No such key '" + key + "' or consumer group '" + name + "'");
+        }
+        return group;
+    }
+
+    /**
+     * XPENDING key group                                        (summary)
+     * XPENDING key group [IDLE min-idle] start end count [consumer] (extended)
+     */
+    private static void xpending(Session session, String[] argv, RespWriter out) {
+
+        Group group = group(session, argv[1], argv[2]);
+        if (argv.length == 3) {
+            if (group.pending.isEmpty()) {
+                out.array(4);
+                out.integer(0);
+                out.bulk(null);
+                out.bulk(null);
+                out.nullArray();
+                return;
+            }
+            Map<String, Long> perConsumer = new LinkedHashMap<>();
+            group.pending.values().forEach(entry -> perConsumer.merge(entry.consumer, 1L, Long::sum));
+            out.array(4);
+            out.integer(group.pending.size());
+            out.bulk(group.pending.firstKey().toString());
+            out.bulk(group.pending.lastKey().toString());
+            out.array(perConsumer.size());
+            perConsumer.forEach((consumer, pending) -> {
+                out.array(2);
+                out.bulk(consumer);
+                out.bulk(Long.toString(pending));
+            });
+            return;
+        }
+
+        int i = 3;
+        long minIdle = 0;
+        if (Args.is(argv[i], "idle")) {
+            minIdle = Args.parseLong(argv[i + 1]);
+            i += 2;
+        }
+        if (argv.length - i < 3 || argv.length - i > 4) {
+            throw new RedisError(RedisError.SYNTAX);
+        }
+        StreamId start = rangeId(argv[i], true);
+        StreamId end = rangeId(argv[i + 1], false);
+        long count = Args.parseLong(argv[i + 2]);
+        String consumer = argv.length - i == 4 ? argv[i + 3] : null;
+
+        long now = System.currentTimeMillis();
+        List<Map.Entry<StreamId, PendingEntry>> entries = new ArrayList<>();
+        if (start != null && end != null && start.compareTo(end) <= 0) {
+            for (Map.Entry<StreamId, PendingEntry> entry : group.pending.subMap(start, true, end, true).entrySet()) {
+                if (entries.size() >= count) {
+                    break;
+                }
+                PendingEntry pending = entry.getValue();
+                if ((consumer == null || pending.consumer.equals(consumer)) && now - pending.deliveryTime >= minIdle) {
+                    entries.add(entry);
+                }
+            }
+        }
+        out.array(entries.size());
+        for (Map.Entry<StreamId, PendingEntry> entry : entries) {
+            out.array(4);
+            out.bulk(entry.getKey().toString());
+            out.bulk(entry.getValue().consumer);
+            out.integer(now - entry.getValue().deliveryTime);
+            out.integer(entry.getValue().deliveryCount);
+        }
+    }
+
+    /**
+     * XCLAIM key group consumer min-idle-time id [id ...] [IDLE ms] [TIME unix-ms] [RETRYCOUNT n] [FORCE] [JUSTID] [LASTID id]
+     */
+    private static void xclaim(Session session, String[] argv, RespWriter out) {
+
+        StreamValue stream = session.keyspace().getStream(argv[1], false);
+        Group group = group(session, argv[1], argv[2]);
+        String consumerName = argv[3];
+        long minIdle = Args.parseLong(argv[4]);
+
+        List<StreamId> ids = new ArrayList<>();
+        int i = 5;
+        for (; i < argv.length; i++) {
+            try {
+                ids.add(StreamId.parse(argv[i], 0));
+            } catch (RedisError error) {
+                break; // argument pertama yang bukan id adalah option
+            }
+        }
+        long now = System.currentTimeMillis();
+        Long deliveryTime = null;
+        Long retryCount = null;
+        boolean force = false, justId = false;
+        for (; i < argv.length; i++) {
+            switch (argv[i].toLowerCase()) {
+                case "idle" -> deliveryTime = now - Args.parseLong(argv[++i]);
+                case "time" -> deliveryTime = Args.parseLong(argv[++i]);
+                case "retrycount" -> retryCount = Args.parseLong(argv[++i]);
+                case "force" -> force = true;
+                case "justid" -> justId = true;
+                case "lastid" -> {
+                    StreamId lastId = StreamId.parse(argv[++i], 0);
+                    if (lastId.compareTo(group.lastDeliveredId) > 0) {
+                        group.lastDeliveredId = lastId;
+                    }
+                }
+                default -> throw new RedisError("ERR Unrecognized XCLAIM option '" + argv[i] + "'");
+            }
+        }
+
+        StreamValue.Consumer consumer = group.consumer(consumerName, now);
+        List<Map.Entry<StreamId, String[]>> claimed = new ArrayList<>();
+        for (StreamId id : ids) {
+            PendingEntry pending = group.pending.get(id);
+            if (pending == null) {
+                if (!force || !stream.entries.containsKey(id)) {
+                    continue;
+                }
+                pending = new PendingEntry(consumerName, now);
+                pending.deliveryCount = 0;
+                group.pending.put(id, pending);
+            } else if (now - pending.deliveryTime < minIdle) {
+                continue;
+            }
+            String[] fields = stream.entries.get(id);
+            if (fields == null) {
+                group.pending.remove(id); // entry sudah di hapus dari stream
+                continue;
+            }
+            pending.consumer = consumerName;
+            pending.deliveryTime = deliveryTime != null ? deliveryTime : now;
+            if (retryCount != null) {
+                pending.deliveryCount = retryCount;
+            } else if (!justId) {
+                pending.deliveryCount++;
+            }
+            claimed.add(Map.entry(id, fields));
+        }
+        if (!claimed.isEmpty()) {
+            consumer.activeTime = now;
+        }
+
+        out.array(claimed.size());
+        for (Map.Entry<StreamId, String[]> entry : claimed) {
+            if (justId) {
+                out.bulk(entry.getKey().toString());
+            } else {
+                writeEntry(out, entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * XAUTOCLAIM key group consumer min-idle-time start [COUNT n] [JUSTID]
+     *  reply: [cursor berikutnya, entry yang di claim, id yang sudah di hapus dari stream]
+     */
+    private static void xautoclaim(Session session, String[] argv, RespWriter out) {
+
+        StreamValue stream = session.keyspace().getStream(argv[1], false);
+        Group group = group(session, argv[1], argv[2]);
+        String consumerName = argv[3];
+        long minIdle = Args.parseLong(argv[4]);
+        StreamId start = rangeId(argv[5], true);
+        long count = 100;
+        boolean justId = false;
+        for (int i = 6; i < argv.length; i++) {
+            if (Args.is(argv[i], "count") && i + 1 < argv.length) {
+                count = Args.parseLong(argv[++i]);
+                if (count < 1) {
+                    throw new RedisError("ERR COUNT must be > 0");
+                }
+            } else if (Args.is(argv[i], "justid")) {
+                justId = true;
+            } else {
+                throw new RedisError(RedisError.SYNTAX);
+            }
+        }
+
+        long now = System.currentTimeMillis();
+        StreamValue.Consumer consumer = group.consumer(consumerName, now);
+        List<Map.Entry<StreamId, String[]>> claimed = new ArrayList<>();
+        List<StreamId> deleted = new ArrayList<>();
+        StreamId cursor = StreamId.MIN;
+        long scanned = 0;
+        for (Map.Entry<StreamId, PendingEntry> entry : new ArrayList<>(group.pending.tailMap(start, true).entrySet())) {
+            if (scanned++ >= count) {
+                cursor = entry.getKey();
+                break;
+            }
+            PendingEntry pending = entry.getValue();
+            if (now - pending.deliveryTime < minIdle) {
+                continue;
+            }
+            String[] fields = stream.entries.get(entry.getKey());
+            if (fields == null) {
+                group.pending.remove(entry.getKey());
+                deleted.add(entry.getKey());
+                continue;
+            }
+            pending.consumer = consumerName;
+            pending.deliveryTime = now;
+            if (!justId) {
+                pending.deliveryCount++;
+            }
+            claimed.add(Map.entry(entry.getKey(), fields));
+        }
+        if (!claimed.isEmpty()) {
+            consumer.activeTime = now;
+        }
+
+        out.array(3);
+        out.bulk(cursor.toString());
+        out.array(claimed.size());
+        for (Map.Entry<StreamId, String[]> entry : claimed) {
+            if (justId) {
+                out.bulk(entry.getKey().toString());
+            } else {
+                writeEntry(out, entry.getKey(), entry.getValue());
+            }
+        }
+        out.array(deleted.size());
+        deleted.forEach(id -> out.bulk(id.toString()));
+    }
+
+    /**
+     * XINFO STREAM key, XINFO GROUPS key, XINFO CONSUMERS key group
+     */
+    private static void xinfo(Session session, String[] argv, RespWriter out) {
+
+        String subcommand = argv[1].toLowerCase();
+        if (argv.length < 3) {
+            throw RedisError.wrongArguments("xinfo|" + subcommand);
+        }
+        StreamValue stream = session.keyspace().getStream(argv[2], false);
+        if (stream == null) {
+            throw new RedisError("ERR no such key");
+        }
+        long now = System.currentTimeMillis();
+        switch (subcommand) {
+            case "stream" -> {
+                out.array(20);
+                out.bulk("length");
+                out.integer(stream.entries.size());
+                out.bulk("radix-tree-keys");
+                out.integer(stream.entries.size());
+                out.bulk("radix-tree-nodes");
+                out.integer(stream.entries.size());
+                out.bulk("last-generated-id");
+                out.bulk(stream.lastId.toString());
+                out.bulk("max-deleted-entry-id");
+                out.bulk(stream.maxDeletedId.toString());
+                out.bulk("entries-added");
+                out.integer(stream.entriesAdded);
+                out.bulk("recorded-first-entry-id");
+                out.bulk(stream.entries.isEmpty() ? StreamId.MIN.toString() : stream.entries.firstKey().toString());
+                out.bulk("groups");
+                out.integer(stream.groups.size());
+                out.bulk("first-entry");
+                writeOptionalEntry(out, stream.entries.firstEntry());
+                out.bulk("last-entry");
+                writeOptionalEntry(out, stream.entries.lastEntry());
+            }
+            case "groups" -> {
+                out.array(stream.groups.size());
+                for (Group group : stream.groups.values()) {
+                    out.array(12);
+                    out.bulk("name");
+                    out.bulk(group.name);
+                    out.bulk("consumers");
+                    out.integer(group.consumers.size());
+                    out.bulk("pending");
+                    out.integer(group.pending.size());
+                    out.bulk("last-delivered-id");
+                    out.bulk(group.lastDeliveredId.toString());
+                    out.bulk("entries-read");
+                    out.integer(group.entriesRead);
+                    out.bulk("lag");
+                    out.integer(stream.lag(group));
+                }
+            }
+            case "consumers" -> {
+                if (argv.length != 4) {
+                    throw RedisError.wrongArguments("xinfo|consumers");
+                }
+                Group group = stream.groups.get(argv[3]);
+                requireGroup(group, argv[2], argv[3]);
+                out.array(group.consumers.size());
+                for (StreamValue.Consumer consumer : group.consumers.values()) {
+                    out.array(8);
+                    out.bulk("name");
+                    out.bulk(consumer.name);
+                    out.bulk("pending");
+                    out.integer(group.pendingOf(consumer.name));
+                    out.bulk("idle");
+                    out.integer(now - consumer.seenTime);
+                    out.bulk("inactive");
+                    out.integer(consumer.activeTime < 0 ? -1 : now - consumer.activeTime);
+                }
+            }
+            default -> throw new RedisError("ERR unknown subcommand '" + argv[1] + "'. Try XINFO HELP.");
+        }
+    }
+
+    private static void writeOptionalEntry(RespWriter out, Map.Entry<StreamId, String[]> entry) {
+        if (entry == null) {
+            out.bulk(null);
+        } else {
+            writeEntry(out, entry.getKey(), entry.getValue());
+        }
+    }
+
+}
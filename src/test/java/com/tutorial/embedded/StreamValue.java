@@ -0,0 +1,152 @@
+package com.tutorial.embedded;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+final class StreamValue {
+
+    /**
+     * stream: entry urut berdasarkan id (TreeMap), consumer group dengan pending entries list (PEL)
+     */
+
+    record StreamId(long ms, long seq) implements Comparable<StreamId> {
+
+        static final StreamId MIN = new StreamId(0, 0);
+
+        static final StreamId MAX = new StreamId(-1L, -1L);
+
+        /**
+         * @param missingSeq seq jika id hanya berisi ms (0 untuk start, -1L = seq maksimal untuk end)
+         */
+        static StreamId parse(String value, long missingSeq) {
+            try {
+                int dash = value.indexOf('-');
+                if (dash < 0) {
+                    return new StreamId(Long.parseUnsignedLong(value), missingSeq);
+                }
+                return new StreamId(Long.parseUnsignedLong(value.substring(0, dash)), Long.parseUnsignedLong(value.substring(dash + 1)));
+            } catch (NumberFormatException exception) {
+                throw new RedisError("ERR Invalid stream ID specified as stream command argument");
+            }
+        }
+
+        StreamId next() {
+            return seq == -1L ? new StreamId(ms + 1, 0) : new StreamId(ms, seq + 1); // -1L = seq maksimal (unsigned)
+        }
+
+        StreamId previous() {
+            return seq == 0 ? new StreamId(ms - 1, -1L) : new StreamId(ms, seq - 1);
+        }
+
+        @Override
+        public int compareTo(StreamId other) {
+            int compare = Long.compareUnsigned(ms, other.ms);
+            return compare != 0 ? compare : Long.compareUnsigned(seq, other.seq);
+        }
+
+        @Override
+        public String toString() {
+            return Long.toUnsignedString(ms) + "-" + Long.toUnsignedString(seq);
+        }
+    }
+
+    static final class PendingEntry {
+
+        String consumer;
+
+        long deliveryTime;
+
+        long deliveryCount;
+
+        PendingEntry(String consumer, long deliveryTime) {
+            this.consumer = consumer;
+            this.deliveryTime = deliveryTime;
+            this.deliveryCount = 1;
+        }
+    }
+
+    static final class Consumer {
+
+        final String name;
+
+        long seenTime;
+
+        long activeTime = -1;
+
+        Consumer(String name, long seenTime) {
+            this.name = name;
+            this.seenTime = seenTime;
+        }
+    }
+
+    static final class Group {
+
+        final String name;
+
+        StreamId lastDeliveredId;
+
+        long entriesRead;
+
+        final TreeMap<StreamId, PendingEntry> pending = new TreeMap<>();
+
+        final Map<String, Consumer> consumers = new LinkedHashMap<>();
+
+        Group(String name, StreamId lastDeliveredId, long entriesRead) {
+            this.name = name;
+            this.lastDeliveredId = lastDeliveredId;
+            this.entriesRead = entriesRead;
+        }
+
+        Consumer consumer(String name, long now) {
+            Consumer consumer = consumers.computeIfAbsent(name, key -> new Consumer(key, now));
+            consumer.seenTime = now;
+            return consumer;
+        }
+
+        long pendingOf(String consumer) {
+            return pending.values().stream().filter(entry -> entry.consumer.equals(consumer)).count();
+        }
+    }
+
+    final TreeMap<StreamId, String[]> entries = new TreeMap<>();
+
+    final Map<String, Group> groups = new LinkedHashMap<>();
+
+    StreamId lastId = StreamId.MIN;
+
+    StreamId maxDeletedId = StreamId.MIN;
+
+    long entriesAdded;
+
+    /**
+     * id baru untuk XADD *, selalu lebih besar dari id terakhir walaupun jam mundur
+     */
+    StreamId nextId(long now) {
+        return Long.compareUnsigned(now, lastId.ms()) > 0 ? new StreamId(now, 0) : lastId.next();
+    }
+
+    void add(StreamId id, String[] fields) {
+        entries.put(id, fields);
+        lastId = id;
+        entriesAdded++;
+    }
+
+    boolean delete(StreamId id) {
+        if (entries.remove(id) == null) {
+            return false;
+        }
+        if (id.compareTo(maxDeletedId) > 0) {
+            maxDeletedId = id;
+        }
+        return true;
+    }
+
+    /**
+     * jumlah entry yang belum di baca group (lag di XINFO GROUPS)
+     */
+    long lag(Group group) {
+        return entries.tailMap(group.lastDeliveredId, false).size();
+    }
+
+}
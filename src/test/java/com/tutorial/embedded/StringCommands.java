@@ -0,0 +1,216 @@
+package com.tutorial.embedded;
+
+import java.math.BigDecimal;
+
+final class StringCommands {
+
+    /**
+     * command string: GET/SET (EX, PX, NX, XX, KEEPTTL, GET), MGET/MSET, INCR/DECR, APPEND, GETRANGE
+     */
+
+    private StringCommands() {
+    }
+
+    static void register(CommandTable table) {
+
+        table.read("get", 2, 1, 1, (session, argv, out) -> out.bulk(session.keyspace().getString(argv[1])));
+        table.write("set", -3, 1, 1, StringCommands::set);
+        table.write("setnx", 3, 1, 1, (session, argv, out) -> {
+            Keyspace keyspace = session.keyspace();
+            if (keyspace.exists(argv[1])) {
+                out.integer(0);
+                return;
+            }
+            keyspace.put(argv[1], argv[2]);
+            out.integer(1);
+        });
+        table.write("setex", 4, 1, 1, (session, argv, out) -> setWithTtl(session, argv, out, 1000));
+        table.write("psetex", 4, 1, 1, (session, argv, out) -> setWithTtl(session, argv, out, 1));
+        table.read("mget", -2, 1, -1, (session, argv, out) -> {
+            Keyspace keyspace = session.keyspace();
+            out.array(argv.length - 1);
+            for (int i = 1; i < argv.length; i++) {
+                Object value = keyspace.get(argv[i]);
+                out.bulk(value instanceof String string ? string : null); // tipe lain = nil, bukan WRONGTYPE
+            }
+        });
+        table.write("mset", -3, 1, -1, 2, (session, argv, out) -> {
+            if (argv.length % 2 == 0) {
+                throw RedisError.wrongArguments("mset");
+            }
+            for (int i = 1; i < argv.length; i += 2) {
+                session.keyspace().put(argv[i], argv[i + 1]);
+            }
+            out.ok();
+        });
+        table.write("msetnx", -3, 1, -1, 2, (session, argv, out) -> {
+            if (argv.length % 2 == 0) {
+                throw RedisError.wrongArguments("msetnx");
+            }
+            Keyspace keyspace = session.keyspace();
+            for (int i = 1; i < argv.length; i += 2) {
+                if (keyspace.exists(argv[i])) {
+                    out.integer(0);
+                    return;
+                }
+            }
+            for (int i = 1; i < argv.length; i += 2) {
+                keyspace.put(argv[i], argv[i + 1]);
+            }
+            out.integer(1);
+        });
+        table.write("incr", 2, 1, 1, (session, argv, out) -> out.integer(incrBy(session, argv[1], 1)));
+        table.write("decr", 2, 1, 1, (session, argv, out) -> out.integer(incrBy(session, argv[1], -1)));
+        table.write("incrby", 3, 1, 1, (session, argv, out) -> out.integer(incrBy(session, argv[1], Args.parseLong(argv[2]))));
+        table.write("decrby", 3, 1, 1, (session, argv, out) -> {
+            long decrement = Args.parseLong(argv[2]);
+            if (decrement == Long.MIN_VALUE) {
+                throw new RedisError("ERR decrement would overflow");
+            }
+            out.integer(incrBy(session, argv[1], -decrement));
+        });
+        table.write("incrbyfloat", 3, 1, 1, StringCommands::incrByFloat);
+        table.write("append", 3, 1, 1, (session, argv, out) -> {
+            Keyspace keyspace = session.keyspace();
+            String current = keyspace.getString(argv[1]);
+            String value = current == null ? argv[2] : current + argv[2];
+            keyspace.putKeepTtl(argv[1], value);
+            out.integer(value.length());
+        });
+        table.read("strlen", 2, 1, 1, (session, argv, out) -> {
+            String value = session.keyspace().getString(argv[1]);
+            out.integer(value == null ? 0 : value.length());
+        });
+        table.write("getset", 3, 1, 1, (session, argv, out) -> {
+            Keyspace keyspace = session.keyspace();
+            out.bulk(keyspace.getString(argv[1]));
+            keyspace.put(argv[1], argv[2]);
+        });
+        table.write("getdel", 2, 1, 1, (session, argv, out) -> {
+            Keyspace keyspace = session.keyspace();
+            String value = keyspace.getString(argv[1]);
+            if (value != null) {
+                keyspace.remove(argv[1]);
+            }
+            out.bulk(value);
+        });
+        table.read("getrange", 4, 1, 1, (session, argv, out) -> {
+            String value = session.keyspace().getString(argv[1]);
+            if (value == null || value.isEmpty()) {
+                out.bulk("");
+                return;
+            }
+            int start = Math.max(0, Args.normalizeIndex(Args.parseLong(argv[2]), value.length()));
+            int end = Math.min(value.length() - 1, Args.normalizeIndex(Args.parseLong(argv[3]), value.length()));
+            out.bulk(start > end ? "" : value.substring(start, end + 1));
+        });
+    }
+
+    /**
+     * SET key value [NX | XX] [GET] [EX seconds | PX millis | EXAT seconds | PXAT millis | KEEPTTL]
+     */
+    private static void set(Session session, String[] argv, RespWriter out) {
+
+        boolean nx = false, xx = false, get = false, keepTtl = false;
+        Long deadline = null;
+        for (int i = 3; i < argv.length; i++) {
+            String option = argv[i].toLowerCase();
+            switch (option) {
+                case "nx" -> nx = true;
+                case "xx" -> xx = true;
+                case "get" -> get = true;
+                case "keepttl" -> keepTtl = true;
+                case "ex", "px", "exat", "pxat" -> {
+                    if (deadline != null || i + 1 >= argv.length) {
+                        throw new RedisError(RedisError.SYNTAX);
+                    }
+                    long time = Args.parseLong(argv[++i]);
+                    if (time <= 0) {
+                        throw new RedisError("ERR invalid expire time in 'set' command");
+                    }
+                    deadline = switch (option) {
+                        case "ex" -> System.currentTimeMillis() + time * 1000;
+                        case "px" -> System.currentTimeMillis() + time;
+                        case "exat" -> time * 1000;
+                        default -> time;
+                    };
+                }
+                default -> throw new RedisError(RedisError.SYNTAX);
+            }
+        }
+        if ((nx && xx) || (keepTtl && deadline != null)) {
+            throw new RedisError(RedisError.SYNTAX);
+        }
+
+        Keyspace keyspace = session.keyspace();
+        String previous = get ? keyspace.getString(argv[1]) : null;
+        boolean exists = keyspace.exists(argv[1]);
+        if ((nx && exists) || (xx && !exists)) {
+            out.bulk(previous); // nil, atau value lama jika GET
+            return;
+        }
+
+        if (keepTtl) {
+            keyspace.putKeepTtl(argv[1], argv[2]);
+        } else {
+            keyspace.put(argv[1], argv[2]);
+        }
+        if (deadline != null) {
+            keyspace.expireAt(argv[1], deadline);
+        }
+        if (get) {
+            out.bulk(previous);
+        } else {
+            out.ok();
+        }
+    }
+
+    private static void setWithTtl(Session session, String[] argv, RespWriter out, long unitMillis) {
+        long time = Args.parseLong(argv[2]);
+        if (time <= 0) {
+            throw new RedisError("ERR invalid expire time in '" + argv[0].toLowerCase() + "' command");
+        }
+        Keyspace keyspace = session.keyspace();
+        keyspace.put(argv[1], argv[3]);
+        keyspace.expireAt(argv[1], System.currentTimeMillis() + time * unitMillis);
+        out.ok();
+    }
+
+    private static long incrBy(Session session, String key, long increment) {
+
+        Keyspace keyspace = session.keyspace();
+        String current = keyspace.getString(key);
+        long value = current == null ? 0 : Args.parseLong(current);
+        long result;
+        try {
+            result = Math.addExact(value, increment);
+        } catch (ArithmeticException exception) {
+            throw new RedisError("ERR increment or decrement would overflow");
+        }
+        keyspace.putKeepTtl(key, Long.toString(result));
+        return result;
+    }
+
+    private static void incrByFloat(Session session, String[] argv, RespWriter out) {
+
+        Keyspace keyspace = session.keyspace();
+        String current = keyspace.getString(argv[1]);
+        double value = current == null ? 0 : Args.parseDouble(current);
+        double result = value + Args.parseDouble(argv[2]);
+        if (Double.isNaN(result) || Double.isInfinite(result)) {
+            throw new RedisError("ERR increment would produce NaN or Infinity");
+        }
+        String formatted = formatFloat(result);
+        keyspace.putKeepTtl(argv[1], formatted);
+        out.bulk(formatted);
+    }
+
+    /**
+     * format INCRBYFLOAT/HINCRBYFLOAT redis (%.17Lg tanpa trailing zero dan tanpa eksponen)
+     */
+    static String formatFloat(double value) {
+        String formatted = new BigDecimal(Double.toString(value)).stripTrailingZeros().toPlainString();
+        return formatted.equals("-0") ? "0" : formatted;
+    }
+
+}
@@ -0,0 +1,94 @@
+package com.tutorial.embedded;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+final class ZSetValue {
+
+    /**
+     * sorted set: score per member (HashMap) dan urutan (score, member) di TreeSet, sama dengan skiplist + dict di redis
+     *  urutan member dengan score sama berdasarkan byte (String ISO-8859-1 di bandingkan per char = unsigned byte)
+     */
+
+    record Entry(String member, double score) implements Comparable<Entry> {
+        @Override
+        public int compareTo(Entry other) {
+            int compare = Double.compare(score, other.score);
+            return compare != 0 ? compare : member.compareTo(other.member);
+        }
+    }
+
+    private final Map<String, Double> scores = new HashMap<>();
+
+    private final TreeSet<Entry> entries = new TreeSet<>();
+
+    /**
+     * @return true jika member baru
+     */
+    boolean add(String member, double score) {
+        Double previous = scores.put(member, score);
+        if (previous != null) {
+            entries.remove(new Entry(member, previous));
+        }
+        entries.add(new Entry(member, score));
+        return previous == null;
+    }
+
+    boolean remove(String member) {
+        Double previous = scores.remove(member);
+        if (previous == null) {
+            return false;
+        }
+        entries.remove(new Entry(member, previous));
+        return true;
+    }
+
+    Double score(String member) {
+        return scores.get(member);
+    }
+
+    int size() {
+        return scores.size();
+    }
+
+    /**
+     * @return rank 0 based dari score terkecil, -1 jika tidak ada
+     */
+    int rank(String member) {
+        Double score = scores.get(member);
+        return score == null ? -1 : entries.headSet(new Entry(member, score), false).size();
+    }
+
+    NavigableSet<Entry> entries() {
+        return entries;
+    }
+
+    List<Entry> range(int start, int stop) {
+        List<Entry> result = new ArrayList<>();
+        if (start > stop) {
+            return result;
+        }
+        Iterator<Entry> iterator = entries.iterator();
+        for (int i = 0; i <= stop && iterator.hasNext(); i++) {
+            Entry entry = iterator.next();
+            if (i >= start) {
+                result.add(entry);
+            }
+        }
+        return result;
+    }
+
+    Entry first() {
+        return entries.isEmpty() ? null : entries.first();
+    }
+
+    Entry last() {
+        return entries.isEmpty() ? null : entries.last();
+    }
+
+}
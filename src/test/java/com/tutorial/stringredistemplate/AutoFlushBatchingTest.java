@@ -0,0 +1,95 @@
+package com.tutorial.stringredistemplate;
+
+import com.tutorial.redis.support.AutoFlushBatching;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+@Slf4j
+@SpringBootTest(properties = "app.redis.auto-flush.enabled=true")
+public class AutoFlushBatchingTest {
+
+    /**
+     * Auto Flush Batching
+     *  banyak thread memakai StringRedisTemplate (shared connection) bersamaan,
+     *  setiap thread tetap menerima reply miliknya sendiri dan jumlah flush ke socket lebih kecil dari jumlah write (satu per command)
+     */
+
+    private static final int THREADS = 32;
+
+    private static final int COMMANDS_PER_THREAD = 500;
+
+    @Autowired
+    StringRedisTemplate redisTemplate;
+
+    @Autowired
+    AutoFlushBatching autoFlushBatching;
+
+    @Test
+    void testConcurrentCommands() throws Exception {
+
+        long writesBefore = autoFlushBatching.getWrites();
+        long flushesBefore = autoFlushBatching.getFlushes();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                String key = "auto-flush:" + t;
+                futures.add(executor.submit(() -> {
+                    redisTemplate.delete(key);
+                    for (int i = 1; i <= COMMANDS_PER_THREAD; i++) {
+                        Assertions.assertEquals(i, redisTemplate.opsForValue().increment(key)); // reply sesuai urutan per thread
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        long writes = autoFlushBatching.getWrites() - writesBefore;
+        long flushes = autoFlushBatching.getFlushes() - flushesBefore;
+        log.info("writes {}, flushes {}, writes/flush {}", writes, flushes, (double) writes / flushes);
+        Assertions.assertTrue(writes >= THREADS * COMMANDS_PER_THREAD);
+        Assertions.assertTrue(flushes < writes);
+
+        for (int t = 0; t < THREADS; t++) {
+            Assertions.assertEquals(String.valueOf(COMMANDS_PER_THREAD), redisTemplate.opsForValue().get("auto-flush:" + t));
+            redisTemplate.delete("auto-flush:" + t);
+        }
+    }
+
+    @Test
+    void testTransaction() {
+
+        // MULTI/EXEC memakai koneksi dedicated, urutan command tetap sama walaupun flush di tunda
+        List<Object> results = redisTemplate.execute(new SessionCallback<>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> List<Object> execute(RedisOperations<K, V> operations) {
+                RedisOperations<String, String> string = (RedisOperations<String, String>) operations;
+                string.multi();
+                string.opsForValue().set("auto-flush:tx", "1");
+                string.opsForValue().increment("auto-flush:tx");
+                return string.exec();
+            }
+        });
+        Assertions.assertEquals(List.of(true, 2L), results);
+        redisTemplate.delete("auto-flush:tx");
+    }
+
+}
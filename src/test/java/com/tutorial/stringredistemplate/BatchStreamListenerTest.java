@@ -0,0 +1,46 @@
+package com.tutorial.stringredistemplate;
+
+import com.tutorial.data.Order;
+import com.tutorial.redis.support.BatchStreamMessageListenerContainer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@SpringBootTest
+public class BatchStreamListenerTest {
+
+    @Autowired
+    StringRedisTemplate redisTemplate;
+
+    /**
+     * Batch Listener Backoff
+     *  XREADGROUP ke group yang tidak ada selalu error (NOGROUP), sama seperti ketika redis mati
+     *  loop polling menunggu 100ms, 200ms, 400ms .. maksimal pollTimeout setelah error beruntun, bukan langsung poll ulang
+     */
+    @Test
+    void testBackoffAfterError() throws InterruptedException {
+
+        redisTemplate.delete("orders-backoff");
+        AtomicInteger errors = new AtomicInteger();
+
+        BatchStreamMessageListenerContainer<Order> container = new BatchStreamMessageListenerContainer<>(redisTemplate, Order.class,
+                new SimpleAsyncTaskExecutor("backoff-poll-"), 10, Duration.ofMillis(500));
+        container.register("orders-backoff", Consumer.from("missing-group", "consumer-0"), true, records -> {
+        }, throwable -> errors.incrementAndGet());
+        container.start();
+
+        Thread.sleep(1500); // 100 + 200 + 400 + 500 (+ 500)
+        container.stop();
+
+        Assertions.assertTrue(errors.get() > 0);
+        Assertions.assertTrue(errors.get() <= 6, "errors: " + errors.get());
+    }
+
+}
@@ -0,0 +1,94 @@
+package com.tutorial.stringredistemplate;
+
+import com.tutorial.data.Product;
+import com.tutorial.repository.ProductRedisRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@SpringBootTest
+public class BulkRepositoryTest {
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Autowired
+    private ProductRedisRepository productRedisRepository;
+
+    /**
+     * Bulk Repository
+     *  saveAllPipelined()/findAllByIdPipelined()/deleteAllByIdPipelined() mengirim perintah untuk banyak product dalam satu pipeline
+     *  data yang di simpan tetap bisa di baca dengan findById() biasa (format hash sama)
+     *  streamAll() membaca seluruh keyspace dengan SSCAN per chunk, memory terbatas sebesar chunk
+     */
+
+    @Test
+    void testBulkSaveAndFind(){
+
+        List<Product> products = new ArrayList<>();
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 2500; i++) {
+            products.add(Product.builder().id("B-" + i).name("bulk " + i).price(1000L + i).ttl(-1L).build());
+            ids.add("B-" + i);
+        }
+        productRedisRepository.saveAllPipelined(products);
+
+        Map<Object, Object> map = redisTemplate.opsForHash().entries("products:B-1");
+        Assertions.assertEquals("bulk 1", map.get("name"));
+        Assertions.assertTrue(redisTemplate.opsForSet().isMember("products", "B-2499"));
+        Assertions.assertEquals(products.get(10), productRedisRepository.findById("B-10").get());
+
+        List<Product> found = productRedisRepository.findAllByIdPipelined(ids);
+        Assertions.assertEquals(products, found);
+
+        productRedisRepository.deleteAllByIdPipelined(ids);
+        Assertions.assertTrue(productRedisRepository.findAllByIdPipelined(ids).isEmpty());
+        Assertions.assertFalse(redisTemplate.opsForSet().isMember("products", "B-1"));
+
+    }
+
+    @Test
+    void testBulkSaveTTL(){
+
+        Product product = Product.builder().id("B-TTL").name("bulk ttl").price(1000L).ttl(30L).build();
+        productRedisRepository.saveAllPipelined(List.of(product));
+
+        Long ttl = redisTemplate.getExpire("products:B-TTL");
+        Assertions.assertTrue(ttl > 0 && ttl <= 30);
+
+        productRedisRepository.deleteAllByIdPipelined(List.of("B-TTL"));
+
+    }
+
+    @Test
+    void testStreamAll(){
+
+        List<Product> products = new ArrayList<>();
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 2500; i++) {
+            products.add(Product.builder().id("S-" + i).name("stream " + i).price(1000L + i).ttl(-1L).build());
+            ids.add("S-" + i);
+        }
+        productRedisRepository.saveAllPipelined(products);
+
+        try (Stream<Product> stream = productRedisRepository.streamAll(100)) {
+            Set<String> found = stream.map(Product::getId)
+                    .filter(id -> id.startsWith("S-"))
+                    .collect(Collectors.toSet());
+            Assertions.assertEquals(Set.copyOf(ids), found);
+        }
+
+        productRedisRepository.deleteAllByIdPipelined(ids);
+
+    }
+
+}
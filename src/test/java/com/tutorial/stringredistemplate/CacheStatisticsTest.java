@@ -0,0 +1,73 @@
+package com.tutorial.stringredistemplate;
+
+import com.tutorial.redis.cache.RedisCacheStatisticsEndpoint;
+import com.tutorial.service.ProductRedisService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheManager;
+
+@SpringBootTest
+public class CacheStatisticsTest {
+
+    /**
+     * Cache Statistics
+     *  spring.cache.redis.enable-statistics=true, statistik RedisCache di tampilkan di /actuator/cachestats (hit ratio, latency, top keys)
+     *  dan meter cache.gets/ cache.puts/ cache.removals/ cache.lock.duration (spring boot) + cache.redis.latency
+     *  hit/miss di endpoint dan cache.gets cache.manager=cacheManager di hitung per pemanggil (StampedeProtectedCache)
+     */
+
+    @Autowired
+    ProductRedisService productRedisService;
+
+    @Autowired
+    RedisCacheManager redisCacheManager;
+
+    @Autowired
+    RedisCacheStatisticsEndpoint cacheStatisticsEndpoint;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Test
+    void testStatistics() {
+
+        productRedisService.removeProduct("STAT-1");
+        ((RedisCache) redisCacheManager.getCache("products")).clearStatistics();
+        RedisCacheStatisticsEndpoint.CacheReport before = cacheStatisticsEndpoint.cache("products");
+        Assertions.assertNotNull(before);
+
+        // @Cacheable(sync = true) -> StampedeProtectedCache.get(key, loader): satu get logis, miss -> loader + put
+        productRedisService.getProduct("STAT-1"); // miss + put
+        for (int i = 0; i < 3; i++) {
+            productRedisService.getProduct("STAT-1"); // hit
+        }
+
+        // hit/miss logis di hitung sejak cache di buat (tidak di reset clearStatistics), bandingkan selisihnya
+        RedisCacheStatisticsEndpoint.CacheReport report = cacheStatisticsEndpoint.cache("products");
+        Assertions.assertNotNull(report);
+        long hits = report.hits() - before.hits();
+        long misses = report.misses() - before.misses();
+        Assertions.assertEquals(3, hits);
+        Assertions.assertEquals(1, misses);
+        Assertions.assertEquals(0.75, (double) hits / (hits + misses), 0.0001);
+        Assertions.assertEquals(3, report.redisHits());
+        Assertions.assertEquals(1, report.redisMisses());
+        Assertions.assertNotNull(report.get());
+        Assertions.assertTrue(report.topKeys().stream().anyMatch(key -> key.key().equals("cache:products::STAT-1") && key.count() >= 4));
+
+        Timer getLatency = meterRegistry.find("cache.redis.latency").tag("cache", "products").tag("operation", "get").timer();
+        Assertions.assertNotNull(getLatency);
+        Assertions.assertTrue(getLatency.count() >= 4);
+
+        Assertions.assertNotNull(meterRegistry.find("cache.gets").tag("cache", "products").tag("cache.manager", "cacheManager")
+                .tag("result", "miss").functionCounter());
+
+        productRedisService.removeProduct("STAT-1");
+    }
+
+}
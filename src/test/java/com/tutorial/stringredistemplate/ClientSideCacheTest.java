@@ -0,0 +1,94 @@
+package com.tutorial.stringredistemplate;
+
+import com.tutorial.redis.cache.ClientSideCache;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+@SpringBootTest(properties = {
+        "app.redis.client-cache.enabled=true",
+        "app.redis.client-cache.prefixes=products:,cache:"
+})
+public class ClientSideCacheTest {
+
+    /**
+     * Client Side Cache
+     *  baca kedua dari memory (hit), perubahan dari koneksi lain (StringRedisTemplate) menghapus key dari memory lewat push invalidate
+     *  butuh redis >= 6 (RESP3), di lewati jika tracking tidak aktif
+     */
+
+    @Autowired
+    StringRedisTemplate redisTemplate;
+
+    @Autowired
+    ClientSideCache clientSideCache;
+
+    @BeforeEach
+    void setUp() {
+        Assumptions.assumeTrue(clientSideCache.isTracking(), "CLIENT TRACKING not available");
+    }
+
+    @Test
+    void testValueInvalidation() throws InterruptedException {
+
+        redisTemplate.opsForValue().set("cache:client-side", "v1");
+        Assertions.assertEquals("v1", clientSideCache.get("cache:client-side"));
+
+        long hits = clientSideCache.getHits();
+        Assertions.assertEquals("v1", clientSideCache.get("cache:client-side")); // dari memory
+        Assertions.assertEquals(hits + 1, clientSideCache.getHits());
+
+        redisTemplate.opsForValue().set("cache:client-side", "v2");
+        Assertions.assertEquals("v2", awaitValue(() -> clientSideCache.get("cache:client-side"), "v2"));
+
+        redisTemplate.delete("cache:client-side");
+        Assertions.assertNull(awaitValue(() -> clientSideCache.get("cache:client-side"), null));
+    }
+
+    @Test
+    void testHashInvalidation() throws InterruptedException {
+
+        redisTemplate.opsForHash().putAll("products:client-side", Map.of("name", "indomie", "price", "3000"));
+        Assertions.assertEquals("3000", clientSideCache.entries("products:client-side").get("price"));
+
+        redisTemplate.opsForHash().put("products:client-side", "price", "3500");
+        Assertions.assertEquals("3500", awaitValue(() -> clientSideCache.entries("products:client-side").get("price"), "3500"));
+        redisTemplate.delete("products:client-side");
+    }
+
+    @Test
+    void testKeyOutsidePrefixNotCached() {
+
+        redisTemplate.opsForValue().set("client-side:other", "v1");
+        long misses = clientSideCache.getMisses();
+        long hits = clientSideCache.getHits();
+        Assertions.assertEquals("v1", clientSideCache.get("client-side:other"));
+        Assertions.assertEquals("v1", clientSideCache.get("client-side:other"));
+        Assertions.assertEquals(misses, clientSideCache.getMisses()); // tidak di track mode BCAST, selalu ke redis
+        Assertions.assertEquals(hits, clientSideCache.getHits());
+        redisTemplate.delete("client-side:other");
+    }
+
+    /**
+     * push invalidate asynchronous, tunggu maksimal 2 detik
+     */
+    private static <T> T awaitValue(Supplier<T> supplier, T expected) throws InterruptedException {
+
+        long deadline = System.currentTimeMillis() + 2000;
+        T value = supplier.get();
+        while (!Objects.equals(expected, value) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            value = supplier.get();
+        }
+        return value;
+    }
+
+}
@@ -6,6 +6,9 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.List;
 
 @SpringBootTest
 public class DeclarativeCachingTest {
@@ -29,11 +32,17 @@ public class DeclarativeCachingTest {
      * CacheEvict
      *   Untuk menghapus data di Cache, selain secara otomatis menggunakan TTL, kita bisa menggunakan annotation @CacheEvict
      *   https://docs.spring.io/spring-framework/docs/current/javadoc-api/org/springframework/cache/annotation/CacheEvict.html
+     *
+     * Bulk Get
+     *   ProductRedisService.getProducts() membaca banyak key sekaligus dengan MGET, yang miss di load sekaligus lalu di simpan dengan pipeline SET
      */
 
     @Autowired
     ProductRedisService productRedisService;
 
+    @Autowired
+    StringRedisTemplate redisTemplate;
+
     @Test
     void testCacheableGetData(){
 
@@ -113,5 +122,25 @@ public class DeclarativeCachingTest {
 
     }
 
+    @Test
+    void testBulkGetData(){
+
+        productRedisService.removeProduct("P-011");
+        productRedisService.removeProduct("P-012");
+        productRedisService.putProduct(Product.builder().id("P-010").name("example").price(100L).build());
+
+        List<Product> products = productRedisService.getProducts(List.of("P-010", "P-011", "P-012"));
+
+        Assertions.assertEquals(List.of("P-010", "P-011", "P-012"), products.stream().map(Product::getId).toList());
+        Assertions.assertEquals("example", products.get(0).getName()); // dari cache
+        Assertions.assertEquals("sample", products.get(1).getName()); // di load
+        Assertions.assertTrue(redisTemplate.getExpire("cache:products::P-011") > 0); // di simpan dengan TTL cache
+        Assertions.assertEquals(products.get(2), productRedisService.getProduct("P-012")); // @Cacheable membaca hasil bulk get
+
+        productRedisService.removeProduct("P-010");
+        productRedisService.removeProduct("P-011");
+        productRedisService.removeProduct("P-012");
+
+    }
 
 }
@@ -0,0 +1,180 @@
+package com.tutorial.stringredistemplate;
+
+import com.tutorial.data.Product;
+import com.tutorial.embedded.EmbeddedRedisEnvironmentPostProcessor;
+import com.tutorial.embedded.EmbeddedRedisServer;
+import com.tutorial.repository.ProductRedisRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessagesSummary;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+@SpringBootTest
+@ActiveProfiles(EmbeddedRedisEnvironmentPostProcessor.PROFILE)
+public class EmbeddedRedisTest {
+
+    /**
+     * Embedded Redis
+     *  profile embedded-redis menjalankan EmbeddedRedisServer di dalam JVM test (port random),
+     *  jadi test bisa jalan tanpa redis di localhost:6379 (CI, laptop tanpa docker)
+     *  lettuce terhubung dengan RESP2 karena HELLO di tolak server
+     */
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Autowired
+    private RedisConnectionFactory connectionFactory;
+
+    @Autowired
+    private ProductRedisRepository productRedisRepository;
+
+    @Test
+    void testConnectedToEmbeddedServer() {
+
+        LettuceConnectionFactory lettuce = (LettuceConnectionFactory) connectionFactory;
+        Assertions.assertEquals(EmbeddedRedisServer.shared().getPort(), lettuce.getPort());
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            Assertions.assertEquals("PONG", connection.ping());
+        }
+
+    }
+
+    @Test
+    void testPipeline() {
+
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (int i = 0; i < 100; i++) {
+                connection.stringCommands().set(("embedded:" + i).getBytes(StandardCharsets.UTF_8), Integer.toString(i).getBytes(StandardCharsets.UTF_8));
+            }
+            connection.stringCommands().incr("embedded:99".getBytes(StandardCharsets.UTF_8));
+            return null;
+        });
+        Assertions.assertEquals(101, results.size());
+        Assertions.assertEquals(100L, results.get(100));
+        Assertions.assertEquals("100", redisTemplate.opsForValue().get("embedded:99"));
+
+        redisTemplate.opsForValue().set("embedded:ttl", "value", Duration.ofMillis(200));
+        Assertions.assertTrue(redisTemplate.getExpire("embedded:ttl", TimeUnit.MILLISECONDS) > 0);
+
+    }
+
+    @Test
+    void testTransaction() {
+
+        redisTemplate.opsForValue().set("embedded:watch", "1");
+        List<Object> results = redisTemplate.execute(new SessionCallback<>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> List<Object> execute(RedisOperations<K, V> operations) throws DataAccessException {
+                RedisOperations<String, String> string = (RedisOperations<String, String>) operations;
+                string.watch("embedded:watch");
+                redisTemplate.opsForValue().set("embedded:watch", "2"); // koneksi lain mengubah key yang di WATCH
+                string.multi();
+                string.opsForValue().set("embedded:watch", "3");
+                return string.exec();
+            }
+        });
+        Assertions.assertTrue(results.isEmpty()); // transaksi di batalkan
+        Assertions.assertEquals("2", redisTemplate.opsForValue().get("embedded:watch"));
+
+    }
+
+    @Test
+    void testBlockingPop() {
+
+        redisTemplate.delete("embedded:queue");
+        CompletableFuture.runAsync(() -> {
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+            redisTemplate.opsForList().rightPush("embedded:queue", "job");
+        });
+        Assertions.assertEquals("job", redisTemplate.opsForList().leftPop("embedded:queue", Duration.ofSeconds(2)));
+        Assertions.assertNull(redisTemplate.opsForList().leftPop("embedded:queue", Duration.ofMillis(200))); // timeout
+
+    }
+
+    @Test
+    void testStreamConsumerGroup() {
+
+        redisTemplate.delete("embedded:stream");
+        redisTemplate.opsForStream().createGroup("embedded:stream", ReadOffset.from("0"), "embedded-group"); // MKSTREAM
+        RecordId id = redisTemplate.opsForStream().add(MapRecord.create("embedded:stream", Map.of("name", "order-1")));
+
+        List<MapRecord<String, Object, Object>> records = redisTemplate.opsForStream().read(Consumer.from("embedded-group", "consumer-1"),
+                StreamOffset.create("embedded:stream", ReadOffset.lastConsumed()));
+        Assertions.assertEquals(1, records.size());
+        Assertions.assertEquals(id, records.get(0).getId());
+
+        PendingMessagesSummary pending = redisTemplate.opsForStream().pending("embedded:stream", "embedded-group");
+        Assertions.assertEquals(1, pending.getTotalPendingMessages());
+        Assertions.assertEquals(1L, redisTemplate.opsForStream().acknowledge("embedded:stream", "embedded-group", id));
+        Assertions.assertEquals(0, redisTemplate.opsForStream().pending("embedded:stream", "embedded-group").getTotalPendingMessages());
+
+    }
+
+    @Test
+    void testPubSub() throws InterruptedException {
+
+        CountDownLatch latch = new CountDownLatch(1);
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.subscribe((message, pattern) -> {
+                if ("hello".equals(new String(message.getBody(), StandardCharsets.UTF_8))) {
+                    latch.countDown();
+                }
+            }, "embedded:channel".getBytes(StandardCharsets.UTF_8));
+
+            Thread.sleep(100); // tunggu SUBSCRIBE di proses server
+            redisTemplate.convertAndSend("embedded:channel", "hello");
+            Assertions.assertTrue(latch.await(2, TimeUnit.SECONDS));
+            connection.getSubscription().unsubscribe();
+        }
+
+    }
+
+    @Test
+    void testScript() {
+
+        Long result = redisTemplate.execute(new DefaultRedisScript<>("""
+                redis.call('SET', KEYS[1], ARGV[1])
+                return redis.call('INCRBY', KEYS[1], ARGV[2])
+                """, Long.class), List.of("embedded:script"), "10", "5");
+        Assertions.assertEquals(15L, result);
+
+        // ProductSortedIndex memakai script lua dan ZRANGEBYSCORE
+        productRedisRepository.save(Product.builder().id("EMB-1").name("embedded").price(424_242L).build());
+        Assertions.assertEquals(List.of("EMB-1"), productRedisRepository.findByPriceBetween(424_242L, 424_242L, PageRequest.of(0, 10))
+                .map(Product::getId).getContent());
+        productRedisRepository.deleteById("EMB-1");
+
+    }
+
+}
@@ -0,0 +1,66 @@
+package com.tutorial.stringredistemplate;
+
+import com.tutorial.data.Product;
+import com.tutorial.repository.ProductExpiryReaper;
+import com.tutorial.repository.ProductRedisRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+@SpringBootTest(properties = {"app.repository.expiry.mode=reaper", "app.repository.expiry.reap-interval=1h"})
+public class ExpiryReaperTest {
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Autowired
+    private ProductRedisRepository productRedisRepository;
+
+    @Autowired
+    private ProductExpiryReaper reaper;
+
+    /**
+     * Expiry Reaper
+     *  tanpa keyspace events, id product yang expire tetap ada di set products dan index
+     *  deadline di simpan di products:expires, reaper membersihkan id yang sudah lewat deadline per batch
+     *  query index juga membersihkan id yang hash nya sudah tidak ada (lazy)
+     */
+
+    @Test
+    void testReapExpired() throws InterruptedException {
+
+        productRedisRepository.save(Product.builder().id("E-1").name("expire 1").price(777_001L).ttl(1L).build());
+        productRedisRepository.saveAllPipelined(List.of(Product.builder().id("E-2").name("expire 2").price(777_002L).ttl(1L).build()));
+        Assertions.assertNotNull(redisTemplate.opsForZSet().score("products:expires", "E-1"));
+        Assertions.assertNotNull(redisTemplate.opsForZSet().score("products:expires", "E-2"));
+
+        Thread.sleep(Duration.ofMillis(2500));
+        Assertions.assertTrue(redisTemplate.opsForSet().isMember("products", "E-1")); // hash sudah expire, id masih ada
+
+        Assertions.assertTrue(reaper.reap() >= 2);
+        Assertions.assertFalse(redisTemplate.opsForSet().isMember("products", "E-1"));
+        Assertions.assertFalse(redisTemplate.opsForSet().isMember("products", "E-2"));
+        Assertions.assertNull(redisTemplate.opsForZSet().score("products:expires", "E-1"));
+        Assertions.assertNull(redisTemplate.opsForZSet().score("products:sorted:price", "E-2"));
+
+    }
+
+    @Test
+    void testLazyCleanupOnRead() throws InterruptedException {
+
+        productRedisRepository.save(Product.builder().id("E-3").name("expire 3").price(777_003L).ttl(1L).build());
+        Thread.sleep(Duration.ofMillis(2500));
+
+        Assertions.assertTrue(productRedisRepository.findByPriceBetween(777_003L, 777_003L, PageRequest.of(0, 10)).isEmpty());
+        Assertions.assertFalse(redisTemplate.opsForSet().isMember("products", "E-3"));
+        Assertions.assertNull(redisTemplate.opsForZSet().score("products:expires", "E-3"));
+
+    }
+
+}
@@ -0,0 +1,94 @@
+package com.tutorial.stringredistemplate;
+
+import com.tutorial.data.Product;
+import com.tutorial.repository.ProductRedisRepository;
+import com.tutorial.repository.ProductSortedIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@SpringBootTest
+public class IndexRepositoryTest {
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Autowired
+    private ProductRedisRepository productRedisRepository;
+
+    @Autowired
+    private ProductSortedIndex productSortedIndex;
+
+    /**
+     * Secondary Index (sorted set)
+     *  findByPriceBetween() dan findByNameStartingWith() di jalankan di redis (ZRANGEBYSCORE / ZRANGEBYLEX) dengan paging
+     *  index di update ketika save()/delete() dan saveAllPipelined()/deleteAllByIdPipelined()
+     */
+
+    private final List<String> ids = new ArrayList<>();
+
+    @BeforeEach
+    void setUp(){
+        productSortedIndex.clear(); // sisa test lain, misal product expire tanpa keyspace events masih ada di index
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            products.add(Product.builder().id("I-" + i).name((i % 2 == 0 ? "indomie " : "mie sedap ") + i).price(1000L + i * 100).ttl(-1L).build());
+            ids.add("I-" + i);
+        }
+        productRedisRepository.saveAllPipelined(products);
+    }
+
+    @AfterEach
+    void tearDown(){
+        productRedisRepository.deleteAllByIdPipelined(ids);
+    }
+
+    @Test
+    void testFindByPriceBetween(){
+
+        Page<Product> page = productRedisRepository.findByPriceBetween(2000L, 3000L, PageRequest.of(1, 5)); // price 2000..3000 = I-10..I-20
+
+        Assertions.assertEquals(11, page.getTotalElements());
+        Assertions.assertEquals(List.of("I-15", "I-16", "I-17", "I-18", "I-19"), page.map(Product::getId).getContent());
+
+    }
+
+    @Test
+    void testFindByNameStartingWith(){
+
+        Page<Product> page = productRedisRepository.findByNameStartingWith("indomie", PageRequest.of(0, 10));
+
+        Assertions.assertEquals(25, page.getTotalElements());
+        Assertions.assertTrue(page.getContent().stream().allMatch(product -> product.getName().startsWith("indomie")));
+        Assertions.assertEquals("indomie 0", page.getContent().get(0).getName()); // urut berdasarkan name
+
+    }
+
+    @Test
+    void testIndexUpdatedOnSaveAndDelete(){
+
+        productRedisRepository.save(Product.builder().id("I-0").name("sarimi").price(99_000L).ttl(-1L).build()); // name dan price berubah
+
+        Assertions.assertEquals(24, productRedisRepository.findByNameStartingWith("indomie", PageRequest.of(0, 10)).getTotalElements());
+        Assertions.assertEquals("I-0", productRedisRepository.findByNameStartingWith("sari", PageRequest.of(0, 10)).getContent().get(0).getId());
+        Assertions.assertEquals(1, productRedisRepository.findByPriceBetween(90_000L, 100_000L, PageRequest.of(0, 10)).getTotalElements());
+
+        productRedisRepository.deleteById("I-0");
+        Assertions.assertEquals(0, productRedisRepository.findByPriceBetween(90_000L, 100_000L, PageRequest.of(0, 10)).getTotalElements());
+
+        redisTemplate.delete("products:I-1"); // hash hilang tanpa event (misal expire), di hapus dari index ketika query
+        productRedisRepository.findByPriceBetween(1100L, 1100L, PageRequest.of(0, 10));
+        Assertions.assertNull(redisTemplate.opsForZSet().score("products:sorted:price", "I-1"));
+
+    }
+
+}
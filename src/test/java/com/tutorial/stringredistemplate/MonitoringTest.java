@@ -1,10 +1,38 @@
 package com.tutorial.stringredistemplate;
 
+import com.tutorial.redis.support.CachedRedisHealthIndicator;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.ReactiveRedisCallback;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
 
 @SpringBootTest
 public class MonitoringTest {
 
+    @Autowired
+    StringRedisTemplate redisTemplate;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Autowired
+    CachedRedisHealthIndicator redisHealthIndicator;
+
     /**
      * Monitoring
      *   Saat kita menggunakan Spring Data Redis di Spring Boot, secara otomatis akan diredistrasikan RedisHealthIndicator
@@ -68,4 +96,85 @@ public class MonitoringTest {
      * }
      */
 
+    /**
+     * Command Metrics
+     *  lettuce.command.completion per command (tag command), redis.pipeline.size (command in-flight) dan redis.commands.errors
+     *  endpoint: http://localhost:8080/actuator/metrics/lettuce.command.completion?tag=command:SET
+     *            http://localhost:8080/actuator/prometheus
+     */
+    @Test
+    void testCommandMetrics() throws InterruptedException {
+
+        redisTemplate.opsForValue().set("monitoring:value", "1");
+        redisTemplate.opsForValue().get("monitoring:value");
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+            for (int i = 0; i < 100; i++) {
+                stringConnection.incr("monitoring:value");
+            }
+            return null;
+        });
+        Assertions.assertThrows(DataAccessException.class, () -> redisTemplate.opsForHash().get("monitoring:value", "field")); // WRONGTYPE
+
+        Timer set = meterRegistry.find("lettuce.command.completion").tag("command", "SET").timer();
+        Assertions.assertNotNull(set);
+        Assertions.assertTrue(set.count() > 0);
+
+        DistributionSummary pipelineSize = meterRegistry.find("redis.pipeline.size").summary();
+        Assertions.assertNotNull(pipelineSize);
+        Assertions.assertTrue(pipelineSize.max() > 1); // command pipeline di kirim sebelum reply sebelumnya datang
+
+        long deadline = System.currentTimeMillis() + 1000; // counter error di catat di callback event loop
+        while (meterRegistry.find("redis.commands.errors").tag("command", "HGET").counter() == null && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Assertions.assertNotNull(meterRegistry.find("redis.commands.errors").tag("command", "HGET").counter());
+        redisTemplate.delete("monitoring:value");
+    }
+
+    /**
+     * Cached Health
+     *  component redis di /actuator/health di isi CachedRedisHealthIndicator, di probe di background setiap app.health.redis.interval
+     *  detail: version, latencyMillis, checkedAt, orders (running, consumers, pending, lag, queued), customers (running, sharded, queued)
+     *  health() tidak mengakses redis, berapa kali pun di panggil hasilnya sama sampai probe berikutnya
+     */
+    @Test
+    void testCachedHealth() throws InterruptedException {
+
+        long deadline = System.currentTimeMillis() + 5000; // probe pertama asynchronous
+        while (Status.UNKNOWN.equals(redisHealthIndicator.health().getStatus()) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+
+        Health health = redisHealthIndicator.health();
+        Assertions.assertEquals(Status.UP, health.getStatus());
+        Assertions.assertNotNull(health.getDetails().get("version"));
+        Assertions.assertNotNull(health.getDetails().get("orders"));
+        Assertions.assertNotNull(health.getDetails().get("customers"));
+
+        for (int i = 0; i < 1000; i++) {
+            Assertions.assertSame(health, redisHealthIndicator.health()); // hasil cache, tanpa INFO/ PING
+        }
+    }
+
+    /**
+     * probe yang gagal ketika di susun (execute melempar exception langsung, tanpa Mono) tetap menghasilkan DOWN
+     *  dan tidak membuat semua probe berikutnya di lewati
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void testProbeAssemblyFailure() {
+
+        ReactiveStringRedisTemplate failingTemplate = Mockito.mock(ReactiveStringRedisTemplate.class);
+        Mockito.when(failingTemplate.execute(Mockito.any(ReactiveRedisCallback.class)))
+                .thenThrow(new RedisConnectionFailureException("connection refused"));
+        CachedRedisHealthIndicator indicator = new CachedRedisHealthIndicator(failingTemplate, Duration.ofSeconds(10), Duration.ofSeconds(1));
+
+        indicator.probe();
+        Assertions.assertEquals(Status.DOWN, indicator.health().getStatus());
+
+        indicator.probe();
+        Mockito.verify(failingTemplate, Mockito.times(2)).execute(Mockito.any(ReactiveRedisCallback.class));
+    }
+
 }
@@ -0,0 +1,93 @@
+package com.tutorial.stringredistemplate;
+
+import com.tutorial.data.Product;
+import com.tutorial.redis.cache.NearCache;
+import com.tutorial.redis.cache.NearCacheManager;
+import com.tutorial.redis.cache.StampedeProtectedCache;
+import com.tutorial.redis.cache.StampedeProtectedCacheMeterBinderProvider;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.metrics.cache.RedisCacheMeterBinderProvider;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+
+@SpringBootTest(properties = "app.cache.near.enabled=true")
+public class NearCacheTest {
+
+    @Autowired
+    StringRedisTemplate redisTemplate;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    @Autowired
+    RedisCacheManager redisCacheManager;
+
+    /**
+     * Near Cache
+     *  cache L1 di memory JVM di depan RedisCacheManager, ketika data ada di L1 tidak perlu lagi round trip ke redis
+     *  perubahan data (put/evict) di broadcast lewat pubsub channel cache:invalidation agar L1 di node lain di hapus
+     */
+
+    @Test
+    void testNearCacheHit(){
+
+        Cache cache = cacheManager.getCache("products");
+        Assertions.assertInstanceOf(NearCache.class, ((StampedeProtectedCache) cache).getDelegate());
+
+        Product product = Product.builder().id("P-100").name("near").price(100L).build();
+        cache.put("P-100", product);
+
+        redisTemplate.delete("cache:products::P-100"); // hapus langsung di redis, L1 masih menyimpan data
+        Assertions.assertEquals(product, cache.get("P-100", Product.class));
+
+        cache.evict("P-100");
+        Assertions.assertNull(cache.get("P-100"));
+
+    }
+
+    @Test
+    void testNearCacheInvalidation() throws InterruptedException {
+
+        Cache cache = cacheManager.getCache("products");
+        Product product = Product.builder().id("P-101").name("near").price(100L).build();
+        cache.put("P-101", product);
+        redisTemplate.delete("cache:products::P-101");
+
+        // pura pura menjadi node lain yang menghapus data P-101
+        redisTemplate.convertAndSend(NearCacheManager.INVALIDATION_CHANNEL, "other-node\u0000products\u0000P-101");
+        Thread.sleep(Duration.ofSeconds(1));
+
+        Assertions.assertNull(cache.get("P-101"));
+
+    }
+
+    /**
+     * metrics L1 dan L2 sama sama muncul di prometheus: nama meter sama (cache.gets), key tag sama, beda nilai cache.manager
+     */
+    @Test
+    void testNearCacheMetrics(){
+
+        PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        new RedisCacheMeterBinderProvider().getMeterBinder((RedisCache) redisCacheManager.getCache("products"),
+                Tags.of("cache.manager", "redisCacheManager")).bindTo(registry);
+        new StampedeProtectedCacheMeterBinderProvider().getMeterBinder((StampedeProtectedCache) cacheManager.getCache("products"),
+                Tags.of("cache.manager", "cacheManager")).bindTo(registry);
+
+        String scrape = registry.scrape();
+        Assertions.assertTrue(scrape.contains("cache_gets_total{cache=\"products\",cache_manager=\"redisCacheManager\""));
+        Assertions.assertTrue(scrape.contains("cache_gets_total{cache=\"products\",cache_manager=\"near\""));
+
+    }
+
+}
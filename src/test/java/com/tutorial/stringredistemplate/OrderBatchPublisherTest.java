@@ -0,0 +1,41 @@
+package com.tutorial.stringredistemplate;
+
+import com.tutorial.data.Order;
+import com.tutorial.redis.stream.OrderBatchPublisher;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.connection.stream.RecordId;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+@SpringBootTest
+public class OrderBatchPublisherTest {
+
+    @Autowired
+    OrderBatchPublisher orderBatchPublisher;
+
+    /**
+     * Batch Publisher
+     *  order dari banyak thread di kirim per batch (pipeline XADD), setiap order mendapat RecordId masing-masing
+     */
+
+    @Test
+    void testPublishConcurrently(){
+
+        List<CompletableFuture<RecordId>> futures = IntStream.range(0, 2000).parallel()
+                .mapToObj(i -> orderBatchPublisher.publish(new Order("BATCH-" + i, 1000L)))
+                .toList();
+
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+
+        List<RecordId> ids = futures.stream().map(CompletableFuture::join).toList();
+        Assertions.assertEquals(2000, ids.stream().distinct().count()); // tidak ada order yang tertukar / hilang
+        ids.forEach(Assertions::assertNotNull);
+
+    }
+
+}
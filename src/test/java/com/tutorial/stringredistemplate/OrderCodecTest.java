@@ -0,0 +1,83 @@
+package com.tutorial.stringredistemplate;
+
+import com.tutorial.data.Order;
+import com.tutorial.redis.codec.BinaryCodecHashMapper;
+import com.tutorial.redis.codec.OrderCodec;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.ObjectRecord;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.List;
+
+@SpringBootTest
+public class OrderCodecTest {
+
+    @Autowired
+    StringRedisTemplate redisTemplate;
+
+    @Autowired
+    RedisConnectionFactory connectionFactory;
+
+    BinaryCodecHashMapper<Order> hashMapper = new BinaryCodecHashMapper<>(new OrderCodec());
+
+    StringRedisTemplate binaryTemplate; // hash value byte[], seperti orderStreamTemplate di RedisConfig
+
+    @BeforeEach
+    void setUp(){
+        binaryTemplate = new StringRedisTemplate(connectionFactory);
+        binaryTemplate.setHashValueSerializer(RedisSerializer.byteArray());
+        binaryTemplate.afterPropertiesSet();
+    }
+
+    /**
+     * Order Codec di stream
+     *  Order di simpan sebagai satu field "p" (OrderCodec), bukan _class + field per property (ObjectHashMapper)
+     *  entry lama format ObjectHashMapper tetap bisa di baca
+     */
+
+    @AfterEach
+    void tearDown(){
+        redisTemplate.delete("orders-codec");
+    }
+
+    @Test
+    void testPackedRecord(){
+
+        StreamOperations<String, Object, Object> operations = binaryTemplate.opsForStream(hashMapper);
+        Order order = new Order("O-100", 1000L);
+        RecordId id = operations.add(ObjectRecord.create("orders-codec", order));
+
+        List<MapRecord<String, Object, Object>> raw = binaryTemplate.opsForStream().range("orders-codec", Range.unbounded());
+        Assertions.assertEquals(1, raw.get(0).getValue().size()); // hanya satu field
+        byte[] payload = (byte[]) raw.get(0).getValue().get(BinaryCodecHashMapper.PAYLOAD_FIELD);
+        Assertions.assertEquals(0xB1, payload[0] & 0xFF); // magic di simpan 1 byte, bukan 2 byte UTF-8
+
+        List<ObjectRecord<String, Order>> records = operations.range(Order.class, "orders-codec", Range.unbounded());
+        Assertions.assertEquals(id, records.get(0).getId());
+        Assertions.assertEquals(order, records.get(0).getValue());
+
+    }
+
+    @Test
+    void testReadObjectHashMapperRecord(){
+
+        Order order = new Order("O-101", 2000L);
+        redisTemplate.opsForStream().add(ObjectRecord.create("orders-codec", order)); // format lama
+
+        List<ObjectRecord<String, Order>> records = binaryTemplate.opsForStream(hashMapper).range(Order.class, "orders-codec", Range.unbounded());
+        Assertions.assertEquals(order, records.get(0).getValue());
+
+    }
+
+}
@@ -0,0 +1,61 @@
+package com.tutorial.stringredistemplate;
+
+import com.tutorial.data.Product;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+
+@SpringBootTest
+public class ProductCodecTest {
+
+    @Autowired
+    StringRedisTemplate redisTemplate;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    /**
+     * Binary Codec
+     *  value cache products di simpan dengan ProductCodec (varint + UTF-8 + header versi schema), bukan JDK serialization
+     *  data lama yang masih format JDK tetap bisa di baca (rolling deploy)
+     */
+
+    @Test
+    void testBinaryPayload(){
+
+        Cache cache = cacheManager.getCache("products");
+        Product product = Product.builder().id("P-200").name("binary").price(100L).ttl(-1L).build();
+        cache.put("P-200", product);
+
+        byte[] payload = redisTemplate.execute((RedisCallback<byte[]>) connection -> connection.stringCommands().get("cache:products::P-200".getBytes(StandardCharsets.UTF_8)));
+        Assertions.assertNotNull(payload);
+        Assertions.assertEquals(0xB1, payload[0] & 0xFF); // header binary codec, bukan 0xAC 0xED (JDK)
+        Assertions.assertEquals(product, cache.get("P-200", Product.class));
+
+        cache.evict("P-200");
+
+    }
+
+    @Test
+    void testReadJdkPayload(){
+
+        Product product = Product.builder().id("P-201").name("legacy").price(100L).ttl(-1L).build();
+        byte[] legacy = RedisSerializer.java().serialize(product);
+        redisTemplate.execute((RedisCallback<Object>) connection -> connection.stringCommands().set("cache:products::P-201".getBytes(StandardCharsets.UTF_8), legacy));
+
+        Cache cache = cacheManager.getCache("products");
+        Assertions.assertEquals(product, cache.get("P-201", Product.class));
+
+        cache.evict("P-201");
+
+    }
+
+}
@@ -0,0 +1,126 @@
+package com.tutorial.stringredistemplate;
+
+import com.tutorial.redis.codec.MessageFrames;
+import com.tutorial.redis.message.CustomerListener;
+import com.tutorial.redis.support.BatchingMessagePublisher;
+import com.tutorial.redis.support.FramedMessageListenerAdapter;
+import com.tutorial.redis.support.PartitionedExecutor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+@SpringBootTest(properties = {"app.customers.batch.enabled=true", "app.customers.dispatch=partitioned"})
+public class PubSubBatchTest {
+
+    @Autowired
+    RedisConnectionFactory connectionFactory;
+
+    @Autowired
+    BatchingMessagePublisher customerBatchPublisher;
+
+    /**
+     * Batching PubSub
+     *  banyak message di kirim dalam satu PUBLISH (frame), listener adapter membongkar frame
+     *  dan memanggil listener per message di executor per customer, urutan message per customer tetap terjaga
+     *  executor penuh tidak menahan thread subscription, message di buang dan di hitung
+     */
+
+    @Test
+    void testFrame(){
+
+        List<byte[]> messages = List.of("satu".getBytes(StandardCharsets.UTF_8), new byte[0], "tiga".getBytes(StandardCharsets.UTF_8));
+        byte[] frame = MessageFrames.pack(messages);
+
+        Assertions.assertTrue(MessageFrames.isFrame(frame));
+        Assertions.assertFalse(MessageFrames.isFrame("budhi".getBytes(StandardCharsets.UTF_8)));
+        List<byte[]> unpacked = MessageFrames.unpack(frame);
+        Assertions.assertEquals(3, unpacked.size());
+        Assertions.assertEquals("tiga", new String(unpacked.get(2), StandardCharsets.UTF_8));
+
+    }
+
+    @Test
+    void testBatchedPublishKeepsOrder() throws Exception {
+
+        CountDownLatch latch = new CountDownLatch(1000);
+        Map<String, List<String>> received = new ConcurrentHashMap<>();
+        PartitionedExecutor executor = PartitionedExecutor.create(true, 2, 1000, new CustomizableThreadFactory("test-worker-"), true);
+
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.setTaskExecutor(new SyncTaskExecutor());
+        container.addMessageListener(new FramedMessageListenerAdapter((message, pattern) -> {
+            String data = new String(message.getBody(), StandardCharsets.UTF_8);
+            received.computeIfAbsent(CustomerListener.customerKey(message), key -> new CopyOnWriteArrayList<>()).add(data);
+            latch.countDown();
+        }, executor, CustomerListener::customerKey), new ChannelTopic("customers-batch"));
+        container.afterPropertiesSet();
+        container.start();
+
+        try {
+            Thread.sleep(500); // tunggu subscribe selesai
+            List<String> messages = IntStream.range(0, 1000).mapToObj(i -> i + " customer-" + (i % 4)).toList();
+            List<CompletableFuture<Long>> futures = messages.stream()
+                    .map(message -> customerBatchPublisher.publish("customers-batch", message))
+                    .toList();
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+
+            Assertions.assertTrue(latch.await(10, TimeUnit.SECONDS));
+            Assertions.assertEquals(0, executor.getDroppedTasks());
+            Assertions.assertEquals(messages.stream().collect(Collectors.groupingBy(message -> message.substring(message.indexOf(' ') + 1))),
+                    received);
+        } finally {
+            container.stop();
+            container.destroy();
+            executor.shutdown();
+        }
+
+    }
+
+    @Test
+    void testFullExecutorDropsWithoutBlocking() throws Exception {
+
+        CountDownLatch release = new CountDownLatch(1);
+        PartitionedExecutor executor = PartitionedExecutor.create(true, 1, 1, new CustomizableThreadFactory("test-worker-"), true);
+        FramedMessageListenerAdapter adapter = new FramedMessageListenerAdapter((message, pattern) -> {
+            try {
+                release.await(); // listener lambat
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+        }, executor, CustomerListener::customerKey);
+
+        try {
+            CompletableFuture<Void> dispatch = CompletableFuture.runAsync(() -> IntStream.range(0, 10).forEach(i ->
+                    adapter.onMessage(new DefaultMessage("customers".getBytes(StandardCharsets.UTF_8),
+                            ("budhi customer-" + i).getBytes(StandardCharsets.UTF_8)), null)));
+
+            dispatch.get(5, TimeUnit.SECONDS); // 1 jalan, 1 antri, sisanya di buang tanpa menunggu
+            Assertions.assertEquals(1, executor.getQueuedTasks());
+            Assertions.assertEquals(8, executor.getDroppedTasks());
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+
+    }
+
+}
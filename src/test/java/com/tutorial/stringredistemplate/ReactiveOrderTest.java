@@ -0,0 +1,120 @@
+package com.tutorial.stringredistemplate;
+
+import com.tutorial.data.Order;
+import com.tutorial.redis.stream.ReactiveOrderConsumer;
+import com.tutorial.redis.stream.ReactiveOrderListener;
+import com.tutorial.redis.stream.ReactiveOrderPublisher;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.ObjectRecord;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.stream.StreamReceiver;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@SpringBootTest(properties = "app.orders.reactive.enabled=true")
+public class ReactiveOrderTest {
+
+    @Autowired
+    ReactiveOrderPublisher reactiveOrderPublisher;
+
+    @Autowired
+    ReactiveOrderConsumer reactiveOrderConsumer;
+
+    @Autowired
+    StreamReceiver<String, ObjectRecord<String, Order>> orderReceiver;
+
+    @Autowired
+    ReactiveStringRedisTemplate reactiveRedisTemplate;
+
+    @Autowired
+    StringRedisTemplate redisTemplate;
+
+    /**
+     * Reactive Pipeline
+     *  publishAll() mengirim XADD secara concurrent, urutan RecordId tetap sama dengan urutan order (flatMapSequential)
+     */
+
+    @Test
+    void testPublishAll(){
+
+        List<RecordId> ids = reactiveOrderPublisher.publishAll(Flux.range(0, 1000).map(i -> new Order("REACTIVE-" + i, 1000L)))
+                .collectList()
+                .block(Duration.ofSeconds(30));
+
+        Assertions.assertNotNull(ids);
+        Assertions.assertEquals(1000, ids.size());
+        for (int i = 1; i < ids.size(); i++) {
+            Assertions.assertTrue(ids.get(i).getTimestamp() >= ids.get(i - 1).getTimestamp());
+        }
+        Assertions.assertTrue(reactiveOrderConsumer.isRunning());
+
+    }
+
+    /**
+     * Reactive Consumer
+     *  consumer dengan group sendiri (reactive-test-group) agar semua order di baca consumer ini,
+     *  bukan di bagi dengan consumer my-group dari context lain yang masih hidup
+     *  setiap order sampai ke ReactiveOrderListener, lalu di XACK sehingga XPENDING consumer kembali 0
+     */
+
+    @Test
+    void testConsume() throws InterruptedException {
+
+        Set<String> received = ConcurrentHashMap.newKeySet();
+        ReactiveOrderListener listener = Mockito.spy(new ReactiveOrderListener());
+        Mockito.doAnswer(invocation -> {
+            ObjectRecord<String, Order> record = invocation.getArgument(0);
+            received.add(record.getValue().getId());
+            return invocation.callRealMethod();
+        }).when(listener).onMessage(Mockito.any());
+
+        Consumer consumer = Consumer.from("reactive-test-group", "reactive-test");
+        try {
+            redisTemplate.opsForStream().destroyGroup("orders", consumer.getGroup());
+        } catch (RuntimeException exception) {
+            // group belum ada
+        }
+        ReactiveOrderConsumer reactiveConsumer = new ReactiveOrderConsumer(orderReceiver, reactiveRedisTemplate, listener, consumer, 10);
+        reactiveConsumer.start();
+
+        try {
+            Thread.sleep(500); // tunggu group di buat
+            List<String> orderIds = List.of("REACTIVE-CONSUME-1", "REACTIVE-CONSUME-2", "REACTIVE-CONSUME-3");
+            reactiveOrderPublisher.publishAll(Flux.fromIterable(orderIds).map(id -> new Order(id, 1000L)))
+                    .blockLast(Duration.ofSeconds(10));
+
+            long deadline = System.currentTimeMillis() + 10000;
+            while (!received.containsAll(orderIds) && System.currentTimeMillis() < deadline) {
+                Thread.sleep(100);
+            }
+            Assertions.assertTrue(received.containsAll(orderIds), "received: " + received);
+
+            while (pending(consumer) > 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(100);
+            }
+            Assertions.assertEquals(0, pending(consumer));
+        } finally {
+            reactiveConsumer.stop();
+            redisTemplate.opsForStream().destroyGroup("orders", consumer.getGroup());
+        }
+    }
+
+    private long pending(Consumer consumer) {
+        PendingMessages pending = redisTemplate.opsForStream().pending("orders", consumer, Range.unbounded(), 100);
+        return pending == null ? 0 : pending.size();
+    }
+
+}
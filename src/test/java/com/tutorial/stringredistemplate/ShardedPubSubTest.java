@@ -0,0 +1,85 @@
+package com.tutorial.stringredistemplate;
+
+import com.tutorial.redis.support.ShardedChannel;
+import com.tutorial.redis.support.ShardedMessageListenerContainer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+@SpringBootTest(properties = {"app.customers.shards=8", "app.customers.connections=3"})
+public class ShardedPubSubTest {
+
+    @Autowired
+    RedisConnectionFactory connectionFactory;
+
+    @Autowired
+    StringRedisTemplate redisTemplate;
+
+    @Autowired
+    ShardedMessageListenerContainer customerShardedContainer;
+
+    /**
+     * Sharded PubSub
+     *  channel customers di pecah jadi 8 shard, di subscribe lewat 3 koneksi
+     *  message dari customer yang sama selalu masuk shard yang sama, urutannya tetap terjaga
+     *  listener jalan di thread per shard, bukan di thread subscription (event loop lettuce)
+     */
+
+    @Test
+    void testShardedContainer(){
+
+        Assertions.assertEquals(3, customerShardedContainer.getContainers().size());
+        Assertions.assertTrue(customerShardedContainer.isRunning());
+
+    }
+
+    @Test
+    void testPerCustomerOrder() throws Exception {
+
+        ShardedChannel channel = new ShardedChannel("customers-shard-test", 8);
+        Assertions.assertEquals(8, channel.partition(3).stream().mapToInt(List::size).sum());
+
+        CountDownLatch latch = new CountDownLatch(20 * 50);
+        Map<String, List<Integer>> received = new ConcurrentHashMap<>();
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        ShardedMessageListenerContainer container = new ShardedMessageListenerContainer(connectionFactory, channel, 3, (message, pattern) -> {
+            String[] body = new String(message.getBody(), StandardCharsets.UTF_8).split(":");
+            received.computeIfAbsent(body[0], key -> new CopyOnWriteArrayList<>()).add(Integer.parseInt(body[1]));
+            threads.add(Thread.currentThread().getName());
+            latch.countDown();
+        }, new SimpleAsyncTaskExecutor("shard-test-"));
+        container.start();
+
+        try {
+            Thread.sleep(500); // tunggu subscribe selesai
+            for (int sequence = 0; sequence < 50; sequence++) {
+                for (int customer = 0; customer < 20; customer++) {
+                    String customerId = "customer-" + customer;
+                    redisTemplate.convertAndSend(channel.channelFor(customerId), customerId + ":" + sequence);
+                }
+            }
+
+            Assertions.assertTrue(latch.await(10, TimeUnit.SECONDS));
+            received.values().forEach(sequences -> Assertions.assertEquals(sequences.stream().sorted().toList(), sequences));
+            Assertions.assertTrue(threads.stream().allMatch(thread -> thread.startsWith("shard-listener-")), threads.toString());
+            Assertions.assertEquals(0, container.getDroppedMessages());
+        } finally {
+            container.stop();
+        }
+
+    }
+
+}
@@ -0,0 +1,122 @@
+package com.tutorial.stringredistemplate;
+
+import com.tutorial.data.Product;
+import com.tutorial.redis.cache.StampedeProtectedCache;
+import com.tutorial.redis.cache.StampedeProtectedCacheManager;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+@SpringBootTest(properties = "app.cache.stampede.enabled=true")
+public class StampedeCacheTest {
+
+    @Autowired
+    CacheManager cacheManager;
+
+    @Autowired
+    RedisCacheManager redisCacheManager;
+
+    @Autowired
+    StringRedisTemplate redisTemplate;
+
+    /**
+     * Cache Stampede Protection
+     *  ketika banyak thread miss di key yang sama, loader hanya di jalankan satu kali, thread lain menunggu hasilnya
+     *  key yang hampir expire di refresh lebih awal (XFetch)
+     *  stale-while-revalidate: setelah soft TTL nilai lama di kembalikan, refresh di background
+     */
+
+    @Test
+    void testCoalescedLoad() throws Exception {
+
+        Cache cache = cacheManager.getCache("products");
+        Assertions.assertInstanceOf(StampedeProtectedCache.class, cache);
+        cache.evict("S-1");
+
+        AtomicInteger loads = new AtomicInteger();
+        Callable<Product> loader = () -> {
+            loads.incrementAndGet();
+            Thread.sleep(300); // loader lambat
+            return Product.builder().id("S-1").name("stampede").price(100L).build();
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(50);
+        try {
+            List<Future<Product>> results = executor.invokeAll(IntStream.range(0, 50)
+                    .mapToObj(i -> (Callable<Product>) () -> cache.get("S-1", loader))
+                    .toList());
+            for (Future<Product> result : results) {
+                Assertions.assertEquals("S-1", result.get().getId());
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        Assertions.assertEquals(1, loads.get());
+        Assertions.assertTrue(((StampedeProtectedCache) cache).getCoalescedWaits() > 0);
+        cache.evict("S-1");
+
+    }
+
+    @Test
+    void testEarlyRefresh(){
+
+        StampedeProtectedCacheManager manager = new StampedeProtectedCacheManager(redisCacheManager, redisCacheManager, redisTemplate, Runnable::run);
+        manager.setBeta(1_000_000);
+        manager.setRandom(() -> 1e-9); // gap = delta(>= 1ms) * beta * -ln(1e-9) jauh melewati TTL, selalu refresh lebih awal
+        StampedeProtectedCache cache = (StampedeProtectedCache) manager.getCache("products");
+        cache.evict("S-2");
+
+        AtomicInteger loads = new AtomicInteger();
+        Callable<Product> loader = () -> Product.builder().id("S-2").name("refresh-" + loads.incrementAndGet()).price(100L).build();
+
+        Assertions.assertEquals("refresh-1", cache.get("S-2", loader).getName()); // miss
+        Assertions.assertEquals("refresh-1", cache.get("S-2", loader).getName()); // hit, refresh di background
+        Assertions.assertEquals(1, cache.getEarlyRefreshes());
+        Assertions.assertEquals("refresh-2", cache.get("S-2", Product.class).getName());
+
+        cache.evict("S-2");
+
+    }
+
+    @Test
+    void testStaleWhileRevalidate() throws InterruptedException {
+
+        StampedeProtectedCacheManager manager = new StampedeProtectedCacheManager(redisCacheManager, redisCacheManager, redisTemplate, Runnable::run);
+        manager.setBeta(0); // tanpa XFetch, hanya soft TTL
+        manager.setSoftTtl(Duration.ofMillis(200)); // hard TTL = spring.cache.redis.time-to-live (60s)
+        StampedeProtectedCache cache = (StampedeProtectedCache) manager.getCache("products");
+        cache.evict("S-3");
+
+        AtomicInteger loads = new AtomicInteger();
+        Callable<Product> loader = () -> Product.builder().id("S-3").name("swr-" + loads.incrementAndGet()).price(100L).build();
+
+        Assertions.assertEquals("swr-1", cache.get("S-3", loader).getName()); // miss
+        Assertions.assertEquals("swr-1", cache.get("S-3", loader).getName()); // masih fresh
+        Assertions.assertEquals(0, cache.getStaleHits());
+
+        Thread.sleep(300); // lewat soft TTL
+        Assertions.assertEquals("swr-1", cache.get("S-3", loader).getName()); // stale di kembalikan, refresh di background
+        Assertions.assertEquals(1, cache.getStaleHits());
+        Assertions.assertEquals("swr-2", cache.get("S-3", loader).getName());
+        Assertions.assertEquals(2, loads.get());
+
+        cache.evict("S-3");
+
+    }
+
+}
@@ -0,0 +1,82 @@
+package com.tutorial.stringredistemplate;
+
+import com.tutorial.data.Order;
+import com.tutorial.redis.support.PendingMessageReclaimer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.ObjectRecord;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.concurrent.ConcurrentTaskScheduler;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@SpringBootTest
+public class StreamReclaimTest {
+
+    @Autowired
+    StringRedisTemplate redisTemplate;
+
+    /**
+     * Pending Entry Reclaim
+     *  record yang sudah di baca consumer tapi tidak di acknowledge akan tetap ada di pending list (XPENDING)
+     *  reclaimer akan XCLAIM record yang idle lalu memproses ulang, setelah max deliveries record di pindahkan ke dead letter stream
+     */
+
+    @BeforeEach
+    void setUp(){
+        redisTemplate.delete(List.of("orders-reclaim", "orders-reclaim:dead-letter"));
+        redisTemplate.opsForStream().add(ObjectRecord.create("orders-reclaim", new Order("O-1", 1000L)));
+        redisTemplate.opsForStream().createGroup("orders-reclaim", ReadOffset.from("0"), "reclaim-group");
+
+        // consumer mati setelah membaca, record tidak di acknowledge
+        redisTemplate.opsForStream().read(Order.class, Consumer.from("reclaim-group", "dead-consumer"),
+                StreamOffset.create("orders-reclaim", ReadOffset.lastConsumed()));
+    }
+
+    @AfterEach
+    void tearDown(){
+        redisTemplate.delete(List.of("orders-reclaim", "orders-reclaim:dead-letter"));
+    }
+
+    @Test
+    void testReclaimPending(){
+
+        List<ObjectRecord<String, Order>> received = new ArrayList<>();
+        PendingMessageReclaimer<Order> reclaimer = new PendingMessageReclaimer<>(redisTemplate, "orders-reclaim", "reclaim-group",
+                "live-consumer", Order.class, received::addAll, new ConcurrentTaskScheduler());
+        reclaimer.setMinIdle(Duration.ZERO);
+
+        Assertions.assertEquals(1, reclaimer.reclaim());
+        Assertions.assertEquals("O-1", received.get(0).getValue().getId());
+        Assertions.assertEquals("live-consumer", redisTemplate.opsForStream()
+                .pending("orders-reclaim", "reclaim-group", Range.unbounded(), 10).get(0).getConsumerName()); // pemilik record pindah ke live-consumer
+
+    }
+
+    @Test
+    void testDeadLetter(){
+
+        List<ObjectRecord<String, Order>> received = new ArrayList<>();
+        PendingMessageReclaimer<Order> reclaimer = new PendingMessageReclaimer<>(redisTemplate, "orders-reclaim", "reclaim-group",
+                "live-consumer", Order.class, received::addAll, new ConcurrentTaskScheduler());
+        reclaimer.setMinIdle(Duration.ZERO);
+        reclaimer.setMaxDeliveries(1); // sudah di kirim 1 kali ke dead-consumer
+
+        Assertions.assertEquals(1, reclaimer.reclaim());
+        Assertions.assertTrue(received.isEmpty());
+        Assertions.assertEquals(1L, redisTemplate.opsForStream().size("orders-reclaim:dead-letter"));
+        Assertions.assertEquals(0L, redisTemplate.opsForStream().pending("orders-reclaim", "reclaim-group").getTotalPendingMessages());
+
+    }
+
+}
@@ -0,0 +1,101 @@
+package com.tutorial.stringredistemplate;
+
+import com.tutorial.data.Order;
+import com.tutorial.redis.support.PartitionedExecutor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.ObjectRecord;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.stream.StreamMessageListenerContainer;
+import org.springframework.data.redis.stream.Subscription;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+@SpringBootTest(properties = "app.threads.virtual=true")
+public class VirtualThreadTest {
+
+    @Autowired
+    StringRedisTemplate redisTemplate;
+
+    @Autowired
+    StreamMessageListenerContainer<String, ObjectRecord<String, Order>> orderContainer;
+
+    @Autowired
+    @Qualifier("orderExecutor")
+    PartitionedExecutor orderExecutor;
+
+    @Autowired
+    RedisMessageListenerContainer messageListenerContainer;
+
+    /**
+     * Virtual Thread (app.threads.virtual=true)
+     *  polling loop orderContainer, worker orderExecutor dan dispatch messageListenerContainer jalan di virtual thread
+     *  nama thread tetap <prefix><nomor> seperti platform thread
+     *  perbandingan throughput listener blocking platform vs virtual ada di benchmarks (ListenerThreadsBenchmark)
+     */
+
+    @Test
+    void testOrderExecutor() throws Exception {
+
+        CompletableFuture<Thread> thread = new CompletableFuture<>();
+        orderExecutor.execute("O-1", () -> thread.complete(Thread.currentThread()));
+
+        assertVirtual(thread.get(5, TimeUnit.SECONDS), "orders-worker-");
+    }
+
+    @Test
+    void testOrderContainer() throws Exception {
+
+        redisTemplate.delete("orders-virtual");
+        redisTemplate.opsForStream().createGroup("orders-virtual", "virtual-group");
+
+        CompletableFuture<Thread> thread = new CompletableFuture<>();
+        Subscription subscription = orderContainer.receive(Consumer.from("virtual-group", "virtual-consumer"),
+                StreamOffset.create("orders-virtual", ReadOffset.lastConsumed()), record -> thread.complete(Thread.currentThread()));
+        try {
+            Assertions.assertTrue(subscription.await(Duration.ofSeconds(5)));
+            redisTemplate.opsForStream().add(ObjectRecord.create("orders-virtual", new Order("O-2", 1000L)));
+
+            assertVirtual(thread.get(10, TimeUnit.SECONDS), "orders-poll-");
+        } finally {
+            subscription.cancel();
+            redisTemplate.delete("orders-virtual");
+        }
+    }
+
+    @Test
+    void testMessageListenerContainer() throws Exception {
+
+        CompletableFuture<Thread> thread = new CompletableFuture<>();
+        MessageListener listener = (message, pattern) -> thread.complete(Thread.currentThread());
+        messageListenerContainer.addMessageListener(listener, new ChannelTopic("customers-virtual"));
+        try {
+            long deadline = System.currentTimeMillis() + 5000; // subscribe channel baru asynchronous
+            while (!thread.isDone() && System.currentTimeMillis() < deadline) {
+                redisTemplate.convertAndSend("customers-virtual", "budhi");
+                Thread.sleep(100);
+            }
+
+            assertVirtual(thread.get(5, TimeUnit.SECONDS), "customers-listener-");
+        } finally {
+            messageListenerContainer.removeMessageListener(listener);
+        }
+    }
+
+    private static void assertVirtual(Thread thread, String prefix) {
+        Assertions.assertTrue(thread.isVirtual(), thread.getName());
+        Assertions.assertTrue(thread.getName().startsWith(prefix), thread.getName());
+    }
+
+}